@@ -0,0 +1,92 @@
+package com.example.upgrader.api.cache;
+
+import com.example.upgrader.api.mapper.AnalysisDtoMapper;
+import com.example.upgrader.core.model.Analysis;
+import com.example.upgrader.core.model.AnalysisStatus;
+import com.example.upgrader.core.queue.AnalysisEvents;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Bounded LRU cache of serialized detail responses for completed analyses. Entries are evicted on any status event
+ * for the analysis, which reaches every instance through the shared event channel.
+ */
+@Component
+public class AnalysisDetailCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AnalysisDetailCache.class);
+
+    private final ObjectMapper objectMapper;
+    private final Map<Long, AnalysisDetailDocument> entries;
+    private final Runnable unsubscribe;
+
+    public AnalysisDetailCache(ObjectMapper objectMapper, AnalysisEvents analysisEvents,
+                               @Value("${analysis.detail-cache.max-entries:500}") int maxEntries) {
+        this.objectMapper = objectMapper;
+        int capacity = Math.max(0, maxEntries);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, AnalysisDetailDocument> eldest) {
+                return size() > capacity;
+            }
+        };
+        this.unsubscribe = analysisEvents.subscribeAll(event -> evict(event.getAnalysisId()));
+    }
+
+    public Optional<AnalysisDetailDocument> get(Long id) {
+        synchronized (entries) {
+            return Optional.ofNullable(entries.get(id));
+        }
+    }
+
+    public AnalysisDetailDocument render(Analysis analysis) {
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(AnalysisDtoMapper.toDetailResponse(analysis));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Unable to serialize analysis " + analysis.getId(), ex);
+        }
+        LocalDateTime modified = analysis.getUpdatedAt() != null ? analysis.getUpdatedAt() : analysis.getCreatedAt();
+        Instant lastModified = modified != null
+                ? modified.toInstant(ZoneOffset.UTC).truncatedTo(ChronoUnit.SECONDS)
+                : null;
+        AnalysisDetailDocument document = new AnalysisDetailDocument(body,
+                "\"" + DigestUtils.md5DigestAsHex(body) + "\"", lastModified);
+        if (analysis.getStatus() == AnalysisStatus.COMPLETED) {
+            synchronized (entries) {
+                entries.put(analysis.getId(), document);
+            }
+        }
+        return document;
+    }
+
+    public void evict(Long id) {
+        if (id == null) {
+            return;
+        }
+        synchronized (entries) {
+            if (entries.remove(id) != null) {
+                LOGGER.debug("Détail de l'analyse {} retiré du cache", id);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        unsubscribe.run();
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.upgrader.api.cache;
+
+import java.time.Instant;
+
+/**
+ * A detail response serialized to JSON once, with the validators clients send back on conditional requests.
+ */
+public record AnalysisDetailDocument(byte[] body, String etag, Instant lastModified) {
+}
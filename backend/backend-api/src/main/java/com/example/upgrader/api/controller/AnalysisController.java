@@ -1,43 +1,113 @@
 package com.example.upgrader.api.controller;
 
-import com.example.upgrader.api.dto.AnalysisDetailResponse;
+import com.example.upgrader.api.cache.AnalysisDetailCache;
+import com.example.upgrader.api.cache.AnalysisDetailDocument;
+import com.example.upgrader.api.dto.AnalysisPageResponse;
 import com.example.upgrader.api.dto.AnalysisSummaryResponse;
 import com.example.upgrader.api.dto.CreateAnalysisRequest;
 import com.example.upgrader.api.mapper.AnalysisDtoMapper;
+import com.example.upgrader.core.model.Analysis;
+import com.example.upgrader.core.model.AnalysisStatus;
 import com.example.upgrader.core.service.AnalysisNotFoundException;
 import com.example.upgrader.core.service.AnalysisService;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.util.List;
+import java.io.IOException;
+import java.net.URI;
 
 @RestController
 @RequestMapping("/analyses")
 public class AnalysisController {
 
+    private static final long EVENTS_TIMEOUT_MS = 30 * 60 * 1000L;
+
     private final AnalysisService analysisService;
+    private final AnalysisDetailCache detailCache;
 
-    public AnalysisController(AnalysisService analysisService) {
+    public AnalysisController(AnalysisService analysisService, AnalysisDetailCache detailCache) {
         this.analysisService = analysisService;
+        this.detailCache = detailCache;
     }
 
     @PostMapping
-    public AnalysisSummaryResponse createAnalysis(@RequestBody CreateAnalysisRequest request) {
-        return AnalysisDtoMapper.toSummaryResponse(analysisService.createAnalysis(AnalysisDtoMapper.toCommand(request)));
+    public ResponseEntity<AnalysisSummaryResponse> createAnalysis(@RequestBody CreateAnalysisRequest request) {
+        Analysis analysis = analysisService.createAnalysis(AnalysisDtoMapper.toCommand(request));
+        URI location = URI.create("/analyses/" + analysis.getId());
+        if (analysis.getReusedFromId() != null) {
+            return ResponseEntity.created(location).body(AnalysisDtoMapper.toSummaryResponse(analysis));
+        }
+        return ResponseEntity.accepted()
+                .location(location)
+                .body(AnalysisDtoMapper.toSummaryResponse(analysis));
+    }
+
+    @GetMapping(path = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getAnalysis(@PathVariable Long id) {
+        AnalysisDetailDocument document = detailCache.get(id).orElseGet(() -> loadDetail(id));
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache())
+                .eTag(document.etag());
+        if (document.lastModified() != null) {
+            response.lastModified(document.lastModified());
+        }
+        return response.body(document.body());
     }
 
-    @GetMapping("/{id}")
-    public AnalysisDetailResponse getAnalysis(@PathVariable Long id) {
+    @GetMapping
+    public AnalysisPageResponse listAnalyses(@RequestParam(required = false) Long projectId,
+                                             @RequestParam(required = false) AnalysisStatus status,
+                                             @RequestParam(required = false) String cursor,
+                                             @RequestParam(defaultValue = "50") int limit) {
         try {
-            return AnalysisDtoMapper.toDetailResponse(analysisService.getAnalysisDetail(id));
+            return AnalysisDtoMapper.toPageResponse(analysisService.listAnalyses(projectId, status, cursor, limit));
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        }
+    }
+
+    @GetMapping(path = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter followAnalysis(@PathVariable Long id) {
+        SseEmitter emitter = new SseEmitter(EVENTS_TIMEOUT_MS);
+        Runnable unsubscribe = analysisService.followAnalysis(id, event -> {
+            try {
+                emitter.send(SseEmitter.event().name("progress").data(event));
+                if (event.getStatus() != null && event.getStatus().isTerminal()) {
+                    emitter.complete();
+                }
+            } catch (IOException | IllegalStateException ex) {
+                emitter.completeWithError(ex);
+            }
+        });
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(ex -> unsubscribe.run());
+        try {
+            Analysis analysis = analysisService.getAnalysisSummary(id);
+            emitter.send(SseEmitter.event().name("status").data(AnalysisDtoMapper.toSummaryResponse(analysis)));
+            if (analysis.getStatus() != null && analysis.getStatus().isTerminal()) {
+                emitter.complete();
+            }
         } catch (AnalysisNotFoundException ex) {
+            unsubscribe.run();
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, ex.getMessage());
+        } catch (IOException ex) {
+            emitter.completeWithError(ex);
         }
+        return emitter;
     }
 
-    @GetMapping
-    public List<AnalysisSummaryResponse> listAnalyses() {
-        return AnalysisDtoMapper.toSummaryList(analysisService.listAnalyses());
+    private AnalysisDetailDocument loadDetail(Long id) {
+        try {
+            return detailCache.render(analysisService.getAnalysisDetail(id));
+        } catch (AnalysisNotFoundException ex) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, ex.getMessage());
+        }
     }
 }
@@ -0,0 +1,95 @@
+package com.example.upgrader.api.controller;
+
+import com.example.upgrader.api.export.ExportColumn;
+import com.example.upgrader.api.export.ExportColumns;
+import com.example.upgrader.api.export.ExportFormat;
+import com.example.upgrader.api.export.ExportWriter;
+import com.example.upgrader.core.export.ChangeExportRow;
+import com.example.upgrader.core.export.ExportFilter;
+import com.example.upgrader.core.model.AnalysisSummary;
+import com.example.upgrader.core.service.AnalysisExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/analyses/export")
+public class AnalysisExportController {
+
+    private final AnalysisExportService exportService;
+    private final ObjectMapper objectMapper;
+
+    public AnalysisExportController(AnalysisExportService exportService, ObjectMapper objectMapper) {
+        this.exportService = exportService;
+        this.objectMapper = objectMapper;
+    }
+
+    @GetMapping
+    public void exportAnalyses(@RequestParam(defaultValue = "ndjson") String format,
+                               @RequestParam(required = false) Long projectId,
+                               @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                               @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                               @RequestParam(required = false) String changeType,
+                               HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = parseFormat(format);
+        ExportFilter filter = buildFilter(projectId, from, to, changeType);
+        ExportWriter<AnalysisSummary> writer = open(response, exportFormat, "analyses", ExportColumns.ANALYSES);
+        exportService.exportAnalyses(filter, writer::write);
+        writer.flush();
+    }
+
+    @GetMapping("/changes")
+    public void exportChanges(@RequestParam(defaultValue = "ndjson") String format,
+                              @RequestParam(required = false) Long projectId,
+                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                              @RequestParam(required = false) String changeType,
+                              HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = parseFormat(format);
+        ExportFilter filter = buildFilter(projectId, from, to, changeType);
+        ExportWriter<ChangeExportRow> writer = open(response, exportFormat, "changes", ExportColumns.CHANGES);
+        exportService.exportChanges(filter, writer::write);
+        writer.flush();
+    }
+
+    private <T> ExportWriter<T> open(HttpServletResponse response, ExportFormat format, String name,
+                                     List<ExportColumn<T>> columns) throws IOException {
+        response.setContentType(format.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(name + "." + format.getExtension()).build().toString());
+        return new ExportWriter<>(format, columns, objectMapper, response.getOutputStream());
+    }
+
+    private static ExportFormat parseFormat(String format) {
+        try {
+            return ExportFormat.parse(format);
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        }
+    }
+
+    private static ExportFilter buildFilter(Long projectId, LocalDate from, LocalDate to, String changeType) {
+        try {
+            return new ExportFilter(projectId,
+                    from != null ? from.atStartOfDay() : null,
+                    to != null ? to.plusDays(1).atStartOfDay() : null,
+                    changeType);
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        }
+    }
+}
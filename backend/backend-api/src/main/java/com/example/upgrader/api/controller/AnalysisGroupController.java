@@ -0,0 +1,78 @@
+package com.example.upgrader.api.controller;
+
+import com.example.upgrader.api.dto.AnalysisGroupResponse;
+import com.example.upgrader.api.dto.CreateAnalysisGroupRequest;
+import com.example.upgrader.api.mapper.AnalysisDtoMapper;
+import com.example.upgrader.core.model.AnalysisGroup;
+import com.example.upgrader.core.service.AnalysisGroupNotFoundException;
+import com.example.upgrader.core.service.AnalysisGroupService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.net.URI;
+
+@RestController
+@RequestMapping("/analysis-groups")
+public class AnalysisGroupController {
+
+    private static final long EVENTS_TIMEOUT_MS = 2 * 60 * 60 * 1000L;
+
+    private final AnalysisGroupService groupService;
+
+    public AnalysisGroupController(AnalysisGroupService groupService) {
+        this.groupService = groupService;
+    }
+
+    @PostMapping
+    public ResponseEntity<AnalysisGroupResponse> createGroup(@RequestBody CreateAnalysisGroupRequest request) {
+        try {
+            AnalysisGroup group = groupService.createGroup(AnalysisDtoMapper.toGroupCommand(request));
+            return ResponseEntity.accepted()
+                    .location(URI.create("/analysis-groups/" + group.getId()))
+                    .body(AnalysisDtoMapper.toGroupResponse(group));
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        }
+    }
+
+    @GetMapping("/{id}")
+    public AnalysisGroupResponse getGroup(@PathVariable Long id) {
+        try {
+            return AnalysisDtoMapper.toGroupResponse(groupService.getGroup(id));
+        } catch (AnalysisGroupNotFoundException ex) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, ex.getMessage());
+        }
+    }
+
+    @GetMapping(path = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter followGroup(@PathVariable Long id) {
+        SseEmitter emitter = new SseEmitter(EVENTS_TIMEOUT_MS);
+        Runnable unsubscribe;
+        try {
+            unsubscribe = groupService.followGroup(id, group -> send(emitter, group));
+        } catch (AnalysisGroupNotFoundException ex) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, ex.getMessage());
+        }
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(ex -> unsubscribe.run());
+        send(emitter, groupService.getGroup(id));
+        return emitter;
+    }
+
+    private void send(SseEmitter emitter, AnalysisGroup group) {
+        try {
+            emitter.send(SseEmitter.event().name("status").data(AnalysisDtoMapper.toGroupResponse(group)));
+            if (group.getStatus().isTerminal()) {
+                emitter.complete();
+            }
+        } catch (IOException | IllegalStateException ex) {
+            emitter.completeWithError(ex);
+        }
+    }
+}
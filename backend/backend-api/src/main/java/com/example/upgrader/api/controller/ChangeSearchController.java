@@ -0,0 +1,38 @@
+package com.example.upgrader.api.controller;
+
+import com.example.upgrader.api.dto.ChangeSearchPageResponse;
+import com.example.upgrader.api.mapper.AnalysisDtoMapper;
+import com.example.upgrader.core.search.ChangeSearchQuery;
+import com.example.upgrader.core.service.ChangeSearchService;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@RequestMapping("/search")
+public class ChangeSearchController {
+
+    private final ChangeSearchService searchService;
+
+    public ChangeSearchController(ChangeSearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    @GetMapping("/changes")
+    public ChangeSearchPageResponse searchChanges(@RequestParam(required = false) String q,
+                                                  @RequestParam(required = false) String symbol,
+                                                  @RequestParam(required = false) Long projectId,
+                                                  @RequestParam(required = false) String changeType,
+                                                  @RequestParam(defaultValue = "0") int page,
+                                                  @RequestParam(defaultValue = "20") int size) {
+        try {
+            ChangeSearchQuery query = new ChangeSearchQuery(q, symbol, projectId, changeType, page, size);
+            return AnalysisDtoMapper.toSearchResponse(searchService.search(query));
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        }
+    }
+}
@@ -13,6 +13,11 @@ public class AnalysisDetailResponse {
     private String status;
     private Integer totalWorkpoints;
     private String createdAt;
+    private int attempts;
+    private String progress;
+    private String errorMessage;
+    private String commitSha;
+    private Long reusedFromId;
     private List<ChangeResponse> changes;
     private Map<String, Integer> effort;
 
@@ -103,4 +108,44 @@ public class AnalysisDetailResponse {
     public void setEffort(Map<String, Integer> effort) {
         this.effort = effort;
     }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public String getProgress() {
+        return progress;
+    }
+
+    public void setProgress(String progress) {
+        this.progress = progress;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public String getCommitSha() {
+        return commitSha;
+    }
+
+    public void setCommitSha(String commitSha) {
+        this.commitSha = commitSha;
+    }
+
+    public Long getReusedFromId() {
+        return reusedFromId;
+    }
+
+    public void setReusedFromId(Long reusedFromId) {
+        this.reusedFromId = reusedFromId;
+    }
 }
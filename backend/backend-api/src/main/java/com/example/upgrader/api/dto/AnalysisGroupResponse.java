@@ -0,0 +1,153 @@
+package com.example.upgrader.api.dto;
+
+import java.util.List;
+
+public class AnalysisGroupResponse {
+    private Long id;
+    private String name;
+    private String springVersionTarget;
+    private String createdAt;
+    private String status;
+    private int total;
+    private int pending;
+    private int running;
+    private int completed;
+    private int failed;
+    private int totalWorkpoints;
+    private List<AnalysisSummaryResponse> analyses;
+    private List<RejectedRepository> rejected;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getSpringVersionTarget() {
+        return springVersionTarget;
+    }
+
+    public void setSpringVersionTarget(String springVersionTarget) {
+        this.springVersionTarget = springVersionTarget;
+    }
+
+    public String getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(String createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getPending() {
+        return pending;
+    }
+
+    public void setPending(int pending) {
+        this.pending = pending;
+    }
+
+    public int getRunning() {
+        return running;
+    }
+
+    public void setRunning(int running) {
+        this.running = running;
+    }
+
+    public int getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(int completed) {
+        this.completed = completed;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public int getTotalWorkpoints() {
+        return totalWorkpoints;
+    }
+
+    public void setTotalWorkpoints(int totalWorkpoints) {
+        this.totalWorkpoints = totalWorkpoints;
+    }
+
+    public List<AnalysisSummaryResponse> getAnalyses() {
+        return analyses;
+    }
+
+    public void setAnalyses(List<AnalysisSummaryResponse> analyses) {
+        this.analyses = analyses;
+    }
+
+    public List<RejectedRepository> getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(List<RejectedRepository> rejected) {
+        this.rejected = rejected;
+    }
+
+    public static class RejectedRepository {
+        private String gitUrl;
+        private String branch;
+        private String error;
+
+        public String getGitUrl() {
+            return gitUrl;
+        }
+
+        public void setGitUrl(String gitUrl) {
+            this.gitUrl = gitUrl;
+        }
+
+        public String getBranch() {
+            return branch;
+        }
+
+        public void setBranch(String branch) {
+            this.branch = branch;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public void setError(String error) {
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.upgrader.api.dto;
+
+import java.util.List;
+
+public class AnalysisPageResponse {
+    private List<AnalysisSummaryResponse> items;
+    private String nextCursor;
+
+    public List<AnalysisSummaryResponse> getItems() {
+        return items;
+    }
+
+    public void setItems(List<AnalysisSummaryResponse> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
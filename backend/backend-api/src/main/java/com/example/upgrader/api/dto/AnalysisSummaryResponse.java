@@ -2,6 +2,7 @@ package com.example.upgrader.api.dto;
 
 public class AnalysisSummaryResponse {
     private Long id;
+    private Long projectId;
     private String projectName;
     private String springVersionCurrent;
     private String springVersionTarget;
@@ -10,6 +11,11 @@ public class AnalysisSummaryResponse {
     private String status;
     private Integer totalWorkpoints;
     private String createdAt;
+    private int attempts;
+    private String progress;
+    private String errorMessage;
+    private String commitSha;
+    private Long reusedFromId;
 
     public Long getId() {
         return id;
@@ -19,6 +25,14 @@ public class AnalysisSummaryResponse {
         this.id = id;
     }
 
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+
     public String getProjectName() {
         return projectName;
     }
@@ -82,4 +96,44 @@ public class AnalysisSummaryResponse {
     public void setCreatedAt(String createdAt) {
         this.createdAt = createdAt;
     }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public String getProgress() {
+        return progress;
+    }
+
+    public void setProgress(String progress) {
+        this.progress = progress;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public String getCommitSha() {
+        return commitSha;
+    }
+
+    public void setCommitSha(String commitSha) {
+        this.commitSha = commitSha;
+    }
+
+    public Long getReusedFromId() {
+        return reusedFromId;
+    }
+
+    public void setReusedFromId(Long reusedFromId) {
+        this.reusedFromId = reusedFromId;
+    }
 }
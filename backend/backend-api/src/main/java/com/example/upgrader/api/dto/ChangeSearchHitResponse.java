@@ -0,0 +1,139 @@
+package com.example.upgrader.api.dto;
+
+public class ChangeSearchHitResponse {
+    private Long analysisId;
+    private Long projectId;
+    private String projectName;
+    private String analysisStatus;
+    private String springVersionTarget;
+    private String analysisCreatedAt;
+    private String changeId;
+    private String type;
+    private String severity;
+    private String title;
+    private String snippet;
+    private String filePath;
+    private String symbol;
+    private Integer workpoints;
+    private double rank;
+
+    public Long getAnalysisId() {
+        return analysisId;
+    }
+
+    public void setAnalysisId(Long analysisId) {
+        this.analysisId = analysisId;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public String getProjectName() {
+        return projectName;
+    }
+
+    public void setProjectName(String projectName) {
+        this.projectName = projectName;
+    }
+
+    public String getAnalysisStatus() {
+        return analysisStatus;
+    }
+
+    public void setAnalysisStatus(String analysisStatus) {
+        this.analysisStatus = analysisStatus;
+    }
+
+    public String getSpringVersionTarget() {
+        return springVersionTarget;
+    }
+
+    public void setSpringVersionTarget(String springVersionTarget) {
+        this.springVersionTarget = springVersionTarget;
+    }
+
+    public String getAnalysisCreatedAt() {
+        return analysisCreatedAt;
+    }
+
+    public void setAnalysisCreatedAt(String analysisCreatedAt) {
+        this.analysisCreatedAt = analysisCreatedAt;
+    }
+
+    public String getChangeId() {
+        return changeId;
+    }
+
+    public void setChangeId(String changeId) {
+        this.changeId = changeId;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getSeverity() {
+        return severity;
+    }
+
+    public void setSeverity(String severity) {
+        this.severity = severity;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getSnippet() {
+        return snippet;
+    }
+
+    public void setSnippet(String snippet) {
+        this.snippet = snippet;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public void setFilePath(String filePath) {
+        this.filePath = filePath;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public void setSymbol(String symbol) {
+        this.symbol = symbol;
+    }
+
+    public Integer getWorkpoints() {
+        return workpoints;
+    }
+
+    public void setWorkpoints(Integer workpoints) {
+        this.workpoints = workpoints;
+    }
+
+    public double getRank() {
+        return rank;
+    }
+
+    public void setRank(double rank) {
+        this.rank = rank;
+    }
+}
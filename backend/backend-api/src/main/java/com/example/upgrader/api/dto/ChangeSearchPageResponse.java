@@ -0,0 +1,42 @@
+package com.example.upgrader.api.dto;
+
+import java.util.List;
+
+public class ChangeSearchPageResponse {
+    private List<ChangeSearchHitResponse> items;
+    private int page;
+    private int size;
+    private boolean hasMore;
+
+    public List<ChangeSearchHitResponse> getItems() {
+        return items;
+    }
+
+    public void setItems(List<ChangeSearchHitResponse> items) {
+        this.items = items;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public void setPage(int page) {
+        this.page = page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.upgrader.api.dto;
+
+import java.util.List;
+
+public class CreateAnalysisGroupRequest {
+    private String name;
+    private String springVersionTarget;
+    private String llmModel;
+    private String gitTokenId;
+    private String dependencyScope;
+    private Boolean force;
+    private List<Repository> repositories;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getSpringVersionTarget() {
+        return springVersionTarget;
+    }
+
+    public void setSpringVersionTarget(String springVersionTarget) {
+        this.springVersionTarget = springVersionTarget;
+    }
+
+    public String getLlmModel() {
+        return llmModel;
+    }
+
+    public void setLlmModel(String llmModel) {
+        this.llmModel = llmModel;
+    }
+
+    public String getGitTokenId() {
+        return gitTokenId;
+    }
+
+    public void setGitTokenId(String gitTokenId) {
+        this.gitTokenId = gitTokenId;
+    }
+
+    public String getDependencyScope() {
+        return dependencyScope;
+    }
+
+    public void setDependencyScope(String dependencyScope) {
+        this.dependencyScope = dependencyScope;
+    }
+
+    public Boolean getForce() {
+        return force;
+    }
+
+    public void setForce(Boolean force) {
+        this.force = force;
+    }
+
+    public List<Repository> getRepositories() {
+        return repositories;
+    }
+
+    public void setRepositories(List<Repository> repositories) {
+        this.repositories = repositories;
+    }
+
+    public static class Repository {
+        private String gitUrl;
+        private String branch;
+        private String projectName;
+
+        public String getGitUrl() {
+            return gitUrl;
+        }
+
+        public void setGitUrl(String gitUrl) {
+            this.gitUrl = gitUrl;
+        }
+
+        public String getBranch() {
+            return branch;
+        }
+
+        public void setBranch(String branch) {
+            this.branch = branch;
+        }
+
+        public String getProjectName() {
+            return projectName;
+        }
+
+        public void setProjectName(String projectName) {
+            this.projectName = projectName;
+        }
+    }
+}
@@ -8,6 +8,7 @@ public class CreateAnalysisRequest {
     private String llmModel;
     private String gitTokenId;
     private String dependencyScope;
+    private Boolean force;
 
     public String getProjectGitUrl() {
         return projectGitUrl;
@@ -64,4 +65,12 @@ public class CreateAnalysisRequest {
     public void setDependencyScope(String dependencyScope) {
         this.dependencyScope = dependencyScope;
     }
+
+    public Boolean getForce() {
+        return force;
+    }
+
+    public void setForce(Boolean force) {
+        this.force = force;
+    }
 }
@@ -0,0 +1,55 @@
+package com.example.upgrader.api.export;
+
+import com.example.upgrader.core.export.ChangeExportRow;
+import com.example.upgrader.core.model.AnalysisSummary;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+public final class ExportColumns {
+
+    public static final List<ExportColumn<AnalysisSummary>> ANALYSES = List.of(
+            new ExportColumn<>("id", AnalysisSummary::getId),
+            new ExportColumn<>("projectId", AnalysisSummary::getProjectId),
+            new ExportColumn<>("projectName", AnalysisSummary::getProjectName),
+            new ExportColumn<>("springVersionCurrent", AnalysisSummary::getSpringVersionCurrent),
+            new ExportColumn<>("springVersionTarget", AnalysisSummary::getSpringVersionTarget),
+            new ExportColumn<>("llmModel", AnalysisSummary::getLlmModel),
+            new ExportColumn<>("dependencyScope", summary -> name(summary.getDependencyScope())),
+            new ExportColumn<>("status", summary -> name(summary.getStatus())),
+            new ExportColumn<>("totalWorkpoints", AnalysisSummary::getTotalWorkpoints),
+            new ExportColumn<>("createdAt", summary -> format(summary.getCreatedAt())),
+            new ExportColumn<>("attempts", AnalysisSummary::getAttempts),
+            new ExportColumn<>("commitSha", AnalysisSummary::getCommitSha),
+            new ExportColumn<>("reusedFromId", AnalysisSummary::getReusedFromId),
+            new ExportColumn<>("errorMessage", AnalysisSummary::getErrorMessage)
+    );
+
+    public static final List<ExportColumn<ChangeExportRow>> CHANGES = List.of(
+            new ExportColumn<>("analysisId", ChangeExportRow::getAnalysisId),
+            new ExportColumn<>("projectId", ChangeExportRow::getProjectId),
+            new ExportColumn<>("projectName", ChangeExportRow::getProjectName),
+            new ExportColumn<>("springVersionTarget", ChangeExportRow::getSpringVersionTarget),
+            new ExportColumn<>("analysisCreatedAt", row -> format(row.getAnalysisCreatedAt())),
+            new ExportColumn<>("changeId", ChangeExportRow::getChangeId),
+            new ExportColumn<>("type", ChangeExportRow::getType),
+            new ExportColumn<>("severity", ChangeExportRow::getSeverity),
+            new ExportColumn<>("title", ChangeExportRow::getTitle),
+            new ExportColumn<>("description", ChangeExportRow::getDescription),
+            new ExportColumn<>("filePath", ChangeExportRow::getFilePath),
+            new ExportColumn<>("symbol", ChangeExportRow::getSymbol),
+            new ExportColumn<>("workpoints", ChangeExportRow::getWorkpoints)
+    );
+
+    private ExportColumns() {
+    }
+
+    private static String name(Enum<?> value) {
+        return value != null ? value.name() : null;
+    }
+
+    private static String format(LocalDateTime value) {
+        return value != null ? value.format(DateTimeFormatter.ISO_DATE_TIME) : null;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.upgrader.api.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes one row at a time to the response stream. Only the output buffer is held in memory; the servlet container
+ * flushes it to the client as it fills.
+ */
+public class ExportWriter<T> {
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private final ExportFormat format;
+    private final List<ExportColumn<T>> columns;
+    private final ObjectMapper objectMapper;
+    private final Writer writer;
+
+    public ExportWriter(ExportFormat format, List<ExportColumn<T>> columns, ObjectMapper objectMapper, OutputStream out)
+            throws IOException {
+        this.format = format;
+        this.columns = columns;
+        this.objectMapper = objectMapper;
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        if (format == ExportFormat.CSV) {
+            writeCsvLine(columns.stream().map(ExportColumn::name).toList());
+        }
+    }
+
+    public void write(T row) {
+        try {
+            if (format == ExportFormat.NDJSON) {
+                Map<String, Object> values = new LinkedHashMap<>();
+                for (ExportColumn<T> column : columns) {
+                    values.put(column.name(), column.value().apply(row));
+                }
+                writer.write(objectMapper.writeValueAsString(values));
+                writer.write('\n');
+            } else {
+                writeCsvLine(columns.stream().map(column -> column.value().apply(row)).toList());
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    private void writeCsvLine(List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escapeCsv(values.get(i)));
+        }
+        writer.write("\r\n");
+    }
+
+    private static String escapeCsv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -1,14 +1,26 @@
 package com.example.upgrader.api.mapper;
 
 import com.example.upgrader.api.dto.AnalysisDetailResponse;
+import com.example.upgrader.api.dto.AnalysisGroupResponse;
+import com.example.upgrader.api.dto.AnalysisPageResponse;
 import com.example.upgrader.api.dto.AnalysisSummaryResponse;
 import com.example.upgrader.api.dto.ChangeResponse;
+import com.example.upgrader.api.dto.ChangeSearchHitResponse;
+import com.example.upgrader.api.dto.ChangeSearchPageResponse;
+import com.example.upgrader.api.dto.CreateAnalysisGroupRequest;
 import com.example.upgrader.api.dto.CreateAnalysisRequest;
 import com.example.upgrader.core.command.CreateAnalysisCommand;
+import com.example.upgrader.core.command.CreateAnalysisGroupCommand;
 import com.example.upgrader.core.model.Analysis;
+import com.example.upgrader.core.model.AnalysisGroup;
+import com.example.upgrader.core.model.AnalysisStatus;
+import com.example.upgrader.core.model.AnalysisSummary;
+import com.example.upgrader.core.model.AnalysisSummaryPage;
 import com.example.upgrader.core.model.Change;
 import com.example.upgrader.core.model.DependencyScope;
 import com.example.upgrader.core.model.Effort;
+import com.example.upgrader.core.search.ChangeSearchHit;
+import com.example.upgrader.core.search.ChangeSearchPage;
 
 import java.time.format.DateTimeFormatter;
 import java.util.Collections;
@@ -30,12 +42,58 @@ public class AnalysisDtoMapper {
         command.setLlmModel(request.getLlmModel());
         command.setGitTokenId(request.getGitTokenId());
         command.setDependencyScope(resolveDependencyScope(request.getDependencyScope()));
+        command.setForce(Boolean.TRUE.equals(request.getForce()));
         return command;
     }
 
+    public static CreateAnalysisGroupCommand toGroupCommand(CreateAnalysisGroupRequest request) {
+        CreateAnalysisGroupCommand command = new CreateAnalysisGroupCommand();
+        command.setName(request.getName());
+        command.setSpringVersionTarget(request.getSpringVersionTarget());
+        command.setLlmModel(request.getLlmModel());
+        command.setGitTokenId(request.getGitTokenId());
+        command.setDependencyScope(resolveDependencyScope(request.getDependencyScope()));
+        command.setForce(Boolean.TRUE.equals(request.getForce()));
+        if (request.getRepositories() != null) {
+            command.setMembers(request.getRepositories().stream().map(repository -> {
+                CreateAnalysisGroupCommand.Member member = new CreateAnalysisGroupCommand.Member();
+                member.setGitUrl(repository.getGitUrl());
+                member.setBranch(repository.getBranch());
+                member.setProjectName(repository.getProjectName());
+                return member;
+            }).collect(Collectors.toList()));
+        }
+        return command;
+    }
+
+    public static AnalysisGroupResponse toGroupResponse(AnalysisGroup group) {
+        AnalysisGroupResponse response = new AnalysisGroupResponse();
+        response.setId(group.getId());
+        response.setName(group.getName());
+        response.setSpringVersionTarget(group.getSpringVersionTarget());
+        response.setCreatedAt(group.getCreatedAt() != null ? group.getCreatedAt().format(DateTimeFormatter.ISO_DATE_TIME) : null);
+        response.setStatus(group.getStatus().name());
+        response.setTotal(group.getAnalyses().size());
+        response.setPending(group.count(AnalysisStatus.PENDING));
+        response.setRunning(group.count(AnalysisStatus.RUNNING));
+        response.setCompleted(group.count(AnalysisStatus.COMPLETED));
+        response.setFailed(group.count(AnalysisStatus.FAILED));
+        response.setTotalWorkpoints(group.getTotalWorkpoints());
+        response.setAnalyses(group.getAnalyses().stream().map(AnalysisDtoMapper::toSummaryResponse).collect(Collectors.toList()));
+        response.setRejected(group.getRejected().stream().map(member -> {
+            AnalysisGroupResponse.RejectedRepository rejected = new AnalysisGroupResponse.RejectedRepository();
+            rejected.setGitUrl(member.getGitUrl());
+            rejected.setBranch(member.getBranch());
+            rejected.setError(member.getError());
+            return rejected;
+        }).collect(Collectors.toList()));
+        return response;
+    }
+
     public static AnalysisSummaryResponse toSummaryResponse(Analysis analysis) {
         AnalysisSummaryResponse response = new AnalysisSummaryResponse();
         response.setId(analysis.getId());
+        response.setProjectId(analysis.getProject() != null ? analysis.getProject().getId() : null);
         response.setProjectName(analysis.getProject() != null ? analysis.getProject().getName() : null);
         response.setSpringVersionCurrent(analysis.getSpringVersionCurrent());
         response.setSpringVersionTarget(analysis.getSpringVersionTarget());
@@ -44,11 +102,39 @@ public class AnalysisDtoMapper {
         response.setStatus(analysis.getStatus() != null ? analysis.getStatus().name() : null);
         response.setTotalWorkpoints(extractTotalWorkpoints(analysis.getEffort()));
         response.setCreatedAt(analysis.getCreatedAt() != null ? analysis.getCreatedAt().format(DateTimeFormatter.ISO_DATE_TIME) : null);
+        response.setAttempts(analysis.getAttempts());
+        response.setProgress(analysis.getProgress());
+        response.setErrorMessage(analysis.getErrorMessage());
+        response.setCommitSha(analysis.getCommitSha());
+        response.setReusedFromId(analysis.getReusedFromId());
         return response;
     }
 
-    public static List<AnalysisSummaryResponse> toSummaryList(List<Analysis> analyses) {
-        return analyses.stream().map(AnalysisDtoMapper::toSummaryResponse).collect(Collectors.toList());
+    public static AnalysisSummaryResponse toSummaryResponse(AnalysisSummary summary) {
+        AnalysisSummaryResponse response = new AnalysisSummaryResponse();
+        response.setId(summary.getId());
+        response.setProjectId(summary.getProjectId());
+        response.setProjectName(summary.getProjectName());
+        response.setSpringVersionCurrent(summary.getSpringVersionCurrent());
+        response.setSpringVersionTarget(summary.getSpringVersionTarget());
+        response.setLlmModel(summary.getLlmModel());
+        response.setDependencyScope(summary.getDependencyScope() != null ? summary.getDependencyScope().name() : null);
+        response.setStatus(summary.getStatus() != null ? summary.getStatus().name() : null);
+        response.setTotalWorkpoints(summary.getTotalWorkpoints());
+        response.setCreatedAt(summary.getCreatedAt() != null ? summary.getCreatedAt().format(DateTimeFormatter.ISO_DATE_TIME) : null);
+        response.setAttempts(summary.getAttempts());
+        response.setProgress(summary.getProgress());
+        response.setErrorMessage(summary.getErrorMessage());
+        response.setCommitSha(summary.getCommitSha());
+        response.setReusedFromId(summary.getReusedFromId());
+        return response;
+    }
+
+    public static AnalysisPageResponse toPageResponse(AnalysisSummaryPage page) {
+        AnalysisPageResponse response = new AnalysisPageResponse();
+        response.setItems(page.getItems().stream().map(AnalysisDtoMapper::toSummaryResponse).collect(Collectors.toList()));
+        response.setNextCursor(page.getNextCursor());
+        return response;
     }
 
     public static AnalysisDetailResponse toDetailResponse(Analysis analysis) {
@@ -62,11 +148,45 @@ public class AnalysisDtoMapper {
         response.setStatus(analysis.getStatus() != null ? analysis.getStatus().name() : null);
         response.setTotalWorkpoints(extractTotalWorkpoints(analysis.getEffort()));
         response.setCreatedAt(analysis.getCreatedAt() != null ? analysis.getCreatedAt().format(DateTimeFormatter.ISO_DATE_TIME) : null);
+        response.setAttempts(analysis.getAttempts());
+        response.setProgress(analysis.getProgress());
+        response.setErrorMessage(analysis.getErrorMessage());
+        response.setCommitSha(analysis.getCommitSha());
+        response.setReusedFromId(analysis.getReusedFromId());
         response.setChanges(mapChanges(analysis.getChanges()));
         response.setEffort(extractEffortMap(analysis.getEffort()));
         return response;
     }
 
+    public static ChangeSearchPageResponse toSearchResponse(ChangeSearchPage page) {
+        ChangeSearchPageResponse response = new ChangeSearchPageResponse();
+        response.setItems(page.getItems().stream().map(AnalysisDtoMapper::toSearchHitResponse).collect(Collectors.toList()));
+        response.setPage(page.getPage());
+        response.setSize(page.getSize());
+        response.setHasMore(page.isHasMore());
+        return response;
+    }
+
+    private static ChangeSearchHitResponse toSearchHitResponse(ChangeSearchHit hit) {
+        ChangeSearchHitResponse response = new ChangeSearchHitResponse();
+        response.setAnalysisId(hit.getAnalysisId());
+        response.setProjectId(hit.getProjectId());
+        response.setProjectName(hit.getProjectName());
+        response.setAnalysisStatus(hit.getAnalysisStatus());
+        response.setSpringVersionTarget(hit.getSpringVersionTarget());
+        response.setAnalysisCreatedAt(hit.getAnalysisCreatedAt() != null ? hit.getAnalysisCreatedAt().format(DateTimeFormatter.ISO_DATE_TIME) : null);
+        response.setChangeId(hit.getChangeId());
+        response.setType(hit.getType());
+        response.setSeverity(hit.getSeverity());
+        response.setTitle(hit.getTitle());
+        response.setSnippet(hit.getSnippet());
+        response.setFilePath(hit.getFilePath());
+        response.setSymbol(hit.getSymbol());
+        response.setWorkpoints(hit.getWorkpoints());
+        response.setRank(hit.getRank());
+        return response;
+    }
+
     private static Integer extractTotalWorkpoints(Effort effort) {
         return effort != null ? effort.getTotalWorkpoints() : null;
     }
@@ -10,6 +10,8 @@ public class CreateAnalysisCommand {
     private String llmModel;
     private String gitTokenId;
     private DependencyScope dependencyScope;
+    private boolean force;
+    private Long groupId;
 
     public String getProjectGitUrl() {
         return projectGitUrl;
@@ -66,4 +68,20 @@ public class CreateAnalysisCommand {
     public void setDependencyScope(DependencyScope dependencyScope) {
         this.dependencyScope = dependencyScope;
     }
+
+    public boolean isForce() {
+        return force;
+    }
+
+    public void setForce(boolean force) {
+        this.force = force;
+    }
+
+    public Long getGroupId() {
+        return groupId;
+    }
+
+    public void setGroupId(Long groupId) {
+        this.groupId = groupId;
+    }
 }
@@ -0,0 +1,102 @@
+package com.example.upgrader.core.command;
+
+import com.example.upgrader.core.model.DependencyScope;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CreateAnalysisGroupCommand {
+    private String name;
+    private String springVersionTarget;
+    private String llmModel;
+    private String gitTokenId;
+    private DependencyScope dependencyScope;
+    private boolean force;
+    private List<Member> members = new ArrayList<>();
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getSpringVersionTarget() {
+        return springVersionTarget;
+    }
+
+    public void setSpringVersionTarget(String springVersionTarget) {
+        this.springVersionTarget = springVersionTarget;
+    }
+
+    public String getLlmModel() {
+        return llmModel;
+    }
+
+    public void setLlmModel(String llmModel) {
+        this.llmModel = llmModel;
+    }
+
+    public String getGitTokenId() {
+        return gitTokenId;
+    }
+
+    public void setGitTokenId(String gitTokenId) {
+        this.gitTokenId = gitTokenId;
+    }
+
+    public DependencyScope getDependencyScope() {
+        return dependencyScope;
+    }
+
+    public void setDependencyScope(DependencyScope dependencyScope) {
+        this.dependencyScope = dependencyScope;
+    }
+
+    public boolean isForce() {
+        return force;
+    }
+
+    public void setForce(boolean force) {
+        this.force = force;
+    }
+
+    public List<Member> getMembers() {
+        return members;
+    }
+
+    public void setMembers(List<Member> members) {
+        this.members = members;
+    }
+
+    public static class Member {
+        private String gitUrl;
+        private String branch;
+        private String projectName;
+
+        public String getGitUrl() {
+            return gitUrl;
+        }
+
+        public void setGitUrl(String gitUrl) {
+            this.gitUrl = gitUrl;
+        }
+
+        public String getBranch() {
+            return branch;
+        }
+
+        public void setBranch(String branch) {
+            this.branch = branch;
+        }
+
+        public String getProjectName() {
+            return projectName;
+        }
+
+        public void setProjectName(String projectName) {
+            this.projectName = projectName;
+        }
+    }
+}
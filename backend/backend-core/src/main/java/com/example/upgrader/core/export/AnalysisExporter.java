@@ -0,0 +1,16 @@
+package com.example.upgrader.core.export;
+
+import com.example.upgrader.core.model.AnalysisSummary;
+
+import java.util.function.Consumer;
+
+/**
+ * Streams export rows to a sink as they are read, without materializing the result set. Rows are ordered by
+ * analysis id (then change id) so consecutive exports with the same filter produce the same output.
+ */
+public interface AnalysisExporter {
+
+    void exportAnalyses(ExportFilter filter, Consumer<AnalysisSummary> sink);
+
+    void exportChanges(ExportFilter filter, Consumer<ChangeExportRow> sink);
+}
@@ -0,0 +1,123 @@
+package com.example.upgrader.core.export;
+
+import java.time.LocalDateTime;
+
+public class ChangeExportRow {
+    private Long analysisId;
+    private Long projectId;
+    private String projectName;
+    private String springVersionTarget;
+    private LocalDateTime analysisCreatedAt;
+    private String changeId;
+    private String type;
+    private String severity;
+    private String title;
+    private String description;
+    private String filePath;
+    private String symbol;
+    private Integer workpoints;
+
+    public Long getAnalysisId() {
+        return analysisId;
+    }
+
+    public void setAnalysisId(Long analysisId) {
+        this.analysisId = analysisId;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public String getProjectName() {
+        return projectName;
+    }
+
+    public void setProjectName(String projectName) {
+        this.projectName = projectName;
+    }
+
+    public String getSpringVersionTarget() {
+        return springVersionTarget;
+    }
+
+    public void setSpringVersionTarget(String springVersionTarget) {
+        this.springVersionTarget = springVersionTarget;
+    }
+
+    public LocalDateTime getAnalysisCreatedAt() {
+        return analysisCreatedAt;
+    }
+
+    public void setAnalysisCreatedAt(LocalDateTime analysisCreatedAt) {
+        this.analysisCreatedAt = analysisCreatedAt;
+    }
+
+    public String getChangeId() {
+        return changeId;
+    }
+
+    public void setChangeId(String changeId) {
+        this.changeId = changeId;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getSeverity() {
+        return severity;
+    }
+
+    public void setSeverity(String severity) {
+        this.severity = severity;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public void setFilePath(String filePath) {
+        this.filePath = filePath;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public void setSymbol(String symbol) {
+        this.symbol = symbol;
+    }
+
+    public Integer getWorkpoints() {
+        return workpoints;
+    }
+
+    public void setWorkpoints(Integer workpoints) {
+        this.workpoints = workpoints;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.upgrader.core.export;
+
+import java.time.LocalDateTime;
+
+public class ExportFilter {
+    private final Long projectId;
+    private final LocalDateTime createdFrom;
+    private final LocalDateTime createdBefore;
+    private final String changeType;
+
+    public ExportFilter(Long projectId, LocalDateTime createdFrom, LocalDateTime createdBefore, String changeType) {
+        if (createdFrom != null && createdBefore != null && !createdFrom.isBefore(createdBefore)) {
+            throw new IllegalArgumentException("Export date range is empty");
+        }
+        this.projectId = projectId;
+        this.createdFrom = createdFrom;
+        this.createdBefore = createdBefore;
+        this.changeType = changeType == null || changeType.isBlank() ? null : changeType.trim().toUpperCase();
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public LocalDateTime getCreatedFrom() {
+        return createdFrom;
+    }
+
+    public LocalDateTime getCreatedBefore() {
+        return createdBefore;
+    }
+
+    public String getChangeType() {
+        return changeType;
+    }
+}
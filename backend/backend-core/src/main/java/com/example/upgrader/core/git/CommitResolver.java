@@ -0,0 +1,13 @@
+package com.example.upgrader.core.git;
+
+import java.util.Optional;
+
+public interface CommitResolver {
+
+    /**
+     * Resolves the commit currently at the head of {@code branch} (or of the remote default branch when blank)
+     * without cloning the repository. No credentials are sent: private repositories, unreachable remotes and
+     * URLs outside the allowed schemes yield an empty result.
+     */
+    Optional<String> resolveHead(String gitUrl, String branch);
+}
@@ -5,6 +5,7 @@ import java.util.List;
 public class LlmAnalysisResult {
     private String analysisId;
     private String springVersionCurrent;
+    private String commitSha;
     private String springVersionTarget;
     private String llmModel;
     private String summary;
@@ -31,6 +32,14 @@ public class LlmAnalysisResult {
         this.springVersionCurrent = springVersionCurrent;
     }
 
+    public String getCommitSha() {
+        return commitSha;
+    }
+
+    public void setCommitSha(String commitSha) {
+        this.commitSha = commitSha;
+    }
+
     public String getSpringVersionTarget() {
         return springVersionTarget;
     }
@@ -2,6 +2,12 @@ package com.example.upgrader.core.llm;
 
 import com.example.upgrader.core.model.Analysis;
 
+import java.util.function.Consumer;
+
 public interface LlmClient {
     LlmAnalysisResult runAnalysis(Analysis analysis);
+
+    default LlmAnalysisResult runAnalysis(Analysis analysis, Consumer<String> progress) {
+        return runAnalysis(analysis);
+    }
 }
@@ -15,6 +15,13 @@ public class Analysis {
     private List<Change> changes = new ArrayList<>();
     private Effort effort;
     private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private int attempts;
+    private String progress;
+    private String errorMessage;
+    private String commitSha;
+    private Long reusedFromId;
+    private Long groupId;
 
     public Long getId() {
         return id;
@@ -95,4 +102,60 @@ public class Analysis {
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public String getProgress() {
+        return progress;
+    }
+
+    public void setProgress(String progress) {
+        this.progress = progress;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public String getCommitSha() {
+        return commitSha;
+    }
+
+    public void setCommitSha(String commitSha) {
+        this.commitSha = commitSha;
+    }
+
+    public Long getReusedFromId() {
+        return reusedFromId;
+    }
+
+    public void setReusedFromId(Long reusedFromId) {
+        this.reusedFromId = reusedFromId;
+    }
+
+    public Long getGroupId() {
+        return groupId;
+    }
+
+    public void setGroupId(Long groupId) {
+        this.groupId = groupId;
+    }
 }
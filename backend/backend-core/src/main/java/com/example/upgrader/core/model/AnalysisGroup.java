@@ -0,0 +1,132 @@
+package com.example.upgrader.core.model;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+public class AnalysisGroup {
+    private Long id;
+    private String name;
+    private String springVersionTarget;
+    private LocalDateTime createdAt;
+    private List<AnalysisSummary> analyses = new ArrayList<>();
+    private List<RejectedMember> rejected = new ArrayList<>();
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getSpringVersionTarget() {
+        return springVersionTarget;
+    }
+
+    public void setSpringVersionTarget(String springVersionTarget) {
+        this.springVersionTarget = springVersionTarget;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public List<AnalysisSummary> getAnalyses() {
+        return analyses;
+    }
+
+    public void setAnalyses(List<AnalysisSummary> analyses) {
+        this.analyses = analyses;
+    }
+
+    /**
+     * Members whose analysis could not be created, only known in the response to the creation request.
+     */
+    public List<RejectedMember> getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(List<RejectedMember> rejected) {
+        this.rejected = rejected;
+    }
+
+    public int count(AnalysisStatus status) {
+        return (int) analyses.stream().filter(analysis -> analysis.getStatus() == status).count();
+    }
+
+    public int getTotalWorkpoints() {
+        return analyses.stream()
+                .filter(analysis -> analysis.getStatus() == AnalysisStatus.COMPLETED)
+                .map(AnalysisSummary::getTotalWorkpoints)
+                .filter(Objects::nonNull)
+                .mapToInt(Integer::intValue)
+                .sum();
+    }
+
+    /**
+     * PENDING until a member starts, RUNNING while any member is unfinished, then COMPLETED if at least one member
+     * completed and FAILED if all of them failed.
+     */
+    public AnalysisStatus getStatus() {
+        int pending = count(AnalysisStatus.PENDING);
+        int completed = count(AnalysisStatus.COMPLETED);
+        int failed = count(AnalysisStatus.FAILED);
+        if (completed + failed == analyses.size()) {
+            return completed > 0 || analyses.isEmpty() ? AnalysisStatus.COMPLETED : AnalysisStatus.FAILED;
+        }
+        return pending == analyses.size() ? AnalysisStatus.PENDING : AnalysisStatus.RUNNING;
+    }
+
+    public static class RejectedMember {
+        private String gitUrl;
+        private String branch;
+        private String error;
+
+        public RejectedMember() {
+        }
+
+        public RejectedMember(String gitUrl, String branch, String error) {
+            this.gitUrl = gitUrl;
+            this.branch = branch;
+            this.error = error;
+        }
+
+        public String getGitUrl() {
+            return gitUrl;
+        }
+
+        public void setGitUrl(String gitUrl) {
+            this.gitUrl = gitUrl;
+        }
+
+        public String getBranch() {
+            return branch;
+        }
+
+        public void setBranch(String branch) {
+            this.branch = branch;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public void setError(String error) {
+            this.error = error;
+        }
+    }
+}
@@ -2,5 +2,11 @@ package com.example.upgrader.core.model;
 
 public enum AnalysisStatus {
     PENDING,
-    COMPLETED
+    RUNNING,
+    COMPLETED,
+    FAILED;
+
+    public boolean isTerminal() {
+        return this == COMPLETED || this == FAILED;
+    }
 }
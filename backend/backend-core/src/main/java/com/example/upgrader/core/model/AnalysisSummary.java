@@ -0,0 +1,141 @@
+package com.example.upgrader.core.model;
+
+import java.time.LocalDateTime;
+
+public class AnalysisSummary {
+    private Long id;
+    private Long projectId;
+    private String projectName;
+    private String springVersionCurrent;
+    private String springVersionTarget;
+    private String llmModel;
+    private DependencyScope dependencyScope;
+    private AnalysisStatus status;
+    private Integer totalWorkpoints;
+    private LocalDateTime createdAt;
+    private int attempts;
+    private String progress;
+    private String errorMessage;
+    private String commitSha;
+    private Long reusedFromId;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public String getProjectName() {
+        return projectName;
+    }
+
+    public void setProjectName(String projectName) {
+        this.projectName = projectName;
+    }
+
+    public String getSpringVersionCurrent() {
+        return springVersionCurrent;
+    }
+
+    public void setSpringVersionCurrent(String springVersionCurrent) {
+        this.springVersionCurrent = springVersionCurrent;
+    }
+
+    public String getSpringVersionTarget() {
+        return springVersionTarget;
+    }
+
+    public void setSpringVersionTarget(String springVersionTarget) {
+        this.springVersionTarget = springVersionTarget;
+    }
+
+    public String getLlmModel() {
+        return llmModel;
+    }
+
+    public void setLlmModel(String llmModel) {
+        this.llmModel = llmModel;
+    }
+
+    public DependencyScope getDependencyScope() {
+        return dependencyScope;
+    }
+
+    public void setDependencyScope(DependencyScope dependencyScope) {
+        this.dependencyScope = dependencyScope;
+    }
+
+    public AnalysisStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(AnalysisStatus status) {
+        this.status = status;
+    }
+
+    public Integer getTotalWorkpoints() {
+        return totalWorkpoints;
+    }
+
+    public void setTotalWorkpoints(Integer totalWorkpoints) {
+        this.totalWorkpoints = totalWorkpoints;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public String getProgress() {
+        return progress;
+    }
+
+    public void setProgress(String progress) {
+        this.progress = progress;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public String getCommitSha() {
+        return commitSha;
+    }
+
+    public void setCommitSha(String commitSha) {
+        this.commitSha = commitSha;
+    }
+
+    public Long getReusedFromId() {
+        return reusedFromId;
+    }
+
+    public void setReusedFromId(Long reusedFromId) {
+        this.reusedFromId = reusedFromId;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.upgrader.core.model;
+
+import java.util.List;
+
+public class AnalysisSummaryPage {
+    private final List<AnalysisSummary> items;
+    private final String nextCursor;
+
+    public AnalysisSummaryPage(List<AnalysisSummary> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<AnalysisSummary> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
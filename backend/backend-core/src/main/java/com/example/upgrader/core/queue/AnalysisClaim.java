@@ -0,0 +1,19 @@
+package com.example.upgrader.core.queue;
+
+public class AnalysisClaim {
+    private final Long analysisId;
+    private final int attempt;
+
+    public AnalysisClaim(Long analysisId, int attempt) {
+        this.analysisId = analysisId;
+        this.attempt = attempt;
+    }
+
+    public Long getAnalysisId() {
+        return analysisId;
+    }
+
+    public int getAttempt() {
+        return attempt;
+    }
+}
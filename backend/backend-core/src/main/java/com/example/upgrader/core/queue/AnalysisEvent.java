@@ -0,0 +1,74 @@
+package com.example.upgrader.core.queue;
+
+import com.example.upgrader.core.model.AnalysisStatus;
+
+import java.time.Instant;
+
+public class AnalysisEvent {
+    private Long analysisId;
+    private AnalysisStatus status;
+    private String stage;
+    private int attempt;
+    private String message;
+    private Instant timestamp;
+
+    public AnalysisEvent() {
+    }
+
+    public AnalysisEvent(Long analysisId, AnalysisStatus status, String stage, int attempt, String message) {
+        this.analysisId = analysisId;
+        this.status = status;
+        this.stage = stage;
+        this.attempt = attempt;
+        this.message = message;
+        this.timestamp = Instant.now();
+    }
+
+    public Long getAnalysisId() {
+        return analysisId;
+    }
+
+    public void setAnalysisId(Long analysisId) {
+        this.analysisId = analysisId;
+    }
+
+    public AnalysisStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(AnalysisStatus status) {
+        this.status = status;
+    }
+
+    public String getStage() {
+        return stage;
+    }
+
+    public void setStage(String stage) {
+        this.stage = stage;
+    }
+
+    public int getAttempt() {
+        return attempt;
+    }
+
+    public void setAttempt(int attempt) {
+        this.attempt = attempt;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(Instant timestamp) {
+        this.timestamp = timestamp;
+    }
+}
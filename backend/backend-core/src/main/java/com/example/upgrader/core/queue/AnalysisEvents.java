@@ -0,0 +1,11 @@
+package com.example.upgrader.core.queue;
+
+import java.util.function.Consumer;
+
+public interface AnalysisEvents {
+    void publish(AnalysisEvent event);
+
+    Runnable subscribe(Long analysisId, Consumer<AnalysisEvent> listener);
+
+    Runnable subscribeAll(Consumer<AnalysisEvent> listener);
+}
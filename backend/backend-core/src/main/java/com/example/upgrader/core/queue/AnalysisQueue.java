@@ -0,0 +1,26 @@
+package com.example.upgrader.core.queue;
+
+import java.time.Duration;
+import java.util.Optional;
+
+public interface AnalysisQueue {
+    void enqueue(Long analysisId);
+
+    Optional<AnalysisClaim> claimNext(String workerId, Duration lease);
+
+    boolean renewLease(Long analysisId, String workerId, Duration lease);
+
+    void updateProgress(Long analysisId, String workerId, String stage);
+
+    /**
+     * Puts a running analysis back in the queue after {@code delay}; false when {@code workerId} no longer holds it.
+     */
+    boolean retry(Long analysisId, String workerId, String error, Duration delay);
+
+    /**
+     * Marks a running analysis FAILED; false when {@code workerId} no longer holds it.
+     */
+    boolean fail(Long analysisId, String workerId, String error);
+
+    void awaitWork(Duration timeout) throws InterruptedException;
+}
@@ -0,0 +1,49 @@
+package com.example.upgrader.core.queue;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+public class AnalysisQueueProperties {
+
+    private final int workers;
+    private final Duration lease;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration pollInterval;
+
+    public AnalysisQueueProperties(
+            @Value("${analysis.queue.workers:2}") int workers,
+            @Value("${analysis.queue.lease-seconds:120}") long leaseSeconds,
+            @Value("${analysis.queue.max-attempts:3}") int maxAttempts,
+            @Value("${analysis.queue.retry-backoff-seconds:30}") long retryBackoffSeconds,
+            @Value("${analysis.queue.poll-interval-ms:5000}") long pollIntervalMs) {
+        this.workers = Math.max(0, workers);
+        this.lease = Duration.ofSeconds(Math.max(10, leaseSeconds));
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoff = Duration.ofSeconds(Math.max(1, retryBackoffSeconds));
+        this.pollInterval = Duration.ofMillis(Math.max(100, pollIntervalMs));
+    }
+
+    public int workers() {
+        return workers;
+    }
+
+    public Duration lease() {
+        return lease;
+    }
+
+    public int maxAttempts() {
+        return maxAttempts;
+    }
+
+    public Duration retryBackoff() {
+        return retryBackoff;
+    }
+
+    public Duration pollInterval() {
+        return pollInterval;
+    }
+}
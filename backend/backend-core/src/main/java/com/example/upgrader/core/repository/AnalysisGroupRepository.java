@@ -0,0 +1,13 @@
+package com.example.upgrader.core.repository;
+
+import com.example.upgrader.core.model.AnalysisGroup;
+
+import java.util.Optional;
+
+public interface AnalysisGroupRepository {
+    AnalysisGroup save(AnalysisGroup group);
+
+    Optional<AnalysisGroup> findById(Long id);
+
+    void deleteById(Long id);
+}
@@ -1,6 +1,9 @@
 package com.example.upgrader.core.repository;
 
 import com.example.upgrader.core.model.Analysis;
+import com.example.upgrader.core.model.AnalysisStatus;
+import com.example.upgrader.core.model.AnalysisSummary;
+import com.example.upgrader.core.model.DependencyScope;
 
 import java.util.List;
 import java.util.Optional;
@@ -10,5 +13,16 @@ public interface AnalysisRepository {
 
     Optional<Analysis> findById(Long id);
 
-    List<Analysis> findAll();
+    /**
+     * Stores the results of a claimed analysis and marks it COMPLETED in one transaction, only while {@code workerId}
+     * still holds its lease. Returns false without writing anything when another worker took it over or it was failed.
+     */
+    boolean completeIfLeased(Analysis analysis, String workerId);
+
+    List<AnalysisSummary> findSummaries(Long projectId, AnalysisStatus status, AnalysisCursor after, int limit);
+
+    Optional<Analysis> findLatestCompleted(Long projectId, String commitSha, String springVersionTarget,
+                                           DependencyScope dependencyScope);
+
+    List<AnalysisSummary> findSummariesByGroup(Long groupId);
 }
@@ -0,0 +1,33 @@
+package com.example.upgrader.core.search;
+
+import java.util.List;
+
+public class ChangeSearchPage {
+    private final List<ChangeSearchHit> items;
+    private final int page;
+    private final int size;
+    private final boolean hasMore;
+
+    public ChangeSearchPage(List<ChangeSearchHit> items, int page, int size, boolean hasMore) {
+        this.items = items;
+        this.page = page;
+        this.size = size;
+        this.hasMore = hasMore;
+    }
+
+    public List<ChangeSearchHit> getItems() {
+        return items;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+}
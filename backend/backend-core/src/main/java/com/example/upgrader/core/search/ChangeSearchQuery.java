@@ -0,0 +1,52 @@
+package com.example.upgrader.core.search;
+
+public class ChangeSearchQuery {
+    private final String text;
+    private final String symbolPrefix;
+    private final Long projectId;
+    private final String changeType;
+    private final int page;
+    private final int size;
+
+    public ChangeSearchQuery(String text, String symbolPrefix, Long projectId, String changeType, int page, int size) {
+        this.text = text == null || text.isBlank() ? null : text.trim();
+        this.symbolPrefix = symbolPrefix == null || symbolPrefix.isBlank() ? null : symbolPrefix.trim();
+        if (this.text == null && this.symbolPrefix == null) {
+            throw new IllegalArgumentException("A search needs a text query or a symbol prefix");
+        }
+        if (page < 0) {
+            throw new IllegalArgumentException("page must not be negative");
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("size must be positive");
+        }
+        this.projectId = projectId;
+        this.changeType = changeType == null || changeType.isBlank() ? null : changeType.trim().toUpperCase();
+        this.page = page;
+        this.size = size;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public String getSymbolPrefix() {
+        return symbolPrefix;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public String getChangeType() {
+        return changeType;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+}
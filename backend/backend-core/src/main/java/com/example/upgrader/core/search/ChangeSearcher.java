@@ -0,0 +1,12 @@
+package com.example.upgrader.core.search;
+
+import java.util.List;
+
+/**
+ * Searches the stored changes of every analysis. Hits are ordered by relevance when the query has text, newest
+ * change first otherwise; {@code limit} rows are returned starting at {@code offset}.
+ */
+public interface ChangeSearcher {
+
+    List<ChangeSearchHit> search(ChangeSearchQuery query, int offset, int limit);
+}
@@ -0,0 +1,45 @@
+package com.example.upgrader.core.service;
+
+import com.example.upgrader.core.export.AnalysisExporter;
+import com.example.upgrader.core.export.ChangeExportRow;
+import com.example.upgrader.core.export.ExportFilter;
+import com.example.upgrader.core.model.AnalysisSummary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.function.Consumer;
+
+@Service
+public class AnalysisExportService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AnalysisExportService.class);
+
+    private final AnalysisExporter exporter;
+
+    public AnalysisExportService(AnalysisExporter exporter) {
+        this.exporter = exporter;
+    }
+
+    public long exportAnalyses(ExportFilter filter, Consumer<AnalysisSummary> sink) {
+        long[] count = new long[1];
+        long start = System.nanoTime();
+        exporter.exportAnalyses(filter, row -> {
+            sink.accept(row);
+            count[0]++;
+        });
+        LOGGER.info("Export de {} analyses en {} ms", count[0], (System.nanoTime() - start) / 1_000_000);
+        return count[0];
+    }
+
+    public long exportChanges(ExportFilter filter, Consumer<ChangeExportRow> sink) {
+        long[] count = new long[1];
+        long start = System.nanoTime();
+        exporter.exportChanges(filter, row -> {
+            sink.accept(row);
+            count[0]++;
+        });
+        LOGGER.info("Export de {} changements en {} ms", count[0], (System.nanoTime() - start) / 1_000_000);
+        return count[0];
+    }
+}
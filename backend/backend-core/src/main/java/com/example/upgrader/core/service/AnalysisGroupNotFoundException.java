@@ -0,0 +1,7 @@
+package com.example.upgrader.core.service;
+
+public class AnalysisGroupNotFoundException extends RuntimeException {
+    public AnalysisGroupNotFoundException(Long id) {
+        super("Analysis group with id " + id + " not found");
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.upgrader.core.service;
+
+import com.example.upgrader.core.command.CreateAnalysisCommand;
+import com.example.upgrader.core.command.CreateAnalysisGroupCommand;
+import com.example.upgrader.core.model.Analysis;
+import com.example.upgrader.core.model.AnalysisGroup;
+import com.example.upgrader.core.model.AnalysisStatus;
+import com.example.upgrader.core.model.AnalysisSummary;
+import com.example.upgrader.core.model.DependencyScope;
+import com.example.upgrader.core.queue.AnalysisEvents;
+import com.example.upgrader.core.repository.AnalysisGroupRepository;
+import com.example.upgrader.core.repository.AnalysisRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+@Service
+public class AnalysisGroupService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AnalysisGroupService.class);
+    private static final int MAX_GROUP_SIZE = 200;
+
+    private final AnalysisService analysisService;
+    private final AnalysisGroupRepository groupRepository;
+    private final AnalysisRepository analysisRepository;
+    private final AnalysisEvents analysisEvents;
+    private final int createParallelism;
+
+    public AnalysisGroupService(AnalysisService analysisService, AnalysisGroupRepository groupRepository,
+                                AnalysisRepository analysisRepository, AnalysisEvents analysisEvents,
+                                @Value("${analysis.group.create-parallelism:8}") int createParallelism) {
+        this.analysisService = analysisService;
+        this.groupRepository = groupRepository;
+        this.analysisRepository = analysisRepository;
+        this.analysisEvents = analysisEvents;
+        this.createParallelism = Math.max(1, createParallelism);
+    }
+
+    /**
+     * Creates one analysis per distinct (gitUrl, branch) member and queues them; the queue workers run them
+     * concurrently within the per-service limits of the MCP client. Members are created in parallel because each one
+     * resolves its head commit with a remote call.
+     * <p>
+     * The request is validated before anything is written. A member whose creation then fails is reported in
+     * {@link AnalysisGroup#getRejected()} while the others stay queued; when no member could be created the group is
+     * removed and the first error is thrown.
+     */
+    public AnalysisGroup createGroup(CreateAnalysisGroupCommand command) {
+        List<CreateAnalysisGroupCommand.Member> members = distinctMembers(command);
+        if (command.getSpringVersionTarget() == null || command.getSpringVersionTarget().isBlank()) {
+            throw new IllegalArgumentException("springVersionTarget is required");
+        }
+        List<CreateAnalysisCommand> analysisCommands = members.stream()
+                .map(member -> toAnalysisCommand(command, member))
+                .toList();
+
+        AnalysisGroup group = new AnalysisGroup();
+        group.setName(command.getName());
+        group.setSpringVersionTarget(command.getSpringVersionTarget());
+        group.setCreatedAt(LocalDateTime.now());
+        AnalysisGroup saved = groupRepository.save(group);
+
+        Semaphore permits = new Semaphore(createParallelism);
+        List<Future<Analysis>> created = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (CreateAnalysisCommand analysisCommand : analysisCommands) {
+                analysisCommand.setGroupId(saved.getId());
+                created.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return analysisService.createAnalysis(analysisCommand);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        }
+
+        RuntimeException firstError = null;
+        List<AnalysisGroup.RejectedMember> rejected = new ArrayList<>();
+        for (int i = 0; i < created.size(); i++) {
+            CreateAnalysisGroupCommand.Member member = members.get(i);
+            try {
+                created.get(i).get();
+            } catch (ExecutionException ex) {
+                Throwable cause = ex.getCause();
+                LOGGER.warn("Création de l'analyse de {}#{} dans le groupe {} en échec: {}", member.getGitUrl(),
+                        member.getBranch(), saved.getId(), cause.getMessage());
+                rejected.add(new AnalysisGroup.RejectedMember(member.getGitUrl(), member.getBranch(),
+                        cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName()));
+                if (firstError == null) {
+                    firstError = cause instanceof RuntimeException runtime ? runtime : new IllegalStateException(cause);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while creating analysis group " + saved.getId(), ex);
+            }
+        }
+        if (rejected.size() == members.size()) {
+            groupRepository.deleteById(saved.getId());
+            throw firstError;
+        }
+        LOGGER.info("Groupe d'analyses {} créé avec {} dépôts ({} refusés)", saved.getId(),
+                members.size() - rejected.size(), rejected.size());
+        AnalysisGroup result = getGroup(saved.getId());
+        result.setRejected(rejected);
+        return result;
+    }
+
+    public AnalysisGroup getGroup(Long id) {
+        AnalysisGroup group = groupRepository.findById(id).orElseThrow(() -> new AnalysisGroupNotFoundException(id));
+        group.setAnalyses(analysisRepository.findSummariesByGroup(id));
+        return group;
+    }
+
+    /**
+     * Calls the listener with a fresh aggregate each time a member changes status. Progress events within a status
+     * are ignored so that the group is not reloaded for every stage of every member.
+     */
+    public Runnable followGroup(Long id, Consumer<AnalysisGroup> listener) {
+        AnalysisGroup group = getGroup(id);
+        Map<Long, AnalysisStatus> statuses = new ConcurrentHashMap<>();
+        List<Runnable> subscriptions = new ArrayList<>();
+        for (AnalysisSummary member : group.getAnalyses()) {
+            statuses.put(member.getId(), member.getStatus());
+            subscriptions.add(analysisEvents.subscribe(member.getId(), event -> {
+                if (event.getStatus() == null || statuses.put(event.getAnalysisId(), event.getStatus()) == event.getStatus()) {
+                    return;
+                }
+                listener.accept(getGroup(id));
+            }));
+        }
+        return () -> subscriptions.forEach(Runnable::run);
+    }
+
+    private List<CreateAnalysisGroupCommand.Member> distinctMembers(CreateAnalysisGroupCommand command) {
+        if (command.getMembers() == null || command.getMembers().isEmpty()) {
+            throw new IllegalArgumentException("An analysis group needs at least one repository");
+        }
+        Map<String, CreateAnalysisGroupCommand.Member> distinct = new LinkedHashMap<>();
+        for (CreateAnalysisGroupCommand.Member member : command.getMembers()) {
+            if (member.getGitUrl() == null || member.getGitUrl().isBlank()
+                    || member.getBranch() == null || member.getBranch().isBlank()) {
+                throw new IllegalArgumentException("Every repository needs a gitUrl and a branch");
+            }
+            distinct.putIfAbsent(member.getGitUrl() + "#" + member.getBranch(), member);
+        }
+        if (distinct.size() > MAX_GROUP_SIZE) {
+            throw new IllegalArgumentException("An analysis group is limited to " + MAX_GROUP_SIZE + " repositories");
+        }
+        return List.copyOf(distinct.values());
+    }
+
+    private CreateAnalysisCommand toAnalysisCommand(CreateAnalysisGroupCommand command,
+                                                    CreateAnalysisGroupCommand.Member member) {
+        CreateAnalysisCommand analysisCommand = new CreateAnalysisCommand();
+        analysisCommand.setProjectGitUrl(member.getGitUrl());
+        analysisCommand.setBranch(member.getBranch());
+        analysisCommand.setProjectName(member.getProjectName() != null && !member.getProjectName().isBlank()
+                ? member.getProjectName()
+                : defaultProjectName(member.getGitUrl()));
+        analysisCommand.setSpringVersionTarget(command.getSpringVersionTarget());
+        analysisCommand.setLlmModel(command.getLlmModel());
+        analysisCommand.setGitTokenId(command.getGitTokenId());
+        analysisCommand.setDependencyScope(command.getDependencyScope() != null ? command.getDependencyScope() : DependencyScope.ALL);
+        analysisCommand.setForce(command.isForce());
+        return analysisCommand;
+    }
+
+    private String defaultProjectName(String gitUrl) {
+        String trimmed = gitUrl.replaceAll("/+$", "").replaceAll("\\.git$", "");
+        return trimmed.substring(trimmed.lastIndexOf('/') + 1);
+    }
+}
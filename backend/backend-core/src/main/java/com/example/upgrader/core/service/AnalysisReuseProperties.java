@@ -0,0 +1,28 @@
+package com.example.upgrader.core.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+public class AnalysisReuseProperties {
+
+    private final boolean enabled;
+    private final Duration lsRemoteTimeout;
+
+    public AnalysisReuseProperties(
+            @Value("${analysis.reuse.enabled:true}") boolean enabled,
+            @Value("${analysis.reuse.ls-remote-timeout-seconds:10}") int lsRemoteTimeoutSeconds) {
+        this.enabled = enabled;
+        this.lsRemoteTimeout = Duration.ofSeconds(Math.max(1, lsRemoteTimeoutSeconds));
+    }
+
+    public boolean enabled() {
+        return enabled;
+    }
+
+    public Duration lsRemoteTimeout() {
+        return lsRemoteTimeout;
+    }
+}
@@ -1,16 +1,25 @@
 package com.example.upgrader.core.service;
 
 import com.example.upgrader.core.command.CreateAnalysisCommand;
+import com.example.upgrader.core.git.CommitResolver;
 import com.example.upgrader.core.llm.LlmAnalysisResult;
 import com.example.upgrader.core.llm.LlmClient;
 import com.example.upgrader.core.model.Analysis;
 import com.example.upgrader.core.model.AnalysisStatus;
+import com.example.upgrader.core.model.AnalysisSummary;
+import com.example.upgrader.core.model.AnalysisSummaryPage;
 import com.example.upgrader.core.model.Change;
 import com.example.upgrader.core.model.DependencyScope;
 import com.example.upgrader.core.model.Effort;
 import com.example.upgrader.core.model.Project;
+import com.example.upgrader.core.queue.AnalysisEvent;
+import com.example.upgrader.core.queue.AnalysisEvents;
+import com.example.upgrader.core.queue.AnalysisQueue;
+import com.example.upgrader.core.repository.AnalysisCursor;
 import com.example.upgrader.core.repository.AnalysisRepository;
 import com.example.upgrader.core.repository.ProjectRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -19,37 +28,81 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
 public class AnalysisService {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(AnalysisService.class);
+    private static final int MAX_PAGE_SIZE = 200;
+
     private final AnalysisRepository analysisRepository;
     private final ProjectRepository projectRepository;
     private final LlmClient llmClient;
+    private final AnalysisQueue analysisQueue;
+    private final AnalysisEvents analysisEvents;
+    private final CommitResolver commitResolver;
+    private final AnalysisReuseProperties reuseProperties;
 
-    public AnalysisService(AnalysisRepository analysisRepository, ProjectRepository projectRepository, LlmClient llmClient) {
+    public AnalysisService(AnalysisRepository analysisRepository, ProjectRepository projectRepository, LlmClient llmClient,
+                           AnalysisQueue analysisQueue, AnalysisEvents analysisEvents, CommitResolver commitResolver,
+                           AnalysisReuseProperties reuseProperties) {
         this.analysisRepository = analysisRepository;
         this.projectRepository = projectRepository;
         this.llmClient = llmClient;
+        this.analysisQueue = analysisQueue;
+        this.analysisEvents = analysisEvents;
+        this.commitResolver = commitResolver;
+        this.reuseProperties = reuseProperties;
     }
 
     public Analysis createAnalysis(CreateAnalysisCommand command) {
         Project project = findOrCreateProject(command);
+        DependencyScope scope = command.getDependencyScope() != null ? command.getDependencyScope() : DependencyScope.ALL;
+        String commitSha = resolveHeadCommit(project);
+
+        if (commitSha != null && !command.isForce()) {
+            Optional<Analysis> previous = analysisRepository.findLatestCompleted(project.getId(), commitSha,
+                    command.getSpringVersionTarget(), scope);
+            if (previous.isPresent()) {
+                return reuseAnalysis(previous.get(), project, commitSha, command.getGroupId());
+            }
+        }
 
         Analysis analysis = new Analysis();
         analysis.setProject(project);
         analysis.setSpringVersionTarget(command.getSpringVersionTarget());
         analysis.setLlmModel(command.getLlmModel());
-        DependencyScope scope = command.getDependencyScope() != null ? command.getDependencyScope() : DependencyScope.ALL;
         analysis.setDependencyScope(scope);
         analysis.setStatus(AnalysisStatus.PENDING);
         analysis.setCreatedAt(LocalDateTime.now());
+        analysis.setCommitSha(commitSha);
+        analysis.setGroupId(command.getGroupId());
 
         Analysis saved = analysisRepository.save(analysis);
+        analysisQueue.enqueue(saved.getId());
+        analysisEvents.publish(new AnalysisEvent(saved.getId(), AnalysisStatus.PENDING, "queued", 0, null));
+        return saved;
+    }
 
-        LlmAnalysisResult result = llmClient.runAnalysis(saved);
-        return updateAnalysisFromLLMResult(saved.getId(), result);
+    /**
+     * Runs an analysis claimed by {@code workerId} and stores its results only if the worker still holds the lease.
+     * Returns false when the results were dropped because the analysis was taken over or failed in the meantime.
+     */
+    public boolean runAnalysis(Long id, String workerId, Consumer<String> progress) {
+        Analysis analysis = analysisRepository.findById(id).orElseThrow(() -> new AnalysisNotFoundException(id));
+        LlmAnalysisResult result = llmClient.runAnalysis(analysis, progress);
+        applyResult(analysis, result);
+        if (!analysisRepository.completeIfLeased(analysis, workerId)) {
+            LOGGER.warn("Bail de l'analyse {} perdu par {} : résultat abandonné", id, workerId);
+            return false;
+        }
+        return true;
+    }
+
+    public Runnable followAnalysis(Long id, Consumer<AnalysisEvent> listener) {
+        return analysisEvents.subscribe(id, listener);
     }
 
     public Analysis getAnalysisSummary(Long id) {
@@ -60,14 +113,26 @@ public class AnalysisService {
         return analysisRepository.findById(id).orElseThrow(() -> new AnalysisNotFoundException(id));
     }
 
-    public List<Analysis> listAnalyses() {
-        return analysisRepository.findAll();
+    public AnalysisSummaryPage listAnalyses(Long projectId, AnalysisStatus status, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        AnalysisCursor after = cursor == null || cursor.isBlank() ? null : AnalysisCursor.decode(cursor);
+        List<AnalysisSummary> rows = analysisRepository.findSummaries(projectId, status, after, pageSize + 1);
+        if (rows.size() <= pageSize) {
+            return new AnalysisSummaryPage(rows, null);
+        }
+        List<AnalysisSummary> items = rows.subList(0, pageSize);
+        AnalysisSummary last = items.get(pageSize - 1);
+        return new AnalysisSummaryPage(List.copyOf(items), new AnalysisCursor(last.getCreatedAt(), last.getId()).encode());
     }
 
-    public Analysis updateAnalysisFromLLMResult(Long id, LlmAnalysisResult result) {
-        Analysis analysis = analysisRepository.findById(id).orElseThrow(() -> new AnalysisNotFoundException(id));
-
+    private void applyResult(Analysis analysis, LlmAnalysisResult result) {
         analysis.setSpringVersionCurrent(result.getSpringVersionCurrent());
+        if (result.getCommitSha() != null && !result.getCommitSha().equals(analysis.getCommitSha())) {
+            // the branch may have moved between queueing and cloning: reuse must key on what was analyzed
+            LOGGER.info("Analyse {} : commit analysé {} (tête résolue à la mise en file : {})", analysis.getId(),
+                    result.getCommitSha(), analysis.getCommitSha());
+            analysis.setCommitSha(result.getCommitSha());
+        }
         if (result.getSpringVersionTarget() != null) {
             analysis.setSpringVersionTarget(result.getSpringVersionTarget());
         }
@@ -78,9 +143,35 @@ public class AnalysisService {
         Map<String, Integer> workpointsByChange = extractWorkpoints(result.getEffort());
         analysis.setChanges(mapChanges(result, workpointsByChange));
         analysis.setEffort(mapEffort(result.getEffort()));
+    }
+
+    private String resolveHeadCommit(Project project) {
+        if (!reuseProperties.enabled()) {
+            return null;
+        }
+        return commitResolver.resolveHead(project.getGitUrl(), project.getBranch()).orElse(null);
+    }
+
+    private Analysis reuseAnalysis(Analysis previous, Project project, String commitSha, Long groupId) {
+        Analysis analysis = new Analysis();
+        analysis.setProject(project);
+        analysis.setSpringVersionCurrent(previous.getSpringVersionCurrent());
+        analysis.setSpringVersionTarget(previous.getSpringVersionTarget());
+        analysis.setLlmModel(previous.getLlmModel());
+        analysis.setDependencyScope(previous.getDependencyScope());
         analysis.setStatus(AnalysisStatus.COMPLETED);
+        analysis.setCreatedAt(LocalDateTime.now());
+        analysis.setCommitSha(commitSha);
+        analysis.setReusedFromId(previous.getReusedFromId() != null ? previous.getReusedFromId() : previous.getId());
+        analysis.setChanges(previous.getChanges());
+        analysis.setEffort(previous.getEffort());
+        analysis.setGroupId(groupId);
 
-        return analysisRepository.save(analysis);
+        Analysis saved = analysisRepository.save(analysis);
+        LOGGER.info("Analyse {} réutilisée pour le commit {} (nouvelle analyse {})", analysis.getReusedFromId(),
+                commitSha, saved.getId());
+        analysisEvents.publish(new AnalysisEvent(saved.getId(), AnalysisStatus.COMPLETED, "reused", 0, null));
+        return saved;
     }
 
     private Project findOrCreateProject(CreateAnalysisCommand command) {
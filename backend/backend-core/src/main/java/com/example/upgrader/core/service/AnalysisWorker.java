@@ -0,0 +1,169 @@
+package com.example.upgrader.core.service;
+
+import com.example.upgrader.core.model.AnalysisStatus;
+import com.example.upgrader.core.queue.AnalysisClaim;
+import com.example.upgrader.core.queue.AnalysisEvent;
+import com.example.upgrader.core.queue.AnalysisEvents;
+import com.example.upgrader.core.queue.AnalysisQueue;
+import com.example.upgrader.core.queue.AnalysisQueueProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class AnalysisWorker implements SmartLifecycle {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AnalysisWorker.class);
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final AnalysisService analysisService;
+    private final AnalysisQueue analysisQueue;
+    private final AnalysisEvents analysisEvents;
+    private final AnalysisQueueProperties properties;
+    private final String workerId;
+    private final List<Thread> threads = new ArrayList<>();
+    private ScheduledExecutorService leaseRenewer;
+    private volatile boolean running;
+
+    public AnalysisWorker(AnalysisService analysisService, AnalysisQueue analysisQueue, AnalysisEvents analysisEvents,
+                          AnalysisQueueProperties properties) {
+        this.analysisService = analysisService;
+        this.analysisQueue = analysisQueue;
+        this.analysisEvents = analysisEvents;
+        this.properties = properties;
+        String host = System.getenv("HOSTNAME");
+        this.workerId = (host == null || host.isBlank() ? "backend" : host) + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        if (properties.workers() == 0) {
+            LOGGER.info("Aucun worker d'analyse sur cette instance ({})", workerId);
+            return;
+        }
+        leaseRenewer = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("analysis-lease").daemon().factory());
+        for (int i = 0; i < properties.workers(); i++) {
+            threads.add(Thread.ofVirtual().name("analysis-worker-" + i).start(this::poll));
+        }
+        LOGGER.info("{} workers d'analyse démarrés ({})", properties.workers(), workerId);
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        threads.forEach(Thread::interrupt);
+        threads.clear();
+        if (leaseRenewer != null) {
+            leaseRenewer.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    public String getWorkerId() {
+        return workerId;
+    }
+
+    private void poll() {
+        while (running) {
+            try {
+                Optional<AnalysisClaim> claim = analysisQueue.claimNext(workerId, properties.lease());
+                if (claim.isEmpty()) {
+                    analysisQueue.awaitWork(properties.pollInterval());
+                    continue;
+                }
+                process(claim.get());
+            } catch (InterruptedException ex) {
+                return;
+            } catch (RuntimeException ex) {
+                LOGGER.warn("Lecture de la file d'analyses en échec: {}", ex.getMessage());
+                try {
+                    Thread.sleep(properties.pollInterval().toMillis());
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void process(AnalysisClaim claim) {
+        Long id = claim.getAnalysisId();
+        int attempt = claim.getAttempt();
+        if (attempt > properties.maxAttempts()) {
+            fail(id, attempt, "Nombre maximal de tentatives atteint");
+            return;
+        }
+        LOGGER.info("Analyse {} prise en charge par {} (tentative {})", id, workerId, attempt);
+        analysisEvents.publish(new AnalysisEvent(id, AnalysisStatus.RUNNING, "started", attempt, null));
+        long renewMs = Math.max(1000, properties.lease().toMillis() / 3);
+        ScheduledFuture<?> renewal = leaseRenewer.scheduleAtFixedRate(() -> renew(id), renewMs, renewMs, TimeUnit.MILLISECONDS);
+        try {
+            boolean completed = analysisService.runAnalysis(id, workerId, stage -> {
+                analysisQueue.updateProgress(id, workerId, stage);
+                analysisEvents.publish(new AnalysisEvent(id, AnalysisStatus.RUNNING, stage, attempt, null));
+            });
+            if (completed) {
+                analysisEvents.publish(new AnalysisEvent(id, AnalysisStatus.COMPLETED, "completed", attempt, null));
+            }
+        } catch (AnalysisNotFoundException ex) {
+            fail(id, attempt, ex.getMessage());
+        } catch (RuntimeException ex) {
+            String error = truncate(ex.getMessage() != null ? ex.getMessage() : ex.getClass().getSimpleName());
+            if (attempt < properties.maxAttempts()) {
+                Duration delay = properties.retryBackoff().multipliedBy(1L << Math.min(attempt - 1, 10));
+                if (!analysisQueue.retry(id, workerId, error, delay)) {
+                    LOGGER.warn("Analyse {} en échec après la perte du bail par {}: {}", id, workerId, error);
+                    return;
+                }
+                LOGGER.warn("Analyse {} en échec (tentative {}), nouvelle tentative dans {} s: {}", id, attempt,
+                        delay.toSeconds(), error);
+                analysisEvents.publish(new AnalysisEvent(id, AnalysisStatus.PENDING, "retry.scheduled", attempt, error));
+            } else {
+                fail(id, attempt, error);
+            }
+        } finally {
+            renewal.cancel(false);
+        }
+    }
+
+    private void renew(Long id) {
+        try {
+            if (!analysisQueue.renewLease(id, workerId, properties.lease())) {
+                LOGGER.warn("Bail de l'analyse {} perdu par {}", id, workerId);
+            }
+        } catch (RuntimeException ex) {
+            LOGGER.warn("Renouvellement du bail de l'analyse {} en échec: {}", id, ex.getMessage());
+        }
+    }
+
+    private void fail(Long id, int attempt, String error) {
+        if (!analysisQueue.fail(id, workerId, error)) {
+            LOGGER.warn("Analyse {} en échec après la perte du bail par {}: {}", id, workerId, error);
+            return;
+        }
+        LOGGER.warn("Analyse {} en échec définitif après {} tentative(s): {}", id, attempt, error);
+        analysisEvents.publish(new AnalysisEvent(id, AnalysisStatus.FAILED, "failed", attempt, error));
+    }
+
+    private String truncate(String value) {
+        return value.length() <= MAX_ERROR_LENGTH ? value : value.substring(0, MAX_ERROR_LENGTH);
+    }
+}
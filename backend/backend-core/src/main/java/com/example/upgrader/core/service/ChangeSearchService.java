@@ -0,0 +1,46 @@
+package com.example.upgrader.core.service;
+
+import com.example.upgrader.core.search.ChangeSearchHit;
+import com.example.upgrader.core.search.ChangeSearchPage;
+import com.example.upgrader.core.search.ChangeSearchQuery;
+import com.example.upgrader.core.search.ChangeSearcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class ChangeSearchService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ChangeSearchService.class);
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_OFFSET = 10_000;
+
+    private final ChangeSearcher searcher;
+
+    public ChangeSearchService(ChangeSearcher searcher) {
+        this.searcher = searcher;
+    }
+
+    /**
+     * Fetches one row past the page to tell whether another page exists, instead of counting every match.
+     */
+    public ChangeSearchPage search(ChangeSearchQuery query) {
+        if (query.getSize() > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must not exceed " + MAX_PAGE_SIZE);
+        }
+        int size = query.getSize();
+        long offset = (long) query.getPage() * size;
+        if (offset > MAX_OFFSET) {
+            throw new IllegalArgumentException("Search results are limited to the first " + MAX_OFFSET + " hits");
+        }
+        long start = System.nanoTime();
+        List<ChangeSearchHit> hits = searcher.search(query, (int) offset, size + 1);
+        boolean hasMore = hits.size() > size;
+        List<ChangeSearchHit> items = hasMore ? List.copyOf(hits.subList(0, size)) : hits;
+        LOGGER.debug("Recherche de changements ({} résultats, page {}) en {} ms", items.size(), query.getPage(),
+                (System.nanoTime() - start) / 1_000_000);
+        return new ChangeSearchPage(items, query.getPage(), size, hasMore);
+    }
+}
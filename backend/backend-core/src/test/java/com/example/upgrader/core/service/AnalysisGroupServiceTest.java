@@ -0,0 +1,107 @@
+package com.example.upgrader.core.service;
+
+import com.example.upgrader.core.command.CreateAnalysisCommand;
+import com.example.upgrader.core.command.CreateAnalysisGroupCommand;
+import com.example.upgrader.core.model.Analysis;
+import com.example.upgrader.core.model.AnalysisGroup;
+import com.example.upgrader.core.model.AnalysisStatus;
+import com.example.upgrader.core.model.AnalysisSummary;
+import com.example.upgrader.core.queue.AnalysisEvents;
+import com.example.upgrader.core.repository.AnalysisGroupRepository;
+import com.example.upgrader.core.repository.AnalysisRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AnalysisGroupServiceTest {
+
+    private static final long GROUP_ID = 7L;
+
+    private final AnalysisService analysisService = mock(AnalysisService.class);
+    private final AnalysisGroupRepository groupRepository = mock(AnalysisGroupRepository.class);
+    private final AnalysisRepository analysisRepository = mock(AnalysisRepository.class);
+    private final AnalysisGroupService service = new AnalysisGroupService(analysisService, groupRepository,
+            analysisRepository, mock(AnalysisEvents.class), 4);
+
+    @BeforeEach
+    void setUp() {
+        when(groupRepository.save(any())).thenAnswer(invocation -> {
+            AnalysisGroup group = invocation.getArgument(0);
+            group.setId(GROUP_ID);
+            return group;
+        });
+        when(groupRepository.findById(GROUP_ID)).thenAnswer(invocation -> {
+            AnalysisGroup group = new AnalysisGroup();
+            group.setId(GROUP_ID);
+            return Optional.of(group);
+        });
+    }
+
+    @Test
+    void failedMemberIsReportedWhileOthersStayQueued() {
+        when(analysisService.createAnalysis(any())).thenAnswer(invocation -> {
+            CreateAnalysisCommand command = invocation.getArgument(0);
+            if (command.getProjectGitUrl().contains("billing")) {
+                throw new IllegalStateException("duplicate key value violates unique constraint");
+            }
+            return new Analysis();
+        });
+        AnalysisSummary queued = new AnalysisSummary();
+        queued.setStatus(AnalysisStatus.PENDING);
+        when(analysisRepository.findSummariesByGroup(GROUP_ID)).thenReturn(List.of(queued, queued));
+
+        AnalysisGroup group = service.createGroup(command("https://git/orders.git", "https://git/billing.git",
+                "https://git/catalog.git"));
+
+        assertThat(group.getAnalyses()).hasSize(2);
+        assertThat(group.getRejected()).singleElement().satisfies(rejected -> {
+            assertThat(rejected.getGitUrl()).isEqualTo("https://git/billing.git");
+            assertThat(rejected.getBranch()).isEqualTo("main");
+            assertThat(rejected.getError()).contains("unique constraint");
+        });
+        verify(groupRepository, never()).deleteById(any());
+    }
+
+    @Test
+    void groupIsRemovedWhenNoMemberCouldBeCreated() {
+        when(analysisService.createAnalysis(any())).thenThrow(new IllegalStateException("database unavailable"));
+
+        assertThatThrownBy(() -> service.createGroup(command("https://git/orders.git", "https://git/billing.git")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("database unavailable");
+        verify(groupRepository).deleteById(GROUP_ID);
+    }
+
+    @Test
+    void invalidMemberIsRejectedBeforeAnythingIsWritten() {
+        CreateAnalysisGroupCommand command = command("https://git/orders.git", " ");
+
+        assertThatThrownBy(() -> service.createGroup(command)).isInstanceOf(IllegalArgumentException.class);
+        verify(groupRepository, never()).save(any());
+        verify(analysisService, never()).createAnalysis(any());
+    }
+
+    private static CreateAnalysisGroupCommand command(String... gitUrls) {
+        CreateAnalysisGroupCommand command = new CreateAnalysisGroupCommand();
+        command.setName("portefeuille");
+        command.setSpringVersionTarget("3.5.0");
+        command.setMembers(Arrays.stream(gitUrls).map(gitUrl -> {
+            CreateAnalysisGroupCommand.Member member = new CreateAnalysisGroupCommand.Member();
+            member.setGitUrl(gitUrl);
+            member.setBranch("main");
+            return member;
+        }).toList());
+        return command;
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.upgrader.core.service;
+
+import com.example.upgrader.core.git.CommitResolver;
+import com.example.upgrader.core.llm.LlmAnalysisResult;
+import com.example.upgrader.core.llm.LlmClient;
+import com.example.upgrader.core.model.Analysis;
+import com.example.upgrader.core.model.AnalysisStatus;
+import com.example.upgrader.core.queue.AnalysisEvents;
+import com.example.upgrader.core.queue.AnalysisQueue;
+import com.example.upgrader.core.repository.AnalysisRepository;
+import com.example.upgrader.core.repository.ProjectRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AnalysisServiceTest {
+
+    private final AnalysisRepository analysisRepository = mock(AnalysisRepository.class);
+    private final LlmClient llmClient = mock(LlmClient.class);
+    private final AnalysisService service = new AnalysisService(analysisRepository, mock(ProjectRepository.class),
+            llmClient, mock(AnalysisQueue.class), mock(AnalysisEvents.class), mock(CommitResolver.class),
+            mock(AnalysisReuseProperties.class));
+
+    @Test
+    void resultsAreStoredThroughTheLeaseCheck() {
+        givenRunningAnalysis();
+        when(analysisRepository.completeIfLeased(any(), eq("worker-a"))).thenReturn(true);
+
+        assertThat(service.runAnalysis(1L, "worker-a", stage -> { })).isTrue();
+
+        ArgumentCaptor<Analysis> stored = ArgumentCaptor.forClass(Analysis.class);
+        verify(analysisRepository).completeIfLeased(stored.capture(), eq("worker-a"));
+        assertThat(stored.getValue().getSpringVersionCurrent()).isEqualTo("2.7.18");
+        assertThat(stored.getValue().getCommitSha()).isEqualTo("b4c1");
+        verify(analysisRepository, never()).save(any());
+    }
+
+    @Test
+    void resultsAreDroppedWhenTheLeaseWasLost() {
+        givenRunningAnalysis();
+        when(analysisRepository.completeIfLeased(any(), eq("worker-a"))).thenReturn(false);
+
+        assertThat(service.runAnalysis(1L, "worker-a", stage -> { })).isFalse();
+
+        verify(analysisRepository, never()).save(any());
+    }
+
+    private void givenRunningAnalysis() {
+        Analysis analysis = new Analysis();
+        analysis.setId(1L);
+        analysis.setStatus(AnalysisStatus.RUNNING);
+        analysis.setSpringVersionTarget("3.5.0");
+        analysis.setCreatedAt(LocalDateTime.now());
+        analysis.setCommitSha("a3f0");
+        when(analysisRepository.findById(1L)).thenReturn(Optional.of(analysis));
+        LlmAnalysisResult result = new LlmAnalysisResult();
+        result.setSpringVersionCurrent("2.7.18");
+        result.setCommitSha("b4c1");
+        when(llmClient.runAnalysis(any(Analysis.class), any())).thenReturn(result);
+    }
+}
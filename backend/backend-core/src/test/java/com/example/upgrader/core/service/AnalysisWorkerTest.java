@@ -0,0 +1,161 @@
+package com.example.upgrader.core.service;
+
+import com.example.upgrader.core.model.AnalysisStatus;
+import com.example.upgrader.core.queue.AnalysisClaim;
+import com.example.upgrader.core.queue.AnalysisEvent;
+import com.example.upgrader.core.queue.AnalysisEvents;
+import com.example.upgrader.core.queue.AnalysisQueue;
+import com.example.upgrader.core.queue.AnalysisQueueProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AnalysisWorkerTest {
+
+    private static final long ANALYSIS_ID = 42L;
+
+    private final AnalysisService analysisService = mock(AnalysisService.class);
+    private final AnalysisQueue analysisQueue = mock(AnalysisQueue.class);
+    private final AnalysisEvents analysisEvents = mock(AnalysisEvents.class);
+    private final List<AnalysisEvent> events = new CopyOnWriteArrayList<>();
+    private AnalysisWorker worker;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        doAnswer(invocation -> events.add(invocation.getArgument(0))).when(analysisEvents).publish(any());
+        doAnswer(invocation -> {
+            Thread.sleep(10);
+            return null;
+        }).when(analysisQueue).awaitWork(any());
+        worker = new AnalysisWorker(analysisService, analysisQueue, analysisEvents,
+                new AnalysisQueueProperties(1, 120, 3, 30, 100));
+    }
+
+    @AfterEach
+    void tearDown() {
+        worker.stop();
+    }
+
+    @Test
+    void completedAnalysisIsAnnounced() {
+        claimOnce(1);
+        when(analysisService.runAnalysis(eq(ANALYSIS_ID), eq(worker.getWorkerId()), any())).thenReturn(true);
+
+        worker.start();
+
+        verify(analysisService, timeout(2000)).runAnalysis(eq(ANALYSIS_ID), eq(worker.getWorkerId()), any());
+        awaitEvent(AnalysisStatus.COMPLETED);
+        verify(analysisQueue, never()).retry(any(), any(), any(), any());
+        verify(analysisQueue, never()).fail(any(), any(), any());
+    }
+
+    @Test
+    void resultOfALostLeaseIsDroppedSilently() throws InterruptedException {
+        claimOnce(1);
+        when(analysisService.runAnalysis(eq(ANALYSIS_ID), eq(worker.getWorkerId()), any())).thenReturn(false);
+
+        worker.start();
+
+        verify(analysisService, timeout(2000)).runAnalysis(eq(ANALYSIS_ID), eq(worker.getWorkerId()), any());
+        Thread.sleep(100);
+        assertThat(events).extracting(AnalysisEvent::getStatus).containsOnly(AnalysisStatus.RUNNING);
+        verify(analysisQueue, never()).retry(any(), any(), any(), any());
+        verify(analysisQueue, never()).fail(any(), any(), any());
+    }
+
+    @Test
+    void failureWithAttemptsLeftIsRetriedWithExponentialBackoff() {
+        claimOnce(2);
+        when(analysisService.runAnalysis(eq(ANALYSIS_ID), anyString(), any()))
+                .thenThrow(new McpUnavailableStub("knowledge-rag circuit open"));
+        when(analysisQueue.retry(eq(ANALYSIS_ID), anyString(), anyString(), any())).thenReturn(true);
+
+        worker.start();
+
+        verify(analysisQueue, timeout(2000)).retry(ANALYSIS_ID, worker.getWorkerId(), "knowledge-rag circuit open",
+                Duration.ofSeconds(60));
+        AnalysisEvent event = awaitEvent(AnalysisStatus.PENDING);
+        assertThat(event.getStage()).isEqualTo("retry.scheduled");
+        assertThat(event.getAttempt()).isEqualTo(2);
+    }
+
+    @Test
+    void retryAfterALostLeaseIsNotAnnounced() throws InterruptedException {
+        claimOnce(1);
+        when(analysisService.runAnalysis(eq(ANALYSIS_ID), anyString(), any()))
+                .thenThrow(new McpUnavailableStub("project-analyzer unavailable"));
+        when(analysisQueue.retry(eq(ANALYSIS_ID), anyString(), anyString(), any())).thenReturn(false);
+
+        worker.start();
+
+        verify(analysisQueue, timeout(2000)).retry(eq(ANALYSIS_ID), anyString(), anyString(), any());
+        Thread.sleep(100);
+        assertThat(events).extracting(AnalysisEvent::getStatus).containsOnly(AnalysisStatus.RUNNING);
+    }
+
+    @Test
+    void failureOnTheLastAttemptIsFinal() {
+        claimOnce(3);
+        when(analysisService.runAnalysis(eq(ANALYSIS_ID), anyString(), any()))
+                .thenThrow(new McpUnavailableStub("methodology unavailable"));
+        when(analysisQueue.fail(eq(ANALYSIS_ID), anyString(), anyString())).thenReturn(true);
+
+        worker.start();
+
+        verify(analysisQueue, timeout(2000)).fail(ANALYSIS_ID, worker.getWorkerId(), "methodology unavailable");
+        awaitEvent(AnalysisStatus.FAILED);
+        verify(analysisQueue, never()).retry(any(), any(), any(), any());
+    }
+
+    @Test
+    void claimBeyondTheMaximumFailsWithoutRunning() {
+        claimOnce(4);
+        when(analysisQueue.fail(eq(ANALYSIS_ID), anyString(), anyString())).thenReturn(true);
+
+        worker.start();
+
+        verify(analysisQueue, timeout(2000)).fail(eq(ANALYSIS_ID), eq(worker.getWorkerId()), anyString());
+        awaitEvent(AnalysisStatus.FAILED);
+        verify(analysisService, never()).runAnalysis(any(), any(), any());
+    }
+
+    private void claimOnce(int attempt) {
+        when(analysisQueue.claimNext(anyString(), any()))
+                .thenReturn(Optional.of(new AnalysisClaim(ANALYSIS_ID, attempt)))
+                .thenReturn(Optional.empty());
+    }
+
+    private AnalysisEvent awaitEvent(AnalysisStatus status) {
+        long deadline = System.currentTimeMillis() + 2000;
+        while (System.currentTimeMillis() < deadline) {
+            Optional<AnalysisEvent> event = events.stream().filter(candidate -> candidate.getStatus() == status).findFirst();
+            if (event.isPresent()) {
+                return event.get();
+            }
+            Thread.onSpinWait();
+        }
+        throw new AssertionError("No " + status + " event, got " + events);
+    }
+
+    private static final class McpUnavailableStub extends RuntimeException {
+        private McpUnavailableStub(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.upgrader.core.service;
+
+import com.example.upgrader.core.search.ChangeSearchQuery;
+import com.example.upgrader.core.search.ChangeSearcher;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ChangeSearchServiceTest {
+
+    private final ChangeSearcher searcher = mock(ChangeSearcher.class);
+    private final ChangeSearchService service = new ChangeSearchService(searcher);
+
+    @Test
+    void pageSizeAboveTheLimitIsRejected() {
+        ChangeSearchQuery query = new ChangeSearchQuery("WebSecurityConfigurerAdapter", null, null, null, 0, 101);
+
+        assertThatThrownBy(() -> service.search(query))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("size must not exceed 100");
+        verifyNoInteractions(searcher);
+    }
+
+    @Test
+    void pageSizeAtTheLimitIsServedAsRequested() {
+        when(searcher.search(any(), anyInt(), anyInt())).thenReturn(List.of());
+
+        assertThat(service.search(new ChangeSearchQuery("jakarta", null, null, null, 2, 100)).getSize()).isEqualTo(100);
+        verify(searcher).search(any(), eq(200), eq(101));
+    }
+}
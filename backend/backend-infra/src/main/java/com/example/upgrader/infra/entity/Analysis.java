@@ -11,12 +11,14 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.time.Instant;
 import java.util.ArrayList;
@@ -24,11 +26,19 @@ import java.util.List;
 import java.util.Objects;
 
 @Entity
-@Table(name = "analyses")
+@Table(name = "analyses", indexes = {
+        @Index(name = "idx_analyses_queue", columnList = "status, available_at"),
+        @Index(name = "idx_analyses_created", columnList = "created_at, id"),
+        @Index(name = "idx_analyses_project_created", columnList = "project_id, created_at, id"),
+        @Index(name = "idx_analyses_status_created", columnList = "status, created_at, id"),
+        @Index(name = "idx_analyses_reuse", columnList = "project_id, commit_sha, spring_version_target, dependency_scope"),
+        @Index(name = "idx_analyses_group", columnList = "group_id, id")
+})
 public class Analysis {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "analyses_seq")
+    @SequenceGenerator(name = "analyses_seq", sequenceName = "analyses_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
@@ -60,6 +70,31 @@ public class Analysis {
     @Column(nullable = false)
     private Instant updatedAt;
 
+    @Column(insertable = false, updatable = false)
+    private Integer attempts;
+
+    @Column(insertable = false, updatable = false)
+    private Instant availableAt;
+
+    @Column(insertable = false, updatable = false)
+    private String lockedBy;
+
+    @Column(insertable = false, updatable = false)
+    private Instant lockedUntil;
+
+    @Column(insertable = false, updatable = false)
+    private String progress;
+
+    @Column(length = 2000, insertable = false, updatable = false)
+    private String errorMessage;
+
+    @Column(length = 64)
+    private String commitSha;
+
+    private Long reusedFromId;
+
+    private Long groupId;
+
     @OneToMany(mappedBy = "analysis", fetch = FetchType.LAZY, orphanRemoval = true, cascade = CascadeType.ALL)
     private List<Change> changes = new ArrayList<>();
 
@@ -146,6 +181,54 @@ public class Analysis {
         this.updatedAt = updatedAt;
     }
 
+    public Integer getAttempts() {
+        return attempts;
+    }
+
+    public Instant getAvailableAt() {
+        return availableAt;
+    }
+
+    public String getLockedBy() {
+        return lockedBy;
+    }
+
+    public Instant getLockedUntil() {
+        return lockedUntil;
+    }
+
+    public String getProgress() {
+        return progress;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public String getCommitSha() {
+        return commitSha;
+    }
+
+    public void setCommitSha(String commitSha) {
+        this.commitSha = commitSha;
+    }
+
+    public Long getReusedFromId() {
+        return reusedFromId;
+    }
+
+    public void setReusedFromId(Long reusedFromId) {
+        this.reusedFromId = reusedFromId;
+    }
+
+    public Long getGroupId() {
+        return groupId;
+    }
+
+    public void setGroupId(Long groupId) {
+        this.groupId = groupId;
+    }
+
     public List<Change> getChanges() {
         return changes;
     }
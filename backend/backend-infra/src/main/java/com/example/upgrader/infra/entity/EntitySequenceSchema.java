@@ -0,0 +1,82 @@
+package com.example.upgrader.infra.entity;
+
+import java.util.Map;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves the id sequences past the ids already stored. Tables created when the entities still used {@code IDENTITY}
+ * columns get their sequence from {@code ddl-auto: update}, starting at 1, so the first pooled block would reuse
+ * existing primary keys. A sequence is only ever advanced, to {@code max(id) + increment}: with the pooled optimizer
+ * the next block then starts at {@code max(id) + 1}. Once ids come from the sequence this is a no-op, so it runs on
+ * every start. Depending on the entity manager factory guarantees the sequences exist, and the queue workers only
+ * start once every bean is initialized, so nothing inserts while this runs.
+ * <p>
+ * Replicas starting together are serialized by a Postgres advisory lock, as in the change search schema.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class EntitySequenceSchema {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EntitySequenceSchema.class);
+
+    private static final String LOCK = "SELECT pg_advisory_lock(hashtext('upgrader.entity-sequence-schema'))";
+    private static final String UNLOCK = "SELECT pg_advisory_unlock(hashtext('upgrader.entity-sequence-schema'))";
+    private static final String NEXT_VALUE = """
+            SELECT COALESCE(last_value + increment_by, start_value), increment_by FROM pg_sequences
+            WHERE schemaname = current_schema() AND sequencename = ?
+            """;
+    private static final String ADVANCE = "SELECT setval(CAST(? AS regclass), ?, false)";
+    /** Table to sequence, as declared by the {@code @SequenceGenerator} of each entity. */
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "projects", "projects_seq",
+            "analysis_groups", "analysis_groups_seq",
+            "analyses", "analyses_seq",
+            "changes", "changes_seq",
+            "dependencies", "dependencies_seq",
+            "effort_summaries", "effort_summaries_seq");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public EntitySequenceSchema(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void apply() {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            JdbcTemplate locked = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+            locked.execute(LOCK);
+            try {
+                SEQUENCES.forEach((table, sequence) -> align(locked, table, sequence));
+            } finally {
+                locked.execute(UNLOCK);
+            }
+            return null;
+        });
+    }
+
+    private void align(JdbcTemplate locked, String table, String sequence) {
+        Long maxId = locked.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        if (maxId == null) {
+            return;
+        }
+        long[] next = locked.query(NEXT_VALUE, rs -> rs.next() ? new long[] {rs.getLong(1), rs.getLong(2)} : null,
+                sequence);
+        if (next == null) {
+            throw new IllegalStateException("Sequence " + sequence + " not found for table " + table);
+        }
+        long target = maxId + next[1];
+        if (next[0] < target) {
+            locked.query(ADVANCE, rs -> null, sequence, target);
+            LOGGER.info("Séquence {} avancée de {} à {} (max(id) de {} = {})", sequence, next[0], target, table, maxId);
+        }
+    }
+}
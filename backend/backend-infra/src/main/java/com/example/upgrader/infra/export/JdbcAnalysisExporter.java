@@ -0,0 +1,149 @@
+package com.example.upgrader.infra.export;
+
+import com.example.upgrader.core.export.AnalysisExporter;
+import com.example.upgrader.core.export.ChangeExportRow;
+import com.example.upgrader.core.export.ExportFilter;
+import com.example.upgrader.core.model.AnalysisStatus;
+import com.example.upgrader.core.model.AnalysisSummary;
+import com.example.upgrader.core.model.DependencyScope;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads exports through a forward-only cursor. The read-only transaction keeps auto-commit off, which is what lets
+ * the Postgres driver honour the fetch size instead of buffering the whole result set.
+ */
+@Component
+@Transactional(readOnly = true)
+public class JdbcAnalysisExporter implements AnalysisExporter {
+
+    private static final String ANALYSES_SQL = """
+            SELECT a.id, a.project_id, p.name AS project_name, a.spring_version_current, a.spring_version_target,
+                   a.llm_model, a.dependency_scope, a.status, a.total_workpoints, a.created_at, a.attempts,
+                   a.progress, a.error_message, a.commit_sha, a.reused_from_id
+            FROM analyses a
+            JOIN projects p ON p.id = a.project_id
+            """;
+    private static final String CHANGES_SQL = """
+            SELECT a.id AS analysis_id, a.project_id, p.name AS project_name, a.spring_version_target, a.created_at,
+                   c.change_id, c.type, c.severity, c.title, c.description, c.file_path, c.symbol, c.workpoints
+            FROM changes c
+            JOIN analyses a ON a.id = c.analysis_id
+            JOIN projects p ON p.id = a.project_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int fetchSize;
+
+    public JdbcAnalysisExporter(JdbcTemplate jdbcTemplate, @Value("${analysis.export.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fetchSize = Math.max(1, fetchSize);
+    }
+
+    @Override
+    public void exportAnalyses(ExportFilter filter, Consumer<AnalysisSummary> sink) {
+        List<Object> args = new ArrayList<>();
+        String sql = ANALYSES_SQL + where(filter, false, args) + "ORDER BY a.id";
+        stream(sql, args, rs -> sink.accept(toSummary(rs)));
+    }
+
+    @Override
+    public void exportChanges(ExportFilter filter, Consumer<ChangeExportRow> sink) {
+        List<Object> args = new ArrayList<>();
+        String sql = CHANGES_SQL + where(filter, true, args) + "ORDER BY a.id, c.id";
+        stream(sql, args, rs -> sink.accept(toChangeRow(rs)));
+    }
+
+    private void stream(String sql, List<Object> args, RowCallbackHandler handler) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            for (int i = 0; i < args.size(); i++) {
+                statement.setObject(i + 1, args.get(i));
+            }
+            return statement;
+        }, handler);
+    }
+
+    private static String where(ExportFilter filter, boolean changes, List<Object> args) {
+        List<String> predicates = new ArrayList<>();
+        if (filter.getProjectId() != null) {
+            predicates.add("a.project_id = ?");
+            args.add(filter.getProjectId());
+        }
+        if (filter.getCreatedFrom() != null) {
+            predicates.add("a.created_at >= ?");
+            args.add(filter.getCreatedFrom().atOffset(ZoneOffset.UTC));
+        }
+        if (filter.getCreatedBefore() != null) {
+            predicates.add("a.created_at < ?");
+            args.add(filter.getCreatedBefore().atOffset(ZoneOffset.UTC));
+        }
+        if (filter.getChangeType() != null) {
+            predicates.add(changes
+                    ? "c.type = ?"
+                    : "EXISTS (SELECT 1 FROM changes c WHERE c.analysis_id = a.id AND c.type = ?)");
+            args.add(filter.getChangeType());
+        }
+        return predicates.isEmpty() ? "" : "WHERE " + String.join(" AND ", predicates) + "\n";
+    }
+
+    private static AnalysisSummary toSummary(ResultSet rs) throws SQLException {
+        AnalysisSummary summary = new AnalysisSummary();
+        summary.setId(rs.getLong("id"));
+        summary.setProjectId(rs.getLong("project_id"));
+        summary.setProjectName(rs.getString("project_name"));
+        summary.setSpringVersionCurrent(rs.getString("spring_version_current"));
+        summary.setSpringVersionTarget(rs.getString("spring_version_target"));
+        summary.setLlmModel(rs.getString("llm_model"));
+        String scope = rs.getString("dependency_scope");
+        summary.setDependencyScope(scope != null ? DependencyScope.valueOf(scope) : null);
+        String status = rs.getString("status");
+        summary.setStatus(status != null ? AnalysisStatus.valueOf(status) : null);
+        summary.setTotalWorkpoints(rs.getObject("total_workpoints", Integer.class));
+        summary.setCreatedAt(toLocalDateTime(rs.getObject("created_at", OffsetDateTime.class)));
+        Integer attempts = rs.getObject("attempts", Integer.class);
+        summary.setAttempts(attempts != null ? attempts : 0);
+        summary.setProgress(rs.getString("progress"));
+        summary.setErrorMessage(rs.getString("error_message"));
+        summary.setCommitSha(rs.getString("commit_sha"));
+        summary.setReusedFromId(rs.getObject("reused_from_id", Long.class));
+        return summary;
+    }
+
+    private static ChangeExportRow toChangeRow(ResultSet rs) throws SQLException {
+        ChangeExportRow row = new ChangeExportRow();
+        row.setAnalysisId(rs.getLong("analysis_id"));
+        row.setProjectId(rs.getLong("project_id"));
+        row.setProjectName(rs.getString("project_name"));
+        row.setSpringVersionTarget(rs.getString("spring_version_target"));
+        row.setAnalysisCreatedAt(toLocalDateTime(rs.getObject("created_at", OffsetDateTime.class)));
+        row.setChangeId(rs.getString("change_id"));
+        row.setType(rs.getString("type"));
+        row.setSeverity(rs.getString("severity"));
+        row.setTitle(rs.getString("title"));
+        row.setDescription(rs.getString("description"));
+        row.setFilePath(rs.getString("file_path"));
+        row.setSymbol(rs.getString("symbol"));
+        row.setWorkpoints(rs.getObject("workpoints", Integer.class));
+        return row;
+    }
+
+    private static LocalDateTime toLocalDateTime(OffsetDateTime value) {
+        return value != null ? value.withOffsetSameInstant(ZoneOffset.UTC).toLocalDateTime() : null;
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.upgrader.infra.git;
+
+import com.example.upgrader.core.git.CommitResolver;
+import com.example.upgrader.core.service.AnalysisReuseProperties;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.LsRemoteCommand;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.transport.URIish;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.net.URISyntaxException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+@Component
+public class JGitCommitResolver implements CommitResolver {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JGitCommitResolver.class);
+    private static final Set<String> ALLOWED_SCHEMES = Set.of("https", "http", "ssh", "git");
+
+    private final int timeoutSeconds;
+
+    public JGitCommitResolver(AnalysisReuseProperties properties) {
+        this.timeoutSeconds = (int) properties.lsRemoteTimeout().toSeconds();
+    }
+
+    @Override
+    public Optional<String> resolveHead(String gitUrl, String branch) {
+        if (gitUrl == null || gitUrl.isBlank()) {
+            return Optional.empty();
+        }
+        if (!isRemote(gitUrl)) {
+            LOGGER.warn("ls-remote refusé pour {}: schéma non autorisé", gitUrl);
+            return Optional.empty();
+        }
+        boolean defaultBranch = branch == null || branch.isBlank();
+        String refName = defaultBranch ? Constants.HEAD
+                : branch.startsWith(Constants.R_REFS) ? branch : Constants.R_HEADS + branch;
+        LsRemoteCommand command = Git.lsRemoteRepository()
+                .setRemote(gitUrl)
+                .setHeads(!defaultBranch)
+                .setTimeout(timeoutSeconds);
+        long start = System.nanoTime();
+        try {
+            Map<String, Ref> refs = command.callAsMap();
+            Ref ref = refs.get(refName);
+            if (ref == null || ref.getObjectId() == null) {
+                LOGGER.warn("Référence {} introuvable sur {}", refName, gitUrl);
+                return Optional.empty();
+            }
+            LOGGER.debug("ls-remote {} {} -> {} en {} ms", gitUrl, refName, ref.getObjectId().getName(),
+                    (System.nanoTime() - start) / 1_000_000);
+            return Optional.of(ref.getObjectId().getName());
+        } catch (GitAPIException | RuntimeException ex) {
+            LOGGER.warn("ls-remote impossible sur {}: {}", gitUrl, ex.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Only network remotes are resolved: {@code file://} URLs, bare local paths and unknown transports would let a
+     * caller probe the backend's own filesystem. scp-like {@code user@host:path} URLs parse without scheme and are
+     * accepted as SSH when they name a host.
+     */
+    static boolean isRemote(String gitUrl) {
+        try {
+            URIish uri = new URIish(gitUrl.trim());
+            if (uri.getHost() == null || uri.getHost().isBlank()) {
+                return false;
+            }
+            return uri.getScheme() == null || ALLOWED_SCHEMES.contains(uri.getScheme().toLowerCase(Locale.ROOT));
+        } catch (URISyntaxException ex) {
+            return false;
+        }
+    }
+}
@@ -11,15 +11,17 @@ import com.example.upgrader.infra.llm.dto.McpComputeEffortResponse;
 import com.example.upgrader.infra.llm.dto.McpSearchRequest;
 import com.example.upgrader.infra.llm.dto.McpSearchResponse;
 import com.example.upgrader.infra.llm.dto.SearchResultItem;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClient;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Component
@@ -27,32 +29,49 @@ public class McpLlmClient implements LlmClient {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(McpLlmClient.class);
 
-    private final RestClient analyzerClient;
-    private final RestClient knowledgeClient;
-    private final RestClient methodologyClient;
+    private final McpServiceClient analyzerClient;
+    private final McpServiceClient knowledgeClient;
+    private final McpServiceClient methodologyClient;
 
-    public McpLlmClient(RestClient.Builder builder, McpProperties properties) {
-        this.analyzerClient = builder.baseUrl(properties.projectAnalyzerUrl()).build();
-        this.knowledgeClient = builder.baseUrl(properties.knowledgeRagUrl()).build();
-        this.methodologyClient = builder.baseUrl(properties.methodologyUrl()).build();
+    public McpLlmClient(RestClient.Builder builder, McpProperties properties, MeterRegistry meterRegistry) {
+        this.analyzerClient = new McpServiceClient(properties.projectAnalyzer(), properties, builder, meterRegistry);
+        this.knowledgeClient = new McpServiceClient(properties.knowledgeRag(), properties, builder, meterRegistry);
+        this.methodologyClient = new McpServiceClient(properties.methodology(), properties, builder, meterRegistry);
+    }
+
+    @PreDestroy
+    public void close() {
+        analyzerClient.close();
+        knowledgeClient.close();
+        methodologyClient.close();
     }
 
     @Override
     public LlmAnalysisResult runAnalysis(Analysis analysis) {
+        return runAnalysis(analysis, stage -> {
+        });
+    }
+
+    @Override
+    public LlmAnalysisResult runAnalysis(Analysis analysis, Consumer<String> progress) {
         LlmAnalysisResult result = new LlmAnalysisResult();
         result.setAnalysisId(String.valueOf(analysis.getId()));
         result.setSpringVersionTarget(analysis.getSpringVersionTarget());
         result.setLlmModel(analysis.getLlmModel());
 
+        progress.accept("project-analysis");
         McpAnalyzeResponse analyzeResponse = invokeProjectAnalyzer(analysis);
         if (analyzeResponse != null) {
             result.setSpringVersionCurrent(analyzeResponse.getSpringVersionCurrent());
+            result.setCommitSha(analyzeResponse.getCommitSha());
         }
 
+        progress.accept("release-notes");
         List<LlmAnalysisResult.SpringChange> springChanges = searchReleaseNotes(result.getSpringVersionCurrent(),
                 analysis.getSpringVersionTarget(), analysis.getLlmModel());
         result.setSpringChanges(springChanges);
 
+        progress.accept("effort");
         LlmAnalysisResult.EffortResult effortResult = computeEffort(springChanges, analysis.getLlmModel());
         result.setEffort(effortResult);
 
@@ -69,12 +88,10 @@ public class McpLlmClient implements LlmClient {
         );
 
         try {
-            return analyzerClient.post()
-                    .uri("/analyze")
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .body(payload)
-                    .retrieve()
-                    .body(McpAnalyzeResponse.class);
+            return analyzerClient.post("/analyze", payload, McpAnalyzeResponse.class);
+        } catch (McpUnavailableException ex) {
+            LOGGER.warn("Project analyzer unavailable, analysis will be retried: {}", ex.getMessage());
+            throw ex;
         } catch (Exception ex) {
             LOGGER.warn("Project analyzer call failed", ex);
             return null;
@@ -92,13 +109,11 @@ public class McpLlmClient implements LlmClient {
         request.setLlmModel(llmModel);
 
         try {
-            McpSearchResponse response = knowledgeClient.post()
-                    .uri("/search")
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .body(request)
-                    .retrieve()
-                    .body(McpSearchResponse.class);
+            McpSearchResponse response = knowledgeClient.post("/search", request, McpSearchResponse.class);
             return mapSearchResults(response);
+        } catch (McpUnavailableException ex) {
+            LOGGER.warn("Knowledge RAG search unavailable, analysis will be retried: {}", ex.getMessage());
+            throw ex;
         } catch (Exception ex) {
             LOGGER.warn("Knowledge RAG search failed", ex);
             return List.of();
@@ -146,13 +161,12 @@ public class McpLlmClient implements LlmClient {
         request.setLlmModel(llmModel);
 
         try {
-            McpComputeEffortResponse response = methodologyClient.post()
-                    .uri("/compute-effort")
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .body(request)
-                    .retrieve()
-                    .body(McpComputeEffortResponse.class);
+            McpComputeEffortResponse response = methodologyClient.post("/compute-effort", request,
+                    McpComputeEffortResponse.class);
             return mapEffortResponse(response);
+        } catch (McpUnavailableException ex) {
+            LOGGER.warn("Methodology compute-effort unavailable, analysis will be retried: {}", ex.getMessage());
+            throw ex;
         } catch (Exception ex) {
             LOGGER.warn("Methodology compute-effort failed", ex);
             return null;
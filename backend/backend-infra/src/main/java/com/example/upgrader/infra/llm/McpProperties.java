@@ -3,31 +3,88 @@ package com.example.upgrader.infra.llm;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+
 @Component
 public class McpProperties {
 
-    private final String projectAnalyzerUrl;
-    private final String knowledgeRagUrl;
-    private final String methodologyUrl;
+    private final ServiceSettings projectAnalyzer;
+    private final ServiceSettings knowledgeRag;
+    private final ServiceSettings methodology;
+    private final Duration connectTimeout;
+    private final Duration bulkheadMaxWait;
+    private final int circuitFailureThreshold;
+    private final Duration circuitOpenDuration;
+    private final double retryBudgetRatio;
 
     public McpProperties(
             @Value("${mcp.project-analyzer-url:http://mcp-project-analyzer:8080}") String projectAnalyzerUrl,
             @Value("${mcp.knowledge-rag-url:http://mcp-knowledge-rag:8081}") String knowledgeRagUrl,
-            @Value("${mcp.methodology-url:http://mcp-methodology:8080}") String methodologyUrl) {
-        this.projectAnalyzerUrl = projectAnalyzerUrl;
-        this.knowledgeRagUrl = knowledgeRagUrl;
-        this.methodologyUrl = methodologyUrl;
+            @Value("${mcp.methodology-url:http://mcp-methodology:8080}") String methodologyUrl,
+            @Value("${mcp.concurrency.project-analyzer:2}") int projectAnalyzerConcurrency,
+            @Value("${mcp.concurrency.knowledge-rag:8}") int knowledgeRagConcurrency,
+            @Value("${mcp.concurrency.methodology:8}") int methodologyConcurrency,
+            @Value("${mcp.read-timeout-seconds.project-analyzer:900}") long projectAnalyzerReadTimeoutSeconds,
+            @Value("${mcp.read-timeout-seconds.knowledge-rag:30}") long knowledgeRagReadTimeoutSeconds,
+            @Value("${mcp.read-timeout-seconds.methodology:30}") long methodologyReadTimeoutSeconds,
+            @Value("${mcp.max-attempts.project-analyzer:1}") int projectAnalyzerMaxAttempts,
+            @Value("${mcp.max-attempts.knowledge-rag:3}") int knowledgeRagMaxAttempts,
+            @Value("${mcp.max-attempts.methodology:3}") int methodologyMaxAttempts,
+            @Value("${mcp.connect-timeout-ms:2000}") long connectTimeoutMs,
+            @Value("${mcp.bulkhead-max-wait-seconds:600}") long bulkheadMaxWaitSeconds,
+            @Value("${mcp.circuit-breaker.failure-threshold:5}") int circuitFailureThreshold,
+            @Value("${mcp.circuit-breaker.open-seconds:30}") long circuitOpenSeconds,
+            @Value("${mcp.retry-budget-ratio:0.2}") double retryBudgetRatio) {
+        this.projectAnalyzer = new ServiceSettings("project-analyzer", projectAnalyzerUrl, projectAnalyzerConcurrency,
+                projectAnalyzerReadTimeoutSeconds, projectAnalyzerMaxAttempts);
+        this.knowledgeRag = new ServiceSettings("knowledge-rag", knowledgeRagUrl, knowledgeRagConcurrency,
+                knowledgeRagReadTimeoutSeconds, knowledgeRagMaxAttempts);
+        this.methodology = new ServiceSettings("methodology", methodologyUrl, methodologyConcurrency,
+                methodologyReadTimeoutSeconds, methodologyMaxAttempts);
+        this.connectTimeout = Duration.ofMillis(Math.max(100, connectTimeoutMs));
+        this.bulkheadMaxWait = Duration.ofSeconds(Math.max(0, bulkheadMaxWaitSeconds));
+        this.circuitFailureThreshold = Math.max(1, circuitFailureThreshold);
+        this.circuitOpenDuration = Duration.ofSeconds(Math.max(1, circuitOpenSeconds));
+        this.retryBudgetRatio = Math.min(1.0, Math.max(0.0, retryBudgetRatio));
+    }
+
+    public ServiceSettings projectAnalyzer() {
+        return projectAnalyzer;
+    }
+
+    public ServiceSettings knowledgeRag() {
+        return knowledgeRag;
+    }
+
+    public ServiceSettings methodology() {
+        return methodology;
     }
 
-    public String projectAnalyzerUrl() {
-        return projectAnalyzerUrl;
+    public Duration connectTimeout() {
+        return connectTimeout;
     }
 
-    public String knowledgeRagUrl() {
-        return knowledgeRagUrl;
+    public Duration bulkheadMaxWait() {
+        return bulkheadMaxWait;
     }
 
-    public String methodologyUrl() {
-        return methodologyUrl;
+    public int circuitFailureThreshold() {
+        return circuitFailureThreshold;
+    }
+
+    public Duration circuitOpenDuration() {
+        return circuitOpenDuration;
+    }
+
+    public double retryBudgetRatio() {
+        return retryBudgetRatio;
+    }
+
+    public record ServiceSettings(String name, String url, int concurrency, Duration readTimeout, int maxAttempts) {
+
+        ServiceSettings(String name, String url, int concurrency, long readTimeoutSeconds, int maxAttempts) {
+            this(name, url, Math.max(1, concurrency), Duration.ofSeconds(Math.max(1, readTimeoutSeconds)),
+                    Math.max(1, maxAttempts));
+        }
     }
 }
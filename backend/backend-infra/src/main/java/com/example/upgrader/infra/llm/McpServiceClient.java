@@ -0,0 +1,269 @@
+package com.example.upgrader.infra.llm;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * HTTP client for one MCP service: a connection pool sized to the bulkhead, connect and read timeouts, a circuit
+ * breaker that fails fast after consecutive failures, and retries limited by a budget earned from successful calls so
+ * that a struggling service does not receive a multiple of its normal load.
+ */
+public class McpServiceClient implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(McpServiceClient.class);
+    private static final String METRIC = "upgrader.mcp.client";
+    private static final double RETRY_BUDGET_CAP = 10.0;
+    private static final long RETRY_BACKOFF_MS = 200;
+
+    private final McpProperties.ServiceSettings settings;
+    private final CloseableHttpClient httpClient;
+    private final RestClient restClient;
+    private final Semaphore bulkhead;
+    private final long bulkheadMaxWaitMs;
+    private final CircuitBreaker circuitBreaker;
+    private final double retryBudgetRatio;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final MeterRegistry meterRegistry;
+    private final Counter retries;
+    private final Map<String, Timer> requestTimers = new ConcurrentHashMap<>();
+    private double retryTokens = RETRY_BUDGET_CAP;
+
+    public McpServiceClient(McpProperties.ServiceSettings settings, McpProperties properties,
+                            RestClient.Builder builder, MeterRegistry meterRegistry) {
+        this.settings = settings;
+        this.httpClient = HttpClients.custom()
+                .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                        .setMaxConnTotal(settings.concurrency())
+                        .setMaxConnPerRoute(settings.concurrency())
+                        .setDefaultConnectionConfig(ConnectionConfig.custom()
+                                .setConnectTimeout(Timeout.of(properties.connectTimeout()))
+                                .setSocketTimeout(Timeout.of(settings.readTimeout()))
+                                .setValidateAfterInactivity(TimeValue.ofSeconds(10))
+                                .build())
+                        .build())
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setResponseTimeout(Timeout.of(settings.readTimeout()))
+                        .build())
+                .evictIdleConnections(TimeValue.ofSeconds(30))
+                .disableAutomaticRetries()
+                .build();
+        this.restClient = builder.clone()
+                .baseUrl(settings.url())
+                .requestFactory(new HttpComponentsClientHttpRequestFactory(httpClient))
+                .build();
+        this.bulkhead = new Semaphore(settings.concurrency(), true);
+        this.bulkheadMaxWaitMs = properties.bulkheadMaxWait().toMillis();
+        this.circuitBreaker = new CircuitBreaker(properties.circuitFailureThreshold(),
+                properties.circuitOpenDuration().toMillis());
+        this.retryBudgetRatio = properties.retryBudgetRatio();
+        this.meterRegistry = meterRegistry;
+        this.retries = meterRegistry.counter(METRIC + ".retries", "service", settings.name());
+        List<Tag> tags = List.of(Tag.of("service", settings.name()));
+        meterRegistry.gauge(METRIC + ".in.flight", tags, inFlight);
+        meterRegistry.gauge(METRIC + ".circuit.open", tags, circuitBreaker, breaker -> breaker.isOpen() ? 1 : 0);
+        meterRegistry.gauge(METRIC + ".bulkhead.available", tags, bulkhead, Semaphore::availablePermits);
+    }
+
+    public <T> T post(String uri, Object body, Class<T> responseType) {
+        acquireBulkhead();
+        try {
+            if (!circuitBreaker.allowRequest()) {
+                reject("circuit_open");
+                throw new McpUnavailableException("MCP service " + settings.name() + " is unavailable (circuit open)");
+            }
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    T response = call(uri, body, responseType);
+                    depositRetryToken();
+                    return response;
+                } catch (HttpClientErrorException ex) {
+                    // the service answered: a client error counts as a successful call
+                    circuitBreaker.onSuccess();
+                    depositRetryToken();
+                    throw ex;
+                } catch (RuntimeException ex) {
+                    circuitBreaker.onFailure(ex);
+                    if (attempt >= settings.maxAttempts() || !circuitBreaker.allowRetry() || !withdrawRetryToken()) {
+                        throw new McpUnavailableException("MCP service " + settings.name() + " failed on " + uri
+                                + " after " + attempt + " attempt(s): " + ex.getMessage(), ex);
+                    }
+                    retries.increment();
+                    LOGGER.debug("Nouvel essai {} de {}{} après: {}", attempt + 1, settings.name(), uri, ex.getMessage());
+                    sleep(RETRY_BACKOFF_MS * attempt);
+                }
+            }
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            httpClient.close();
+        } catch (IOException ex) {
+            LOGGER.debug("Fermeture du client HTTP {} en échec: {}", settings.name(), ex.getMessage());
+        }
+    }
+
+    private <T> T call(String uri, Object body, Class<T> responseType) {
+        inFlight.incrementAndGet();
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            T response = restClient.post()
+                    .uri(uri)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(body)
+                    .retrieve()
+                    .body(responseType);
+            outcome = "success";
+            return response;
+        } catch (HttpClientErrorException ex) {
+            outcome = "client_error";
+            throw ex;
+        } catch (HttpServerErrorException ex) {
+            outcome = "server_error";
+            throw ex;
+        } catch (ResourceAccessException ex) {
+            outcome = "io_error";
+            throw ex;
+        } finally {
+            inFlight.decrementAndGet();
+            requestTimer(uri, outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if ("success".equals(outcome)) {
+                circuitBreaker.onSuccess();
+            }
+        }
+    }
+
+    private Timer requestTimer(String uri, String outcome) {
+        return requestTimers.computeIfAbsent(uri + ' ' + outcome, key -> Timer.builder(METRIC + ".requests")
+                .tags("service", settings.name(), "uri", uri, "outcome", outcome)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry));
+    }
+
+    private void acquireBulkhead() {
+        try {
+            if (!bulkhead.tryAcquire(bulkheadMaxWaitMs, TimeUnit.MILLISECONDS)) {
+                reject("bulkhead_full");
+                throw new McpUnavailableException("MCP service " + settings.name() + " has no capacity left after "
+                        + bulkheadMaxWaitMs + " ms");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + settings.name(), ex);
+        }
+    }
+
+    private void reject(String reason) {
+        meterRegistry.counter(METRIC + ".rejected", "service", settings.name(), "reason", reason).increment();
+    }
+
+    private synchronized void depositRetryToken() {
+        retryTokens = Math.min(RETRY_BUDGET_CAP, retryTokens + retryBudgetRatio);
+    }
+
+    private synchronized boolean withdrawRetryToken() {
+        if (retryTokens < 1.0) {
+            return false;
+        }
+        retryTokens -= 1.0;
+        return true;
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying " + settings.name(), ex);
+        }
+    }
+
+    private final class CircuitBreaker {
+
+        private final int failureThreshold;
+        private final long openMs;
+        private int consecutiveFailures;
+        private long openUntil;
+        private boolean open;
+        private boolean trialInFlight;
+
+        private CircuitBreaker(int failureThreshold, long openMs) {
+            this.failureThreshold = failureThreshold;
+            this.openMs = openMs;
+        }
+
+        /**
+         * Closed: every request goes through. Open: requests fail fast until the open period ends, then a single
+         * trial request is let through; its outcome closes or re-opens the circuit.
+         */
+        private synchronized boolean allowRequest() {
+            if (!open) {
+                return true;
+            }
+            if (trialInFlight || System.currentTimeMillis() < openUntil) {
+                return false;
+            }
+            trialInFlight = true;
+            return true;
+        }
+
+        private synchronized boolean allowRetry() {
+            return !open;
+        }
+
+        private synchronized boolean isOpen() {
+            return open;
+        }
+
+        private synchronized void onSuccess() {
+            consecutiveFailures = 0;
+            trialInFlight = false;
+            if (open) {
+                open = false;
+                LOGGER.info("Service MCP {} de nouveau disponible", settings.name());
+            }
+        }
+
+        private synchronized void onFailure(Exception error) {
+            consecutiveFailures++;
+            if (trialInFlight || (!open && consecutiveFailures >= failureThreshold)) {
+                if (!open) {
+                    LOGGER.warn("Service MCP {} écarté pour {} s après {} échecs consécutifs: {}", settings.name(),
+                            openMs / 1000, consecutiveFailures, error.getMessage());
+                }
+                open = true;
+                trialInFlight = false;
+                openUntil = System.currentTimeMillis() + openMs;
+            }
+        }
+    }
+}
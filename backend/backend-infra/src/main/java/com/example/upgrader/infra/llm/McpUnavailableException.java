@@ -0,0 +1,16 @@
+package com.example.upgrader.infra.llm;
+
+/**
+ * An MCP service could not answer for a reason expected to be temporary (circuit open, no bulkhead capacity, IO or 5xx
+ * failure once the client retries are spent). Callers let it propagate so the analysis queue retries the analysis later
+ * instead of completing it with missing results.
+ */
+public class McpUnavailableException extends RuntimeException {
+    public McpUnavailableException(String message) {
+        super(message);
+    }
+
+    public McpUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
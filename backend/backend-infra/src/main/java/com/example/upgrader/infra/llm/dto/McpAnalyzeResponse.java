@@ -7,6 +7,7 @@ public class McpAnalyzeResponse {
     private String springVersionCurrent;
     private List<DependencyDto> dependencies = new ArrayList<>();
     private List<String> modules = new ArrayList<>();
+    private String commitSha;
 
     public String getSpringVersionCurrent() {
         return springVersionCurrent;
@@ -32,6 +33,14 @@ public class McpAnalyzeResponse {
         this.modules = modules;
     }
 
+    public String getCommitSha() {
+        return commitSha;
+    }
+
+    public void setCommitSha(String commitSha) {
+        this.commitSha = commitSha;
+    }
+
     public static class DependencyDto {
         private String groupId;
         private String artifactId;
@@ -1,9 +1,11 @@
 package com.example.upgrader.infra.mapper;
 
+import com.example.upgrader.core.model.AnalysisSummary;
 import com.example.upgrader.core.model.Effort;
 import com.example.upgrader.infra.entity.Change;
 import com.example.upgrader.infra.entity.Analysis;
 import com.example.upgrader.infra.entity.EffortSummary;
+import com.example.upgrader.infra.repository.AnalysisSummaryRow;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -40,6 +42,9 @@ public final class AnalysisEntityMapper {
         entity.setLlmModel(model.getLlmModel());
         entity.setDependencyScope(model.getDependencyScope());
         entity.setStatus(model.getStatus());
+        entity.setCommitSha(model.getCommitSha());
+        entity.setReusedFromId(model.getReusedFromId());
+        entity.setGroupId(model.getGroupId());
         if (model.getCreatedAt() != null && entity.getCreatedAt() == null) {
             entity.setCreatedAt(model.getCreatedAt().toInstant(ZoneOffset.UTC));
             entity.setUpdatedAt(model.getCreatedAt().toInstant(ZoneOffset.UTC));
@@ -49,10 +54,40 @@ public final class AnalysisEntityMapper {
         entity.setEffortSummary(mapEffortToEntity(model.getEffort(), entity));
     }
 
+    public static void copyScalarsToEntity(com.example.upgrader.core.model.Analysis model,
+                                           com.example.upgrader.infra.entity.Project project,
+                                           Analysis entity) {
+        entity.setProject(project);
+        entity.setSpringVersionCurrent(model.getSpringVersionCurrent());
+        entity.setSpringVersionTarget(model.getSpringVersionTarget());
+        entity.setLlmModel(model.getLlmModel());
+        entity.setDependencyScope(model.getDependencyScope());
+        entity.setStatus(model.getStatus());
+        entity.setCommitSha(model.getCommitSha());
+        entity.setReusedFromId(model.getReusedFromId());
+        entity.setGroupId(model.getGroupId());
+        entity.setTotalWorkpoints(model.getEffort() != null ? model.getEffort().getTotalWorkpoints() : null);
+    }
+
+    public static void copyEffortToEntity(Effort effort, Analysis entity) {
+        EffortSummary existing = entity.getEffortSummary();
+        if (effort == null || existing == null) {
+            entity.setEffortSummary(mapEffortToEntity(effort, entity));
+            return;
+        }
+        existing.setTotalWorkpoints(effort.getTotalWorkpoints());
+        existing.setDetails(writeDetails(effort.getWorkpointsByChange()));
+    }
+
     public static com.example.upgrader.core.model.Analysis toModel(Analysis entity) {
         if (entity == null) {
             return null;
         }
+        return toModel(entity, mapChangesToModel(entity.getChanges()));
+    }
+
+    public static com.example.upgrader.core.model.Analysis toModel(Analysis entity,
+                                                                  List<com.example.upgrader.core.model.Change> changes) {
         com.example.upgrader.core.model.Analysis model = new com.example.upgrader.core.model.Analysis();
         model.setId(entity.getId());
         model.setProject(ProjectEntityMapper.toModel(entity.getProject()));
@@ -61,14 +96,45 @@ public final class AnalysisEntityMapper {
         model.setLlmModel(entity.getLlmModel());
         model.setDependencyScope(entity.getDependencyScope());
         model.setStatus(entity.getStatus());
+        model.setAttempts(entity.getAttempts() != null ? entity.getAttempts() : 0);
+        model.setProgress(entity.getProgress());
+        model.setErrorMessage(entity.getErrorMessage());
+        model.setCommitSha(entity.getCommitSha());
+        model.setReusedFromId(entity.getReusedFromId());
+        model.setGroupId(entity.getGroupId());
         if (entity.getCreatedAt() != null) {
             model.setCreatedAt(LocalDateTime.ofInstant(entity.getCreatedAt(), ZoneOffset.UTC));
         }
-        model.setChanges(mapChangesToModel(entity.getChanges()));
+        if (entity.getUpdatedAt() != null) {
+            model.setUpdatedAt(LocalDateTime.ofInstant(entity.getUpdatedAt(), ZoneOffset.UTC));
+        }
+        model.setChanges(changes);
         model.setEffort(mapEffortToModel(entity.getEffortSummary()));
         return model;
     }
 
+    public static AnalysisSummary toSummary(AnalysisSummaryRow row) {
+        AnalysisSummary summary = new AnalysisSummary();
+        summary.setId(row.id());
+        summary.setProjectId(row.projectId());
+        summary.setProjectName(row.projectName());
+        summary.setSpringVersionCurrent(row.springVersionCurrent());
+        summary.setSpringVersionTarget(row.springVersionTarget());
+        summary.setLlmModel(row.llmModel());
+        summary.setDependencyScope(row.dependencyScope());
+        summary.setStatus(row.status());
+        summary.setTotalWorkpoints(row.totalWorkpoints());
+        if (row.createdAt() != null) {
+            summary.setCreatedAt(LocalDateTime.ofInstant(row.createdAt(), ZoneOffset.UTC));
+        }
+        summary.setAttempts(row.attempts() != null ? row.attempts() : 0);
+        summary.setProgress(row.progress());
+        summary.setErrorMessage(row.errorMessage());
+        summary.setCommitSha(row.commitSha());
+        summary.setReusedFromId(row.reusedFromId());
+        return summary;
+    }
+
     public static List<Change> mapChangesToEntity(List<com.example.upgrader.core.model.Change> changes, Analysis analysis) {
         if (changes == null) {
             return List.of();
@@ -0,0 +1,37 @@
+package com.example.upgrader.infra.mapper;
+
+import com.example.upgrader.core.model.AnalysisGroup;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+public final class AnalysisGroupEntityMapper {
+
+    private AnalysisGroupEntityMapper() {
+    }
+
+    public static AnalysisGroup toModel(com.example.upgrader.infra.entity.AnalysisGroup entity) {
+        if (entity == null) {
+            return null;
+        }
+        AnalysisGroup model = new AnalysisGroup();
+        model.setId(entity.getId());
+        model.setName(entity.getName());
+        model.setSpringVersionTarget(entity.getSpringVersionTarget());
+        if (entity.getCreatedAt() != null) {
+            model.setCreatedAt(LocalDateTime.ofInstant(entity.getCreatedAt(), ZoneOffset.UTC));
+        }
+        return model;
+    }
+
+    public static com.example.upgrader.infra.entity.AnalysisGroup toEntity(AnalysisGroup model) {
+        com.example.upgrader.infra.entity.AnalysisGroup entity = new com.example.upgrader.infra.entity.AnalysisGroup();
+        entity.setId(model.getId());
+        entity.setName(model.getName());
+        entity.setSpringVersionTarget(model.getSpringVersionTarget());
+        if (model.getCreatedAt() != null) {
+            entity.setCreatedAt(model.getCreatedAt().toInstant(ZoneOffset.UTC));
+        }
+        return entity;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.upgrader.infra.queue;
+
+import com.example.upgrader.core.queue.AnalysisEvent;
+import com.example.upgrader.core.queue.AnalysisEvents;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+@Component
+public class PostgresAnalysisEvents implements AnalysisEvents {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PostgresAnalysisEvents.class);
+    private static final int MAX_MESSAGE_LENGTH = 500;
+
+    private final PostgresNotificationListener notifications;
+    private final ObjectMapper objectMapper;
+    private final Map<Long, Set<Consumer<AnalysisEvent>>> subscribers = new ConcurrentHashMap<>();
+    private final Set<Consumer<AnalysisEvent>> globalSubscribers = ConcurrentHashMap.newKeySet();
+
+    public PostgresAnalysisEvents(PostgresNotificationListener notifications, ObjectMapper objectMapper) {
+        this.notifications = notifications;
+        this.objectMapper = objectMapper;
+        notifications.addHandler(PostgresNotificationListener.EVENTS_CHANNEL, this::dispatch);
+    }
+
+    @Override
+    public void publish(AnalysisEvent event) {
+        if (event.getMessage() != null && event.getMessage().length() > MAX_MESSAGE_LENGTH) {
+            event.setMessage(event.getMessage().substring(0, MAX_MESSAGE_LENGTH));
+        }
+        try {
+            notifications.notify(PostgresNotificationListener.EVENTS_CHANNEL, objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException | DataAccessException ex) {
+            LOGGER.warn("Événement de l'analyse {} non publié: {}", event.getAnalysisId(), ex.getMessage());
+        }
+    }
+
+    @Override
+    public Runnable subscribe(Long analysisId, Consumer<AnalysisEvent> listener) {
+        subscribers.computeIfAbsent(analysisId, key -> ConcurrentHashMap.newKeySet()).add(listener);
+        return () -> subscribers.computeIfPresent(analysisId, (key, listeners) -> {
+            listeners.remove(listener);
+            return listeners.isEmpty() ? null : listeners;
+        });
+    }
+
+    @Override
+    public Runnable subscribeAll(Consumer<AnalysisEvent> listener) {
+        globalSubscribers.add(listener);
+        return () -> globalSubscribers.remove(listener);
+    }
+
+    private void dispatch(String payload) {
+        AnalysisEvent event;
+        try {
+            event = objectMapper.readValue(payload, AnalysisEvent.class);
+        } catch (JsonProcessingException ex) {
+            LOGGER.warn("Événement d'analyse illisible: {}", ex.getMessage());
+            return;
+        }
+        globalSubscribers.forEach(listener -> listener.accept(event));
+        subscribers.getOrDefault(event.getAnalysisId(), Set.of()).forEach(listener -> listener.accept(event));
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.upgrader.infra.queue;
+
+import com.example.upgrader.core.queue.AnalysisClaim;
+import com.example.upgrader.core.queue.AnalysisQueue;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+public class PostgresAnalysisQueue implements AnalysisQueue {
+
+    private static final String CLAIM_SQL = """
+            UPDATE analyses
+               SET status = 'RUNNING',
+                   attempts = COALESCE(attempts, 0) + 1,
+                   locked_by = ?,
+                   locked_until = now() + make_interval(secs => ?),
+                   progress = 'claimed',
+                   error_message = NULL,
+                   updated_at = now()
+             WHERE id = (
+                   SELECT id FROM analyses
+                    WHERE (status = 'PENDING' AND (available_at IS NULL OR available_at <= now()))
+                       OR (status = 'RUNNING' AND (locked_until IS NULL OR locked_until < now()))
+                    ORDER BY created_at, id
+                    LIMIT 1
+                    FOR UPDATE SKIP LOCKED)
+            RETURNING id, attempts
+            """;
+    private static final String RENEW_SQL = """
+            UPDATE analyses SET locked_until = now() + make_interval(secs => ?)
+             WHERE id = ? AND locked_by = ? AND status = 'RUNNING'
+            """;
+    private static final String PROGRESS_SQL = """
+            UPDATE analyses SET progress = ?, updated_at = now()
+             WHERE id = ? AND locked_by = ?
+            """;
+    private static final String RETRY_SQL = """
+            UPDATE analyses
+               SET status = 'PENDING', available_at = now() + make_interval(secs => ?), locked_by = NULL,
+                   locked_until = NULL, error_message = ?, progress = 'retry.scheduled', updated_at = now()
+             WHERE id = ? AND locked_by = ? AND status = 'RUNNING'
+            """;
+    private static final String FAIL_SQL = """
+            UPDATE analyses
+               SET status = 'FAILED', locked_by = NULL, locked_until = NULL, error_message = ?, progress = 'failed',
+                   updated_at = now()
+             WHERE id = ? AND locked_by = ? AND status = 'RUNNING'
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PostgresNotificationListener notifications;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition workAvailable = lock.newCondition();
+    private boolean signalled;
+
+    public PostgresAnalysisQueue(JdbcTemplate jdbcTemplate, PostgresNotificationListener notifications) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.notifications = notifications;
+        notifications.addHandler(PostgresNotificationListener.JOBS_CHANNEL, payload -> signal());
+    }
+
+    @Override
+    public void enqueue(Long analysisId) {
+        notifications.notify(PostgresNotificationListener.JOBS_CHANNEL, String.valueOf(analysisId));
+        signal();
+    }
+
+    @Override
+    public Optional<AnalysisClaim> claimNext(String workerId, Duration lease) {
+        return jdbcTemplate.query(CLAIM_SQL,
+                (rs, rowNum) -> new AnalysisClaim(rs.getLong("id"), rs.getInt("attempts")),
+                workerId, lease.toSeconds()).stream().findFirst();
+    }
+
+    @Override
+    public boolean renewLease(Long analysisId, String workerId, Duration lease) {
+        return jdbcTemplate.update(RENEW_SQL, lease.toSeconds(), analysisId, workerId) > 0;
+    }
+
+    @Override
+    public void updateProgress(Long analysisId, String workerId, String stage) {
+        jdbcTemplate.update(PROGRESS_SQL, stage, analysisId, workerId);
+    }
+
+    @Override
+    public boolean retry(Long analysisId, String workerId, String error, Duration delay) {
+        return jdbcTemplate.update(RETRY_SQL, delay.toSeconds(), error, analysisId, workerId) > 0;
+    }
+
+    @Override
+    public boolean fail(Long analysisId, String workerId, String error) {
+        return jdbcTemplate.update(FAIL_SQL, error, analysisId, workerId) > 0;
+    }
+
+    @Override
+    public void awaitWork(Duration timeout) throws InterruptedException {
+        lock.lock();
+        try {
+            if (!signalled) {
+                workAvailable.await(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            }
+            signalled = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void signal() {
+        lock.lock();
+        try {
+            signalled = true;
+            workAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
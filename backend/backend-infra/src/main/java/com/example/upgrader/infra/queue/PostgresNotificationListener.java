@@ -0,0 +1,126 @@
+package com.example.upgrader.infra.queue;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+@Component
+public class PostgresNotificationListener implements SmartLifecycle {
+
+    public static final String JOBS_CHANNEL = "analysis_jobs";
+    public static final String EVENTS_CHANNEL = "analysis_events";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PostgresNotificationListener.class);
+    private static final List<String> CHANNELS = List.of(JOBS_CHANNEL, EVENTS_CHANNEL);
+    private static final int RECEIVE_TIMEOUT_MS = 1000;
+    private static final long RECONNECT_DELAY_MS = 5000;
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<String, List<Consumer<String>>> handlers = new ConcurrentHashMap<>();
+    private volatile Thread listener;
+
+    public PostgresNotificationListener(DataSource dataSource, JdbcTemplate jdbcTemplate) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void addHandler(String channel, Consumer<String> handler) {
+        handlers.computeIfAbsent(channel, key -> new CopyOnWriteArrayList<>()).add(handler);
+    }
+
+    public void notify(String channel, String payload) {
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", (ResultSetExtractor<Void>) rs -> null, channel, payload);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (listener != null) {
+            return;
+        }
+        Thread thread = Thread.ofPlatform().name("pg-listen").daemon().unstarted(this::listen);
+        listener = thread;
+        thread.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        Thread current = listener;
+        listener = null;
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return listener != null;
+    }
+
+    private void listen() {
+        while (listener == Thread.currentThread()) {
+            try (Connection connection = dataSource.getConnection()) {
+                try (Statement statement = connection.createStatement()) {
+                    for (String channel : CHANNELS) {
+                        statement.execute("LISTEN " + channel);
+                    }
+                }
+                LOGGER.info("Écoute des notifications Postgres {}", CHANNELS);
+                try {
+                    receive(connection.unwrap(PGConnection.class));
+                } finally {
+                    try (Statement statement = connection.createStatement()) {
+                        statement.execute("UNLISTEN *");
+                    }
+                }
+            } catch (SQLException ex) {
+                if (listener != Thread.currentThread()) {
+                    return;
+                }
+                LOGGER.warn("Connexion LISTEN Postgres perdue, reconnexion dans {} ms: {}", RECONNECT_DELAY_MS, ex.getMessage());
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MS);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void receive(PGConnection connection) throws SQLException {
+        while (listener == Thread.currentThread()) {
+            PGNotification[] notifications = connection.getNotifications(RECEIVE_TIMEOUT_MS);
+            if (notifications == null) {
+                continue;
+            }
+            for (PGNotification notification : notifications) {
+                dispatch(notification.getName(), notification.getParameter());
+            }
+        }
+    }
+
+    private void dispatch(String channel, String payload) {
+        for (Consumer<String> handler : handlers.getOrDefault(channel, List.of())) {
+            try {
+                handler.accept(payload);
+            } catch (RuntimeException ex) {
+                LOGGER.warn("Notification {} ignorée: {}", channel, ex.getMessage());
+            }
+        }
+    }
+}
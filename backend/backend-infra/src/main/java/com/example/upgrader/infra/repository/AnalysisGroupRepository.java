@@ -0,0 +1,7 @@
+package com.example.upgrader.infra.repository;
+
+import com.example.upgrader.infra.entity.AnalysisGroup;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface AnalysisGroupRepository extends JpaRepository<AnalysisGroup, Long> {
+}
@@ -0,0 +1,25 @@
+package com.example.upgrader.infra.repository;
+
+import com.example.upgrader.core.model.AnalysisStatus;
+import com.example.upgrader.core.model.DependencyScope;
+
+import java.time.Instant;
+
+public record AnalysisSummaryRow(
+        Long id,
+        Long projectId,
+        String projectName,
+        String springVersionCurrent,
+        String springVersionTarget,
+        String llmModel,
+        DependencyScope dependencyScope,
+        AnalysisStatus status,
+        Integer totalWorkpoints,
+        Instant createdAt,
+        Integer attempts,
+        String progress,
+        String errorMessage,
+        String commitSha,
+        Long reusedFromId
+) {
+}
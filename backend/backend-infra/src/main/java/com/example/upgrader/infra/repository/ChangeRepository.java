@@ -2,6 +2,13 @@ package com.example.upgrader.infra.repository;
 
 import com.example.upgrader.infra.entity.Change;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface ChangeRepository extends JpaRepository<Change, Long> {
+
+    @Modifying
+    @Query("delete from Change c where c.analysis.id = :analysisId")
+    int deleteByAnalysisId(@Param("analysisId") Long analysisId);
 }
@@ -0,0 +1,36 @@
+package com.example.upgrader.infra.repository;
+
+import com.example.upgrader.core.model.AnalysisGroup;
+import com.example.upgrader.core.repository.AnalysisGroupRepository;
+import com.example.upgrader.infra.mapper.AnalysisGroupEntityMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Repository
+@Transactional
+public class JpaAnalysisGroupRepositoryAdapter implements AnalysisGroupRepository {
+
+    private final com.example.upgrader.infra.repository.AnalysisGroupRepository groupRepository;
+
+    public JpaAnalysisGroupRepositoryAdapter(com.example.upgrader.infra.repository.AnalysisGroupRepository groupRepository) {
+        this.groupRepository = groupRepository;
+    }
+
+    @Override
+    public AnalysisGroup save(AnalysisGroup group) {
+        return AnalysisGroupEntityMapper.toModel(groupRepository.save(AnalysisGroupEntityMapper.toEntity(group)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<AnalysisGroup> findById(Long id) {
+        return groupRepository.findById(id).map(AnalysisGroupEntityMapper::toModel);
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        groupRepository.deleteById(id);
+    }
+}
@@ -1,11 +1,20 @@
 package com.example.upgrader.infra.repository;
 
 import com.example.upgrader.core.model.Analysis;
+import com.example.upgrader.core.model.AnalysisStatus;
+import com.example.upgrader.core.model.AnalysisSummary;
+import com.example.upgrader.core.model.DependencyScope;
+import com.example.upgrader.core.repository.AnalysisCursor;
 import com.example.upgrader.core.repository.AnalysisRepository;
 import com.example.upgrader.infra.mapper.AnalysisEntityMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,29 +22,100 @@ import java.util.Optional;
 @Transactional
 public class JpaAnalysisRepositoryAdapter implements AnalysisRepository {
 
+    private static final String SUMMARY_SELECT = "select new com.example.upgrader.infra.repository.AnalysisSummaryRow("
+            + "a.id, p.id, p.name, a.springVersionCurrent, a.springVersionTarget, a.llmModel, a.dependencyScope, a.status, "
+            + "a.totalWorkpoints, a.createdAt, a.attempts, a.progress, a.errorMessage, a.commitSha, a.reusedFromId) "
+            + "from Analysis a join a.project p";
+    private static final String LATEST_COMPLETED = "select a.id from Analysis a "
+            + "where a.project.id = :projectId and a.commitSha = :commitSha and a.springVersionTarget = :target "
+            + "and a.dependencyScope = :scope and a.status = :status "
+            + "order by a.createdAt desc, a.id desc";
+    private static final String COMPLETE_SQL = """
+            UPDATE analyses
+               SET status = 'COMPLETED', locked_by = NULL, locked_until = NULL, error_message = NULL,
+                   progress = 'completed', updated_at = now()
+             WHERE id = ?1 AND locked_by = ?2 AND status = 'RUNNING'
+            """;
+
     private final com.example.upgrader.infra.repository.AnalysisRepository analysisRepository;
     private final com.example.upgrader.infra.repository.ProjectRepository projectRepository;
+    private final ChangeRepository changeRepository;
+    private final EntityManager entityManager;
+    private final int jdbcBatchSize;
 
     public JpaAnalysisRepositoryAdapter(com.example.upgrader.infra.repository.AnalysisRepository analysisRepository,
-                                        com.example.upgrader.infra.repository.ProjectRepository projectRepository) {
+                                        com.example.upgrader.infra.repository.ProjectRepository projectRepository,
+                                        ChangeRepository changeRepository,
+                                        EntityManager entityManager,
+                                        @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int jdbcBatchSize) {
         this.analysisRepository = analysisRepository;
         this.projectRepository = projectRepository;
+        this.changeRepository = changeRepository;
+        this.entityManager = entityManager;
+        this.jdbcBatchSize = Math.max(1, jdbcBatchSize);
     }
 
     @Override
     public Analysis save(Analysis analysis) {
         com.example.upgrader.infra.entity.Project project = projectRepository.findById(analysis.getProject().getId())
                 .orElseThrow(() -> new IllegalArgumentException("Project not found for analysis"));
-        com.example.upgrader.infra.entity.Analysis entity = analysis.getId() != null
-                ? analysisRepository.findWithDetailsById(analysis.getId()).orElse(new com.example.upgrader.infra.entity.Analysis())
-                : new com.example.upgrader.infra.entity.Analysis();
+        Optional<com.example.upgrader.infra.entity.Analysis> existing = analysis.getId() != null
+                ? analysisRepository.findById(analysis.getId())
+                : Optional.empty();
+        if (existing.isPresent()) {
+            return replace(analysis, project, existing.get());
+        }
 
+        com.example.upgrader.infra.entity.Analysis entity = new com.example.upgrader.infra.entity.Analysis();
         AnalysisEntityMapper.copyToEntity(analysis, project, entity);
         entity.setTotalWorkpoints(analysis.getEffort() != null ? analysis.getEffort().getTotalWorkpoints() : null);
 
         return AnalysisEntityMapper.toModel(analysisRepository.save(entity));
     }
 
+    /**
+     * The guarded update runs first and keeps the row locked until commit, so the lease cannot be taken over between the
+     * check and the write of the results.
+     */
+    @Override
+    public boolean completeIfLeased(Analysis analysis, String workerId) {
+        int updated = entityManager.createNativeQuery(COMPLETE_SQL)
+                .setParameter(1, analysis.getId())
+                .setParameter(2, workerId)
+                .executeUpdate();
+        if (updated == 0) {
+            return false;
+        }
+        analysis.setStatus(AnalysisStatus.COMPLETED);
+        save(analysis);
+        return true;
+    }
+
+    /**
+     * Updates an existing analysis without loading its changes: the previous rows are removed with a single bulk
+     * delete and the new ones are inserted in JDBC batches, clearing the persistence context after each batch.
+     */
+    private Analysis replace(Analysis analysis,
+                             com.example.upgrader.infra.entity.Project project,
+                             com.example.upgrader.infra.entity.Analysis entity) {
+        AnalysisEntityMapper.copyScalarsToEntity(analysis, project, entity);
+        AnalysisEntityMapper.copyEffortToEntity(analysis.getEffort(), entity);
+        List<com.example.upgrader.infra.entity.Change> changes =
+                AnalysisEntityMapper.mapChangesToEntity(analysis.getChanges(), entity);
+        Analysis saved = AnalysisEntityMapper.toModel(entity,
+                analysis.getChanges() != null ? analysis.getChanges() : List.of());
+
+        changeRepository.deleteByAnalysisId(entity.getId());
+        for (int i = 0; i < changes.size(); i++) {
+            entityManager.persist(changes.get(i));
+            if ((i + 1) % jdbcBatchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        return saved;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<Analysis> findById(Long id) {
@@ -44,7 +124,63 @@ public class JpaAnalysisRepositoryAdapter implements AnalysisRepository {
 
     @Override
     @Transactional(readOnly = true)
-    public List<Analysis> findAll() {
-        return analysisRepository.findAll().stream().map(AnalysisEntityMapper::toModel).toList();
+    public List<AnalysisSummary> findSummaries(Long projectId, AnalysisStatus status, AnalysisCursor after, int limit) {
+        StringBuilder jpql = new StringBuilder(SUMMARY_SELECT);
+        List<String> predicates = new ArrayList<>();
+        if (projectId != null) {
+            predicates.add("p.id = :projectId");
+        }
+        if (status != null) {
+            predicates.add("a.status = :status");
+        }
+        if (after != null) {
+            predicates.add("(a.createdAt < :createdAt or (a.createdAt = :createdAt and a.id < :id))");
+        }
+        if (!predicates.isEmpty()) {
+            jpql.append(" where ").append(String.join(" and ", predicates));
+        }
+        jpql.append(" order by a.createdAt desc, a.id desc");
+
+        TypedQuery<AnalysisSummaryRow> query = entityManager.createQuery(jpql.toString(), AnalysisSummaryRow.class);
+        if (projectId != null) {
+            query.setParameter("projectId", projectId);
+        }
+        if (status != null) {
+            query.setParameter("status", status);
+        }
+        if (after != null) {
+            query.setParameter("createdAt", after.getCreatedAt().toInstant(ZoneOffset.UTC));
+            query.setParameter("id", after.getId());
+        }
+        return query.setMaxResults(limit).getResultList().stream().map(AnalysisEntityMapper::toSummary).toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Analysis> findLatestCompleted(Long projectId, String commitSha, String springVersionTarget,
+                                                  DependencyScope dependencyScope) {
+        return entityManager.createQuery(LATEST_COMPLETED, Long.class)
+                .setParameter("projectId", projectId)
+                .setParameter("commitSha", commitSha)
+                .setParameter("target", springVersionTarget)
+                .setParameter("scope", dependencyScope)
+                .setParameter("status", AnalysisStatus.COMPLETED)
+                .setMaxResults(1)
+                .getResultStream()
+                .findFirst()
+                .flatMap(analysisRepository::findWithDetailsById)
+                .map(AnalysisEntityMapper::toModel);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AnalysisSummary> findSummariesByGroup(Long groupId) {
+        return entityManager.createQuery(SUMMARY_SELECT + " where a.groupId = :groupId order by a.id",
+                        AnalysisSummaryRow.class)
+                .setParameter("groupId", groupId)
+                .getResultList()
+                .stream()
+                .map(AnalysisEntityMapper::toSummary)
+                .toList();
     }
 }
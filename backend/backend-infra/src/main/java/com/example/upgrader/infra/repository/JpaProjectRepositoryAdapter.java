@@ -21,7 +21,11 @@ public class JpaProjectRepositoryAdapter implements ProjectRepository {
     @Override
     @Transactional(readOnly = true)
     public Optional<Project> findByGitUrlAndBranch(String gitUrl, String branch) {
-        return projectRepository.findByGitUrlAndBranch(gitUrl, branch).map(ProjectEntityMapper::toModel);
+        Optional<com.example.upgrader.infra.entity.Project> project = projectRepository.findByGitUrlAndBranch(gitUrl, branch);
+        if (project.isEmpty()) {
+            project = projectRepository.findFreshByGitUrlAndBranch(gitUrl, branch);
+        }
+        return project.map(ProjectEntityMapper::toModel);
     }
 
     @Override
@@ -1,11 +1,28 @@
 package com.example.upgrader.infra.repository;
 
 import com.example.upgrader.infra.entity.Project;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
 public interface ProjectRepository extends JpaRepository<Project, Long> {
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Project> findByGitUrlAndBranch(String gitUrl, String branch);
+
+    /**
+     * Same lookup, read from the database and written back to the query cache: used to confirm a cached empty result,
+     * which may predate a project created by another instance.
+     */
+    @Query("select p from Project p where p.gitUrl = :gitUrl and p.branch = :branch")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "REFRESH")
+    })
+    Optional<Project> findFreshByGitUrlAndBranch(@Param("gitUrl") String gitUrl, @Param("branch") String branch);
 }
@@ -0,0 +1,113 @@
+package com.example.upgrader.infra.search;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds the full-text search structures that Hibernate's schema update cannot express: a generated {@code tsvector}
+ * column on {@code changes} with a GIN index, and a trigram index for symbol prefix search. Every statement is
+ * idempotent. Depending on the entity manager factory guarantees the tables already exist, and the queue
+ * workers only start once every bean is initialized, so nothing writes changes while this runs.
+ * <p>
+ * Replicas starting together are serialized by a Postgres advisory lock held on one connection for the whole
+ * sequence: the first one migrates, the others wait and then find nothing left to do.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class ChangeSearchSchema {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ChangeSearchSchema.class);
+
+    private static final String LOCK = "SELECT pg_advisory_lock(hashtext('upgrader.change-search-schema'))";
+    private static final String UNLOCK = "SELECT pg_advisory_unlock(hashtext('upgrader.change-search-schema'))";
+    /**
+     * Descriptions used to be mapped as large objects ({@code oid}), which a generated column cannot read. Existing
+     * rows are copied into a {@code text} column; the large objects are only unlinked once every copy has been read
+     * back identical, and the block runs as one statement so any failure rolls the whole conversion back.
+     */
+    private static final String MIGRATE_DESCRIPTION = """
+            DO $$
+            DECLARE
+                mismatched bigint;
+            BEGIN
+                IF EXISTS (SELECT 1 FROM information_schema.columns
+                           WHERE table_schema = current_schema() AND table_name = 'changes'
+                             AND column_name = 'description' AND data_type = 'oid') THEN
+                    ALTER TABLE changes ADD COLUMN description_text text;
+                    UPDATE changes SET description_text = convert_from(lo_get(description), 'UTF8')
+                    WHERE description IS NOT NULL;
+                    SELECT count(*) INTO mismatched FROM changes
+                    WHERE description IS NOT NULL
+                      AND (description_text IS NULL OR convert_to(description_text, 'UTF8') <> lo_get(description));
+                    IF mismatched > 0 THEN
+                        RAISE EXCEPTION '% descriptions differ from their large objects, migration rolled back', mismatched;
+                    END IF;
+                    PERFORM lo_unlink(description) FROM changes WHERE description IS NOT NULL;
+                    ALTER TABLE changes DROP COLUMN description;
+                    ALTER TABLE changes RENAME COLUMN description_text TO description;
+                    ALTER TABLE changes ALTER COLUMN description SET NOT NULL;
+                END IF;
+            END $$
+            """;
+    /**
+     * Symbols and paths are indexed with the {@code simple} configuration, once as written and once split on
+     * punctuation, so that {@code WebSecurityConfigurerAdapter} matches a fully qualified symbol. Titles and
+     * descriptions use the {@code english} configuration so that plurals and verb forms match.
+     */
+    private static final String ADD_SEARCH_VECTOR = """
+            ALTER TABLE changes ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (
+                setweight(to_tsvector('simple', coalesce(symbol, '') || ' '
+                        || regexp_replace(coalesce(symbol, ''), '[^[:alnum:]]+', ' ', 'g')), 'A')
+                || setweight(to_tsvector('english', coalesce(title, '')), 'A')
+                || setweight(to_tsvector('simple', regexp_replace(coalesce(file_path, ''), '[^[:alnum:]]+', ' ', 'g')), 'B')
+                || setweight(to_tsvector('english', coalesce(description, '')), 'C')
+            ) STORED
+            """;
+    private static final String CREATE_SEARCH_INDEX =
+            "CREATE INDEX IF NOT EXISTS idx_changes_search ON changes USING gin (search_vector)";
+    private static final String CREATE_TRIGRAM_EXTENSION = "CREATE EXTENSION IF NOT EXISTS pg_trgm";
+    private static final String CREATE_SYMBOL_INDEX =
+            "CREATE INDEX IF NOT EXISTS idx_changes_symbol_trgm ON changes USING gin (lower(symbol) gin_trgm_ops)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ChangeSearchSchema(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void apply() {
+        long start = System.nanoTime();
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            JdbcTemplate locked = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+            locked.execute(LOCK);
+            try {
+                createStructures(locked);
+            } finally {
+                locked.execute(UNLOCK);
+            }
+            return null;
+        });
+        LOGGER.info("Schéma de recherche des changements prêt en {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void createStructures(JdbcTemplate locked) {
+        locked.execute(MIGRATE_DESCRIPTION);
+        locked.execute(ADD_SEARCH_VECTOR);
+        locked.execute(CREATE_SEARCH_INDEX);
+        try {
+            locked.execute(CREATE_TRIGRAM_EXTENSION);
+            locked.execute(CREATE_SYMBOL_INDEX);
+        } catch (DataAccessException ex) {
+            LOGGER.warn("Index trigramme sur les symboles non créé, la recherche par préfixe parcourra la table: {}",
+                    ex.getMostSpecificCause().getMessage());
+        }
+    }
+}
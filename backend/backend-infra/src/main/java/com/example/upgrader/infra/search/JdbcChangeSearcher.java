@@ -0,0 +1,111 @@
+package com.example.upgrader.infra.search;
+
+import com.example.upgrader.core.search.ChangeSearchHit;
+import com.example.upgrader.core.search.ChangeSearchQuery;
+import com.example.upgrader.core.search.ChangeSearcher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ranks matching change ids in an inner query that only touches {@code changes} (through the GIN indexes) and
+ * {@code analyses}; titles, snippets and project names are then read for the requested page only, so that
+ * {@code ts_headline} never runs on rows that are not returned.
+ */
+@Component
+@Transactional(readOnly = true)
+public class JdbcChangeSearcher implements ChangeSearcher {
+
+    private static final String QUERIES =
+            "CROSS JOIN (SELECT websearch_to_tsquery('english', ?) AS english, websearch_to_tsquery('simple', ?) AS simple) q\n";
+    private static final String TEXT_MATCH = "(c.search_vector @@ q.english OR c.search_vector @@ q.simple)";
+    private static final String TEXT_RANK =
+            "greatest(ts_rank_cd(c.search_vector, q.english), ts_rank_cd(c.search_vector, q.simple))";
+    private static final String SNIPPET =
+            "ts_headline('english', c.description, hit.query, 'MaxFragments=1, MinWords=8, MaxWords=25')";
+    private static final String OUTER = """
+            SELECT hit.rank, c.change_id, c.type, c.severity, c.title, %s AS snippet, c.file_path, c.symbol,
+                   c.workpoints, a.id AS analysis_id, a.status, a.spring_version_target, a.created_at,
+                   p.id AS project_id, p.name AS project_name
+            FROM (%s) hit
+            JOIN changes c ON c.id = hit.id
+            JOIN analyses a ON a.id = c.analysis_id
+            JOIN projects p ON p.id = a.project_id
+            ORDER BY hit.rank DESC, c.id DESC
+            """;
+    private static final int SNIPPET_LENGTH = 200;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcChangeSearcher(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<ChangeSearchHit> search(ChangeSearchQuery query, int offset, int limit) {
+        boolean text = query.getText() != null;
+        List<Object> args = new ArrayList<>();
+        StringBuilder inner = new StringBuilder("SELECT c.id, ")
+                .append(text ? TEXT_RANK + " AS rank, q.english || q.simple AS query" : "0.0 AS rank")
+                .append("\nFROM changes c\nJOIN analyses a ON a.id = c.analysis_id\n");
+        List<String> predicates = new ArrayList<>();
+        if (text) {
+            inner.append(QUERIES);
+            args.add(query.getText());
+            args.add(query.getText());
+            predicates.add(TEXT_MATCH);
+        }
+        if (query.getSymbolPrefix() != null) {
+            predicates.add("lower(c.symbol) LIKE ? ESCAPE '\\'");
+            args.add(escapeLike(query.getSymbolPrefix().toLowerCase()) + "%");
+        }
+        if (query.getProjectId() != null) {
+            predicates.add("a.project_id = ?");
+            args.add(query.getProjectId());
+        }
+        if (query.getChangeType() != null) {
+            predicates.add("c.type = ?");
+            args.add(query.getChangeType());
+        }
+        inner.append("WHERE ").append(String.join(" AND ", predicates))
+                .append("\nORDER BY rank DESC, c.id DESC\nLIMIT ? OFFSET ?");
+        args.add(limit);
+        args.add(offset);
+
+        String snippet = text ? SNIPPET : "left(c.description, " + SNIPPET_LENGTH + ")";
+        String sql = OUTER.formatted(snippet, inner);
+        return jdbcTemplate.query(sql, (rs, rowNum) -> toHit(rs), args.toArray());
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static ChangeSearchHit toHit(ResultSet rs) throws SQLException {
+        ChangeSearchHit hit = new ChangeSearchHit();
+        hit.setAnalysisId(rs.getLong("analysis_id"));
+        hit.setProjectId(rs.getLong("project_id"));
+        hit.setProjectName(rs.getString("project_name"));
+        hit.setAnalysisStatus(rs.getString("status"));
+        hit.setSpringVersionTarget(rs.getString("spring_version_target"));
+        OffsetDateTime createdAt = rs.getObject("created_at", OffsetDateTime.class);
+        hit.setAnalysisCreatedAt(createdAt != null ? createdAt.withOffsetSameInstant(ZoneOffset.UTC).toLocalDateTime() : null);
+        hit.setChangeId(rs.getString("change_id"));
+        hit.setType(rs.getString("type"));
+        hit.setSeverity(rs.getString("severity"));
+        hit.setTitle(rs.getString("title"));
+        hit.setSnippet(rs.getString("snippet"));
+        hit.setFilePath(rs.getString("file_path"));
+        hit.setSymbol(rs.getString("symbol"));
+        hit.setWorkpoints(rs.getObject("workpoints", Integer.class));
+        hit.setRank(rs.getDouble("rank"));
+        return hit;
+    }
+}
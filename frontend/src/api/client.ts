@@ -32,6 +32,23 @@ export type ToolCallTrace = {
   durationMs: number;
   success: boolean;
   errorMessage?: string;
+  outcome?: 'SUCCESS' | 'ERROR' | 'TIMEOUT';
+  sequence?: number;
+  startOffsetMs?: number;
+  cacheHit?: boolean;
+};
+
+export type ModelCallTrace = {
+  tier: string;
+  model: string;
+  durationMs: number;
+  success: boolean;
+};
+
+export type TargetReport = {
+  toVersion: string;
+  structuredJson?: string;
+  error?: string;
 };
 
 export type ChatRunResponse = {
@@ -39,6 +56,8 @@ export type ChatRunResponse = {
   structuredJson?: string;
   toolCalls: ToolCallTrace[];
   toolsUsed: boolean;
+  modelCalls?: ModelCallTrace[];
+  targets?: TargetReport[];
 };
 
 export type Change = {
@@ -54,14 +73,29 @@ export type Change = {
 
 export type Analysis = {
   id: number;
+  projectId?: number;
   projectName: string;
   springVersionCurrent: string;
   springVersionTarget: string;
   llmModel: string;
   dependencyScope: 'ALL' | 'SPRING_ONLY' | string;
-  status: string;
+  status: 'PENDING' | 'RUNNING' | 'COMPLETED' | 'FAILED' | string;
   totalWorkpoints: number;
   createdAt: string;
+  attempts?: number;
+  progress?: string;
+  errorMessage?: string;
+  commitSha?: string;
+  reusedFromId?: number;
+};
+
+export type AnalysisEvent = {
+  analysisId: number;
+  status: string;
+  stage?: string;
+  attempt: number;
+  message?: string;
+  timestamp: string;
 };
 
 export type AnalysisDetail = Analysis & {
@@ -77,6 +111,7 @@ type CreateAnalysisPayload = {
   llmModel: string;
   dependencyScope: 'ALL' | 'SPRING_ONLY';
   gitTokenId?: string;
+  force?: boolean;
 };
 
 export async function runPrompt(prompt: string, dryRun: boolean) {
@@ -84,11 +119,196 @@ export async function runPrompt(prompt: string, dryRun: boolean) {
   return response.data;
 }
 
-export async function fetchAnalyses() {
-  const response = await api.get<Analysis[]>('/analyses');
+export type RunProgressEvent = {
+  stage: string;
+  details: Record<string, unknown>;
+};
+
+export type ScopedTokenEvent = {
+  scope: Record<string, unknown>;
+  token: string;
+};
+
+export type ChatStreamHandlers = {
+  onProgress?: (event: RunProgressEvent) => void;
+  onToken?: (token: string) => void;
+  onScopedToken?: (event: ScopedTokenEvent) => void;
+  onToolCall?: (trace: ToolCallTrace) => void;
+  onRetry?: (event: RunProgressEvent) => void;
+};
+
+const parseSseData = (data: string) => {
+  try {
+    return JSON.parse(data);
+  } catch (error) {
+    return data;
+  }
+};
+
+export async function runPromptStream(prompt: string, dryRun: boolean, handlers: ChatStreamHandlers) {
+  const response = await fetch(`${api.defaults.baseURL}/chat/stream`, {
+    method: 'POST',
+    headers: { 'Content-Type': 'application/json', Accept: 'text/event-stream' },
+    body: JSON.stringify({ prompt, dryRun })
+  });
+  if (response.status === 429) {
+    const retryAfter = response.headers.get('Retry-After');
+    throw new Error(`Serveur saturé, réessayez dans ${retryAfter ?? '?'} s`);
+  }
+  if (!response.ok || !response.body) {
+    throw new Error(`HTTP ${response.status}`);
+  }
+  const reader = response.body.getReader();
+  const decoder = new TextDecoder();
+  let buffer = '';
+  let result: ChatRunResponse | null = null;
+
+  const dispatch = (block: string) => {
+    let event = 'message';
+    const dataLines: string[] = [];
+    block.split('\n').forEach((line) => {
+      if (line.startsWith('event:')) {
+        event = line.slice(6).trim();
+      } else if (line.startsWith('data:')) {
+        dataLines.push(line.slice(5));
+      }
+    });
+    const data = dataLines.join('\n');
+    switch (event) {
+      case 'progress':
+        handlers.onProgress?.(parseSseData(data));
+        break;
+      case 'token':
+        handlers.onToken?.(data);
+        break;
+      case 'scopedToken':
+        handlers.onScopedToken?.(parseSseData(data));
+        break;
+      case 'toolCall':
+        handlers.onToolCall?.(parseSseData(data));
+        break;
+      case 'retry':
+        handlers.onRetry?.(parseSseData(data));
+        break;
+      case 'result':
+        result = parseSseData(data);
+        break;
+      case 'error':
+        throw new Error(data);
+      default:
+        break;
+    }
+  };
+
+  for (;;) {
+    const { done, value } = await reader.read();
+    if (done) break;
+    buffer += decoder.decode(value, { stream: true }).replace(/\r\n/g, '\n');
+    let separator = buffer.indexOf('\n\n');
+    while (separator >= 0) {
+      dispatch(buffer.slice(0, separator));
+      buffer = buffer.slice(separator + 2);
+      separator = buffer.indexOf('\n\n');
+    }
+  }
+  if (buffer.trim()) {
+    dispatch(buffer);
+  }
+  if (!result) {
+    throw new Error('Flux terminé sans résultat');
+  }
+  return result as ChatRunResponse;
+}
+
+export type RunStatus = 'QUEUED' | 'RUNNING' | 'SUCCEEDED' | 'FAILED' | 'CANCELLED';
+
+export type RunRecord = {
+  runId: string;
+  status: RunStatus;
+  stage?: string;
+  attempts: number;
+  submittedAt: string;
+  startedAt?: string;
+  finishedAt?: string;
+  toolCalls: ToolCallTrace[];
+  partialOutput?: string;
+  result?: ChatRunResponse;
+  error?: string;
+  cancelRequested: boolean;
+};
+
+export async function submitRun(prompt: string, dryRun: boolean) {
+  try {
+    const response = await api.post<RunRecord>('/runs', { prompt, dryRun });
+    return response.data;
+  } catch (error) {
+    if (axios.isAxiosError(error) && error.response?.status === 429) {
+      const retryAfter = error.response.headers['retry-after'];
+      throw new Error(`Serveur saturé, réessayez dans ${retryAfter ?? '?'} s`);
+    }
+    throw error;
+  }
+}
+
+export async function fetchRun(runId: string) {
+  const response = await api.get<RunRecord>(`/runs/${runId}`);
+  return response.data;
+}
+
+export async function cancelRun(runId: string) {
+  const response = await api.delete<RunRecord>(`/runs/${runId}`);
+  return response.data;
+}
+
+export function followRun(runId: string, onStatus: (record: RunRecord) => void) {
+  return new Promise<ChatRunResponse>((resolve, reject) => {
+    const source = new EventSource(`${api.defaults.baseURL}/runs/${runId}/events`);
+    source.addEventListener('status', (event) => onStatus(JSON.parse((event as MessageEvent).data)));
+    source.addEventListener('result', (event) => {
+      source.close();
+      resolve(JSON.parse((event as MessageEvent).data));
+    });
+    source.addEventListener('error', (event) => {
+      source.close();
+      const data = (event as MessageEvent).data;
+      reject(new Error(typeof data === 'string' && data ? data : 'Flux du run interrompu'));
+    });
+  });
+}
+
+export type AnalysisPage = {
+  items: Analysis[];
+  nextCursor?: string | null;
+};
+
+export type AnalysisListParams = {
+  projectId?: number;
+  status?: string;
+  cursor?: string;
+  limit?: number;
+};
+
+export async function fetchAnalyses(params: AnalysisListParams = {}) {
+  const response = await api.get<AnalysisPage>('/analyses', { params });
   return response.data;
 }
 
+export type AnalysisExportParams = {
+  projectId?: number;
+  from?: string;
+  to?: string;
+  changeType?: string;
+};
+
+export function analysisExportUrl(kind: 'analyses' | 'changes', format: 'ndjson' | 'csv', params: AnalysisExportParams = {}) {
+  const query = new URLSearchParams({ format });
+  Object.entries(params).forEach(([key, value]) => {
+    if (value !== undefined && value !== '') query.set(key, String(value));
+  });
+  const path = kind === 'changes' ? '/analyses/export/changes' : '/analyses/export';
+  return `${api.defaults.baseURL}${path}?${query.toString()}`;
+}
+
 export async function fetchAnalysis(id: string | number) {
   const response = await api.get<AnalysisDetail>(`/analyses/${id}`);
   return response.data;
@@ -99,6 +319,19 @@ export async function createAnalysis(payload: CreateAnalysisPayload) {
   return response.data;
 }
 
+export function followAnalysis(id: string | number, onEvent: (event: AnalysisEvent) => void) {
+  const source = new EventSource(`${api.defaults.baseURL}/analyses/${id}/events`);
+  source.addEventListener('progress', (event) => {
+    const data = JSON.parse((event as MessageEvent).data) as AnalysisEvent;
+    onEvent(data);
+    if (data.status === 'COMPLETED' || data.status === 'FAILED') {
+      source.close();
+    }
+  });
+  source.onerror = () => source.close();
+  return () => source.close();
+}
+
 export async function downloadReport(id: string | number, format: 'pdf' | 'excel') {
   const response = await api.get(`/analyses/${id}/report`, {
     params: { format },
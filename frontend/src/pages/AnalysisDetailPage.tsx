@@ -1,6 +1,6 @@
 import { useEffect, useMemo, useState } from 'react';
 import { useNavigate, useParams } from 'react-router-dom';
-import { AnalysisDetail, downloadReport, fetchAnalysis } from '../api/client';
+import { AnalysisDetail, downloadReport, fetchAnalysis, followAnalysis } from '../api/client';
 
 function AnalysisDetailPage() {
   const { id } = useParams();
@@ -15,11 +15,14 @@ function AnalysisDetailPage() {
     const dependencyScopeLabel =
       analysis.dependencyScope === 'SPRING_ONLY' ? 'Dépendances Spring uniquement' : 'Toutes les dépendances';
     return [
-      { label: 'Statut', value: analysis.status },
+      { label: 'Statut', value: analysis.progress && analysis.status === 'RUNNING' ? `${analysis.status} (${analysis.progress})` : analysis.status },
       { label: 'Portée des dépendances', value: dependencyScopeLabel },
       { label: 'Workpoints', value: analysis.totalWorkpoints },
       { label: 'Spring courant', value: analysis.springVersionCurrent },
-      { label: 'Spring cible', value: analysis.springVersionTarget }
+      { label: 'Spring cible', value: analysis.springVersionTarget },
+      ...(analysis.commitSha ? [{ label: 'Commit', value: analysis.commitSha.substring(0, 12) }] : []),
+      ...(analysis.reusedFromId ? [{ label: 'Résultat réutilisé', value: `Analyse #${analysis.reusedFromId}` }] : []),
+      ...(analysis.errorMessage ? [{ label: 'Erreur', value: analysis.errorMessage }] : [])
     ];
   }, [analysis]);
 
@@ -40,6 +43,18 @@ function AnalysisDetailPage() {
     load();
   }, [id]);
 
+  const active = !!analysis && analysis.status !== 'COMPLETED' && analysis.status !== 'FAILED';
+  useEffect(() => {
+    if (!id || !active) return;
+    return followAnalysis(id, (event) => {
+      if (event.status === 'COMPLETED' || event.status === 'FAILED') {
+        fetchAnalysis(id).then(setAnalysis).catch(console.error);
+        return;
+      }
+      setAnalysis((current) => (current ? { ...current, status: event.status, progress: event.stage } : current));
+    });
+  }, [id, active]);
+
   const handleDownload = async (format: 'pdf' | 'excel') => {
     if (!id) return;
     setDownloading(format);
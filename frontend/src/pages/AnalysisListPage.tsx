@@ -1,35 +1,52 @@
 import { useEffect, useState } from 'react';
 import { useNavigate } from 'react-router-dom';
-import { Analysis, fetchAnalyses } from '../api/client';
+import { Analysis, analysisExportUrl, fetchAnalyses } from '../api/client';
 
 function AnalysisListPage() {
   const navigate = useNavigate();
   const [analyses, setAnalyses] = useState<Analysis[]>([]);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState<string | null>(null);
+  const [status, setStatus] = useState('');
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
 
-  useEffect(() => {
-    const load = async () => {
-      try {
-        const data = await fetchAnalyses();
-        setAnalyses(data);
-      } catch (err) {
-        console.error(err);
-        setError('Impossible de récupérer la liste des analyses');
-      } finally {
-        setLoading(false);
-      }
-    };
+  const load = async (cursor?: string) => {
+    setLoading(true);
+    try {
+      const page = await fetchAnalyses({ status: status || undefined, cursor });
+      setAnalyses((current) => (cursor ? [...current, ...page.items] : page.items));
+      setNextCursor(page.nextCursor ?? null);
+      setError(null);
+    } catch (err) {
+      console.error(err);
+      setError('Impossible de récupérer la liste des analyses');
+    } finally {
+      setLoading(false);
+    }
+  };
 
+  useEffect(() => {
     load();
-  }, []);
+  }, [status]);
 
   return (
     <div className="card">
       <h1>Analyses</h1>
+      <label>
+        Statut{' '}
+        <select value={status} onChange={(event) => setStatus(event.target.value)}>
+          <option value="">Tous</option>
+          <option value="PENDING">PENDING</option>
+          <option value="RUNNING">RUNNING</option>
+          <option value="COMPLETED">COMPLETED</option>
+          <option value="FAILED">FAILED</option>
+        </select>
+      </label>{' '}
+      <a href={analysisExportUrl('analyses', 'csv')}>Exporter les analyses (CSV)</a>{' '}
+      <a href={analysisExportUrl('changes', 'csv')}>Exporter les changements (CSV)</a>
       {loading && <p className="loading">Chargement...</p>}
       {error && <p className="error">{error}</p>}
-      {!loading && !error && (
+      {!error && (
         <div className="table-wrapper">
           <table>
             <thead>
@@ -55,7 +72,7 @@ function AnalysisListPage() {
                   <td>{analysis.totalWorkpoints}</td>
                 </tr>
               ))}
-              {analyses.length === 0 && (
+              {!loading && analyses.length === 0 && (
                 <tr>
                   <td colSpan={6} style={{ textAlign: 'center', padding: '1rem' }}>
                     Aucune analyse pour le moment.
@@ -64,6 +81,11 @@ function AnalysisListPage() {
               )}
             </tbody>
           </table>
+          {nextCursor && (
+            <button onClick={() => load(nextCursor)} disabled={loading}>
+              Charger plus
+            </button>
+          )}
         </div>
       )}
     </div>
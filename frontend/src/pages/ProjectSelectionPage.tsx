@@ -17,6 +17,7 @@ function ProjectSelectionPage() {
   const [springVersionTarget, setSpringVersionTarget] = useState(springFiveTargets[0]);
   const [llmModel, setLlmModel] = useState(llmModels[0]);
   const [dependencyScope, setDependencyScope] = useState<'ALL' | 'SPRING_ONLY'>(dependencyScopes[0].value);
+  const [force, setForce] = useState(false);
   const [loading, setLoading] = useState(false);
   const [error, setError] = useState<string | null>(null);
 
@@ -32,7 +33,15 @@ function ProjectSelectionPage() {
     setError(null);
 
     try {
-      const created = await createAnalysis({ projectGitUrl, projectName, branch, springVersionTarget, llmModel, dependencyScope });
+      const created = await createAnalysis({
+        projectGitUrl,
+        projectName,
+        branch,
+        springVersionTarget,
+        llmModel,
+        dependencyScope,
+        force
+      });
       navigate(`/analyses/${created.id}`);
     } catch (err) {
       console.error(err);
@@ -120,6 +129,11 @@ function ProjectSelectionPage() {
           </select>
         </div>
 
+        <label className="checkbox">
+          <input type="checkbox" checked={force} onChange={(e) => setForce(e.target.checked)} />
+          Forcer une nouvelle analyse (ignorer un résultat existant pour ce commit)
+        </label>
+
         <button type="submit" disabled={!isFormValid || loading}>
           {loading ? 'Analyse en cours...' : "Lancer l'analyse"}
         </button>
@@ -1,5 +1,7 @@
-import { FormEvent, useState } from 'react';
-import { ChatRunResponse, runPrompt } from '../api/client';
+import { FormEvent, useEffect, useState } from 'react';
+import { ChatRunResponse, RunRecord, ToolCallTrace, followRun, submitRun } from '../api/client';
+
+const ACTIVE_RUN_KEY = 'promptRunner.activeRunId';
 
 function PromptRunnerPage() {
   const [prompt, setPrompt] = useState('Voici le lien de mon projet git ...');
@@ -7,21 +9,57 @@ function PromptRunnerPage() {
   const [loading, setLoading] = useState(false);
   const [error, setError] = useState<string | null>(null);
   const [result, setResult] = useState<ChatRunResponse | null>(null);
+  const [stage, setStage] = useState<string | null>(null);
+  const [partialOutput, setPartialOutput] = useState('');
+  const [liveToolCalls, setLiveToolCalls] = useState<ToolCallTrace[]>([]);
 
-  const handleSubmit = async (event: FormEvent) => {
-    event.preventDefault();
-    if (!prompt.trim() || loading) return;
-    setLoading(true);
-    setError(null);
+  const applyStatus = (record: RunRecord) => {
+    setStage(record.status === 'QUEUED' ? 'en file d\'attente' : record.stage ?? null);
+    setPartialOutput(record.partialOutput ?? '');
+    setLiveToolCalls([...record.toolCalls].sort((a, b) => (a.sequence ?? 0) - (b.sequence ?? 0)));
+  };
 
+  const follow = async (runId: string) => {
+    setLoading(true);
     try {
-      const response = await runPrompt(prompt, dryRun);
+      const response = await followRun(runId, applyStatus);
       setResult(response);
+      sessionStorage.removeItem(ACTIVE_RUN_KEY);
     } catch (err) {
       console.error(err);
       setError("Impossible d'exécuter le prompt. Vérifiez le service llm-host.");
+      sessionStorage.removeItem(ACTIVE_RUN_KEY);
     } finally {
       setLoading(false);
+      setStage(null);
+    }
+  };
+
+  useEffect(() => {
+    const activeRunId = sessionStorage.getItem(ACTIVE_RUN_KEY);
+    if (activeRunId) {
+      follow(activeRunId);
+    }
+  }, []);
+
+  const handleSubmit = async (event: FormEvent) => {
+    event.preventDefault();
+    if (!prompt.trim() || loading) return;
+    setError(null);
+    setResult(null);
+    setStage(null);
+    setPartialOutput('');
+    setLiveToolCalls([]);
+
+    try {
+      const run = await submitRun(prompt, dryRun);
+      sessionStorage.setItem(ACTIVE_RUN_KEY, run.runId);
+      await follow(run.runId);
+    } catch (err) {
+      console.error(err);
+      setError(err instanceof Error && err.message.startsWith('Serveur saturé')
+        ? err.message
+        : "Impossible d'exécuter le prompt. Vérifiez le service llm-host.");
     }
   };
 
@@ -50,6 +88,22 @@ function PromptRunnerPage() {
 
       {error && <p className="error">{error}</p>}
 
+      {loading && (
+        <div className="result">
+          <h2>Exécution en cours{stage ? ` — ${stage}` : ''}</h2>
+          {liveToolCalls.length > 0 && (
+            <ul className="tool-calls">
+              {liveToolCalls.map((call, index) => (
+                <li key={`${call.toolName}-live-${index}`}>
+                  <strong>{call.toolName}</strong> — +{call.startOffsetMs ?? 0} ms / {call.durationMs} ms — {call.success ? 'ok' : call.outcome === 'TIMEOUT' ? 'délai dépassé' : 'erreur'}{call.cacheHit ? ' (cache)' : ''}
+                </li>
+              ))}
+            </ul>
+          )}
+          {partialOutput && <pre className="output">{partialOutput}</pre>}
+        </div>
+      )}
+
       {result && (
         <div className="result">
           <h2>Réponse</h2>
@@ -61,13 +115,39 @@ function PromptRunnerPage() {
             </div>
           )}
 
+          {result.targets && result.targets.length > 0 && (
+            <>
+              <h3>Rapports par version cible</h3>
+              {result.targets.map((target) => (
+                <div key={target.toVersion}>
+                  <h4>{target.toVersion}</h4>
+                  {target.error && <div className="error">{target.error}</div>}
+                  {target.structuredJson && <pre className="output">{target.structuredJson}</pre>}
+                </div>
+              ))}
+            </>
+          )}
+
+          {result.modelCalls && result.modelCalls.length > 0 && (
+            <>
+              <h3>Appels LLM</h3>
+              <ul className="tool-calls">
+                {result.modelCalls.map((call, index) => (
+                  <li key={`${call.tier}-${index}`}>
+                    <strong>{call.tier}</strong> — {call.model} — {call.durationMs} ms — {call.success ? 'ok' : 'erreur'}
+                  </li>
+                ))}
+              </ul>
+            </>
+          )}
+
           <h3>Traçage des tool-calls</h3>
           {result.toolCalls.length === 0 && <p>Aucun tool appelé (DRY_RUN ou réponse directe).</p>}
           {result.toolCalls.length > 0 && (
             <ul className="tool-calls">
               {result.toolCalls.map((call, index) => (
                 <li key={`${call.toolName}-${index}`}>
-                  <strong>{call.toolName}</strong> — {call.durationMs} ms — {call.success ? 'ok' : 'erreur'}
+                  <strong>{call.toolName}</strong> — +{call.startOffsetMs ?? 0} ms / {call.durationMs} ms — {call.success ? 'ok' : call.outcome === 'TIMEOUT' ? 'délai dépassé' : 'erreur'}{call.cacheHit ? ' (cache)' : ''}
                   <div className="tool-args">{call.argumentsSummary}</div>
                   {call.errorMessage && <div className="error">{call.errorMessage}</div>}
                 </li>
@@ -1,35 +1,117 @@
 package com.example.llmhost.api;
 
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+
+import com.example.llmhost.config.AppProperties;
+import com.example.llmhost.service.RunAdmissionController;
+import com.example.llmhost.service.RunRejectedException;
 import com.example.llmhost.service.ToolCallingChatService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @Tag(name = "Chat", description = "Manage chat runs with tool calling support")
 @RequestMapping
 public class ChatController {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(ChatController.class);
+
+    private static final String CALLER_HEADER = "X-Caller-Id";
+
     private final ToolCallingChatService chatService;
+    private final ExecutorService chatRunExecutor;
+    private final AppProperties properties;
+    private final RunAdmissionController admission;
 
-    public ChatController(ToolCallingChatService chatService) {
+    public ChatController(ToolCallingChatService chatService,
+            @Qualifier("chatRunExecutor") ExecutorService chatRunExecutor, AppProperties properties,
+            RunAdmissionController admission) {
         this.chatService = chatService;
+        this.chatRunExecutor = chatRunExecutor;
+        this.properties = properties;
+        this.admission = admission;
     }
 
-    @PostMapping({"/chat", "/runs"})
+    @PostMapping("/chat")
     @Operation(summary = "Execute a chat run", description = "Routes the chat request through the configured LLM and MCP tools")
-    public ChatRunResponse run(@Valid @RequestBody ChatRequest request) {
-        return chatService.run(request);
+    public ChatRunResponse run(@Valid @RequestBody ChatRequest request,
+            @RequestHeader(value = CALLER_HEADER, required = false) String callerId, HttpServletRequest httpRequest)
+            throws InterruptedException {
+        chatService.validate(request);
+        RunAdmissionController.Ticket ticket = admission.enqueue(caller(callerId, httpRequest), priority(request));
+        admission.await(ticket);
+        try {
+            return chatService.run(request);
+        } finally {
+            admission.release(ticket);
+        }
+    }
+
+    @PostMapping(path = "/chat/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Execute a chat run with streamed events",
+            description = "Streams progress, tool calls and LLM tokens over SSE, then the final run response")
+    public SseEmitter stream(@Valid @RequestBody ChatRequest request,
+            @RequestHeader(value = CALLER_HEADER, required = false) String callerId, HttpServletRequest httpRequest) {
+        chatService.validate(request);
+        RunAdmissionController.Ticket ticket = admission.enqueue(caller(callerId, httpRequest), priority(request));
+        SseEmitter emitter = new SseEmitter(properties.getStreaming().getTimeoutSeconds() * 1000L);
+        SseChatRunListener listener = new SseChatRunListener(emitter);
+        chatRunExecutor.execute(() -> {
+            try {
+                if (!ticket.granted()) {
+                    listener.onProgress("run.queued", Map.of("position", ticket.position()));
+                }
+                admission.await(ticket);
+                listener.send("result", chatService.run(request, listener));
+                emitter.complete();
+            } catch (Exception ex) {
+                LOGGER.warn("Streamed chat run failed", ex);
+                listener.send("error", ex.getMessage() == null ? ex.getClass().getSimpleName() : ex.getMessage());
+                emitter.complete();
+            } finally {
+                admission.release(ticket);
+            }
+        });
+        return emitter;
+    }
+
+    @ExceptionHandler(RunRejectedException.class)
+    public ResponseEntity<String> handleRejected(RunRejectedException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(ex.getMessage());
     }
 
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<String> handleValidationError(IllegalArgumentException ex) {
         return ResponseEntity.badRequest().body(ex.getMessage());
     }
+
+    private String caller(String callerId, HttpServletRequest httpRequest) {
+        return StringUtils.hasText(callerId) ? callerId : httpRequest.getRemoteAddr();
+    }
+
+    private RunAdmissionController.Priority priority(ChatRequest request) {
+        return chatService.isGuidedMode(request)
+                ? RunAdmissionController.Priority.INTERACTIVE
+                : RunAdmissionController.Priority.BATCH;
+    }
 }
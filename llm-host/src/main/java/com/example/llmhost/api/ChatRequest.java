@@ -17,7 +17,8 @@ public record ChatRequest(
         String fromVersion,
         String toVersion,
         @JsonProperty("moduleFocus")
-        List<String> moduleFocus
+        List<String> moduleFocus,
+        List<String> targetVersions
 ) {
 
     public enum Mode {
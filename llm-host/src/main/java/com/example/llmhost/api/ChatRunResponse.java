@@ -7,6 +7,8 @@ public record ChatRunResponse(
         String structuredJson,
         List<ToolCallTrace> toolCalls,
         boolean toolsUsed,
-        GatingStats gating
+        GatingStats gating,
+        List<ModelCallTrace> modelCalls,
+        List<TargetReport> targets
 ) {
 }
@@ -12,7 +12,8 @@ public record DebugRagTestResponse(Retrieval retrieval, Llm llm) {
     }
 
     public record Llm(boolean used, String answer, List<String> citationsFound, List<String> missingSources,
-                      double coverageRatio, String status, String warning, List<LlmEvidence> evidence) {
+                      double coverageRatio, String status, String warning, List<LlmEvidence> evidence,
+                      String model) {
     }
 
     public record LlmEvidence(String source, String documentKey, String url, String version, String library) {
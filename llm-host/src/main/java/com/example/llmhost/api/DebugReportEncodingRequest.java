@@ -0,0 +1,10 @@
+package com.example.llmhost.api;
+
+import java.util.List;
+
+import com.example.llmhost.model.UpgradeReport;
+
+public record DebugReportEncodingRequest(
+        List<UpgradeReport> reports
+) {
+}
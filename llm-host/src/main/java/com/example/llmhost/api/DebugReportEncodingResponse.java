@@ -0,0 +1,11 @@
+package com.example.llmhost.api;
+
+import java.util.List;
+
+public record DebugReportEncodingResponse(String corpus, int reports, long fullChars, long compactChars, double ratio,
+        long fullTokens, long compactTokens, double tokenRatio, int roundTripFailures, List<Entry> entries) {
+
+    public record Entry(int index, int fullChars, int compactChars, double ratio, int fullTokens, int compactTokens,
+            double tokenRatio, boolean roundTrip, List<String> mismatches) {
+    }
+}
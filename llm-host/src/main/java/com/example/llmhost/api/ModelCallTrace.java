@@ -0,0 +1,9 @@
+package com.example.llmhost.api;
+
+public record ModelCallTrace(
+        String tier,
+        String model,
+        long durationMs,
+        boolean success
+) {
+}
@@ -0,0 +1,142 @@
+package com.example.llmhost.api;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+
+import com.example.llmhost.config.AppProperties;
+import com.example.llmhost.model.RunRecord;
+import com.example.llmhost.service.RunStore;
+import com.example.llmhost.service.RunWorker;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@Tag(name = "Runs", description = "Submit asynchronous chat runs and follow their progress")
+@RequestMapping("/runs")
+public class RunController {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RunController.class);
+
+    private static final String CALLER_HEADER = "X-Caller-Id";
+    private static final long EVENTS_POLL_MS = 500;
+
+    private final RunWorker worker;
+    private final RunStore store;
+    private final ExecutorService chatRunExecutor;
+    private final AppProperties properties;
+
+    public RunController(RunWorker worker, RunStore store,
+            @Qualifier("chatRunExecutor") ExecutorService chatRunExecutor, AppProperties properties) {
+        this.worker = worker;
+        this.store = store;
+        this.chatRunExecutor = chatRunExecutor;
+        this.properties = properties;
+    }
+
+    @PostMapping
+    @Operation(summary = "Submit a chat run",
+            description = "Persists the run as QUEUED and returns immediately; a worker executes it in the background")
+    public ResponseEntity<RunRecord> submit(@Valid @RequestBody ChatRequest request,
+            @RequestHeader(value = CALLER_HEADER, required = false) String callerId, HttpServletRequest httpRequest) {
+        String caller = StringUtils.hasText(callerId) ? callerId : httpRequest.getRemoteAddr();
+        RunRecord record = worker.submit(request, caller);
+        return ResponseEntity.accepted().location(URI.create("/runs/" + record.getRunId())).body(record);
+    }
+
+    @GetMapping
+    @Operation(summary = "List recent runs")
+    public List<RunRecord> list(@RequestParam(defaultValue = "50") int limit) {
+        List<RunRecord> records = store.list();
+        int from = Math.max(0, records.size() - Math.max(1, limit));
+        return records.subList(from, records.size()).reversed();
+    }
+
+    @GetMapping("/{runId}")
+    @Operation(summary = "Get the state of a run", description = "Includes tool traces, partial output and the final response")
+    public ResponseEntity<RunRecord> get(@PathVariable String runId) {
+        return ResponseEntity.of(store.find(runId));
+    }
+
+    @DeleteMapping("/{runId}")
+    @Operation(summary = "Cancel a run")
+    public ResponseEntity<RunRecord> cancel(@PathVariable String runId) {
+        return ResponseEntity.of(worker.cancel(runId));
+    }
+
+    @GetMapping(path = "/{runId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Follow a run over SSE",
+            description = "Emits a status snapshot whenever the stored run changes, then the terminal result or error")
+    public ResponseEntity<SseEmitter> events(@PathVariable String runId) {
+        if (store.find(runId).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        SseEmitter emitter = new SseEmitter(properties.getStreaming().getTimeoutSeconds() * 1000L);
+        chatRunExecutor.execute(() -> follow(runId, emitter));
+        return ResponseEntity.ok(emitter);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleValidationError(IllegalArgumentException ex) {
+        return ResponseEntity.badRequest().body(ex.getMessage());
+    }
+
+    private void follow(String runId, SseEmitter emitter) {
+        Instant lastUpdate = null;
+        try {
+            while (true) {
+                Optional<RunRecord> found = store.find(runId);
+                if (found.isEmpty()) {
+                    emitter.send(SseEmitter.event().name("error").data("Run introuvable: " + runId));
+                    break;
+                }
+                RunRecord record = found.get();
+                if (!Objects.equals(lastUpdate, record.getUpdatedAt())) {
+                    lastUpdate = record.getUpdatedAt();
+                    emitter.send(SseEmitter.event().name("status").data(record));
+                }
+                if (record.isTerminal()) {
+                    if (record.getStatus() == RunRecord.Status.SUCCEEDED) {
+                        emitter.send(SseEmitter.event().name("result").data(record.getResult()));
+                    } else {
+                        emitter.send(SseEmitter.event().name("error").data(record.getError() == null
+                                ? "Run " + record.getStatus().name().toLowerCase(Locale.ROOT)
+                                : record.getError()));
+                    }
+                    break;
+                }
+                Thread.sleep(EVENTS_POLL_MS);
+            }
+            emitter.complete();
+        } catch (IOException | IllegalStateException ex) {
+            LOGGER.debug("Abonné aux événements du run {} déconnecté", runId);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            emitter.complete();
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.llmhost.api;
+
+import java.util.Map;
+
+public record RunProgressEvent(
+        String stage,
+        Map<String, Object> details
+) {
+}
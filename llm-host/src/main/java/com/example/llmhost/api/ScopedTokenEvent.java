@@ -0,0 +1,9 @@
+package com.example.llmhost.api;
+
+import java.util.Map;
+
+public record ScopedTokenEvent(
+        Map<String, Object> scope,
+        String token
+) {
+}
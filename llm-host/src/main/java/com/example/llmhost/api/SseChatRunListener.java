@@ -0,0 +1,85 @@
+package com.example.llmhost.api;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.example.llmhost.service.ChatRunListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+class SseChatRunListener implements ChatRunListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SseChatRunListener.class);
+
+    private final SseEmitter emitter;
+    private volatile boolean closed;
+
+    SseChatRunListener(SseEmitter emitter) {
+        this.emitter = emitter;
+        emitter.onCompletion(() -> closed = true);
+        emitter.onTimeout(() -> closed = true);
+        emitter.onError(ex -> closed = true);
+    }
+
+    @Override
+    public boolean streaming() {
+        return true;
+    }
+
+    @Override
+    public boolean cancelled() {
+        return closed;
+    }
+
+    @Override
+    public void onProgress(String stage, Map<String, Object> details) {
+        send("progress", new RunProgressEvent(stage, details));
+    }
+
+    @Override
+    public void onToken(String token) {
+        send("token", token);
+    }
+
+    @Override
+    public void onToolCall(ToolCallTrace trace) {
+        send("toolCall", trace);
+    }
+
+    @Override
+    public void onRetry(int attempt, String reason) {
+        send("retry", new RunProgressEvent("generation.retry", Map.of("attempt", attempt, "reason", reason)));
+    }
+
+    @Override
+    public void onModelCall(ModelCallTrace trace) {
+        send("modelCall", trace);
+    }
+
+    @Override
+    public void onToken(Map<String, Object> scope, String token) {
+        send("scopedToken", new ScopedTokenEvent(scope, token));
+    }
+
+    @Override
+    public void onRetry(Map<String, Object> scope, int attempt, String reason) {
+        Map<String, Object> details = new LinkedHashMap<>(scope);
+        details.put("attempt", attempt);
+        details.put("reason", reason);
+        send("retry", new RunProgressEvent("generation.retry", details));
+    }
+
+    void send(String event, Object data) {
+        if (closed) {
+            return;
+        }
+        try {
+            emitter.send(SseEmitter.event().name(event).data(data));
+        } catch (IOException | IllegalStateException ex) {
+            LOGGER.debug("SSE client disconnected while sending event={}", event);
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.llmhost.api;
+
+public record TargetReport(
+        String toVersion,
+        String structuredJson,
+        GatingStats gating,
+        String error
+) {
+}
@@ -5,6 +5,16 @@ public record ToolCallTrace(
         String argumentsSummary,
         long durationMs,
         boolean success,
-        String errorMessage
+        String errorMessage,
+        Outcome outcome,
+        int sequence,
+        long startOffsetMs,
+        boolean cacheHit
 ) {
+
+    public enum Outcome {
+        SUCCESS,
+        ERROR,
+        TIMEOUT
+    }
 }
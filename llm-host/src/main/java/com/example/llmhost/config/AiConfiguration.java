@@ -1,14 +1,25 @@
 package com.example.llmhost.config;
 
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+
+import com.example.llmhost.service.RoutingChatModel;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.model.tool.ToolCallingManager;
 import org.springframework.ai.openai.OpenAiChatModel;
+import org.springframework.ai.openai.api.OpenAiApi;
 import org.springframework.ai.ollama.OllamaChatModel;
+import org.springframework.ai.ollama.api.OllamaApi;
+import org.springframework.ai.ollama.api.OllamaChatOptions;
 import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -17,6 +28,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.util.StringUtils;
+import org.springframework.web.client.RestClient;
 
 @Configuration
 @EnableConfigurationProperties(AppProperties.class)
@@ -27,8 +39,11 @@ public class AiConfiguration {
     @Bean
     @Primary
     public ChatModel chatModel(AppProperties properties, ObjectProvider<OllamaChatModel> ollamaProvider,
-            ObjectProvider<OpenAiChatModel> openAiProvider,
+            ObjectProvider<OpenAiChatModel> openAiProvider, ObjectProvider<ToolCallingManager> toolCallingManager,
+            ObjectProvider<ObservationRegistry> observationRegistry, MeterRegistry meterRegistry,
+            @Qualifier("chatRunExecutor") ExecutorService chatRunExecutor,
             @Value("${spring.ai.openai.base-url:}") String openAiBaseUrl,
+            @Value("${spring.ai.openai.api-key:}") String openAiApiKey,
             @Value("${spring.ai.ollama.base-url:}") String ollamaBaseUrl) {
         AppProperties.Provider provider = properties.getAi().getProvider();
         String model = provider == AppProperties.Provider.OPENAI
@@ -40,10 +55,24 @@ public class AiConfiguration {
         } else {
             LOGGER.info("AI provider selected: {} model={}", provider, model);
         }
-        if (provider == AppProperties.Provider.OPENAI) {
-            return Objects.requireNonNull(openAiProvider.getIfAvailable(), "OpenAI chat model is not configured");
+        ChatModel chatModel = provider == AppProperties.Provider.OPENAI
+                ? Objects.requireNonNull(openAiProvider.getIfAvailable(), "OpenAI chat model is not configured")
+                : Objects.requireNonNull(ollamaProvider.getIfAvailable(), "Ollama chat model is not configured");
+        List<String> backends = properties.getAi().getPool().getBackends().stream()
+                .filter(StringUtils::hasText)
+                .map(String::trim)
+                .distinct()
+                .toList();
+        if (backends.isEmpty()) {
+            return chatModel;
         }
-        return Objects.requireNonNull(ollamaProvider.getIfAvailable(), "Ollama chat model is not configured");
+        List<RoutingChatModel.BackendSpec> specs = backends.stream()
+                .map(url -> provider == AppProperties.Provider.OPENAI
+                        ? openAiBackend((OpenAiChatModel) chatModel, url, openAiApiKey)
+                        : ollamaBackend((OllamaChatModel) chatModel, url, toolCallingManager.getIfAvailable(),
+                                observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP)))
+                .toList();
+        return new RoutingChatModel(specs, properties.getAi().getPool(), chatRunExecutor, meterRegistry);
     }
 
     @Bean
@@ -62,6 +91,33 @@ public class AiConfiguration {
         return new OpenAiGuard();
     }
 
+    private RoutingChatModel.BackendSpec openAiBackend(OpenAiChatModel template, String baseUrl, String apiKey) {
+        OpenAiApi api = OpenAiApi.builder().baseUrl(baseUrl).apiKey(apiKey).build();
+        RestClient probe = RestClient.builder()
+                .baseUrl(baseUrl)
+                .defaultHeaders(headers -> {
+                    if (StringUtils.hasText(apiKey)) {
+                        headers.setBearerAuth(apiKey);
+                    }
+                })
+                .build();
+        return new RoutingChatModel.BackendSpec(baseUrl, template.mutate().openAiApi(api).build(),
+                () -> probe.get().uri("/v1/models").retrieve().toBodilessEntity());
+    }
+
+    private RoutingChatModel.BackendSpec ollamaBackend(OllamaChatModel template, String baseUrl,
+            ToolCallingManager toolCallingManager, ObservationRegistry observationRegistry) {
+        OllamaApi api = OllamaApi.builder().baseUrl(baseUrl).build();
+        OllamaChatModel.Builder builder = OllamaChatModel.builder()
+                .ollamaApi(api)
+                .defaultOptions((OllamaChatOptions) template.getDefaultOptions())
+                .observationRegistry(observationRegistry);
+        if (toolCallingManager != null) {
+            builder.toolCallingManager(toolCallingManager);
+        }
+        return new RoutingChatModel.BackendSpec(baseUrl, builder.build(), api::listModels);
+    }
+
     private boolean requiresApiKey(String apiKey, String baseUrl) {
         if (StringUtils.hasText(apiKey)) {
             return false;
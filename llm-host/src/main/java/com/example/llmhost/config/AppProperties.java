@@ -1,7 +1,10 @@
 package com.example.llmhost.config;
 
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
@@ -12,6 +15,11 @@ public class AppProperties {
     private final ToolingProperties tooling = new ToolingProperties();
     private final SafetyProperties safety = new SafetyProperties();
     private final RagProperties rag = new RagProperties();
+    private final StreamingProperties streaming = new StreamingProperties();
+    private final RepairProperties repair = new RepairProperties();
+    private final GuidedProperties guided = new GuidedProperties();
+    private final AdmissionProperties admission = new AdmissionProperties();
+    private final RunsProperties runs = new RunsProperties();
     private String systemPrompt;
 
     public AiProperties getAi() {
@@ -30,6 +38,26 @@ public class AppProperties {
         return rag;
     }
 
+    public StreamingProperties getStreaming() {
+        return streaming;
+    }
+
+    public RepairProperties getRepair() {
+        return repair;
+    }
+
+    public GuidedProperties getGuided() {
+        return guided;
+    }
+
+    public AdmissionProperties getAdmission() {
+        return admission;
+    }
+
+    public RunsProperties getRuns() {
+        return runs;
+    }
+
     public String getSystemPrompt() {
         return systemPrompt;
     }
@@ -43,6 +71,8 @@ public class AppProperties {
         private Provider provider = Provider.OLLAMA;
         private final OllamaProperties ollama = new OllamaProperties();
         private final OpenAiProperties openai = new OpenAiProperties();
+        private final PoolProperties pool = new PoolProperties();
+        private final WarmupProperties warmup = new WarmupProperties();
 
         public Provider getProvider() {
             return provider;
@@ -59,16 +89,114 @@ public class AppProperties {
         public OpenAiProperties getOpenai() {
             return openai;
         }
+
+        public PoolProperties getPool() {
+            return pool;
+        }
+
+        public WarmupProperties getWarmup() {
+            return warmup;
+        }
     }
 
     public enum Provider {
         OLLAMA, OPENAI
     }
 
+    public enum ModelTier {
+        CHAT, REPORT, REPAIR, SUMMARIZE
+    }
+
+    public static class WarmupProperties {
+
+        private boolean enabled = false;
+        private int intervalSeconds = 240;
+        private boolean measurePrefill = true;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getIntervalSeconds() {
+            return intervalSeconds;
+        }
+
+        public void setIntervalSeconds(int intervalSeconds) {
+            this.intervalSeconds = intervalSeconds;
+        }
+
+        public boolean isMeasurePrefill() {
+            return measurePrefill;
+        }
+
+        public void setMeasurePrefill(boolean measurePrefill) {
+            this.measurePrefill = measurePrefill;
+        }
+    }
+
+    public static class PoolProperties {
+
+        private final List<String> backends = new ArrayList<>();
+        private boolean hedgeEnabled = false;
+        private double hedgePercentile = 0.95;
+        private long hedgeMinDelayMs = 2000;
+        private int healthCheckIntervalSeconds = 15;
+        private int unhealthyAfterFailures = 3;
+
+        public List<String> getBackends() {
+            return backends;
+        }
+
+        public boolean isHedgeEnabled() {
+            return hedgeEnabled;
+        }
+
+        public void setHedgeEnabled(boolean hedgeEnabled) {
+            this.hedgeEnabled = hedgeEnabled;
+        }
+
+        public double getHedgePercentile() {
+            return hedgePercentile;
+        }
+
+        public void setHedgePercentile(double hedgePercentile) {
+            this.hedgePercentile = hedgePercentile;
+        }
+
+        public long getHedgeMinDelayMs() {
+            return hedgeMinDelayMs;
+        }
+
+        public void setHedgeMinDelayMs(long hedgeMinDelayMs) {
+            this.hedgeMinDelayMs = hedgeMinDelayMs;
+        }
+
+        public int getHealthCheckIntervalSeconds() {
+            return healthCheckIntervalSeconds;
+        }
+
+        public void setHealthCheckIntervalSeconds(int healthCheckIntervalSeconds) {
+            this.healthCheckIntervalSeconds = healthCheckIntervalSeconds;
+        }
+
+        public int getUnhealthyAfterFailures() {
+            return unhealthyAfterFailures;
+        }
+
+        public void setUnhealthyAfterFailures(int unhealthyAfterFailures) {
+            this.unhealthyAfterFailures = unhealthyAfterFailures;
+        }
+    }
+
     public static class OllamaProperties {
 
         private String chatModel = "llama3.1:8b";
         private String embeddingModel = "nomic-embed-text";
+        private final Map<ModelTier, String> tierModels = new EnumMap<>(ModelTier.class);
 
         public String getChatModel() {
             return chatModel;
@@ -85,12 +213,17 @@ public class AppProperties {
         public void setEmbeddingModel(String embeddingModel) {
             this.embeddingModel = embeddingModel;
         }
+
+        public Map<ModelTier, String> getTierModels() {
+            return tierModels;
+        }
     }
 
     public static class OpenAiProperties {
 
         private String chatModel = "gpt-4o-mini";
         private String embeddingModel = "text-embedding-3-small";
+        private final Map<ModelTier, String> tierModels = new EnumMap<>(ModelTier.class);
 
         public String getChatModel() {
             return chatModel;
@@ -107,14 +240,21 @@ public class AppProperties {
         public void setEmbeddingModel(String embeddingModel) {
             this.embeddingModel = embeddingModel;
         }
+
+        public Map<ModelTier, String> getTierModels() {
+            return tierModels;
+        }
     }
 
     public static class ToolingProperties {
 
         private int maxToolCalls = 20;
         private int toolTimeoutSeconds = 90;
+        private int runTimeoutSeconds = 300;
+        private int parallelToolCalls = 4;
         private boolean dryRun = false;
         private int maxPromptLength = 4000;
+        private final ToolCacheProperties cache = new ToolCacheProperties();
 
         public int getMaxToolCalls() {
             return maxToolCalls;
@@ -132,6 +272,22 @@ public class AppProperties {
             this.toolTimeoutSeconds = toolTimeoutSeconds;
         }
 
+        public int getRunTimeoutSeconds() {
+            return runTimeoutSeconds;
+        }
+
+        public void setRunTimeoutSeconds(int runTimeoutSeconds) {
+            this.runTimeoutSeconds = runTimeoutSeconds;
+        }
+
+        public int getParallelToolCalls() {
+            return parallelToolCalls;
+        }
+
+        public void setParallelToolCalls(int parallelToolCalls) {
+            this.parallelToolCalls = parallelToolCalls;
+        }
+
         public boolean isDryRun() {
             return dryRun;
         }
@@ -147,6 +303,10 @@ public class AppProperties {
         public void setMaxPromptLength(int maxPromptLength) {
             this.maxPromptLength = maxPromptLength;
         }
+
+        public ToolCacheProperties getCache() {
+            return cache;
+        }
     }
 
     public static class SafetyProperties {
@@ -173,6 +333,7 @@ public class AppProperties {
         private int citationMinSourcesForCoverage = 4;
         private int citationMinSourcesRequired = 1;
         private boolean enableSourceCodePass = true;
+        private final RagDirectProperties direct = new RagDirectProperties();
 
         public double getCitationCoverageRatio() {
             return citationCoverageRatio;
@@ -205,5 +366,314 @@ public class AppProperties {
         public void setEnableSourceCodePass(boolean enableSourceCodePass) {
             this.enableSourceCodePass = enableSourceCodePass;
         }
+
+        public RagDirectProperties getDirect() {
+            return direct;
+        }
+    }
+
+    public static class StreamingProperties {
+
+        private int maxRetries = 1;
+        private int maxPreambleChars = 200;
+        private int timeoutSeconds = 900;
+
+        public int getMaxRetries() {
+            return maxRetries;
+        }
+
+        public void setMaxRetries(int maxRetries) {
+            this.maxRetries = maxRetries;
+        }
+
+        public int getMaxPreambleChars() {
+            return maxPreambleChars;
+        }
+
+        public void setMaxPreambleChars(int maxPreambleChars) {
+            this.maxPreambleChars = maxPreambleChars;
+        }
+
+        public int getTimeoutSeconds() {
+            return timeoutSeconds;
+        }
+
+        public void setTimeoutSeconds(int timeoutSeconds) {
+            this.timeoutSeconds = timeoutSeconds;
+        }
+    }
+
+    public static class RepairProperties {
+
+        private boolean llmFallbackEnabled = true;
+
+        public boolean isLlmFallbackEnabled() {
+            return llmFallbackEnabled;
+        }
+
+        public void setLlmFallbackEnabled(boolean llmFallbackEnabled) {
+            this.llmFallbackEnabled = llmFallbackEnabled;
+        }
+    }
+
+    public static class GuidedProperties {
+
+        private boolean structuredOutput = false;
+        private boolean compactOutput = false;
+        private boolean partitioned = false;
+        private int partitionParallelism = 3;
+        private int partitionMaxHits = 150;
+        private boolean stablePromptPrefix = true;
+        private int targetParallelism = 2;
+        private int maxTargets = 5;
+
+        public boolean isStructuredOutput() {
+            return structuredOutput;
+        }
+
+        public void setStructuredOutput(boolean structuredOutput) {
+            this.structuredOutput = structuredOutput;
+        }
+
+        public boolean isCompactOutput() {
+            return compactOutput;
+        }
+
+        public void setCompactOutput(boolean compactOutput) {
+            this.compactOutput = compactOutput;
+        }
+
+        public boolean isPartitioned() {
+            return partitioned;
+        }
+
+        public void setPartitioned(boolean partitioned) {
+            this.partitioned = partitioned;
+        }
+
+        public int getPartitionParallelism() {
+            return partitionParallelism;
+        }
+
+        public void setPartitionParallelism(int partitionParallelism) {
+            this.partitionParallelism = partitionParallelism;
+        }
+
+        public int getPartitionMaxHits() {
+            return partitionMaxHits;
+        }
+
+        public void setPartitionMaxHits(int partitionMaxHits) {
+            this.partitionMaxHits = partitionMaxHits;
+        }
+
+        public boolean isStablePromptPrefix() {
+            return stablePromptPrefix;
+        }
+
+        public void setStablePromptPrefix(boolean stablePromptPrefix) {
+            this.stablePromptPrefix = stablePromptPrefix;
+        }
+
+        public int getTargetParallelism() {
+            return targetParallelism;
+        }
+
+        public void setTargetParallelism(int targetParallelism) {
+            this.targetParallelism = targetParallelism;
+        }
+
+        public int getMaxTargets() {
+            return maxTargets;
+        }
+
+        public void setMaxTargets(int maxTargets) {
+            this.maxTargets = maxTargets;
+        }
+    }
+
+    public static class RagDirectProperties {
+
+        private boolean enabled = false;
+        private String baseUrl = "http://mcp-server:8085";
+        private int connectTimeoutMs = 2000;
+        private int readTimeoutMs = 30000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getBaseUrl() {
+            return baseUrl;
+        }
+
+        public void setBaseUrl(String baseUrl) {
+            this.baseUrl = baseUrl;
+        }
+
+        public int getConnectTimeoutMs() {
+            return connectTimeoutMs;
+        }
+
+        public void setConnectTimeoutMs(int connectTimeoutMs) {
+            this.connectTimeoutMs = connectTimeoutMs;
+        }
+
+        public int getReadTimeoutMs() {
+            return readTimeoutMs;
+        }
+
+        public void setReadTimeoutMs(int readTimeoutMs) {
+            this.readTimeoutMs = readTimeoutMs;
+        }
+    }
+
+    public static class ToolCacheProperties {
+
+        private boolean enabled = false;
+        private int maxEntries = 500;
+        private final Map<String, Long> ttlSeconds = new LinkedHashMap<>(Map.of(
+                "rag.search", 600L,
+                "rag.lookup", 600L,
+                "project.analyzeMaven", 300L,
+                "methodology.getRules", 3600L));
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        public Map<String, Long> getTtlSeconds() {
+            return ttlSeconds;
+        }
+    }
+
+    public static class AdmissionProperties {
+
+        private boolean enabled = true;
+        private final Map<Provider, Integer> maxConcurrent = new EnumMap<>(Map.of(
+                Provider.OLLAMA, 2,
+                Provider.OPENAI, 8));
+        private int maxQueueDepth = 32;
+        private int maxQueuedPerCaller = 8;
+        private int maxWaitSeconds = 120;
+        private int initialRunSecondsEstimate = 60;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Map<Provider, Integer> getMaxConcurrent() {
+            return maxConcurrent;
+        }
+
+        public int getMaxQueueDepth() {
+            return maxQueueDepth;
+        }
+
+        public void setMaxQueueDepth(int maxQueueDepth) {
+            this.maxQueueDepth = maxQueueDepth;
+        }
+
+        public int getMaxQueuedPerCaller() {
+            return maxQueuedPerCaller;
+        }
+
+        public void setMaxQueuedPerCaller(int maxQueuedPerCaller) {
+            this.maxQueuedPerCaller = maxQueuedPerCaller;
+        }
+
+        public int getMaxWaitSeconds() {
+            return maxWaitSeconds;
+        }
+
+        public void setMaxWaitSeconds(int maxWaitSeconds) {
+            this.maxWaitSeconds = maxWaitSeconds;
+        }
+
+        public int getInitialRunSecondsEstimate() {
+            return initialRunSecondsEstimate;
+        }
+
+        public void setInitialRunSecondsEstimate(int initialRunSecondsEstimate) {
+            this.initialRunSecondsEstimate = initialRunSecondsEstimate;
+        }
+    }
+
+    public static class RunsProperties {
+
+        private String storeDir = "data/runs";
+        private int workers = 2;
+        private long pollIntervalMs = 1000;
+        private int leaseSeconds = 30;
+        private int maxAttempts = 3;
+        private int retentionHours = 72;
+
+        public String getStoreDir() {
+            return storeDir;
+        }
+
+        public void setStoreDir(String storeDir) {
+            this.storeDir = storeDir;
+        }
+
+        public int getWorkers() {
+            return workers;
+        }
+
+        public void setWorkers(int workers) {
+            this.workers = workers;
+        }
+
+        public long getPollIntervalMs() {
+            return pollIntervalMs;
+        }
+
+        public void setPollIntervalMs(long pollIntervalMs) {
+            this.pollIntervalMs = pollIntervalMs;
+        }
+
+        public int getLeaseSeconds() {
+            return leaseSeconds;
+        }
+
+        public void setLeaseSeconds(int leaseSeconds) {
+            this.leaseSeconds = leaseSeconds;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public int getRetentionHours() {
+            return retentionHours;
+        }
+
+        public void setRetentionHours(int retentionHours) {
+            this.retentionHours = retentionHours;
+        }
     }
 }
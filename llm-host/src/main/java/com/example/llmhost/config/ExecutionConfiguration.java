@@ -0,0 +1,16 @@
+package com.example.llmhost.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ExecutionConfiguration {
+
+    @Bean(name = "chatRunExecutor", destroyMethod = "close")
+    public ExecutorService chatRunExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("chat-run-", 0).factory());
+    }
+}
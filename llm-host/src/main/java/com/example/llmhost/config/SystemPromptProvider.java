@@ -1,6 +1,9 @@
 package com.example.llmhost.config;
 
+import java.util.Map;
 import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -9,12 +12,17 @@ import org.springframework.util.StringUtils;
 public class SystemPromptProvider {
 
     private final AppProperties properties;
+    private final Map<String, String> stablePrompts = new ConcurrentHashMap<>();
 
     public SystemPromptProvider(AppProperties properties) {
         this.properties = properties;
     }
 
     public String buildSystemPrompt() {
+        return stablePrompts.computeIfAbsent("auto", key -> composeSystemPrompt());
+    }
+
+    private String composeSystemPrompt() {
         if (StringUtils.hasText(properties.getSystemPrompt())) {
             return properties.getSystemPrompt();
         }
@@ -56,13 +64,38 @@ public class SystemPromptProvider {
     }
 
     public String buildGuidedUpgradePrompt() {
+        return buildGuidedUpgradePrompt(false);
+    }
+
+    public String buildGuidedUpgradePrompt(boolean structuredOutput) {
+        return stablePrompts.computeIfAbsent("guided:" + structuredOutput,
+                key -> composeGuidedUpgradePrompt(structuredOutput));
+    }
+
+    /**
+     * Composes outside the map: composers call back into this provider, and a nested computeIfAbsent on the same
+     * ConcurrentHashMap is not allowed.
+     */
+    public String stablePrompt(String key, Supplier<String> composer) {
+        String prompt = stablePrompts.get(key);
+        if (prompt != null) {
+            return prompt;
+        }
+        String composed = composer.get();
+        String existing = stablePrompts.putIfAbsent(key, composed);
+        return existing != null ? existing : composed;
+    }
+
+    private String composeGuidedUpgradePrompt(boolean structuredOutput) {
         StringJoiner joiner = new StringJoiner("\n");
         joiner.add("Tu es un expert Spring Boot Upgrade Assistant.");
         joiner.add("Tu ne dois parler que de ce qui est dans les sources [S#] et l’inventaire projet S1.");
         joiner.add("Si un impact n’est pas justifié par une source, réponds NON TROUVÉ.");
         joiner.add("Toujours citer [S#] à chaque point.");
-        joiner.add("Réponds uniquement avec un JSON valide conforme au contrat UpgradeReport, sans texte hors JSON.");
-        joiner.add(upgradeReportContract());
+        if (!structuredOutput) {
+            joiner.add("Réponds uniquement avec un JSON valide conforme au contrat UpgradeReport, sans texte hors JSON.");
+            joiner.add(upgradeReportContract());
+        }
         return joiner.toString();
     }
 
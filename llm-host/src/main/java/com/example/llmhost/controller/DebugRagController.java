@@ -1,11 +1,16 @@
 package com.example.llmhost.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
 import com.example.llmhost.api.DebugProjectFactsRequest;
 import com.example.llmhost.api.DebugProjectFactsResponse;
+import com.example.llmhost.api.DebugReportEncodingRequest;
+import com.example.llmhost.api.DebugReportEncodingResponse;
 import com.example.llmhost.api.DebugRagTestRequest;
 import com.example.llmhost.api.DebugRagTestResponse;
 import com.example.llmhost.api.DebugRagSearchRequest;
@@ -16,7 +21,9 @@ import com.example.llmhost.api.DebugToolsResponse;
 import com.example.llmhost.api.DebugUpgradeContextRequest;
 import com.example.llmhost.api.DebugUpgradeContextResponse;
 import com.example.llmhost.config.AppProperties;
+import com.example.llmhost.config.AppProperties.ModelTier;
 import com.example.llmhost.config.SystemPromptProvider;
+import com.example.llmhost.model.UpgradeReport;
 import com.example.llmhost.rag.CitationValidator;
 import com.example.llmhost.rag.CitationValidator.CitationValidationResult;
 import com.example.llmhost.rag.CitationValidator.RetryDirective;
@@ -24,16 +31,28 @@ import com.example.llmhost.rag.CitationValidator.RetryReason;
 import com.example.llmhost.rag.RagHit;
 import com.example.llmhost.rag.RagLookupClient;
 import com.example.llmhost.rag.RagSearchClient;
+import com.example.llmhost.service.CompactReportCodec;
+import com.example.llmhost.service.ModelTierRouter;
+import com.example.llmhost.service.ModelWarmup;
+import com.example.llmhost.service.ModelWarmup.PrefillMeasurement;
 import com.example.llmhost.service.RagMultiPassUpgradeContext;
 import com.example.llmhost.service.RagContextBuilder;
 import com.example.llmhost.service.UpgradeContext;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.chat.client.advisor.SimpleLoggerAdvisor;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.tokenizer.JTokkitTokenCountEstimator;
+import org.springframework.ai.tokenizer.TokenCountEstimator;
 import org.springframework.ai.tool.ToolCallback;
 import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -48,6 +67,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class DebugRagController {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DebugRagController.class);
+    private static final String SAMPLE_CORPUS = "debug/report-encoding-corpus.json";
 
     private final List<ToolCallback> toolCallbacks;
     private final ChatClient chatClient;
@@ -59,11 +79,17 @@ public class DebugRagController {
     private final CitationValidator citationValidator;
     private final SystemPromptProvider systemPromptProvider;
     private final RagMultiPassUpgradeContext upgradeContextService;
+    private final CompactReportCodec compactCodec;
+    private final ObjectMapper objectMapper;
+    private final ModelTierRouter modelTierRouter;
+    private final ModelWarmup modelWarmup;
+    private final TokenCountEstimator tokenCountEstimator = new JTokkitTokenCountEstimator();
 
     public DebugRagController(List<ToolCallback> toolCallbacks, ChatClient chatClient, AppProperties appProperties,
             RagContextBuilder ragContextBuilder, RagSearchClient ragSearchClient, RagLookupClient ragLookupClient,
             CitationValidator citationValidator, SystemPromptProvider systemPromptProvider,
-            RagMultiPassUpgradeContext upgradeContextService) {
+            RagMultiPassUpgradeContext upgradeContextService, CompactReportCodec compactCodec,
+            ObjectMapper objectMapper, ModelTierRouter modelTierRouter, ModelWarmup modelWarmup) {
         this.toolCallbacks = toolCallbacks;
         this.chatClient = chatClient;
         this.appProperties = appProperties;
@@ -74,6 +100,10 @@ public class DebugRagController {
         this.citationValidator = citationValidator;
         this.systemPromptProvider = systemPromptProvider;
         this.upgradeContextService = upgradeContextService;
+        this.compactCodec = compactCodec;
+        this.objectMapper = objectMapper;
+        this.modelTierRouter = modelTierRouter;
+        this.modelWarmup = modelWarmup;
     }
 
     @GetMapping("/tools")
@@ -146,11 +176,67 @@ public class DebugRagController {
         return new DebugProjectFactsResponse(hits, contextText);
     }
 
+    @PostMapping("/reportEncoding")
+    public DebugReportEncodingResponse reportEncoding(@RequestBody(required = false) DebugReportEncodingRequest request) {
+        boolean sample = request == null || request.reports() == null || request.reports().isEmpty();
+        List<UpgradeReport> reports = sample ? loadSampleCorpus() : request.reports();
+        List<DebugReportEncodingResponse.Entry> entries = new ArrayList<>();
+        long fullTotal = 0;
+        long compactTotal = 0;
+        long fullTokensTotal = 0;
+        long compactTokensTotal = 0;
+        int failures = 0;
+        for (int i = 0; i < reports.size(); i++) {
+            UpgradeReport report = reports.get(i);
+            if (report == null) {
+                continue;
+            }
+            ObjectNode full = objectMapper.valueToTree(report);
+            full.findParents("evidenceDetails").forEach(parent -> ((ObjectNode) parent).remove("evidenceDetails"));
+            ObjectNode compact = compactCodec.encode(report);
+            JsonNode expanded = compactCodec.expand(compact, report.getProject());
+            List<String> mismatches = compactCodec.roundTripMismatches(report, expanded);
+            String fullJson = full.toString();
+            String compactJson = compact.toString();
+            int fullTokens = tokenCountEstimator.estimate(fullJson);
+            int compactTokens = tokenCountEstimator.estimate(compactJson);
+            entries.add(new DebugReportEncodingResponse.Entry(i, fullJson.length(), compactJson.length(),
+                    ratio(compactJson.length(), fullJson.length()), fullTokens, compactTokens,
+                    ratio(compactTokens, fullTokens), mismatches.isEmpty(), mismatches));
+            fullTotal += fullJson.length();
+            compactTotal += compactJson.length();
+            fullTokensTotal += fullTokens;
+            compactTokensTotal += compactTokens;
+            failures += mismatches.isEmpty() ? 0 : 1;
+        }
+        return new DebugReportEncodingResponse(sample ? "sample" : "request", entries.size(), fullTotal, compactTotal,
+                ratio(compactTotal, fullTotal), fullTokensTotal, compactTokensTotal,
+                ratio(compactTokensTotal, fullTokensTotal), failures, entries);
+    }
+
+    @PostMapping("/warmup/prefill")
+    public List<PrefillMeasurement> warmupPrefill() {
+        return modelWarmup.measurePrefill();
+    }
+
+    private List<UpgradeReport> loadSampleCorpus() {
+        try (InputStream input = new ClassPathResource(SAMPLE_CORPUS).getInputStream()) {
+            return objectMapper.readValue(input, new TypeReference<>() {
+            });
+        } catch (IOException ex) {
+            throw new IllegalStateException("Corpus d'exemple illisible: " + SAMPLE_CORPUS, ex);
+        }
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<String> handleValidationError(IllegalArgumentException ex) {
         return ResponseEntity.badRequest().body(ex.getMessage());
     }
 
+    private double ratio(long compactChars, long fullChars) {
+        return fullChars == 0 ? 0.0 : (double) compactChars / fullChars;
+    }
+
     private int resolveTopK(Integer topK) {
         int resolved = topK == null ? appProperties.getSafety().getRagTopK() : topK;
         return resolved > 0 ? resolved : appProperties.getSafety().getRagTopK();
@@ -170,7 +256,8 @@ public class DebugRagController {
             int maxContextChars) {
         List<DebugRagTestResponse.LlmEvidence> evidence = buildEvidence(results);
         if (!callLlm) {
-            return new DebugRagTestResponse.Llm(false, null, List.of(), List.of(), 0.0, "SKIPPED", null, evidence);
+            return new DebugRagTestResponse.Llm(false, null, List.of(), List.of(), 0.0, "SKIPPED", null, evidence,
+                    null);
         }
 
         String context = ragContextBuilder.buildContext(results, maxContextChars);
@@ -195,7 +282,7 @@ public class DebugRagController {
         String warning = resolveWarning(validation, status);
 
         return new DebugRagTestResponse.Llm(true, answer, validation.citationsFound(), validation.missingSources(),
-                validation.coverageRatio(), status, warning, evidence);
+                validation.coverageRatio(), status, warning, evidence, modelTierRouter.model(ModelTier.SUMMARIZE));
     }
 
     private String buildUserPrompt(String question, String context) {
@@ -206,13 +293,13 @@ public class DebugRagController {
     }
 
     private String callLlm(String systemPrompt, String userPrompt) {
-        return chatClient.prompt()
+        ChatClient.ChatClientRequestSpec spec = chatClient.prompt()
                 .system(systemPrompt)
                 .user(userPrompt)
                 .advisors(loggingAdvisor)
-                .toolCallbacks(Collections.emptyList())
-                .call()
-                .content();
+                .toolCallbacks(Collections.emptyList());
+        ChatOptions options = modelTierRouter.options(ModelTier.SUMMARIZE);
+        return (options == null ? spec : spec.options(options)).call().content();
     }
 
     private String buildRetryPrompt(int sourceCount, RetryReason reason) {
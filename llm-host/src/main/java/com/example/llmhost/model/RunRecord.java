@@ -0,0 +1,171 @@
+package com.example.llmhost.model;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.llmhost.api.ChatRequest;
+import com.example.llmhost.api.ChatRunResponse;
+import com.example.llmhost.api.ToolCallTrace;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+public class RunRecord {
+
+    private String runId;
+    private Status status;
+    private ChatRequest request;
+    private String callerId;
+    private Instant submittedAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private Instant updatedAt;
+    private int attempts;
+    private String owner;
+    private String stage;
+    private List<ToolCallTrace> toolCalls = new ArrayList<>();
+    private String partialOutput;
+    private ChatRunResponse result;
+    private String error;
+    private boolean cancelRequested;
+
+    @JsonIgnore
+    public boolean isTerminal() {
+        return status == Status.SUCCEEDED || status == Status.FAILED || status == Status.CANCELLED;
+    }
+
+    public String getRunId() {
+        return runId;
+    }
+
+    public void setRunId(String runId) {
+        this.runId = runId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public ChatRequest getRequest() {
+        return request;
+    }
+
+    public void setRequest(ChatRequest request) {
+        this.request = request;
+    }
+
+    public String getCallerId() {
+        return callerId;
+    }
+
+    public void setCallerId(String callerId) {
+        this.callerId = callerId;
+    }
+
+    public Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public void setSubmittedAt(Instant submittedAt) {
+        this.submittedAt = submittedAt;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public String getStage() {
+        return stage;
+    }
+
+    public void setStage(String stage) {
+        this.stage = stage;
+    }
+
+    public List<ToolCallTrace> getToolCalls() {
+        return toolCalls;
+    }
+
+    public void setToolCalls(List<ToolCallTrace> toolCalls) {
+        this.toolCalls = toolCalls == null ? new ArrayList<>() : new ArrayList<>(toolCalls);
+    }
+
+    public String getPartialOutput() {
+        return partialOutput;
+    }
+
+    public void setPartialOutput(String partialOutput) {
+        this.partialOutput = partialOutput;
+    }
+
+    public ChatRunResponse getResult() {
+        return result;
+    }
+
+    public void setResult(ChatRunResponse result) {
+        this.result = result;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    public void setCancelRequested(boolean cancelRequested) {
+        this.cancelRequested = cancelRequested;
+    }
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        SUCCEEDED,
+        FAILED,
+        CANCELLED
+    }
+}
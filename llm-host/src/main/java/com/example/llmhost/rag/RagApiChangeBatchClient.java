@@ -18,21 +18,36 @@ public class RagApiChangeBatchClient {
 
     private final List<ToolCallback> toolCallbacks;
     private final ObjectMapper objectMapper;
+    private final RagDirectClient directClient;
+    private volatile ToolCallback toolCallback;
 
-    public RagApiChangeBatchClient(List<ToolCallback> toolCallbacks, ObjectMapper objectMapper) {
+    public RagApiChangeBatchClient(List<ToolCallback> toolCallbacks, ObjectMapper objectMapper, RagDirectClient directClient) {
         this.toolCallbacks = toolCallbacks;
         this.objectMapper = objectMapper;
+        this.directClient = directClient;
     }
 
     public ApiChangeBatchResponse findBatch(List<String> symbols, String fromVersion, String toVersion,
             int topKPerSymbol, int maxSymbols) {
-        ToolCallback toolCallback = findToolCallback(TOOL_NAME)
-                .orElseThrow(() -> new IllegalStateException("Tool introuvable: " + TOOL_NAME));
+        if (directClient.isEnabled()) {
+            return directClient.findApiChangesBatch(symbols, fromVersion, toVersion, topKPerSymbol, maxSymbols);
+        }
+        ToolCallback toolCallback = resolveToolCallback();
         String toolInput = buildToolInput(symbols, fromVersion, toVersion, topKPerSymbol, maxSymbols);
         String response = toolCallback.call(toolInput);
         return parseResponse(response);
     }
 
+    private ToolCallback resolveToolCallback() {
+        ToolCallback resolved = toolCallback;
+        if (resolved == null) {
+            resolved = findToolCallback(TOOL_NAME)
+                    .orElseThrow(() -> new IllegalStateException("Tool introuvable: " + TOOL_NAME));
+            toolCallback = resolved;
+        }
+        return resolved;
+    }
+
     private Optional<ToolCallback> findToolCallback(String name) {
         return toolCallbacks.stream()
                 .filter(callback -> name.equals(resolveToolName(callback.getToolDefinition())))
@@ -0,0 +1,178 @@
+package com.example.llmhost.rag;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.example.llmhost.config.AppProperties;
+import com.example.llmhost.config.AppProperties.RagDirectProperties;
+import com.example.llmhost.service.RunDeadline;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+@Component
+public class RagDirectClient {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RagDirectClient.class);
+    private static final TypeReference<List<RagHit>> HIT_LIST = new TypeReference<>() {
+    };
+
+    private static final String DEADLINE_HEADER = "X-Deadline-Ms";
+
+    private final boolean enabled;
+    private final long readTimeoutMs;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService executor;
+    private final HttpClient httpClient;
+    private final RestClient restClient;
+
+    public RagDirectClient(RestClient.Builder restClientBuilder, ObjectMapper objectMapper, AppProperties properties) {
+        RagDirectProperties direct = properties.getRag().getDirect();
+        this.enabled = direct.isEnabled();
+        this.readTimeoutMs = direct.getReadTimeoutMs();
+        this.objectMapper = objectMapper;
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(direct.getConnectTimeoutMs()))
+                .executor(executor)
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(direct.getReadTimeoutMs()));
+        this.restClient = restClientBuilder
+                .baseUrl(direct.getBaseUrl())
+                .requestFactory(requestFactory)
+                .defaultHeader("Accept", MediaType.APPLICATION_JSON_VALUE)
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PreDestroy
+    public void close() {
+        httpClient.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    public List<RagHit> search(String query, Map<String, Object> filters, int topK) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("query", query);
+        if (filters != null && !filters.isEmpty()) {
+            payload.put("filters", filters);
+        }
+        payload.put("topK", topK);
+        return postHits("/api/rag/search/normalized", payload, "rag.search");
+    }
+
+    public List<RagHit> lookup(Map<String, Object> filters, int limit) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("filters", filters == null ? Map.of() : filters);
+        payload.put("limit", limit);
+        return postHits("/api/rag/lookup", payload, "rag.lookup");
+    }
+
+    public ApiChangeBatchResponse findApiChangesBatch(List<String> symbols, String fromVersion, String toVersion,
+            int topKPerSymbol, int maxSymbols) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("symbols", symbols == null ? List.of() : symbols);
+        payload.put("fromVersion", fromVersion);
+        payload.put("toVersion", toVersion);
+        payload.put("topKPerSymbol", topKPerSymbol);
+        payload.put("maxSymbols", maxSymbols);
+        payload.put("dedupe", true);
+        try {
+            return restClient.post()
+                    .uri("/api/rag/api-changes/batch")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(DEADLINE_HEADER, deadline("rag.findApiChangesBatch"))
+                    .body(payload)
+                    .retrieve()
+                    .body(ApiChangeBatchResponse.class);
+        } catch (RestClientException ex) {
+            throw new IllegalStateException("Appel direct rag.findApiChangesBatch en échec: " + ex.getMessage(), ex);
+        }
+    }
+
+    private List<RagHit> postHits(String path, Map<String, Object> payload, String operation) {
+        long start = System.nanoTime();
+        try {
+            JsonNode body = restClient.post()
+                    .uri(path)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(DEADLINE_HEADER, deadline(operation))
+                    .body(payload)
+                    .retrieve()
+                    .body(JsonNode.class);
+            List<RagHit> hits = toHits(body, operation);
+            LOGGER.debug("{} direct hits={} durationMs={}", operation, hits.size(),
+                    (System.nanoTime() - start) / 1_000_000);
+            return hits;
+        } catch (RestClientException ex) {
+            throw new IllegalStateException("Appel direct " + operation + " en échec: " + ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Applies the hit contract enforced on the tool path: every hit carries text(string), score(number) and
+     * metadata(object|null). An empty body is an empty result for rag.search and a contract error for rag.lookup,
+     * as with the tool callbacks.
+     */
+    List<RagHit> toHits(JsonNode body, String operation) {
+        if (body == null || body.isNull() || body.isMissingNode()) {
+            if ("rag.search".equals(operation)) {
+                return List.of();
+            }
+            throw new IllegalStateException(operation + " response must be JSON array");
+        }
+        if (!body.isArray()) {
+            throw new IllegalStateException("Invalid " + operation + " contract: expected array. Payload excerpt: "
+                    + excerpt(body));
+        }
+        for (JsonNode hit : body) {
+            JsonNode text = hit.get("text");
+            JsonNode score = hit.get("score");
+            JsonNode metadata = hit.get("metadata");
+            if (!hit.isObject()
+                    || text == null || !text.isTextual()
+                    || score == null || !score.isNumber()
+                    || metadata == null || !(metadata.isObject() || metadata.isNull())) {
+                throw new IllegalStateException("Invalid " + operation
+                        + " contract: each hit requires text(string), score(number), metadata(object|null). Payload excerpt: "
+                        + excerpt(body));
+            }
+        }
+        return objectMapper.convertValue(body, HIT_LIST);
+    }
+
+    private String excerpt(JsonNode body) {
+        String payload = body.toString();
+        return payload.length() <= 200 ? payload : payload.substring(0, 200) + "...";
+    }
+
+    /**
+     * The server stops at the earliest of the read timeout and the remaining budget of the calling run; a run whose
+     * budget is already spent does not issue the call at all.
+     */
+    private String deadline(String operation) {
+        long deadline = RunDeadline.within(readTimeoutMs);
+        if (deadline > 0 && deadline <= System.currentTimeMillis()) {
+            throw new IllegalStateException("Budget temps du run épuisé avant l'appel direct " + operation);
+        }
+        return String.valueOf(deadline);
+    }
+}
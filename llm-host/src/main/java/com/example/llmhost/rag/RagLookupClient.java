@@ -22,20 +22,35 @@ public class RagLookupClient {
 
     private final List<ToolCallback> toolCallbacks;
     private final ObjectMapper objectMapper;
+    private final RagDirectClient directClient;
+    private volatile ToolCallback toolCallback;
 
-    public RagLookupClient(List<ToolCallback> toolCallbacks, ObjectMapper objectMapper) {
+    public RagLookupClient(List<ToolCallback> toolCallbacks, ObjectMapper objectMapper, RagDirectClient directClient) {
         this.toolCallbacks = toolCallbacks;
         this.objectMapper = objectMapper;
+        this.directClient = directClient;
     }
 
     public List<RagHit> lookup(Map<String, Object> filters, int limit) {
-        ToolCallback toolCallback = findToolCallback(TOOL_NAME)
-                .orElseThrow(() -> new IllegalStateException("Tool introuvable: " + TOOL_NAME));
+        if (directClient.isEnabled()) {
+            return directClient.lookup(filters, limit);
+        }
+        ToolCallback toolCallback = resolveToolCallback();
         String toolInput = buildToolInput(filters, limit);
         String response = toolCallback.call(toolInput);
         return parseResponse(response);
     }
 
+    private ToolCallback resolveToolCallback() {
+        ToolCallback resolved = toolCallback;
+        if (resolved == null) {
+            resolved = findToolCallback(TOOL_NAME)
+                    .orElseThrow(() -> new IllegalStateException("Tool introuvable: " + TOOL_NAME));
+            toolCallback = resolved;
+        }
+        return resolved;
+    }
+
     private Optional<ToolCallback> findToolCallback(String name) {
         return toolCallbacks.stream()
                 .filter(callback -> name.equals(resolveToolName(callback.getToolDefinition())))
@@ -0,0 +1,50 @@
+package com.example.llmhost.service;
+
+import java.util.Map;
+
+import com.example.llmhost.api.ModelCallTrace;
+import com.example.llmhost.api.ToolCallTrace;
+
+public interface ChatRunListener {
+
+    ChatRunListener NOOP = new ChatRunListener() {
+    };
+
+    default boolean streaming() {
+        return false;
+    }
+
+    default boolean cancelled() {
+        return false;
+    }
+
+    default void onProgress(String stage, Map<String, Object> details) {
+    }
+
+    default void onToken(String token) {
+    }
+
+    default void onToolCall(ToolCallTrace trace) {
+    }
+
+    default void onRetry(int attempt, String reason) {
+    }
+
+    default void onModelCall(ModelCallTrace trace) {
+    }
+
+    /**
+     * Token of one of several generations running concurrently (a partition or a target), identified by
+     * {@code scope}. Ignored by default: interleaving them into a single output would garble it.
+     */
+    default void onToken(Map<String, Object> scope, String token) {
+    }
+
+    default void onToolCall(Map<String, Object> scope, ToolCallTrace trace) {
+        onToolCall(trace);
+    }
+
+    default void onRetry(Map<String, Object> scope, int attempt, String reason) {
+        onRetry(attempt, reason);
+    }
+}
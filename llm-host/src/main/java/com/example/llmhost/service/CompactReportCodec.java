@@ -0,0 +1,336 @@
+package com.example.llmhost.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.example.llmhost.model.UpgradeReport;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+@Component
+public class CompactReportCodec {
+
+    static final Map<String, String> TYPE_CODES = codes(
+            "B", "BREAKING_CHANGE",
+            "D", "DEPRECATION",
+            "C", "BEHAVIOR_CHANGE",
+            "U", "DEPENDENCY_UPGRADE");
+    static final Map<String, String> AREA_CODES = codes(
+            "W", "web",
+            "S", "security",
+            "D", "data",
+            "C", "config",
+            "B", "build",
+            "T", "test",
+            "O", "other");
+    static final Map<String, JsonToken> VALIDATOR_CONTRACT = compactContract();
+    private static final Pattern SOURCE_PATTERN = Pattern.compile("(?i)S?\\s*(\\d+)");
+
+    private final ObjectMapper objectMapper;
+
+    public CompactReportCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public String contract() {
+        StringJoiner joiner = new StringJoiner("\n");
+        joiner.add("Contrat JSON compact :");
+        joiner.add("{ \"s\":\"résumé usage Spring\",");
+        joiner.add("  \"i\":[ { \"t\":\"B\", \"n\":\"titre\", \"a\":[\"W\"], \"e\":[2,5], \"r\":\"recommandation\", \"p\":3, \"j\":\"justification\" } ],");
+        joiner.add("  \"u\":[ { \"q\":\"question\", \"y\":\"pourquoi\", \"x\":\"prochaine étape\", \"e\":[] } ] }");
+        joiner.add("t: " + describe(TYPE_CODES) + ".");
+        joiner.add("a: " + describe(AREA_CODES) + ".");
+        joiner.add("e: numéros des sources (2 pour [S2]). p: points d'effort, j: justification de l'effort.");
+        joiner.add("Ne répète pas le projet, les identifiants d'impact ni le texte des sources.");
+        return joiner.toString();
+    }
+
+    public Map<String, JsonToken> validatorContract() {
+        return VALIDATOR_CONTRACT;
+    }
+
+    public boolean isCompact(JsonNode node) {
+        return node != null && node.isObject() && (node.has("i") || node.has("u") || node.has("s"))
+                && !node.has("impacts");
+    }
+
+    public ObjectNode expand(JsonNode compact, UpgradeReport.Project project) {
+        ObjectNode report = objectMapper.createObjectNode();
+        if (project != null) {
+            report.set("project", objectMapper.valueToTree(project));
+        }
+        String summary = text(compact, "s");
+        if (summary != null) {
+            report.putObject("springUsageSummary").put("summary", summary);
+        }
+        ArrayNode impacts = report.putArray("impacts");
+        ArrayNode workpoints = report.putArray("workpoints");
+        int index = 0;
+        for (JsonNode item : compact.path("i")) {
+            if (!item.isObject()) {
+                continue;
+            }
+            String impactId = "IMP-" + (++index);
+            ArrayNode evidence = sources(item.path("e"));
+            ObjectNode impact = impacts.addObject();
+            impact.put("id", impactId);
+            impact.put("title", text(item, "n"));
+            impact.put("type", decode(TYPE_CODES, text(item, "t"), false));
+            ArrayNode areas = impact.putArray("affectedAreas");
+            for (JsonNode area : item.path("a")) {
+                String decoded = decode(AREA_CODES, area.asText(), true);
+                if (StringUtils.hasText(decoded)) {
+                    areas.add(decoded);
+                }
+            }
+            impact.set("evidence", evidence);
+            impact.put("recommendation", text(item, "r"));
+            if (item.hasNonNull("p") || item.hasNonNull("j")) {
+                ObjectNode workpoint = workpoints.addObject();
+                workpoint.put("impactId", impactId);
+                workpoint.put("points", Math.max(1, item.path("p").asInt(1)));
+                workpoint.put("rationale", text(item, "j"));
+                workpoint.set("evidence", evidence.deepCopy());
+            }
+        }
+        ArrayNode unknowns = report.putArray("unknowns");
+        for (JsonNode item : compact.path("u")) {
+            if (!item.isObject()) {
+                continue;
+            }
+            ObjectNode unknown = unknowns.addObject();
+            unknown.put("question", text(item, "q"));
+            unknown.put("why", text(item, "y"));
+            unknown.put("nextStep", text(item, "x"));
+            unknown.set("evidence", sources(item.path("e")));
+        }
+        return report;
+    }
+
+    public ObjectNode encode(UpgradeReport report) {
+        ObjectNode compact = objectMapper.createObjectNode();
+        if (report.getSpringUsageSummary() != null && !report.getSpringUsageSummary().isEmpty()) {
+            Object summary = report.getSpringUsageSummary().get("summary");
+            compact.put("s", summary != null ? String.valueOf(summary)
+                    : objectMapper.valueToTree(report.getSpringUsageSummary()).toString());
+        }
+        Map<String, UpgradeReport.Workpoint> workpointsByImpact = new LinkedHashMap<>();
+        for (UpgradeReport.Workpoint workpoint : report.getWorkpoints()) {
+            if (workpoint != null && workpoint.getImpactId() != null) {
+                workpointsByImpact.putIfAbsent(workpoint.getImpactId(), workpoint);
+            }
+        }
+        ArrayNode impacts = compact.putArray("i");
+        for (UpgradeReport.Impact impact : report.getImpacts()) {
+            if (impact == null) {
+                continue;
+            }
+            ObjectNode item = impacts.addObject();
+            item.put("t", codeFor(TYPE_CODES, impact.getType()));
+            item.put("n", impact.getTitle());
+            ArrayNode areas = item.putArray("a");
+            for (String area : impact.getAffectedAreas()) {
+                areas.add(codeFor(AREA_CODES, area));
+            }
+            item.set("e", sourceNumbers(impact.getEvidence()));
+            item.put("r", impact.getRecommendation());
+            UpgradeReport.Workpoint workpoint = workpointsByImpact.get(impact.getId());
+            if (workpoint != null) {
+                item.put("p", workpoint.getPoints());
+                item.put("j", workpoint.getRationale());
+            }
+        }
+        ArrayNode unknowns = compact.putArray("u");
+        for (UpgradeReport.Unknown unknown : report.getUnknowns()) {
+            if (unknown == null) {
+                continue;
+            }
+            ObjectNode item = unknowns.addObject();
+            item.put("q", unknown.getQuestion());
+            item.put("y", unknown.getWhy());
+            item.put("x", unknown.getNextStep());
+            item.set("e", sourceNumbers(unknown.getEvidence()));
+        }
+        return compact;
+    }
+
+    /**
+     * Compares an expanded report with the report it was encoded from, field by field, and returns the paths of the
+     * fields that did not survive the round trip. Impact ids are renumbered by the expander and the project comes from
+     * the run, so neither is compared; workpoints are matched to their impact by position.
+     */
+    public List<String> roundTripMismatches(UpgradeReport original, JsonNode expanded) {
+        List<String> mismatches = new ArrayList<>();
+        JsonNode summary = original.getSpringUsageSummary() == null || original.getSpringUsageSummary().isEmpty()
+                ? null
+                : objectMapper.valueToTree(original.getSpringUsageSummary());
+        compare(mismatches, "springUsageSummary", summary, expanded.get("springUsageSummary"));
+
+        List<UpgradeReport.Impact> impacts = original.getImpacts().stream().filter(Objects::nonNull).toList();
+        JsonNode expandedImpacts = expanded.path("impacts");
+        compareSize(mismatches, "impacts", impacts.size(), expandedImpacts.size());
+        Map<String, String> expandedIds = new LinkedHashMap<>();
+        for (int i = 0; i < impacts.size() && i < expandedImpacts.size(); i++) {
+            UpgradeReport.Impact impact = impacts.get(i);
+            JsonNode item = expandedImpacts.get(i);
+            String path = "impacts[" + i + "]";
+            compare(mismatches, path + ".title", impact.getTitle(), item.get("title"));
+            compare(mismatches, path + ".type", impact.getType(), item.get("type"));
+            compare(mismatches, path + ".affectedAreas", impact.getAffectedAreas(), item.get("affectedAreas"));
+            compare(mismatches, path + ".evidence", impact.getEvidence(), item.get("evidence"));
+            compare(mismatches, path + ".recommendation", impact.getRecommendation(), item.get("recommendation"));
+            if (impact.getId() != null) {
+                expandedIds.putIfAbsent(impact.getId(), item.path("id").asText());
+            }
+        }
+
+        Map<String, JsonNode> expandedWorkpoints = new LinkedHashMap<>();
+        for (JsonNode workpoint : expanded.path("workpoints")) {
+            expandedWorkpoints.put(workpoint.path("impactId").asText(), workpoint);
+        }
+        List<UpgradeReport.Workpoint> workpoints = original.getWorkpoints().stream().filter(Objects::nonNull).toList();
+        for (int i = 0; i < workpoints.size(); i++) {
+            UpgradeReport.Workpoint workpoint = workpoints.get(i);
+            String path = "workpoints[" + i + "]";
+            String impactId = expandedIds.get(workpoint.getImpactId());
+            JsonNode item = impactId == null ? null : expandedWorkpoints.remove(impactId);
+            if (item == null) {
+                mismatches.add(path);
+                continue;
+            }
+            compare(mismatches, path + ".points", workpoint.getPoints(), item.get("points"));
+            compare(mismatches, path + ".rationale", workpoint.getRationale(), item.get("rationale"));
+            compare(mismatches, path + ".evidence", workpoint.getEvidence(), item.get("evidence"));
+        }
+        expandedWorkpoints.keySet().forEach(impactId -> mismatches.add("workpoints[+" + impactId + "]"));
+
+        List<UpgradeReport.Unknown> unknowns = original.getUnknowns().stream().filter(Objects::nonNull).toList();
+        JsonNode expandedUnknowns = expanded.path("unknowns");
+        compareSize(mismatches, "unknowns", unknowns.size(), expandedUnknowns.size());
+        for (int i = 0; i < unknowns.size() && i < expandedUnknowns.size(); i++) {
+            UpgradeReport.Unknown unknown = unknowns.get(i);
+            JsonNode item = expandedUnknowns.get(i);
+            String path = "unknowns[" + i + "]";
+            compare(mismatches, path + ".question", unknown.getQuestion(), item.get("question"));
+            compare(mismatches, path + ".why", unknown.getWhy(), item.get("why"));
+            compare(mismatches, path + ".nextStep", unknown.getNextStep(), item.get("nextStep"));
+            compare(mismatches, path + ".evidence", unknown.getEvidence(), item.get("evidence"));
+        }
+        return mismatches;
+    }
+
+    private void compare(List<String> mismatches, String path, Object expected, JsonNode actual) {
+        JsonNode expectedNode = expected instanceof JsonNode node ? node : objectMapper.valueToTree(expected);
+        boolean expectedEmpty = expectedNode == null || expectedNode.isNull()
+                || (expectedNode.isArray() && expectedNode.isEmpty());
+        boolean actualEmpty = actual == null || actual.isNull() || (actual.isArray() && actual.isEmpty());
+        if (expectedEmpty != actualEmpty || (!expectedEmpty && !expectedNode.equals(actual))) {
+            mismatches.add(path);
+        }
+    }
+
+    private void compareSize(List<String> mismatches, String path, int expected, int actual) {
+        if (expected != actual) {
+            mismatches.add(path + ".size");
+        }
+    }
+
+    private ArrayNode sources(JsonNode evidence) {
+        ArrayNode sources = objectMapper.createArrayNode();
+        if (evidence.isValueNode()) {
+            addSource(sources, evidence);
+        }
+        for (JsonNode item : evidence) {
+            addSource(sources, item);
+        }
+        return sources;
+    }
+
+    private void addSource(ArrayNode sources, JsonNode item) {
+        Matcher matcher = SOURCE_PATTERN.matcher(item.asText().trim());
+        if (matcher.matches()) {
+            int number = Integer.parseInt(matcher.group(1));
+            if (number > 0) {
+                sources.add("S" + number);
+            }
+        }
+    }
+
+    private ArrayNode sourceNumbers(List<String> evidence) {
+        ArrayNode numbers = objectMapper.createArrayNode();
+        if (evidence == null) {
+            return numbers;
+        }
+        for (String source : evidence) {
+            Matcher matcher = SOURCE_PATTERN.matcher(source == null ? "" : source.trim());
+            if (matcher.matches()) {
+                numbers.add(Integer.parseInt(matcher.group(1)));
+            }
+        }
+        return numbers;
+    }
+
+    private String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private String decode(Map<String, String> codes, String code, boolean lowerCaseFallback) {
+        if (!StringUtils.hasText(code)) {
+            return code;
+        }
+        String trimmed = code.trim();
+        String decoded = codes.get(trimmed.toUpperCase(Locale.ROOT));
+        if (decoded != null) {
+            return decoded;
+        }
+        return lowerCaseFallback ? trimmed.toLowerCase(Locale.ROOT) : trimmed;
+    }
+
+    private String codeFor(Map<String, String> codes, String value) {
+        if (value == null) {
+            return null;
+        }
+        for (Map.Entry<String, String> entry : codes.entrySet()) {
+            if (entry.getValue().equalsIgnoreCase(value.trim())) {
+                return entry.getKey();
+            }
+        }
+        return value;
+    }
+
+    private static String describe(Map<String, String> codes) {
+        StringJoiner joiner = new StringJoiner(", ");
+        codes.forEach((code, value) -> joiner.add(code + "=" + value));
+        return joiner.toString();
+    }
+
+    private static Map<String, String> codes(String... pairs) {
+        Map<String, String> codes = new LinkedHashMap<>();
+        for (int i = 0; i < pairs.length; i += 2) {
+            codes.put(pairs[i], pairs[i + 1]);
+        }
+        return Collections.unmodifiableMap(codes);
+    }
+
+    private static Map<String, JsonToken> compactContract() {
+        Map<String, JsonToken> contract = new LinkedHashMap<>();
+        contract.put("s", JsonToken.VALUE_STRING);
+        contract.put("i", JsonToken.START_ARRAY);
+        contract.put("u", JsonToken.START_ARRAY);
+        return Collections.unmodifiableMap(contract);
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.llmhost.service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import com.example.llmhost.api.ModelCallTrace;
+import com.example.llmhost.api.ToolCallTrace;
+
+/**
+ * Listener of one partition or target: every event is forwarded tagged with {@code scope}, so that concurrent
+ * generations stay distinguishable downstream.
+ */
+final class ConcurrentTaskListener implements ChatRunListener {
+
+    private static final long TASK_CANCEL_CHECK_MS = 250;
+
+    private final ChatRunListener delegate;
+    private final Map<String, Object> scope;
+
+    ConcurrentTaskListener(ChatRunListener delegate, Map<String, Object> scope) {
+        this.delegate = delegate;
+        this.scope = Map.copyOf(scope);
+    }
+
+    @Override
+    public boolean streaming() {
+        return delegate.streaming();
+    }
+
+    @Override
+    public boolean cancelled() {
+        return delegate.cancelled();
+    }
+
+    @Override
+    public void onProgress(String stage, Map<String, Object> details) {
+        Map<String, Object> scoped = new LinkedHashMap<>(scope);
+        scoped.putAll(details);
+        delegate.onProgress(stage, scoped);
+    }
+
+    @Override
+    public void onToken(String token) {
+        delegate.onToken(scope, token);
+    }
+
+    @Override
+    public void onToolCall(ToolCallTrace trace) {
+        delegate.onToolCall(scope, trace);
+    }
+
+    @Override
+    public void onRetry(int attempt, String reason) {
+        delegate.onRetry(scope, attempt, reason);
+    }
+
+    @Override
+    public void onModelCall(ModelCallTrace trace) {
+        delegate.onModelCall(trace);
+    }
+
+    /**
+     * Waits for one task while watching the run: a cancelled or interrupted run cancels every outstanding task
+     * instead of waiting for the current one to finish.
+     */
+    static <T> T await(List<Future<T>> futures, int index, ChatRunListener listener) throws ExecutionException {
+        Future<T> future = futures.get(index);
+        try {
+            while (true) {
+                if (listener.cancelled()) {
+                    futures.forEach(pending -> pending.cancel(true));
+                    throw new IllegalStateException("Run annulé par le client");
+                }
+                try {
+                    return future.get(TASK_CANCEL_CHECK_MS, TimeUnit.MILLISECONDS);
+                } catch (TimeoutException ex) {
+                    // still running: check cancellation again
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            futures.forEach(pending -> pending.cancel(true));
+            throw new IllegalStateException("Run interrompu", ex);
+        } catch (CancellationException ex) {
+            throw new ExecutionException(ex);
+        }
+    }
+}
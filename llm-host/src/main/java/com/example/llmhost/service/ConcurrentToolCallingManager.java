@@ -0,0 +1,177 @@
+package com.example.llmhost.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+import com.example.llmhost.config.AppProperties;
+import io.micrometer.observation.ObservationRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.ToolResponseMessage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.tool.DefaultToolCallingManager;
+import org.springframework.ai.model.tool.ToolCallingChatOptions;
+import org.springframework.ai.model.tool.ToolCallingManager;
+import org.springframework.ai.model.tool.ToolExecutionResult;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.execution.DefaultToolExecutionExceptionProcessor;
+import org.springframework.ai.tool.execution.ToolExecutionException;
+import org.springframework.ai.tool.execution.ToolExecutionExceptionProcessor;
+import org.springframework.ai.tool.resolution.DelegatingToolCallbackResolver;
+import org.springframework.ai.tool.resolution.ToolCallbackResolver;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
+
+@Component
+public class ConcurrentToolCallingManager implements ToolCallingManager {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConcurrentToolCallingManager.class);
+
+    private final DefaultToolCallingManager sequentialManager;
+    private final ToolCallbackResolver toolCallbackResolver;
+    private final ToolExecutionExceptionProcessor exceptionProcessor;
+    private final ExecutorService executor;
+    private final int parallelism;
+
+    public ConcurrentToolCallingManager(AppProperties properties,
+            ObjectProvider<ToolCallbackResolver> toolCallbackResolver,
+            ObjectProvider<ToolExecutionExceptionProcessor> exceptionProcessor,
+            ObjectProvider<ObservationRegistry> observationRegistry,
+            @Qualifier("chatRunExecutor") ExecutorService executor) {
+        this.toolCallbackResolver = toolCallbackResolver.getIfAvailable(
+                () -> new DelegatingToolCallbackResolver(List.of()));
+        this.exceptionProcessor = exceptionProcessor.getIfAvailable(
+                () -> DefaultToolExecutionExceptionProcessor.builder().build());
+        this.sequentialManager = DefaultToolCallingManager.builder()
+                .observationRegistry(observationRegistry.getIfUnique(() -> ObservationRegistry.NOOP))
+                .toolCallbackResolver(this.toolCallbackResolver)
+                .toolExecutionExceptionProcessor(this.exceptionProcessor)
+                .build();
+        this.executor = executor;
+        this.parallelism = Math.max(1, properties.getTooling().getParallelToolCalls());
+    }
+
+    @Override
+    public List<ToolDefinition> resolveToolDefinitions(ToolCallingChatOptions chatOptions) {
+        return sequentialManager.resolveToolDefinitions(chatOptions);
+    }
+
+    @Override
+    public ToolExecutionResult executeToolCalls(Prompt prompt, ChatResponse chatResponse) {
+        AssistantMessage assistantMessage = chatResponse.getResults().stream()
+                .map(Generation::getOutput)
+                .filter(output -> output != null && !CollectionUtils.isEmpty(output.getToolCalls()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No tool call requested by the chat model"));
+        List<AssistantMessage.ToolCall> toolCalls = assistantMessage.getToolCalls();
+        if (parallelism <= 1 || toolCalls.size() <= 1) {
+            return sequentialManager.executeToolCalls(prompt, chatResponse);
+        }
+
+        List<ToolCallback> callbacks = prompt.getOptions() instanceof ToolCallingChatOptions options
+                ? options.getToolCallbacks()
+                : List.of();
+        ToolContext toolContext = buildToolContext(prompt, assistantMessage);
+        Semaphore permits = new Semaphore(parallelism);
+        List<Future<String>> futures = new ArrayList<>(toolCalls.size());
+        boolean returnDirect = true;
+        try {
+            for (AssistantMessage.ToolCall toolCall : toolCalls) {
+                ToolCallback callback = resolve(toolCall.name(), callbacks);
+                returnDirect = returnDirect && callback.getToolMetadata().returnDirect();
+                String arguments = toolCall.arguments() == null || toolCall.arguments().isBlank()
+                        ? "{}"
+                        : toolCall.arguments();
+                Callable<String> task = callback instanceof OrderedToolCallback ordered
+                        ? ordered.reserve(arguments)
+                        : () -> callback.call(arguments, toolContext);
+                futures.add(executor.submit(() -> runWithPermit(permits, task)));
+            }
+        } catch (RuntimeException ex) {
+            futures.forEach(future -> future.cancel(true));
+            throw ex;
+        }
+        LOGGER.debug("Executing {} tool calls concurrently (parallelism={})", toolCalls.size(), parallelism);
+
+        List<ToolResponseMessage.ToolResponse> responses = new ArrayList<>(toolCalls.size());
+        for (int i = 0; i < toolCalls.size(); i++) {
+            AssistantMessage.ToolCall toolCall = toolCalls.get(i);
+            responses.add(new ToolResponseMessage.ToolResponse(toolCall.id(), toolCall.name(),
+                    await(futures, i)));
+        }
+        List<Message> history = new ArrayList<>(prompt.copy().getInstructions());
+        history.add(assistantMessage);
+        history.add(ToolResponseMessage.builder().responses(responses).build());
+        return ToolExecutionResult.builder()
+                .conversationHistory(history)
+                .returnDirect(returnDirect)
+                .build();
+    }
+
+    private String runWithPermit(Semaphore permits, Callable<String> task) throws Exception {
+        permits.acquire();
+        try {
+            return task.call();
+        } finally {
+            permits.release();
+        }
+    }
+
+    private String await(List<Future<String>> futures, int index) {
+        try {
+            return futures.get(index).get();
+        } catch (InterruptedException ex) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Exécution des tool-calls interrompue", ex);
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof ToolExecutionException toolException) {
+                return exceptionProcessor.process(toolException);
+            }
+            futures.forEach(future -> future.cancel(true));
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Tool-call en échec: " + cause.getMessage(), cause);
+        }
+    }
+
+    private ToolCallback resolve(String toolName, List<ToolCallback> callbacks) {
+        ToolCallback callback = callbacks.stream()
+                .filter(candidate -> toolName.equals(candidate.getToolDefinition().name()))
+                .findFirst()
+                .orElseGet(() -> toolCallbackResolver.resolve(toolName));
+        if (callback == null) {
+            throw new IllegalStateException("No ToolCallback found for tool name: " + toolName);
+        }
+        return callback;
+    }
+
+    private ToolContext buildToolContext(Prompt prompt, AssistantMessage assistantMessage) {
+        Map<String, Object> context = Map.of();
+        if (prompt.getOptions() instanceof ToolCallingChatOptions options
+                && !CollectionUtils.isEmpty(options.getToolContext())) {
+            context = new HashMap<>(options.getToolContext());
+            List<Message> history = new ArrayList<>(prompt.copy().getInstructions());
+            history.add(assistantMessage);
+            context.put(ToolContext.TOOL_CALL_HISTORY, history);
+        }
+        return new ToolContext(context);
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.llmhost.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+
+public class IncrementalReportValidator {
+
+    public enum State {
+        PENDING,
+        STREAMING,
+        COMPLETE,
+        OFF_CONTRACT
+    }
+
+    static final Map<String, JsonToken> UPGRADE_REPORT_CONTRACT = upgradeReportContract();
+
+    private final Map<String, JsonToken> contract;
+    private final int maxPreambleChars;
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+    private final StringBuilder preamble = new StringBuilder();
+    private State state = State.PENDING;
+    private String violation;
+    private String pendingField;
+    private int depth;
+
+    public IncrementalReportValidator(JsonFactory jsonFactory, Map<String, JsonToken> contract, int maxPreambleChars) {
+        this.contract = contract;
+        this.maxPreambleChars = maxPreambleChars;
+        try {
+            this.parser = jsonFactory.createNonBlockingByteArrayParser();
+        } catch (IOException ex) {
+            throw new IllegalStateException("Impossible de créer le parseur JSON incrémental", ex);
+        }
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    public static IncrementalReportValidator forUpgradeReport(JsonFactory jsonFactory, int maxPreambleChars) {
+        return new IncrementalReportValidator(jsonFactory, UPGRADE_REPORT_CONTRACT, maxPreambleChars);
+    }
+
+    public State accept(String chunk) {
+        if (state == State.COMPLETE || state == State.OFF_CONTRACT || chunk == null || chunk.isEmpty()) {
+            return state;
+        }
+        String payload = chunk;
+        if (state == State.PENDING) {
+            int start = chunk.indexOf('{');
+            if (start < 0) {
+                preamble.append(chunk);
+                return checkPreamble();
+            }
+            preamble.append(chunk, 0, start);
+            if (checkPreamble() == State.OFF_CONTRACT) {
+                return state;
+            }
+            state = State.STREAMING;
+            payload = chunk.substring(start);
+        }
+        return feed(payload);
+    }
+
+    public State state() {
+        return state;
+    }
+
+    public String violation() {
+        return violation;
+    }
+
+    private State checkPreamble() {
+        String text = preamble.toString().replace("```json", "").replace("```", "").strip();
+        if (text.length() > maxPreambleChars) {
+            return offContract("texte hors JSON avant l'objet racine (" + text.length() + " caractères)");
+        }
+        return state;
+    }
+
+    private State feed(String payload) {
+        byte[] bytes = payload.getBytes(StandardCharsets.UTF_8);
+        try {
+            feeder.feedInput(bytes, 0, bytes.length);
+            JsonToken token;
+            while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                inspect(token);
+                if (state != State.STREAMING) {
+                    return state;
+                }
+            }
+        } catch (JsonProcessingException ex) {
+            return offContract("JSON invalide: " + ex.getOriginalMessage());
+        } catch (IOException ex) {
+            return offContract("JSON invalide: " + ex.getMessage());
+        }
+        return state;
+    }
+
+    private void inspect(JsonToken token) throws IOException {
+        switch (token) {
+            case START_OBJECT, START_ARRAY -> {
+                if (depth == 1) {
+                    checkFieldType(token);
+                }
+                depth++;
+            }
+            case END_OBJECT, END_ARRAY -> {
+                depth--;
+                if (depth == 0) {
+                    state = State.COMPLETE;
+                }
+            }
+            case FIELD_NAME -> {
+                if (depth == 1) {
+                    String name = parser.currentName();
+                    if (!contract.containsKey(name)) {
+                        offContract("champ racine inattendu: " + name);
+                        return;
+                    }
+                    pendingField = name;
+                }
+            }
+            default -> {
+                if (depth == 1) {
+                    checkFieldType(token);
+                }
+            }
+        }
+    }
+
+    private void checkFieldType(JsonToken token) {
+        String field = pendingField;
+        pendingField = null;
+        if (field == null || token == JsonToken.VALUE_NULL) {
+            return;
+        }
+        JsonToken expected = contract.get(field);
+        if (expected != null && expected != token) {
+            offContract("le champ " + field + " doit être " + describe(expected));
+        }
+    }
+
+    private String describe(JsonToken token) {
+        return switch (token) {
+            case START_ARRAY -> "un tableau";
+            case START_OBJECT -> "un objet";
+            case VALUE_STRING -> "une chaîne";
+            default -> token.name();
+        };
+    }
+
+    private State offContract(String reason) {
+        state = State.OFF_CONTRACT;
+        violation = reason;
+        return state;
+    }
+
+    private static Map<String, JsonToken> upgradeReportContract() {
+        Map<String, JsonToken> contract = new LinkedHashMap<>();
+        contract.put("project", JsonToken.START_OBJECT);
+        contract.put("springUsageSummary", JsonToken.START_OBJECT);
+        contract.put("impacts", JsonToken.START_ARRAY);
+        contract.put("workpoints", JsonToken.START_ARRAY);
+        contract.put("unknowns", JsonToken.START_ARRAY);
+        return Collections.unmodifiableMap(contract);
+    }
+}
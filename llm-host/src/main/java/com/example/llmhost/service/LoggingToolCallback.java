@@ -0,0 +1,211 @@
+package com.example.llmhost.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.example.llmhost.api.ToolCallTrace;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.mcp.AsyncMcpToolCallback;
+import org.springframework.ai.mcp.SyncMcpToolCallback;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.execution.ToolExecutionException;
+import org.springframework.util.StringUtils;
+
+/**
+ * Wraps one tool of an AUTO run: enforces the tool-call limit and the time budget, serves the result cache, and
+ * records a {@link ToolCallTrace} for every call.
+ */
+final class LoggingToolCallback implements OrderedToolCallback {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoggingToolCallback.class);
+    private static final String DEADLINE_META = "deadlineMs";
+
+    private final ToolCallback delegate;
+    private final AtomicInteger counter;
+    private final int maxCalls;
+    private final List<ToolCallTrace> traces;
+    private final ChatRunListener listener;
+    private final ToolBudget budget;
+    private final ExecutorService executor;
+    private final ToolResultCache resultCache;
+    private final String toolName;
+    private final boolean mcpTool;
+
+    LoggingToolCallback(ToolCallback delegate, AtomicInteger counter, int maxCalls,
+            List<ToolCallTrace> traces, ChatRunListener listener, ToolBudget budget, ExecutorService executor,
+            ToolResultCache resultCache) {
+        this.delegate = delegate;
+        this.counter = counter;
+        this.maxCalls = maxCalls;
+        this.traces = traces;
+        this.listener = listener;
+        this.budget = budget;
+        this.executor = executor;
+        this.resultCache = resultCache;
+        this.toolName = resolveToolName();
+        this.mcpTool = delegate instanceof SyncMcpToolCallback || delegate instanceof AsyncMcpToolCallback;
+    }
+
+    @Override
+    public ToolDefinition getToolDefinition() {
+        return delegate.getToolDefinition();
+    }
+
+    @Override
+    public String call(String toolInput) {
+        try {
+            return reserve(toolInput).call();
+        }
+        catch (RuntimeException ex) {
+            throw ex;
+        }
+        catch (Exception ex) {
+            throw new ToolExecutionException(getToolDefinition(), ex);
+        }
+    }
+
+    @Override
+    public Callable<String> reserve(String toolInput) {
+        int sequence = counter.incrementAndGet();
+        if (sequence > maxCalls) {
+            return () -> refuse(sequence, toolInput);
+        }
+        return () -> execute(sequence, toolInput);
+    }
+
+    /**
+     * A call over the limit is answered with a tool error, so the model can conclude with what it already has
+     * instead of the whole run failing.
+     */
+    private String refuse(int sequence, String toolInput) {
+        String message = "Nombre maximal de tool-calls atteint (" + maxCalls + "), appel de " + toolName
+                + " refusé : conclure avec les résultats déjà obtenus";
+        Instant start = Instant.now();
+        record(new ToolCallTrace(toolName, toolInput == null ? "" : toolInput, 0L, false, message,
+                ToolCallTrace.Outcome.ERROR, sequence, startOffsetMs(start), false));
+        LOGGER.warn(message);
+        throw new ToolExecutionException(getToolDefinition(), new IllegalStateException(message));
+    }
+
+    private String execute(int current, String toolInput) {
+        String arguments = toolInput == null ? "" : toolInput;
+        Instant start = Instant.now();
+        long deadlineMs = budget.deadlineMs();
+        long remainingMs = deadlineMs <= 0 ? 0L : deadlineMs - System.currentTimeMillis();
+        if (deadlineMs > 0 && remainingMs <= 0) {
+            throw timeout(current, arguments, start, false,
+                    "Budget temps du run épuisé avant l'appel de " + toolName);
+        }
+        ToolResultCache.Lookup cached = resultCache.lookup(toolName, toolInput);
+        boolean cacheHit = cached != null && !cached.owner();
+        LOGGER.info("Tool call #{} - {} (budgetMs={}, cache={})", current, toolName,
+                deadlineMs <= 0 ? "illimité" : remainingMs, cached == null ? "off" : cacheHit ? "hit" : "miss");
+        Future<String> future = cacheHit
+                ? cached.result()
+                : executor.submit(() -> invoke(toolInput, deadlineMs, cached));
+        try {
+            String response = deadlineMs <= 0 ? future.get() : future.get(remainingMs, TimeUnit.MILLISECONDS);
+            record(new ToolCallTrace(toolName, arguments, elapsedMs(start), true, null,
+                    ToolCallTrace.Outcome.SUCCESS, current, startOffsetMs(start), cacheHit));
+            return response;
+        }
+        catch (TimeoutException ex) {
+            abandon(future, cached, cacheHit, ex);
+            throw timeout(current, arguments, start, cacheHit,
+                    "Outil " + toolName + " interrompu après " + remainingMs + " ms");
+        }
+        catch (InterruptedException ex) {
+            abandon(future, cached, cacheHit, ex);
+            Thread.currentThread().interrupt();
+            record(new ToolCallTrace(toolName, arguments, elapsedMs(start), false, "Appel interrompu",
+                    ToolCallTrace.Outcome.ERROR, current, startOffsetMs(start), cacheHit));
+            throw new IllegalStateException("Appel de l'outil " + toolName + " interrompu", ex);
+        }
+        catch (ExecutionException ex) {
+            Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+            record(new ToolCallTrace(toolName, arguments, elapsedMs(start), false, cause.getMessage(),
+                    ToolCallTrace.Outcome.ERROR, current, startOffsetMs(start), cacheHit));
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new ToolExecutionException(getToolDefinition(), cause);
+        }
+    }
+
+    private String invoke(String toolInput, long deadlineMs, ToolResultCache.Lookup cached) {
+        try {
+            String response = callWithDeadline(toolInput, deadlineMs);
+            if (cached != null) {
+                resultCache.complete(cached, response);
+            }
+            return response;
+        }
+        catch (RuntimeException ex) {
+            if (cached != null) {
+                resultCache.fail(cached, ex);
+            }
+            throw ex;
+        }
+    }
+
+    private void abandon(Future<String> future, ToolResultCache.Lookup cached, boolean cacheHit, Exception cause) {
+        if (cacheHit) {
+            return;
+        }
+        future.cancel(true);
+        if (cached != null) {
+            resultCache.fail(cached, cause);
+        }
+    }
+
+    private ToolExecutionException timeout(int sequence, String arguments, Instant start, boolean cacheHit,
+            String message) {
+        record(new ToolCallTrace(toolName, arguments, elapsedMs(start), false, message,
+                ToolCallTrace.Outcome.TIMEOUT, sequence, startOffsetMs(start), cacheHit));
+        LOGGER.warn(message);
+        return new ToolExecutionException(getToolDefinition(), new TimeoutException(message));
+    }
+
+    /**
+     * The deadline travels in the MCP request {@code _meta}, outside the tool arguments the model sees.
+     */
+    private String callWithDeadline(String toolInput, long deadlineMs) {
+        if (!mcpTool || deadlineMs <= 0) {
+            return delegate.call(toolInput);
+        }
+        return delegate.call(toolInput, new ToolContext(Map.of(DEADLINE_META, deadlineMs)));
+    }
+
+    private long elapsedMs(Instant start) {
+        return Duration.between(start, Instant.now()).toMillis();
+    }
+
+    private long startOffsetMs(Instant start) {
+        return start.toEpochMilli() - budget.startedAtMs();
+    }
+
+    private void record(ToolCallTrace trace) {
+        traces.add(trace);
+        listener.onToolCall(trace);
+    }
+
+    private String resolveToolName() {
+        ToolDefinition definition = delegate.getToolDefinition();
+        if (definition != null && StringUtils.hasText(definition.name())) {
+            return definition.name();
+        }
+        return delegate.getClass().getSimpleName();
+    }
+}
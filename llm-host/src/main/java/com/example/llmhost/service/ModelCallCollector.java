@@ -0,0 +1,72 @@
+package com.example.llmhost.service;
+
+import java.util.List;
+import java.util.Map;
+
+import com.example.llmhost.api.ModelCallTrace;
+import com.example.llmhost.api.ToolCallTrace;
+
+/**
+ * Collects the model calls of a run for {@code ChatRunResponse.modelCalls} while forwarding every event.
+ */
+final class ModelCallCollector implements ChatRunListener {
+
+    private final ChatRunListener delegate;
+    private final List<ModelCallTrace> modelCalls;
+
+    ModelCallCollector(ChatRunListener delegate, List<ModelCallTrace> modelCalls) {
+        this.delegate = delegate;
+        this.modelCalls = modelCalls;
+    }
+
+    @Override
+    public boolean streaming() {
+        return delegate.streaming();
+    }
+
+    @Override
+    public boolean cancelled() {
+        return delegate.cancelled();
+    }
+
+    @Override
+    public void onProgress(String stage, Map<String, Object> details) {
+        delegate.onProgress(stage, details);
+    }
+
+    @Override
+    public void onToken(String token) {
+        delegate.onToken(token);
+    }
+
+    @Override
+    public void onToolCall(ToolCallTrace trace) {
+        delegate.onToolCall(trace);
+    }
+
+    @Override
+    public void onRetry(int attempt, String reason) {
+        delegate.onRetry(attempt, reason);
+    }
+
+    @Override
+    public void onModelCall(ModelCallTrace trace) {
+        modelCalls.add(trace);
+        delegate.onModelCall(trace);
+    }
+
+    @Override
+    public void onToken(Map<String, Object> scope, String token) {
+        delegate.onToken(scope, token);
+    }
+
+    @Override
+    public void onToolCall(Map<String, Object> scope, ToolCallTrace trace) {
+        delegate.onToolCall(scope, trace);
+    }
+
+    @Override
+    public void onRetry(Map<String, Object> scope, int attempt, String reason) {
+        delegate.onRetry(scope, attempt, reason);
+    }
+}
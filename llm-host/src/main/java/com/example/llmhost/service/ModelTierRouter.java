@@ -0,0 +1,78 @@
+package com.example.llmhost.service;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.example.llmhost.config.AppProperties;
+import com.example.llmhost.config.AppProperties.ModelTier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.model.tool.ToolCallingChatOptions;
+import org.springframework.ai.ollama.api.OllamaChatOptions;
+import org.springframework.ai.openai.OpenAiChatOptions;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+@Component
+public class ModelTierRouter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ModelTierRouter.class);
+
+    private final Map<ModelTier, String> overrides = new EnumMap<>(ModelTier.class);
+    private final String defaultModel;
+
+    public ModelTierRouter(AppProperties properties, ChatModel chatModel) {
+        boolean openAi = properties.getAi().getProvider() == AppProperties.Provider.OPENAI;
+        Map<ModelTier, String> configured = openAi
+                ? properties.getAi().getOpenai().getTierModels()
+                : properties.getAi().getOllama().getTierModels();
+        configured.forEach((tier, model) -> {
+            if (StringUtils.hasText(model)) {
+                overrides.put(tier, model.trim());
+            }
+        });
+        ChatOptions defaults = chatModel.getDefaultOptions();
+        String configuredDefault = openAi
+                ? properties.getAi().getOpenai().getChatModel()
+                : properties.getAi().getOllama().getChatModel();
+        this.defaultModel = defaults != null && StringUtils.hasText(defaults.getModel())
+                ? defaults.getModel()
+                : configuredDefault;
+        if (!overrides.isEmpty()) {
+            LOGGER.info("Modèles par usage: {} (défaut={})", overrides, defaultModel);
+        }
+    }
+
+    public String model(ModelTier tier) {
+        return overrides.getOrDefault(tier, defaultModel);
+    }
+
+    public ChatOptions options(ModelTier tier) {
+        return options(tier, null);
+    }
+
+    public ChatOptions options(ModelTier tier, ChatOptions base) {
+        String model = overrides.get(tier);
+        if (model == null) {
+            return base;
+        }
+        if (base == null) {
+            return ToolCallingChatOptions.builder().model(model).build();
+        }
+        if (base instanceof OpenAiChatOptions openAi) {
+            OpenAiChatOptions copy = openAi.copy();
+            copy.setModel(model);
+            return copy;
+        }
+        if (base instanceof OllamaChatOptions ollama) {
+            OllamaChatOptions copy = ollama.copy();
+            copy.setModel(model);
+            return copy;
+        }
+        LOGGER.debug("Options {} non modifiables, modèle par défaut conservé pour {}", base.getClass().getSimpleName(),
+                tier);
+        return base;
+    }
+}
@@ -0,0 +1,214 @@
+package com.example.llmhost.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import com.example.llmhost.config.AppProperties;
+import com.example.llmhost.config.AppProperties.ModelTier;
+import com.example.llmhost.config.AppProperties.WarmupProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.ollama.api.OllamaChatOptions;
+import org.springframework.ai.openai.OpenAiChatOptions;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps every backend of the pool loaded with the stable prompt prefixes of the REPORT and REPAIR tiers. AUTO (CHAT)
+ * requests carry the MCP tool definitions and SUMMARIZE prompts depend on the source count, so neither has a prefix
+ * worth warming.
+ */
+@Component
+public class ModelWarmup {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ModelWarmup.class);
+    private static final String WARMUP_USER_PROMPT = "Réponds OK.";
+
+    private final Map<String, ChatClient> backends;
+    private final ToolCallingChatService chatService;
+    private final ModelTierRouter modelTierRouter;
+    private final PromptMetricsAdvisor promptMetricsAdvisor;
+    private final AppProperties properties;
+    private final MeterRegistry meterRegistry;
+    private volatile Thread worker;
+
+    public ModelWarmup(ChatModel chatModel, ToolCallingChatService chatService, ModelTierRouter modelTierRouter,
+            PromptMetricsAdvisor promptMetricsAdvisor, AppProperties properties, MeterRegistry meterRegistry) {
+        Map<String, ChatModel> models = chatModel instanceof RoutingChatModel pool
+                ? pool.backendModels()
+                : Map.of("default", chatModel);
+        Map<String, ChatClient> clients = new LinkedHashMap<>();
+        models.forEach((name, model) -> clients.put(name, ChatClient.builder(model).build()));
+        this.backends = Collections.unmodifiableMap(clients);
+        this.chatService = chatService;
+        this.modelTierRouter = modelTierRouter;
+        this.promptMetricsAdvisor = promptMetricsAdvisor;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        WarmupProperties warmup = properties.getAi().getWarmup();
+        if (!warmup.isEnabled() || worker != null) {
+            return;
+        }
+        long intervalMs = TimeUnit.SECONDS.toMillis(Math.max(30, warmup.getIntervalSeconds()));
+        Thread thread = Thread.ofVirtual().name("llm-warmup").unstarted(() -> loop(intervalMs,
+                warmup.isMeasurePrefill()));
+        worker = thread;
+        thread.start();
+        LOGGER.info("Préchauffage de {} backend(s) {} pour {} toutes les {} s", backends.size(), backends.keySet(),
+                prefixes().stream().map(prefix -> prefix.tier() + "=" + modelTierRouter.model(prefix.tier())).toList(),
+                intervalMs / 1000);
+    }
+
+    @PreDestroy
+    public void stop() {
+        Thread current = worker;
+        worker = null;
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+
+    /**
+     * Sends the exact stable prefix of each tier to each backend. Returns false if any of these calls failed.
+     */
+    public boolean warmUp() {
+        boolean success = true;
+        for (Map.Entry<String, ChatClient> backend : backends.entrySet()) {
+            for (StablePrefix prefix : prefixes()) {
+                success &= send(backend.getKey(), backend.getValue(), prefix, prefix.system()) != null;
+            }
+        }
+        return success;
+    }
+
+    /**
+     * For each backend and tier, times a request whose system prompt is made unique (no reusable prefix), then the
+     * exact prefix twice: the first loads it, the second is served from the cache. The backend is left warm.
+     */
+    public List<PrefillMeasurement> measurePrefill() {
+        List<PrefillMeasurement> measurements = new ArrayList<>();
+        for (Map.Entry<String, ChatClient> backend : backends.entrySet()) {
+            for (StablePrefix prefix : prefixes()) {
+                String name = backend.getKey();
+                Call cold = send(name, backend.getValue(), prefix, UUID.randomUUID() + "\n" + prefix.system());
+                send(name, backend.getValue(), prefix, prefix.system());
+                Call cached = send(name, backend.getValue(), prefix, prefix.system());
+                if (cold == null || cached == null) {
+                    continue;
+                }
+                PrefillMeasurement measurement = new PrefillMeasurement(name, prefix.tier().name(),
+                        modelTierRouter.model(prefix.tier()), cold.latencyMs(), cached.latencyMs(), cold.prefillMs(),
+                        cached.prefillMs(), cached.cachedTokens());
+                record(measurement);
+                measurements.add(measurement);
+            }
+        }
+        return measurements;
+    }
+
+    private List<StablePrefix> prefixes() {
+        // REPORT last: with a single Ollama slot, the most frequent prefix is the one left in the cache
+        return List.of(
+                new StablePrefix(ModelTier.REPAIR, chatService.repairSystemPrompt(), chatService.repairPromptPrefix()),
+                new StablePrefix(ModelTier.REPORT, chatService.guidedSystemPrompt(), WARMUP_USER_PROMPT));
+    }
+
+    private Call send(String backend, ChatClient client, StablePrefix prefix, String system) {
+        long start = System.nanoTime();
+        try {
+            ChatResponse response = client.prompt()
+                    .system(system)
+                    .user(prefix.user())
+                    .advisors(promptMetricsAdvisor)
+                    .advisors(advisor -> advisor.param(PromptMetricsAdvisor.LAYOUT, "warmup"))
+                    .toolCallbacks(Collections.emptyList())
+                    .options(warmupOptions(prefix.tier()))
+                    .call()
+                    .chatResponse();
+            long elapsed = System.nanoTime() - start;
+            meterRegistry.timer("llmhost.llm.warmup", "result", "success", "backend", backend, "tier",
+                    prefix.tier().name()).record(elapsed, TimeUnit.NANOSECONDS);
+            Duration prefill = PromptMetricsAdvisor.prefill(response);
+            return new Call(TimeUnit.NANOSECONDS.toMillis(elapsed), prefill == null ? null : prefill.toMillis(),
+                    PromptMetricsAdvisor.cachedTokens(response));
+        } catch (RuntimeException ex) {
+            meterRegistry.timer("llmhost.llm.warmup", "result", "error", "backend", backend, "tier",
+                    prefix.tier().name()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            LOGGER.warn("Préchauffage {} sur {} en échec: {}", prefix.tier(), backend, ex.getMessage());
+            return null;
+        }
+    }
+
+    private void record(PrefillMeasurement measurement) {
+        recordPrefill(measurement, "cold", measurement.coldLatencyMs(), measurement.coldPrefillMs());
+        recordPrefill(measurement, "cached", measurement.cachedLatencyMs(), measurement.cachedPrefillMs());
+        LOGGER.info("Prefill {} sur {} ({}) : sans préfixe en cache {} ms (prefill {} ms), avec préfixe en cache {} ms "
+                        + "(prefill {} ms, tokens en cache {})",
+                measurement.tier(), measurement.backend(), measurement.model(), measurement.coldLatencyMs(),
+                measurement.coldPrefillMs(), measurement.cachedLatencyMs(), measurement.cachedPrefillMs(),
+                measurement.cachedTokens());
+    }
+
+    private void recordPrefill(PrefillMeasurement measurement, String prefix, long latencyMs, Long prefillMs) {
+        meterRegistry.timer("llmhost.llm.warmup.latency", "backend", measurement.backend(), "tier",
+                measurement.tier(), "prefix", prefix).record(latencyMs, TimeUnit.MILLISECONDS);
+        if (prefillMs != null) {
+            meterRegistry.timer("llmhost.llm.warmup.prefill", "backend", measurement.backend(), "tier",
+                    measurement.tier(), "prefix", prefix).record(prefillMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void loop(long intervalMs, boolean measurePrefill) {
+        if (measurePrefill) {
+            measurePrefill();
+        } else {
+            warmUp();
+        }
+        while (worker == Thread.currentThread()) {
+            try {
+                Thread.sleep(intervalMs);
+            } catch (InterruptedException ex) {
+                return;
+            }
+            warmUp();
+        }
+    }
+
+    private ChatOptions warmupOptions(ModelTier tier) {
+        ChatOptions base = properties.getAi().getProvider() == AppProperties.Provider.OPENAI
+                ? OpenAiChatOptions.builder().maxTokens(1).build()
+                : OllamaChatOptions.builder().numPredict(1).build();
+        return modelTierRouter.options(tier, base);
+    }
+
+    private record StablePrefix(ModelTier tier, String system, String user) {
+    }
+
+    private record Call(long latencyMs, Long prefillMs, Integer cachedTokens) {
+    }
+
+    /**
+     * Prefill of one tier prefix on one backend. Prefill durations are reported by Ollama only, cached tokens by
+     * OpenAI only; latencies cover the whole one-token request.
+     */
+    public record PrefillMeasurement(String backend, String tier, String model, long coldLatencyMs,
+            long cachedLatencyMs, Long coldPrefillMs, Long cachedPrefillMs, Integer cachedTokens) {
+    }
+}
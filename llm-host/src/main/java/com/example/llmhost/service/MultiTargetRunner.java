@@ -0,0 +1,124 @@
+package com.example.llmhost.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+import com.example.llmhost.api.ChatRequest;
+import com.example.llmhost.api.TargetReport;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.StringUtils;
+
+/**
+ * Generates one GUIDED report per target version of a run. Retrieval runs for every target at once; generation is
+ * limited to {@code parallelism} targets at a time. A failed target is reported with its error instead of failing the
+ * run.
+ */
+final class MultiTargetRunner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MultiTargetRunner.class);
+
+    private final ExecutorService executor;
+    private final ObjectMapper objectMapper;
+    private final int parallelism;
+
+    MultiTargetRunner(ExecutorService executor, ObjectMapper objectMapper, int parallelism) {
+        this.executor = executor;
+        this.objectMapper = objectMapper;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    List<TargetReport> run(List<ChatRequest> targets, ChatRunListener listener, TargetGenerator generator) {
+        listener.onProgress("targets.planned", Map.of("targets",
+                targets.stream().map(ChatRequest::toVersion).toList()));
+        Semaphore permits = new Semaphore(parallelism);
+        List<Future<TargetReport>> futures = new ArrayList<>();
+        for (ChatRequest target : targets) {
+            ChatRunListener targetListener = new ConcurrentTaskListener(listener, Map.of("toVersion",
+                    target.toVersion()));
+            futures.add(executor.submit(RunDeadline.propagate(() -> generate(target, permits, targetListener,
+                    generator))));
+        }
+        List<TargetReport> reports = new ArrayList<>();
+        for (int i = 0; i < futures.size(); i++) {
+            String target = targets.get(i).toVersion();
+            try {
+                reports.add(ConcurrentTaskListener.await(futures, i, listener));
+            } catch (ExecutionException ex) {
+                LOGGER.warn("Target {} failed: {}", target, ex.getCause().getMessage());
+                reports.add(new TargetReport(target, null, null, ex.getCause().getMessage()));
+            }
+        }
+        listener.onProgress("targets.completed", Map.of("targets", reports.size(),
+                "failed", reports.stream().filter(report -> report.error() != null).count()));
+        return reports;
+    }
+
+    String toJson(ChatRequest request, List<TargetReport> reports) {
+        ObjectNode root = objectMapper.createObjectNode();
+        root.put("workspaceId", request.workspaceId());
+        root.put("repoUrl", request.repoUrl());
+        root.put("fromVersion", request.fromVersion());
+        ArrayNode targets = root.putArray("targets");
+        for (TargetReport report : reports) {
+            ObjectNode target = targets.addObject();
+            target.put("toVersion", report.toVersion());
+            target.set("report", readReportTree(report.structuredJson()));
+            if (report.error() != null) {
+                target.put("error", report.error());
+            }
+        }
+        try {
+            return objectMapper.writeValueAsString(root);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Impossible de sérialiser les rapports multi-cibles", ex);
+        }
+    }
+
+    private TargetReport generate(ChatRequest target, Semaphore permits, ChatRunListener listener,
+            TargetGenerator generator) throws InterruptedException {
+        UpgradeContext context = generator.retrieve(target, listener);
+        permits.acquire();
+        try {
+            listener.onProgress("target.started", Map.of("sources", context.hits().size()));
+            TargetReport report = generator.generate(target, context, listener);
+            listener.onProgress("target.completed", Map.of("valid", report.error() == null));
+            return report;
+        } finally {
+            permits.release();
+        }
+    }
+
+    private JsonNode readReportTree(String json) {
+        if (!StringUtils.hasText(json)) {
+            return NullNode.getInstance();
+        }
+        try {
+            return objectMapper.readTree(json);
+        } catch (JsonProcessingException ex) {
+            return TextNode.valueOf(json);
+        }
+    }
+
+    /**
+     * Retrieval and generation of one target, split so that only generation holds a parallelism permit.
+     */
+    interface TargetGenerator {
+
+        UpgradeContext retrieve(ChatRequest target, ChatRunListener listener);
+
+        TargetReport generate(ChatRequest target, UpgradeContext context, ChatRunListener listener);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.llmhost.service;
+
+import java.util.concurrent.Callable;
+
+import org.springframework.ai.tool.ToolCallback;
+
+interface OrderedToolCallback extends ToolCallback {
+
+    Callable<String> reserve(String toolInput);
+}
@@ -0,0 +1,157 @@
+package com.example.llmhost.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.example.llmhost.model.UpgradeReport;
+import org.springframework.util.StringUtils;
+
+public class PartialReportMerger {
+
+    private static final Pattern SOURCE_PATTERN = Pattern.compile("(?i)S\\s*(\\d+)");
+
+    public UpgradeReport merge(List<PartialReport> partials, UpgradeReport.Project project) {
+        UpgradeReport merged = new UpgradeReport();
+        merged.setProject(project);
+        Map<String, Object> summary = new LinkedHashMap<>();
+        Map<String, UpgradeReport.Impact> impactsByTitle = new LinkedHashMap<>();
+        List<UpgradeReport.Workpoint> workpoints = new ArrayList<>();
+        Map<String, UpgradeReport.Unknown> unknownsByQuestion = new LinkedHashMap<>();
+        for (PartialReport partial : partials) {
+            UpgradeReport report = partial.report();
+            if (report == null) {
+                continue;
+            }
+            String area = partial.area();
+            if (report.getSpringUsageSummary() != null && !report.getSpringUsageSummary().isEmpty()) {
+                Object partialSummary = report.getSpringUsageSummary().get("summary");
+                summary.put(area, partialSummary != null ? partialSummary : report.getSpringUsageSummary());
+            }
+            Map<String, String> impactIds = new HashMap<>();
+            int index = 0;
+            int position = 0;
+            for (UpgradeReport.Impact impact : report.getImpacts()) {
+                if (impact == null) {
+                    continue;
+                }
+                // an impact without id cannot be referenced by a workpoint, but must not share the null key
+                String localId = StringUtils.hasText(impact.getId()) ? impact.getId().trim() : "#" + position;
+                position++;
+                List<String> evidence = renumber(impact.getEvidence(), partial.sourceNumbers());
+                String key = titleKey(impact.getTitle());
+                UpgradeReport.Impact existing = key == null ? null : impactsByTitle.get(key);
+                if (existing != null) {
+                    existing.setEvidence(union(existing.getEvidence(), evidence));
+                    existing.setAffectedAreas(union(existing.getAffectedAreas(), impact.getAffectedAreas()));
+                    impactIds.putIfAbsent(localId, existing.getId());
+                    continue;
+                }
+                String stableId = "IMP-" + area.toUpperCase(Locale.ROOT) + "-" + (++index);
+                impactIds.putIfAbsent(localId, stableId);
+                impact.setId(stableId);
+                impact.setEvidence(evidence);
+                impact.setEvidenceDetails(List.of());
+                impactsByTitle.put(key == null ? stableId : key, impact);
+            }
+            for (UpgradeReport.Workpoint workpoint : report.getWorkpoints()) {
+                if (workpoint == null) {
+                    continue;
+                }
+                String impactId = StringUtils.hasText(workpoint.getImpactId())
+                        ? impactIds.get(workpoint.getImpactId().trim())
+                        : null;
+                if (impactId == null) {
+                    continue;
+                }
+                workpoint.setImpactId(impactId);
+                workpoint.setEvidence(renumber(workpoint.getEvidence(), partial.sourceNumbers()));
+                workpoint.setEvidenceDetails(List.of());
+                workpoints.add(workpoint);
+            }
+            for (UpgradeReport.Unknown unknown : report.getUnknowns()) {
+                if (unknown == null) {
+                    continue;
+                }
+                unknown.setEvidence(renumber(unknown.getEvidence(), partial.sourceNumbers()));
+                String key = titleKey(unknown.getQuestion());
+                UpgradeReport.Unknown existing = key == null ? null : unknownsByQuestion.get(key);
+                if (existing != null) {
+                    existing.setEvidence(union(existing.getEvidence(), unknown.getEvidence()));
+                } else {
+                    unknownsByQuestion.put(key == null ? "unknown-" + unknownsByQuestion.size() : key, unknown);
+                }
+            }
+        }
+        if (!summary.isEmpty()) {
+            merged.setSpringUsageSummary(summary);
+        }
+        merged.setImpacts(new ArrayList<>(impactsByTitle.values()));
+        merged.setWorkpoints(mergeWorkpoints(workpoints));
+        merged.setUnknowns(new ArrayList<>(unknownsByQuestion.values()));
+        return merged;
+    }
+
+    private List<UpgradeReport.Workpoint> mergeWorkpoints(List<UpgradeReport.Workpoint> workpoints) {
+        Map<String, UpgradeReport.Workpoint> byImpact = new LinkedHashMap<>();
+        for (UpgradeReport.Workpoint workpoint : workpoints) {
+            UpgradeReport.Workpoint existing = byImpact.get(workpoint.getImpactId());
+            if (existing == null) {
+                byImpact.put(workpoint.getImpactId(), workpoint);
+            } else {
+                existing.setPoints(Math.max(existing.getPoints(), workpoint.getPoints()));
+                existing.setEvidence(union(existing.getEvidence(), workpoint.getEvidence()));
+            }
+        }
+        return new ArrayList<>(byImpact.values());
+    }
+
+    private List<String> renumber(List<String> evidence, List<Integer> sourceNumbers) {
+        if (evidence == null || evidence.isEmpty()) {
+            return List.of();
+        }
+        Set<String> renumbered = new LinkedHashSet<>();
+        for (String source : evidence) {
+            if (source == null) {
+                continue;
+            }
+            Matcher matcher = SOURCE_PATTERN.matcher(source.trim());
+            if (!matcher.matches()) {
+                continue;
+            }
+            int local = Integer.parseInt(matcher.group(1));
+            if (local >= 1 && local <= sourceNumbers.size()) {
+                renumbered.add("S" + sourceNumbers.get(local - 1));
+            }
+        }
+        return new ArrayList<>(renumbered);
+    }
+
+    private List<String> union(List<String> first, List<String> second) {
+        Set<String> values = new LinkedHashSet<>();
+        if (first != null) {
+            values.addAll(first);
+        }
+        if (second != null) {
+            values.addAll(second);
+        }
+        return new ArrayList<>(values);
+    }
+
+    private String titleKey(String value) {
+        if (!StringUtils.hasText(value)) {
+            return null;
+        }
+        return value.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+
+    public record PartialReport(String area, UpgradeReport report, List<Integer> sourceNumbers) {
+    }
+}
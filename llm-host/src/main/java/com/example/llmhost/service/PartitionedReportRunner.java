@@ -0,0 +1,97 @@
+package com.example.llmhost.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+import com.example.llmhost.model.UpgradeReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Map-reduce generation of a GUIDED report: one generation per context partition, at most {@code parallelism} at a
+ * time, then a merge. A partition that fails or yields no valid report becomes an unknown instead of failing the run.
+ */
+final class PartitionedReportRunner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PartitionedReportRunner.class);
+
+    private final ExecutorService executor;
+    private final PartialReportMerger merger;
+    private final int parallelism;
+
+    PartitionedReportRunner(ExecutorService executor, PartialReportMerger merger, int parallelism) {
+        this.executor = executor;
+        this.merger = merger;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    UpgradeReport run(List<UpgradeContextPartition> partitions, UpgradeReport.Project project,
+            ChatRunListener listener, PartitionGenerator generator) {
+        listener.onProgress("partition.planned", Map.of("partitions",
+                partitions.stream().map(UpgradeContextPartition::area).toList()));
+        Semaphore permits = new Semaphore(parallelism);
+        List<Future<PartialReportMerger.PartialReport>> futures = new ArrayList<>();
+        for (UpgradeContextPartition partition : partitions) {
+            ChatRunListener partitionListener = new ConcurrentTaskListener(listener,
+                    Map.of("partition", partition.area()));
+            futures.add(executor.submit(RunDeadline.propagate(() -> generate(partition, permits, partitionListener,
+                    generator))));
+        }
+        List<PartialReportMerger.PartialReport> partials = new ArrayList<>();
+        for (int i = 0; i < futures.size(); i++) {
+            UpgradeContextPartition partition = partitions.get(i);
+            try {
+                partials.add(ConcurrentTaskListener.await(futures, i, listener));
+            } catch (ExecutionException ex) {
+                LOGGER.warn("Partition {} failed: {}", partition.area(), ex.getCause().getMessage());
+                partials.add(failedPartition(partition, ex.getCause().getMessage()));
+            }
+        }
+        UpgradeReport merged = merger.merge(partials, project);
+        listener.onProgress("partition.merged", Map.of("partitions", partials.size(),
+                "impacts", merged.getImpacts().size()));
+        return merged;
+    }
+
+    private PartialReportMerger.PartialReport generate(UpgradeContextPartition partition, Semaphore permits,
+            ChatRunListener listener, PartitionGenerator generator) throws InterruptedException {
+        permits.acquire();
+        try {
+            listener.onProgress("partition.started", Map.of("area", partition.area(),
+                    "sources", partition.sourceNumbers().size()));
+            UpgradeReport report = generator.generate(partition.context(), listener);
+            listener.onProgress("partition.completed", Map.of("area", partition.area(), "valid", report != null));
+            if (report == null) {
+                return failedPartition(partition, "rapport partiel invalide");
+            }
+            return new PartialReportMerger.PartialReport(partition.area(), report, partition.sourceNumbers());
+        } finally {
+            permits.release();
+        }
+    }
+
+    private PartialReportMerger.PartialReport failedPartition(UpgradeContextPartition partition, String reason) {
+        UpgradeReport.Unknown unknown = new UpgradeReport.Unknown();
+        unknown.setQuestion("Partition " + partition.area() + " non analysée");
+        unknown.setWhy(reason);
+        unknown.setNextStep("Relancer l'analyse avec moduleFocus=" + partition.area());
+        unknown.setEvidence(List.of());
+        UpgradeReport report = new UpgradeReport();
+        report.setUnknowns(List.of(unknown));
+        return new PartialReportMerger.PartialReport(partition.area(), report, partition.sourceNumbers());
+    }
+
+    /**
+     * Generates and validates the report of one partition; null when no valid report could be produced.
+     */
+    @FunctionalInterface
+    interface PartitionGenerator {
+
+        UpgradeReport generate(UpgradeContext context, ChatRunListener listener);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.llmhost.service;
+
+import java.util.List;
+
+import com.example.llmhost.rag.RagHit;
+
+public record ProjectFactSnapshot(String workspaceId, List<RagHit> projectFacts, List<String> symbols) {
+
+    public ProjectFactSnapshot {
+        projectFacts = projectFacts == null ? List.of() : List.copyOf(projectFacts);
+        symbols = symbols == null ? List.of() : List.copyOf(symbols);
+    }
+}
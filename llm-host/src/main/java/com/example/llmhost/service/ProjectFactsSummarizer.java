@@ -99,7 +99,7 @@ public class ProjectFactsSummarizer {
                 addImport(counts, name, count);
                 return;
             }
-            node.fields().forEachRemaining(entry -> collectImportsFromNode(entry.getValue(), counts));
+            node.properties().forEach(entry -> collectImportsFromNode(entry.getValue(), counts));
             return;
         }
         if (node.isTextual()) {
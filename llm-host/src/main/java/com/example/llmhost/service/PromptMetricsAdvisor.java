@@ -0,0 +1,113 @@
+package com.example.llmhost.service;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.ai.chat.client.ChatClientRequest;
+import org.springframework.ai.chat.client.ChatClientResponse;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisor;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisorChain;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisor;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisorChain;
+import org.springframework.ai.chat.metadata.ChatResponseMetadata;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.openai.api.OpenAiApi;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+@Component
+public class PromptMetricsAdvisor implements CallAdvisor, StreamAdvisor {
+
+    public static final String LAYOUT = "llmhost.prompt.layout";
+
+    private static final String METRIC = "llmhost.llm";
+    private static final String OLLAMA_PREFILL_KEY = "prompt-eval-duration";
+
+    private final MeterRegistry meterRegistry;
+
+    public PromptMetricsAdvisor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public ChatClientResponse adviseCall(ChatClientRequest request, CallAdvisorChain chain) {
+        ChatClientResponse response = chain.nextCall(request);
+        record(layout(request), response.chatResponse());
+        return response;
+    }
+
+    @Override
+    public Flux<ChatClientResponse> adviseStream(ChatClientRequest request, StreamAdvisorChain chain) {
+        String layout = layout(request);
+        return Flux.defer(() -> {
+            long startedAt = System.nanoTime();
+            AtomicBoolean first = new AtomicBoolean(true);
+            return chain.nextStream(request).doOnNext(response -> {
+                if (first.compareAndSet(true, false)) {
+                    meterRegistry.timer(METRIC + ".first.token", "layout", layout)
+                            .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+                record(layout, response.chatResponse());
+            });
+        });
+    }
+
+    @Override
+    public String getName() {
+        return "PromptMetricsAdvisor";
+    }
+
+    @Override
+    public int getOrder() {
+        return 0;
+    }
+
+    private void record(String layout, ChatResponse response) {
+        if (response == null || response.getMetadata() == null) {
+            return;
+        }
+        Duration prefill = prefill(response);
+        if (prefill != null) {
+            meterRegistry.timer(METRIC + ".prefill", "layout", layout).record(prefill);
+        }
+        Usage usage = response.getMetadata().getUsage();
+        if (usage == null || usage.getPromptTokens() == null || usage.getPromptTokens() <= 0) {
+            return;
+        }
+        meterRegistry.summary(METRIC + ".prompt.tokens", "layout", layout).record(usage.getPromptTokens());
+        Integer cachedTokens = cachedTokens(response);
+        if (cachedTokens != null) {
+            meterRegistry.summary(METRIC + ".prompt.cached.tokens", "layout", layout).record(cachedTokens);
+        }
+    }
+
+    /**
+     * Prompt evaluation time reported by Ollama, or null when the provider does not report it.
+     */
+    static Duration prefill(ChatResponse response) {
+        ChatResponseMetadata metadata = response == null ? null : response.getMetadata();
+        Object prefill = metadata == null ? null : metadata.get(OLLAMA_PREFILL_KEY);
+        return prefill instanceof Duration duration && !duration.isZero() ? duration : null;
+    }
+
+    /**
+     * Prompt tokens served from the OpenAI prompt cache, or null when the provider does not report them.
+     */
+    static Integer cachedTokens(ChatResponse response) {
+        ChatResponseMetadata metadata = response == null ? null : response.getMetadata();
+        Usage usage = metadata == null ? null : metadata.getUsage();
+        if (usage != null && usage.getNativeUsage() instanceof OpenAiApi.Usage openAiUsage
+                && openAiUsage.promptTokensDetails() != null) {
+            return openAiUsage.promptTokensDetails().cachedTokens();
+        }
+        return null;
+    }
+
+    private String layout(ChatClientRequest request) {
+        Object layout = request.context().get(LAYOUT);
+        return layout == null ? "default" : layout.toString();
+    }
+}
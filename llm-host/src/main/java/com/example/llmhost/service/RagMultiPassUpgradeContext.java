@@ -58,6 +58,10 @@ public class RagMultiPassUpgradeContext {
     private static final List<String> DATA_SYMBOL_MARKERS = List.of(".data.", ".jdbc.", ".jpa.");
     private static final String DOC_CONTENT_KEY = "doc_content";
     private static final String DOCUMENT_KEY = "documentKey";
+    private static final List<String> PARTITION_AREAS = List.of("web", "data", "security");
+    private static final String OTHER_AREA = "other";
+    private static final int MAX_CONTEXT_CHARS = 6000;
+    private static final int PARTITION_PROJECT_FACTS = 3;
 
     private final RagSearchClient ragSearchClient;
     private final RagLookupClient ragLookupClient;
@@ -78,35 +82,173 @@ public class RagMultiPassUpgradeContext {
     }
 
     public UpgradeContext retrieve(String fromVersion, String toVersion, String workspaceId, String repoUrl) {
-        List<RagHit> projectFacts = retrieveProjectFacts(workspaceId, List.of());
+        ProjectFactSnapshot snapshot = snapshotProjectFacts(workspaceId, List.of(), ChatRunListener.NOOP);
+        List<RagHit> projectFacts = snapshot.projectFacts();
         List<RagHit> migrationHits = retrieveMigrationGuide(fromVersion, toVersion, List.of());
         List<RagHit> deprecationHits = retrieveDeprecations(fromVersion, toVersion, List.of());
-        List<RagHit> apiChangeHits = retrieveApiChangeBatchHits(fromVersion, toVersion, workspaceId, List.of());
+        List<RagHit> apiChangeHits = retrieveApiChangeBatchHits(fromVersion, toVersion, snapshot.symbols());
         List<RagHit> sourceCodeHits = appProperties.getRag().isEnableSourceCodePass()
                 ? retrieveSpringSourceSnippets(projectFacts, toVersion)
                 : List.of();
 
-        List<RagHit> merged = mergeHits(projectFacts, apiChangeHits, migrationHits, deprecationHits, sourceCodeHits);
-        String contextText = ragContextBuilder.buildContext(merged, 6000, MAX_PROJECT_FACT_CHARS);
+        List<RagHit> merged = mergeHits(projectFacts, apiChangeHits, migrationHits, deprecationHits, sourceCodeHits,
+                MAX_HITS);
+        String contextText = ragContextBuilder.buildContext(merged, MAX_CONTEXT_CHARS, MAX_PROJECT_FACT_CHARS);
         return new UpgradeContext(merged, contextText);
     }
 
     public UpgradeContext retrieve(String fromVersion, String toVersion, String workspaceId, String repoUrl,
             List<String> moduleFocus) {
+        return retrieve(fromVersion, toVersion, workspaceId, repoUrl, moduleFocus, ChatRunListener.NOOP);
+    }
+
+    public UpgradeContext retrieve(String fromVersion, String toVersion, String workspaceId, String repoUrl,
+            List<String> moduleFocus, ChatRunListener listener) {
+        return retrieve(fromVersion, toVersion, workspaceId, repoUrl, moduleFocus, listener, MAX_HITS);
+    }
+
+    public UpgradeContext retrieve(String fromVersion, String toVersion, String workspaceId, String repoUrl,
+            List<String> moduleFocus, ChatRunListener listener, int maxHits) {
         logger.debug("moduleFocus received={}", moduleFocus);
+        ProjectFactSnapshot snapshot = snapshotProjectFacts(workspaceId, moduleFocus, listener);
+        return retrieve(fromVersion, toVersion, moduleFocus, snapshot, listener, maxHits);
+    }
+
+    public ProjectFactSnapshot snapshotProjectFacts(String workspaceId, List<String> moduleFocus,
+            ChatRunListener listener) {
         List<RagHit> projectFacts = retrieveProjectFacts(workspaceId, moduleFocus);
+        reportPass(listener, "projectFacts", projectFacts);
+        SymbolExtractionResult extraction = extractSymbols(retrieveProjectFactsForSymbols(workspaceId), moduleFocus,
+                API_CHANGES_MAX_SYMBOLS);
+        logger.debug("API change symbols unique={} maxSymbols={} truncated={}",
+                extraction.symbols().size(), API_CHANGES_MAX_SYMBOLS, extraction.truncated());
+        return new ProjectFactSnapshot(workspaceId, projectFacts, extraction.symbols());
+    }
+
+    public UpgradeContext retrieve(String fromVersion, String toVersion, List<String> moduleFocus,
+            ProjectFactSnapshot snapshot, ChatRunListener listener) {
+        return retrieve(fromVersion, toVersion, moduleFocus, snapshot, listener, MAX_HITS);
+    }
+
+    public UpgradeContext retrieve(String fromVersion, String toVersion, List<String> moduleFocus,
+            ProjectFactSnapshot snapshot, ChatRunListener listener, int maxHits) {
+        List<RagHit> projectFacts = snapshot.projectFacts();
         List<RagHit> migrationHits = retrieveMigrationGuide(fromVersion, toVersion, moduleFocus);
+        reportPass(listener, "migrationGuide", migrationHits);
         List<RagHit> deprecationHits = retrieveDeprecations(fromVersion, toVersion, moduleFocus);
-        List<RagHit> apiChangeHits = retrieveApiChangeBatchHits(fromVersion, toVersion, workspaceId, moduleFocus);
+        reportPass(listener, "deprecations", deprecationHits);
+        List<RagHit> apiChangeHits = retrieveApiChangeBatchHits(fromVersion, toVersion, snapshot.symbols());
+        reportPass(listener, "apiChanges", apiChangeHits);
         List<RagHit> sourceCodeHits = appProperties.getRag().isEnableSourceCodePass()
                 ? retrieveSpringSourceSnippets(projectFacts, toVersion)
                 : List.of();
+        reportPass(listener, "springSources", sourceCodeHits);
 
-        List<RagHit> merged = mergeHits(projectFacts, apiChangeHits, migrationHits, deprecationHits, sourceCodeHits);
-        String contextText = ragContextBuilder.buildContext(merged, 6000, MAX_PROJECT_FACT_CHARS);
+        List<RagHit> merged = mergeHits(projectFacts, apiChangeHits, migrationHits, deprecationHits, sourceCodeHits,
+                maxHits);
+        String contextText = ragContextBuilder.buildContext(merged, MAX_CONTEXT_CHARS, MAX_PROJECT_FACT_CHARS);
+        listener.onProgress("retrieval.completed", Map.of("sources", merged.size()));
         return new UpgradeContext(merged, contextText);
     }
 
+    public List<UpgradeContextPartition> partition(UpgradeContext context, List<String> moduleFocus) {
+        List<String> areas = new ArrayList<>(PARTITION_AREAS);
+        List<String> focus = FocusKeywords.normalize(moduleFocus);
+        if (areas.stream().anyMatch(focus::contains)) {
+            areas.retainAll(focus);
+        }
+        areas.add(OTHER_AREA);
+        List<Integer> projectFactNumbers = new ArrayList<>();
+        Map<String, List<Integer>> numbersByArea = new LinkedHashMap<>();
+        areas.forEach(area -> numbersByArea.put(area, new ArrayList<>()));
+        List<RagHit> hits = context.hits();
+        for (int i = 0; i < hits.size(); i++) {
+            RagHit hit = hits.get(i);
+            if (isProjectFact(hit)) {
+                projectFactNumbers.add(i + 1);
+                continue;
+            }
+            String area = classifyArea(hit, areas);
+            numbersByArea.get(area).add(i + 1);
+        }
+        List<UpgradeContextPartition> partitions = new ArrayList<>();
+        for (Map.Entry<String, List<Integer>> entry : numbersByArea.entrySet()) {
+            if (entry.getValue().isEmpty()) {
+                continue;
+            }
+            List<Integer> sourceNumbers = new ArrayList<>(selectProjectFacts(hits, projectFactNumbers, entry.getKey()));
+            int projectFactCount = sourceNumbers.size();
+            for (Integer number : entry.getValue()) {
+                if (sourceNumbers.size() - projectFactCount >= MAX_HITS) {
+                    break;
+                }
+                sourceNumbers.add(number);
+            }
+            List<RagHit> partitionHits = sourceNumbers.stream()
+                    .map(number -> hits.get(number - 1))
+                    .toList();
+            String contextText = ragContextBuilder.buildContext(partitionHits, MAX_CONTEXT_CHARS,
+                    MAX_PROJECT_FACT_CHARS);
+            partitions.add(new UpgradeContextPartition(entry.getKey(),
+                    new UpgradeContext(partitionHits, contextText), List.copyOf(sourceNumbers)));
+        }
+        logger.debug("Upgrade context partitioned sources={} partitions={}", hits.size(),
+                partitions.stream().map(partition -> partition.area() + "=" + partition.sourceNumbers().size())
+                        .toList());
+        return partitions;
+    }
+
+    private boolean isProjectFact(RagHit hit) {
+        Object sourceType = hit.metadata().get("sourceType");
+        return sourceType != null && "PROJECT_FACT".equals(sourceType.toString());
+    }
+
+    private String classifyArea(RagHit hit, List<String> areas) {
+        Object symbolRaw = hit.metadata().get("symbol");
+        if (symbolRaw != null) {
+            String symbol = symbolRaw.toString().toLowerCase(Locale.ROOT);
+            if (areas.contains("web") && matchesAnyMarker(symbol, WEB_SYMBOL_MARKERS)) {
+                return "web";
+            }
+            if (areas.contains("security") && symbol.contains(".security.")) {
+                return "security";
+            }
+            if (areas.contains("data") && matchesAnyMarker(symbol, DATA_SYMBOL_MARKERS)) {
+                return "data";
+            }
+        }
+        String bestArea = OTHER_AREA;
+        int bestScore = 0;
+        for (String area : areas) {
+            int score = FocusKeywords.matchScore(hit.text(), FocusKeywords.includeKeywords(List.of(area)));
+            if (score > bestScore) {
+                bestArea = area;
+                bestScore = score;
+            }
+        }
+        return bestArea;
+    }
+
+    private List<Integer> selectProjectFacts(List<RagHit> hits, List<Integer> projectFactNumbers, String area) {
+        if (projectFactNumbers.isEmpty()) {
+            return List.of();
+        }
+        Set<Integer> selected = new LinkedHashSet<>();
+        selected.add(projectFactNumbers.get(0));
+        if (!OTHER_AREA.equals(area)) {
+            List<String> areaFocus = List.of(area);
+            projectFactNumbers.stream()
+                    .filter(number -> shouldKeepHit(hits.get(number - 1), areaFocus))
+                    .limit(PARTITION_PROJECT_FACTS)
+                    .forEach(selected::add);
+        }
+        return new ArrayList<>(selected);
+    }
+
+    private void reportPass(ChatRunListener listener, String pass, List<RagHit> hits) {
+        listener.onProgress("retrieval.pass", Map.of("pass", pass, "hits", hits == null ? 0 : hits.size()));
+    }
+
     private List<RagHit> retrieveProjectFacts(String workspaceId, List<String> moduleFocus) {
         Map<String, Object> filters = new LinkedHashMap<>();
         filters.put("sourceType", "PROJECT_FACT");
@@ -130,18 +272,13 @@ public class RagMultiPassUpgradeContext {
         return filtered.isEmpty() ? hits : filtered;
     }
 
-    private List<RagHit> retrieveApiChangeBatchHits(String fromVersion, String toVersion, String workspaceId,
-            List<String> moduleFocus) {
-        List<RagHit> projectFacts = retrieveProjectFactsForSymbols(workspaceId);
-        SymbolExtractionResult extraction = extractSymbols(projectFacts, moduleFocus, API_CHANGES_MAX_SYMBOLS);
-        logger.debug("API change symbols unique={} maxSymbols={} truncated={}",
-                extraction.symbols().size(), API_CHANGES_MAX_SYMBOLS, extraction.truncated());
-        if (extraction.symbols().isEmpty()) {
+    private List<RagHit> retrieveApiChangeBatchHits(String fromVersion, String toVersion, List<String> symbols) {
+        if (symbols.isEmpty()) {
             logger.info("Aucun symbole détecté pour l'appel batch rag.findApiChangesBatch.");
             return List.of();
         }
         ApiChangeBatchResponse response = ragApiChangeBatchClient.findBatch(
-                extraction.symbols(),
+                symbols,
                 fromVersion,
                 toVersion,
                 API_CHANGES_TOP_K_PER_SYMBOL,
@@ -600,7 +737,7 @@ public class RagMultiPassUpgradeContext {
     }
 
     private List<RagHit> mergeHits(List<RagHit> projectFacts, List<RagHit> apiChangeHits,
-            List<RagHit> migrationHits, List<RagHit> deprecationHits, List<RagHit> sourceCodeHits) {
+            List<RagHit> migrationHits, List<RagHit> deprecationHits, List<RagHit> sourceCodeHits, int maxHits) {
         List<RagHit> merged = new ArrayList<>();
         Map<String, RagHit> unique = new LinkedHashMap<>();
         if (projectFacts != null && !projectFacts.isEmpty()) {
@@ -625,7 +762,7 @@ public class RagMultiPassUpgradeContext {
                 continue;
             }
             unique.put(dedupeKey, hit);
-            if (merged.size() >= MAX_HITS) {
+            if (merged.size() >= maxHits) {
                 break;
             }
             merged.add(hit);
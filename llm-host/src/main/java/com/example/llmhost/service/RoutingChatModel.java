@@ -0,0 +1,337 @@
+package com.example.llmhost.service;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.example.llmhost.config.AppProperties.PoolProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.tool.ToolCallingChatOptions;
+import reactor.core.publisher.Flux;
+
+public class RoutingChatModel implements ChatModel, AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RoutingChatModel.class);
+    private static final String METRIC = "llmhost.llm.backend";
+    private static final int LATENCY_WINDOW = 200;
+    private static final int MIN_HEDGE_SAMPLES = 20;
+
+    private final List<Backend> backends;
+    private final ExecutorService executor;
+    private final boolean hedgeEnabled;
+    private final double hedgePercentile;
+    private final long hedgeMinDelayMs;
+    private final int unhealthyAfterFailures;
+    private final long healthCheckIntervalMs;
+    private final Counter hedgesSent;
+    private final Counter hedgesWon;
+    private final AtomicInteger cursor = new AtomicInteger();
+    private final Thread healthChecker;
+    private volatile boolean closed;
+
+    public RoutingChatModel(List<BackendSpec> specs, PoolProperties pool, ExecutorService executor,
+            MeterRegistry meterRegistry) {
+        if (specs.isEmpty()) {
+            throw new IllegalArgumentException("Le pool LLM doit contenir au moins un backend");
+        }
+        this.backends = specs.stream().map(spec -> new Backend(spec, meterRegistry)).toList();
+        this.executor = executor;
+        this.hedgeEnabled = pool.isHedgeEnabled();
+        this.hedgePercentile = Math.min(0.999, Math.max(0.5, pool.getHedgePercentile()));
+        this.hedgeMinDelayMs = Math.max(0, pool.getHedgeMinDelayMs());
+        this.unhealthyAfterFailures = Math.max(1, pool.getUnhealthyAfterFailures());
+        this.healthCheckIntervalMs = TimeUnit.SECONDS.toMillis(Math.max(1, pool.getHealthCheckIntervalSeconds()));
+        this.hedgesSent = meterRegistry.counter("llmhost.llm.hedge", "result", "sent");
+        this.hedgesWon = meterRegistry.counter("llmhost.llm.hedge", "result", "won");
+        this.healthChecker = Thread.ofVirtual().name("llm-pool-health").start(this::checkHealth);
+        LOGGER.info("Pool LLM: {} backends {} (hedging={})", backends.size(),
+                backends.stream().map(Backend::name).toList(), hedgeEnabled);
+    }
+
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        Backend primary = select(null);
+        if (!replayable(prompt) || backends.size() < 2) {
+            return invoke(primary, prompt);
+        }
+        if (!hedgeEnabled) {
+            try {
+                return invoke(primary, prompt);
+            } catch (RuntimeException ex) {
+                return failover(primary, prompt, ex);
+            }
+        }
+        return hedged(primary, prompt);
+    }
+
+    @Override
+    public Flux<ChatResponse> stream(Prompt prompt) {
+        Backend backend = select(null);
+        return Flux.defer(() -> {
+            backend.outstanding.incrementAndGet();
+            long startedAt = System.nanoTime();
+            return backend.model().stream(prompt)
+                    .doOnComplete(() -> backend.succeeded(System.nanoTime() - startedAt))
+                    .doOnError(ex -> backend.failed(ex))
+                    .doFinally(signal -> backend.outstanding.decrementAndGet());
+        });
+    }
+
+    @Override
+    public ChatOptions getDefaultOptions() {
+        return backends.get(0).model().getDefaultOptions();
+    }
+
+    /**
+     * Backend models by name, in pool order, for callers that must reach every backend (warm-up) rather than the one
+     * picked by routing.
+     */
+    public Map<String, ChatModel> backendModels() {
+        Map<String, ChatModel> models = new LinkedHashMap<>();
+        backends.forEach(backend -> models.put(backend.name(), backend.model()));
+        return models;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        healthChecker.interrupt();
+    }
+
+    private ChatResponse hedged(Backend primary, Prompt prompt) {
+        long delayMs = primary.hedgeDelayMs();
+        ExecutorCompletionService<ChatResponse> completion = new ExecutorCompletionService<>(executor);
+        AtomicBoolean settled = new AtomicBoolean();
+        Future<ChatResponse> first = completion.submit(() -> invoke(primary, prompt, settled));
+        Future<ChatResponse> second = null;
+        try {
+            Future<ChatResponse> done = delayMs < 0
+                    ? completion.take()
+                    : completion.poll(delayMs, TimeUnit.MILLISECONDS);
+            if (done != null) {
+                try {
+                    return done.get();
+                } catch (ExecutionException ex) {
+                    return failover(primary, prompt, unwrap(ex));
+                }
+            }
+            Backend secondary = select(primary);
+            if (secondary == null) {
+                return unwrapped(completion.take());
+            }
+            hedgesSent.increment();
+            LOGGER.debug("Requête LLM dupliquée vers {} après {} ms sur {}", secondary.name(), delayMs,
+                    primary.name());
+            second = completion.submit(() -> invoke(secondary, prompt, settled));
+            RuntimeException lastError = null;
+            for (int pending = 2; pending > 0; pending--) {
+                Future<ChatResponse> next = completion.take();
+                try {
+                    ChatResponse response = next.get();
+                    if (next == second) {
+                        hedgesWon.increment();
+                    }
+                    return response;
+                } catch (ExecutionException ex) {
+                    lastError = unwrap(ex);
+                }
+            }
+            throw lastError;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Appel LLM interrompu", ex);
+        } finally {
+            settled.set(true);
+            first.cancel(true);
+            if (second != null) {
+                second.cancel(true);
+            }
+        }
+    }
+
+    private ChatResponse failover(Backend failed, Prompt prompt, RuntimeException error) {
+        Backend fallback = select(failed);
+        if (fallback == null) {
+            throw error;
+        }
+        LOGGER.warn("Backend LLM {} en échec ({}), nouvelle tentative sur {}", failed.name(), error.getMessage(),
+                fallback.name());
+        return invoke(fallback, prompt);
+    }
+
+    private ChatResponse invoke(Backend backend, Prompt prompt) {
+        return invoke(backend, prompt, new AtomicBoolean());
+    }
+
+    private ChatResponse invoke(Backend backend, Prompt prompt, AtomicBoolean settled) {
+        backend.outstanding.incrementAndGet();
+        long startedAt = System.nanoTime();
+        try {
+            ChatResponse response = backend.model().call(prompt);
+            backend.succeeded(System.nanoTime() - startedAt);
+            return response;
+        } catch (RuntimeException ex) {
+            if (!settled.get()) {
+                backend.failed(ex);
+            }
+            throw ex;
+        } finally {
+            backend.outstanding.decrementAndGet();
+        }
+    }
+
+    private Backend select(Backend excluded) {
+        int size = backends.size();
+        int offset = Math.floorMod(cursor.getAndIncrement(), size);
+        Backend best = null;
+        for (int i = 0; i < size; i++) {
+            Backend candidate = backends.get((offset + i) % size);
+            if (candidate == excluded || !candidate.healthy) {
+                continue;
+            }
+            if (best == null || candidate.outstanding.get() < best.outstanding.get()) {
+                best = candidate;
+            }
+        }
+        if (best != null || excluded != null) {
+            return best;
+        }
+        for (int i = 0; i < size; i++) {
+            Backend candidate = backends.get((offset + i) % size);
+            if (best == null || candidate.outstanding.get() < best.outstanding.get()) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    private boolean replayable(Prompt prompt) {
+        if (!(prompt.getOptions() instanceof ToolCallingChatOptions options)) {
+            return true;
+        }
+        boolean noTools = (options.getToolCallbacks() == null || options.getToolCallbacks().isEmpty())
+                && (options.getToolNames() == null || options.getToolNames().isEmpty());
+        return noTools || Boolean.FALSE.equals(options.getInternalToolExecutionEnabled());
+    }
+
+    private void checkHealth() {
+        while (!closed) {
+            try {
+                Thread.sleep(healthCheckIntervalMs);
+            } catch (InterruptedException ex) {
+                return;
+            }
+            for (Backend backend : backends) {
+                try {
+                    backend.spec.probe().run();
+                    if (!backend.healthy) {
+                        LOGGER.info("Backend LLM {} de nouveau disponible", backend.name());
+                    }
+                    backend.consecutiveFailures.set(0);
+                    backend.healthy = true;
+                } catch (RuntimeException ex) {
+                    if (backend.healthy) {
+                        LOGGER.warn("Backend LLM {} indisponible: {}", backend.name(), ex.getMessage());
+                    }
+                    backend.healthy = false;
+                }
+            }
+        }
+    }
+
+    private static ChatResponse unwrapped(Future<ChatResponse> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException ex) {
+            throw unwrap(ex);
+        }
+    }
+
+    private static RuntimeException unwrap(ExecutionException ex) {
+        return ex.getCause() instanceof RuntimeException runtime
+                ? runtime
+                : new IllegalStateException("Appel LLM en échec", ex.getCause());
+    }
+
+    public record BackendSpec(String name, ChatModel model, Runnable probe) {
+    }
+
+    private final class Backend {
+
+        private final BackendSpec spec;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        private final Timer latency;
+        private final Counter errors;
+        private final long[] latencies = new long[LATENCY_WINDOW];
+        private int samples;
+        private volatile boolean healthy = true;
+
+        private Backend(BackendSpec spec, MeterRegistry meterRegistry) {
+            this.spec = spec;
+            this.latency = Timer.builder(METRIC + ".latency").tag("backend", spec.name())
+                    .publishPercentiles(0.5, 0.95, 0.99).register(meterRegistry);
+            this.errors = meterRegistry.counter(METRIC + ".errors", "backend", spec.name());
+            meterRegistry.gauge(METRIC + ".outstanding", List.of(Tag.of("backend", spec.name())), outstanding);
+            meterRegistry.gauge(METRIC + ".healthy", List.of(Tag.of("backend", spec.name())), this,
+                    backend -> backend.healthy ? 1 : 0);
+        }
+
+        private String name() {
+            return spec.name();
+        }
+
+        private ChatModel model() {
+            return spec.model();
+        }
+
+        private void succeeded(long nanos) {
+            latency.record(nanos, TimeUnit.NANOSECONDS);
+            consecutiveFailures.set(0);
+            healthy = true;
+            synchronized (latencies) {
+                latencies[samples % LATENCY_WINDOW] = TimeUnit.NANOSECONDS.toMillis(nanos);
+                samples++;
+            }
+        }
+
+        private void failed(Throwable error) {
+            errors.increment();
+            if (consecutiveFailures.incrementAndGet() >= unhealthyAfterFailures && healthy) {
+                healthy = false;
+                LOGGER.warn("Backend LLM {} écarté après {} échecs consécutifs: {}", name(),
+                        consecutiveFailures.get(), error.getMessage());
+            }
+        }
+
+        private long hedgeDelayMs() {
+            long[] window;
+            synchronized (latencies) {
+                if (samples < MIN_HEDGE_SAMPLES) {
+                    return -1;
+                }
+                window = Arrays.copyOf(latencies, Math.min(samples, LATENCY_WINDOW));
+            }
+            Arrays.sort(window);
+            int index = (int) Math.min(window.length - 1, Math.ceil(hedgePercentile * window.length) - 1);
+            return Math.max(hedgeMinDelayMs, window[Math.max(0, index)]);
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.example.llmhost.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.example.llmhost.config.AppProperties;
+import com.example.llmhost.config.AppProperties.AdmissionProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+@Component
+public class RunAdmissionController {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RunAdmissionController.class);
+    private static final String METRIC = "llmhost.admission";
+    private static final double DURATION_SMOOTHING = 0.2;
+
+    private final boolean enabled;
+    private final int maxConcurrent;
+    private final int maxQueueDepth;
+    private final int maxQueuedPerCaller;
+    private final long maxWaitNanos;
+    private final MeterRegistry meterRegistry;
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Condition changed = lock.newCondition();
+    private final List<Ticket> waiting = new ArrayList<>();
+    private final Map<String, Integer> activeByCaller = new HashMap<>();
+    private final Map<String, Integer> queuedByCaller = new HashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private int active;
+    private volatile double averageRunSeconds;
+
+    public RunAdmissionController(AppProperties properties, MeterRegistry meterRegistry) {
+        AdmissionProperties admission = properties.getAdmission();
+        this.enabled = admission.isEnabled();
+        this.maxConcurrent = Math.max(1, admission.getMaxConcurrent()
+                .getOrDefault(properties.getAi().getProvider(), 1));
+        this.maxQueueDepth = Math.max(0, admission.getMaxQueueDepth());
+        this.maxQueuedPerCaller = Math.max(1, admission.getMaxQueuedPerCaller());
+        this.maxWaitNanos = TimeUnit.SECONDS.toNanos(Math.max(1, admission.getMaxWaitSeconds()));
+        this.averageRunSeconds = Math.max(1, admission.getInitialRunSecondsEstimate());
+        this.meterRegistry = meterRegistry;
+        meterRegistry.gauge(METRIC + ".queue.depth", waiting, List::size);
+        meterRegistry.gauge(METRIC + ".active", this, controller -> controller.active);
+        meterRegistry.gauge(METRIC + ".limit", this, controller -> controller.maxConcurrent);
+    }
+
+    public Ticket enqueue(String callerId, Priority priority) {
+        String caller = StringUtils.hasText(callerId) ? callerId.trim() : "anonymous";
+        Ticket ticket = new Ticket(caller, priority, sequence.incrementAndGet());
+        if (!enabled) {
+            ticket.granted = true;
+            return ticket;
+        }
+        lock.lock();
+        try {
+            if (waiting.size() >= maxQueueDepth && active >= maxConcurrent) {
+                throw reject("queue_full", "File d'attente pleine (" + waiting.size() + " runs en attente)");
+            }
+            if (queuedByCaller.getOrDefault(caller, 0) >= maxQueuedPerCaller) {
+                throw reject("caller_limit", "Trop de runs en attente pour l'appelant " + caller);
+            }
+            waiting.add(ticket);
+            queuedByCaller.merge(caller, 1, Integer::sum);
+            dispatch();
+            ticket.position = waiting.indexOf(ticket) + 1;
+            return ticket;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void await(Ticket ticket) throws InterruptedException {
+        if (ticket.granted) {
+            record(ticket);
+            return;
+        }
+        lock.lock();
+        try {
+            long remaining = maxWaitNanos;
+            while (!ticket.granted) {
+                if (remaining <= 0) {
+                    removeWaiting(ticket);
+                    throw reject("wait_timeout", "Délai d'attente d'admission dépassé");
+                }
+                try {
+                    remaining = changed.awaitNanos(remaining);
+                } catch (InterruptedException ex) {
+                    if (!ticket.granted) {
+                        removeWaiting(ticket);
+                    } else {
+                        releaseLocked(ticket);
+                    }
+                    throw ex;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        record(ticket);
+    }
+
+    public void release(Ticket ticket) {
+        long durationNanos = System.nanoTime() - ticket.startedAtNanos;
+        if (ticket.startedAtNanos > 0) {
+            double seconds = durationNanos / 1_000_000_000d;
+            averageRunSeconds = averageRunSeconds * (1 - DURATION_SMOOTHING) + seconds * DURATION_SMOOTHING;
+        }
+        if (!enabled) {
+            return;
+        }
+        lock.lock();
+        try {
+            releaseLocked(ticket);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void record(Ticket ticket) {
+        ticket.startedAtNanos = System.nanoTime();
+        Duration waited = Duration.ofNanos(ticket.startedAtNanos - ticket.enqueuedAtNanos);
+        meterRegistry.timer(METRIC + ".wait", "priority", ticket.priority.name()).record(waited);
+        if (waited.toMillis() > 0) {
+            LOGGER.debug("Run admis après {} ms (caller={}, priority={})", waited.toMillis(), ticket.caller,
+                    ticket.priority);
+        }
+    }
+
+    private void releaseLocked(Ticket ticket) {
+        if (!ticket.granted || ticket.released) {
+            return;
+        }
+        ticket.released = true;
+        active--;
+        activeByCaller.computeIfPresent(ticket.caller, (caller, count) -> count <= 1 ? null : count - 1);
+        dispatch();
+    }
+
+    private void removeWaiting(Ticket ticket) {
+        if (waiting.remove(ticket)) {
+            queuedByCaller.computeIfPresent(ticket.caller, (caller, count) -> count <= 1 ? null : count - 1);
+        }
+    }
+
+    private void dispatch() {
+        boolean granted = false;
+        while (active < maxConcurrent && !waiting.isEmpty()) {
+            Ticket next = next();
+            removeWaiting(next);
+            next.granted = true;
+            active++;
+            activeByCaller.merge(next.caller, 1, Integer::sum);
+            granted = true;
+        }
+        if (granted) {
+            changed.signalAll();
+        }
+    }
+
+    private Ticket next() {
+        Ticket best = null;
+        for (Ticket candidate : waiting) {
+            if (best == null || compare(candidate, best) < 0) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    private int compare(Ticket first, Ticket second) {
+        int byPriority = Integer.compare(first.priority.ordinal(), second.priority.ordinal());
+        if (byPriority != 0) {
+            return byPriority;
+        }
+        int byCallerLoad = Integer.compare(activeByCaller.getOrDefault(first.caller, 0),
+                activeByCaller.getOrDefault(second.caller, 0));
+        if (byCallerLoad != 0) {
+            return byCallerLoad;
+        }
+        return Long.compare(first.sequence, second.sequence);
+    }
+
+    private RunRejectedException reject(String reason, String message) {
+        meterRegistry.counter(METRIC + ".rejected", "reason", reason).increment();
+        long retryAfter = Math.round(Math.ceil(averageRunSeconds * (waiting.size() + 1) / maxConcurrent));
+        return new RunRejectedException(message, Math.max(1, Math.min(retryAfter, 300)));
+    }
+
+    public enum Priority {
+        INTERACTIVE,
+        BATCH
+    }
+
+    public static final class Ticket {
+
+        private final String caller;
+        private final Priority priority;
+        private final long sequence;
+        private final long enqueuedAtNanos = System.nanoTime();
+        private volatile boolean granted;
+        private volatile long startedAtNanos;
+        private boolean released;
+        private int position;
+
+        private Ticket(String caller, Priority priority, long sequence) {
+            this.caller = caller;
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+
+        public boolean granted() {
+            return granted;
+        }
+
+        public int position() {
+            return position;
+        }
+    }
+}
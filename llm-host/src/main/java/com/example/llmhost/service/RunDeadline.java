@@ -0,0 +1,67 @@
+package com.example.llmhost.service;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Absolute deadline (epoch ms) of the run executing on the current thread, {@code 0} when unbounded. Opened once per
+ * run and carried over to the tasks the run submits, so that tool calls and direct RAG calls share the same budget.
+ */
+public final class RunDeadline {
+
+    private static final ThreadLocal<Long> DEADLINE = new ThreadLocal<>();
+
+    private RunDeadline() {
+    }
+
+    public static Scope open(long deadlineMs) {
+        Long previous = DEADLINE.get();
+        if (deadlineMs > 0 && (previous == null || deadlineMs < previous)) {
+            DEADLINE.set(deadlineMs);
+        }
+        return new Scope(previous);
+    }
+
+    public static long current() {
+        Long deadline = DEADLINE.get();
+        return deadline == null ? 0L : deadline;
+    }
+
+    /**
+     * Earliest of the run deadline and {@code now + timeoutMs}; {@code 0} when neither applies.
+     */
+    public static long within(long timeoutMs) {
+        long bound = timeoutMs > 0 ? System.currentTimeMillis() + timeoutMs : 0L;
+        long run = current();
+        if (run <= 0) {
+            return bound;
+        }
+        return bound <= 0 ? run : Math.min(bound, run);
+    }
+
+    public static <T> Callable<T> propagate(Callable<T> task) {
+        long deadline = current();
+        return () -> {
+            try (Scope ignored = open(deadline)) {
+                return task.call();
+            }
+        };
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final Long previous;
+
+        private Scope(Long previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (previous == null) {
+                DEADLINE.remove();
+            } else {
+                DEADLINE.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.llmhost.service;
+
+public class RunRejectedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public RunRejectedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,398 @@
+package com.example.llmhost.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import com.example.llmhost.config.AppProperties;
+import com.example.llmhost.config.AppProperties.RunsProperties;
+import com.example.llmhost.model.RunRecord;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * File-based run store shared by every instance through a common directory.
+ * <ul>
+ * <li>{@code <id>.json}: the run record, replaced atomically on each save.</li>
+ * <li>{@code active/<id>}: index of the QUEUED and RUNNING runs, so that polling never reads the whole history.</li>
+ * <li>{@code claims/<id>/<epoch>}: leases. Taking a run over creates the next epoch file, which only one instance can
+ * do; the owner of the highest epoch is the only one allowed to write the record.</li>
+ * <li>{@code <id>.cancel}: cancellation marker, polled by the worker that owns the run.</li>
+ * </ul>
+ */
+@Component
+public class RunStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RunStore.class);
+    private static final Pattern RUN_ID = Pattern.compile("[A-Za-z0-9-]{1,64}");
+    private static final Pattern EPOCH = Pattern.compile("[0-9]{1,18}");
+    private static final String RECORD_SUFFIX = ".json";
+    private static final String CANCEL_SUFFIX = ".cancel";
+
+    private final Path directory;
+    private final Path activeDirectory;
+    private final Path claimsDirectory;
+    private final Duration lease;
+    private final ObjectMapper objectMapper;
+
+    public RunStore(AppProperties properties, ObjectMapper objectMapper) {
+        RunsProperties runs = properties.getRuns();
+        this.directory = Path.of(runs.getStoreDir()).toAbsolutePath();
+        this.activeDirectory = directory.resolve("active");
+        this.claimsDirectory = directory.resolve("claims");
+        this.lease = Duration.ofSeconds(Math.max(5, runs.getLeaseSeconds()));
+        this.objectMapper = objectMapper;
+        try {
+            boolean indexed = Files.isDirectory(activeDirectory);
+            Files.createDirectories(activeDirectory);
+            Files.createDirectories(claimsDirectory);
+            if (!indexed) {
+                indexPendingRuns();
+            }
+        } catch (IOException ex) {
+            throw new IllegalStateException("Impossible de créer le répertoire des runs " + directory, ex);
+        }
+    }
+
+    public String newRunId() {
+        return UUID.randomUUID().toString();
+    }
+
+    /**
+     * Writes a record without any lease check. Only for records no worker can own yet, i.e. at submission.
+     */
+    public void save(RunRecord record) {
+        record.setUpdatedAt(Instant.now());
+        try {
+            writeAtomically(recordPath(record.getRunId()), objectMapper.writeValueAsBytes(record));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Écriture du run " + record.getRunId() + " en échec", ex);
+        }
+    }
+
+    /**
+     * Writes the record only if {@code claim} is still the current lease of the run. Returns {@code false} when
+     * another instance has taken the run over, in which case the caller must stop working on it.
+     * <p>
+     * The record is serialized to a temporary file first, so only the lease check and the rename remain between the
+     * two instances. A plain directory offers no compare-and-swap, so a takeover landing exactly in that window can
+     * still be overwritten by this copy; the lease is checked again after the rename so that the caller stops at
+     * once, and the new owner's next save (progress, partial output or final status) replaces the stale record.
+     */
+    public boolean saveIfHeld(Claim claim, RunRecord record) {
+        record.setUpdatedAt(Instant.now());
+        try {
+            return writeAtomically(recordPath(record.getRunId()), objectMapper.writeValueAsBytes(record), claim)
+                    && holds(claim);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Écriture du run " + record.getRunId() + " en échec", ex);
+        }
+    }
+
+    public Optional<RunRecord> find(String runId) {
+        if (!validId(runId)) {
+            return Optional.empty();
+        }
+        return read(recordPath(runId)).map(this::withCancellation);
+    }
+
+    /**
+     * Every retained run, oldest first. Reads the whole history: for listings, not for polling.
+     */
+    public List<RunRecord> list() {
+        List<RunRecord> records = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(path -> path.getFileName().toString().endsWith(RECORD_SUFFIX))
+                    .forEach(path -> read(path).map(this::withCancellation).ifPresent(records::add));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Lecture des runs en échec", ex);
+        }
+        records.sort(Comparator.comparing(RunRecord::getSubmittedAt,
+                Comparator.nullsLast(Comparator.naturalOrder())));
+        return records;
+    }
+
+    public void activate(RunRecord record) {
+        defer(record.getRunId(), record.getSubmittedAt(), Instant.EPOCH);
+    }
+
+    /**
+     * Keeps the run in the active index but hides it from workers until {@code notBefore}.
+     */
+    public void defer(String runId, Instant submittedAt, Instant notBefore) {
+        long submitted = submittedAt != null ? submittedAt.toEpochMilli() : 0;
+        byte[] content = (submitted + " " + notBefore.toEpochMilli()).getBytes();
+        try {
+            writeAtomically(activeDirectory.resolve(runId), content);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Indexation du run " + runId + " en échec", ex);
+        }
+    }
+
+    public void deactivate(String runId) {
+        deleteQuietly(activeDirectory.resolve(runId));
+    }
+
+    /**
+     * QUEUED and RUNNING runs, in submission order.
+     */
+    public List<ActiveRun> listActive() {
+        List<ActiveRun> active = new ArrayList<>();
+        try (Stream<Path> files = Files.list(activeDirectory)) {
+            files.forEach(path -> readActive(path).ifPresent(active::add));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Lecture des runs actifs en échec", ex);
+        }
+        active.sort(Comparator.comparing(ActiveRun::submittedAt).thenComparing(ActiveRun::runId));
+        return active;
+    }
+
+    /**
+     * Takes the lease of a run if nobody holds it or the holder stopped renewing it. The takeover is a single
+     * {@code createFile} of the next epoch: when several instances see the same expired lease, exactly one wins.
+     */
+    public Optional<Claim> claim(String runId, String owner) {
+        Path claims = claimsDirectory.resolve(runId);
+        try {
+            Files.createDirectories(claims);
+            long current = currentEpoch(claims);
+            if (current > 0 && !expired(claims.resolve(String.valueOf(current)))) {
+                return Optional.empty();
+            }
+            long next = current + 1;
+            Files.writeString(Files.createFile(claims.resolve(String.valueOf(next))), owner);
+            if (current > 0) {
+                LOGGER.debug("Bail {} du run {} libre ou expiré, époque {} prise par {}", current, runId, next, owner);
+                deleteEpochsBefore(claims, next);
+            }
+            return Optional.of(new Claim(runId, next));
+        } catch (FileAlreadyExistsException ex) {
+            return Optional.empty();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Réservation du run " + runId + " en échec", ex);
+        }
+    }
+
+    public boolean holds(Claim claim) {
+        try {
+            return currentEpoch(claimsDirectory.resolve(claim.runId())) == claim.epoch();
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Extends the lease; returns {@code false} when the run has been taken over.
+     */
+    public boolean renew(Claim claim) {
+        if (!holds(claim)) {
+            return false;
+        }
+        try {
+            Files.setLastModifiedTime(epochPath(claim), FileTime.from(Instant.now()));
+            return true;
+        } catch (IOException ex) {
+            LOGGER.warn("Renouvellement du bail du run {} en échec", claim.runId());
+            return holds(claim);
+        }
+    }
+
+    /**
+     * Ends the lease by expiring it: the epoch file stays, so the next claim still moves to a higher epoch.
+     */
+    public void release(Claim claim) {
+        try {
+            Files.setLastModifiedTime(epochPath(claim), FileTime.fromMillis(0));
+        } catch (IOException ex) {
+            LOGGER.debug("Libération du bail du run {} ignorée", claim.runId());
+        }
+    }
+
+    public void requestCancel(String runId) {
+        try {
+            Files.createFile(directory.resolve(runId + CANCEL_SUFFIX));
+        } catch (FileAlreadyExistsException ex) {
+            // déjà demandé
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Annulation du run " + runId + " en échec", ex);
+        }
+    }
+
+    public boolean cancelRequested(String runId) {
+        return Files.exists(directory.resolve(runId + CANCEL_SUFFIX));
+    }
+
+    public void delete(String runId) {
+        deleteQuietly(recordPath(runId));
+        deleteQuietly(directory.resolve(runId + CANCEL_SUFFIX));
+        deleteQuietly(activeDirectory.resolve(runId));
+        Path claims = claimsDirectory.resolve(runId);
+        try {
+            deleteEpochsBefore(claims, Long.MAX_VALUE);
+        } catch (IOException ex) {
+            LOGGER.debug("Suppression des baux du run {} impossible", runId);
+        }
+        deleteQuietly(claims);
+    }
+
+    public Duration lease() {
+        return lease;
+    }
+
+    private RunRecord withCancellation(RunRecord record) {
+        if (!record.isCancelRequested() && cancelRequested(record.getRunId())) {
+            record.setCancelRequested(true);
+        }
+        return record;
+    }
+
+    private void indexPendingRuns() {
+        int count = 0;
+        for (RunRecord record : list()) {
+            if (!record.isTerminal()) {
+                activate(record);
+                count++;
+            }
+        }
+        LOGGER.info("Index des runs actifs créé ({} runs)", count);
+    }
+
+    private Optional<ActiveRun> readActive(Path path) {
+        String runId = path.getFileName().toString();
+        if (!validId(runId)) {
+            return Optional.empty();
+        }
+        try {
+            String[] parts = Files.readString(path).trim().split(" ");
+            return Optional.of(new ActiveRun(runId, Instant.ofEpochMilli(Long.parseLong(parts[0])),
+                    Instant.ofEpochMilli(Long.parseLong(parts[1]))));
+        } catch (NoSuchFileException ex) {
+            return Optional.empty();
+        } catch (IOException | RuntimeException ex) {
+            LOGGER.warn("Entrée d'index illisible ignorée: {}", runId);
+            return Optional.empty();
+        }
+    }
+
+    private Optional<RunRecord> read(Path path) {
+        try {
+            return Optional.of(objectMapper.readValue(path.toFile(), RunRecord.class));
+        } catch (NoSuchFileException ex) {
+            return Optional.empty();
+        } catch (IOException ex) {
+            if (Files.notExists(path)) {
+                return Optional.empty();
+            }
+            LOGGER.warn("Run illisible ignoré: {}", path.getFileName(), ex);
+            return Optional.empty();
+        }
+    }
+
+    private void writeAtomically(Path target, byte[] content) throws IOException {
+        writeAtomically(target, content, null);
+    }
+
+    /**
+     * Replaces {@code target} through a temporary file. With a {@code guard}, the file is only moved into place if
+     * the lease is still held once the content is on disk.
+     */
+    private boolean writeAtomically(Path target, byte[] content, Claim guard) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + "." + UUID.randomUUID() + ".tmp");
+        try {
+            Files.write(temp, content);
+            if (guard != null && !holds(guard)) {
+                deleteQuietly(temp);
+                return false;
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return true;
+        } catch (IOException ex) {
+            deleteQuietly(temp);
+            throw ex;
+        }
+    }
+
+    private static long currentEpoch(Path claims) throws IOException {
+        if (!Files.isDirectory(claims)) {
+            return 0;
+        }
+        try (Stream<Path> files = Files.list(claims)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> EPOCH.matcher(name).matches())
+                    .mapToLong(Long::parseLong)
+                    .max()
+                    .orElse(0);
+        }
+    }
+
+    private void deleteEpochsBefore(Path claims, long epoch) throws IOException {
+        if (!Files.isDirectory(claims)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(claims)) {
+            files.filter(path -> {
+                String name = path.getFileName().toString();
+                return EPOCH.matcher(name).matches() && Long.parseLong(name) < epoch;
+            }).forEach(this::deleteQuietly);
+        }
+    }
+
+    private boolean expired(Path epochFile) {
+        try {
+            Instant lastRenewal = Files.getLastModifiedTime(epochFile).toInstant();
+            return lastRenewal.plus(lease).isBefore(Instant.now());
+        } catch (IOException ex) {
+            return true;
+        }
+    }
+
+    private static boolean validId(String runId) {
+        return runId != null && RUN_ID.matcher(runId).matches();
+    }
+
+    private Path recordPath(String runId) {
+        return directory.resolve(runId + RECORD_SUFFIX);
+    }
+
+    private Path epochPath(Claim claim) {
+        return claimsDirectory.resolve(claim.runId()).resolve(String.valueOf(claim.epoch()));
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ex) {
+            LOGGER.debug("Suppression impossible: {}", path);
+        }
+    }
+
+    /**
+     * Lease on a run, identified by its epoch. A higher epoch means the run was taken over.
+     */
+    public record Claim(String runId, long epoch) {
+    }
+
+    public record ActiveRun(String runId, Instant submittedAt, Instant notBefore) {
+    }
+}
@@ -0,0 +1,437 @@
+package com.example.llmhost.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import com.example.llmhost.api.ChatRequest;
+import com.example.llmhost.api.ChatRunResponse;
+import com.example.llmhost.api.ToolCallTrace;
+import com.example.llmhost.config.AppProperties;
+import com.example.llmhost.config.AppProperties.RunsProperties;
+import com.example.llmhost.model.RunRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+@Component
+public class RunWorker implements SmartLifecycle {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RunWorker.class);
+    private static final long PARTIAL_OUTPUT_FLUSH_MS = 1000;
+    private static final long CANCEL_CHECK_MS = 1000;
+
+    private final RunStore store;
+    private final ToolCallingChatService chatService;
+    private final RunAdmissionController admission;
+    private final ExecutorService executor;
+    private final RunsProperties runs;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Semaphore slots;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private volatile boolean running;
+    private volatile Thread poller;
+
+    public RunWorker(RunStore store, ToolCallingChatService chatService, RunAdmissionController admission,
+            @Qualifier("chatRunExecutor") ExecutorService executor, AppProperties properties) {
+        this.store = store;
+        this.chatService = chatService;
+        this.admission = admission;
+        this.executor = executor;
+        this.runs = properties.getRuns();
+        this.slots = new Semaphore(Math.max(1, runs.getWorkers()));
+    }
+
+    public RunRecord submit(ChatRequest request, String callerId) {
+        chatService.validate(request);
+        RunRecord record = new RunRecord();
+        record.setRunId(store.newRunId());
+        record.setStatus(RunRecord.Status.QUEUED);
+        record.setRequest(request);
+        record.setCallerId(callerId);
+        record.setSubmittedAt(Instant.now());
+        record.setStage("run.queued");
+        store.save(record);
+        store.activate(record);
+        wake();
+        return record;
+    }
+
+    /**
+     * Cancellation never rewrites a record owned by a worker: it drops a marker that the owner polls. Only a run that
+     * is still queued is cancelled directly, under its own lease so that no worker can start it meanwhile.
+     */
+    public Optional<RunRecord> cancel(String runId) {
+        Optional<RunRecord> found = store.find(runId);
+        if (found.isEmpty() || found.get().isTerminal()) {
+            return found;
+        }
+        store.requestCancel(runId);
+        if (found.get().getStatus() == RunRecord.Status.QUEUED) {
+            store.claim(runId, instanceId).ifPresent(claim -> {
+                try {
+                    store.find(runId).filter(fresh -> fresh.getStatus() == RunRecord.Status.QUEUED)
+                            .ifPresent(fresh -> {
+                                fresh.setStatus(RunRecord.Status.CANCELLED);
+                                fresh.setStage("run.cancelled");
+                                fresh.setFinishedAt(Instant.now());
+                                if (store.saveIfHeld(claim, fresh)) {
+                                    store.deactivate(runId);
+                                }
+                            });
+                } finally {
+                    store.release(claim);
+                }
+            });
+        }
+        return store.find(runId);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        poller = Thread.ofPlatform().daemon().name("run-worker-poller").start(this::poll);
+        LOGGER.info("Run worker démarré (instance={}, workers={}, store={})", instanceId, runs.getWorkers(),
+                runs.getStoreDir());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        wake();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void wake() {
+        Thread current = poller;
+        if (current != null) {
+            LockSupport.unpark(current);
+        }
+    }
+
+    private void poll() {
+        long lastPurge = 0;
+        while (running) {
+            try {
+                dispatchPending();
+                if (System.currentTimeMillis() - lastPurge > TimeUnit.MINUTES.toMillis(10)) {
+                    purgeExpired();
+                    lastPurge = System.currentTimeMillis();
+                }
+            } catch (RuntimeException ex) {
+                LOGGER.warn("Scrutation des runs en échec", ex);
+            }
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(Math.max(100, runs.getPollIntervalMs())));
+        }
+    }
+
+    private void dispatchPending() {
+        Instant now = Instant.now();
+        for (RunStore.ActiveRun candidate : store.listActive()) {
+            if (!running || slots.availablePermits() == 0) {
+                return;
+            }
+            String runId = candidate.runId();
+            if (candidate.notBefore().isAfter(now) || inFlight.contains(runId)) {
+                continue;
+            }
+            Optional<RunStore.Claim> claim = store.claim(runId, instanceId);
+            if (claim.isEmpty()) {
+                continue;
+            }
+            Optional<RunRecord> fresh = store.find(runId);
+            if (fresh.isEmpty() || fresh.get().isTerminal()) {
+                store.deactivate(runId);
+                store.release(claim.get());
+                continue;
+            }
+            if (!slots.tryAcquire()) {
+                store.release(claim.get());
+                continue;
+            }
+            RunRecord record = fresh.get();
+            if (record.getStatus() == RunRecord.Status.RUNNING) {
+                LOGGER.info("Reprise du run {} interrompu (tentative {})", runId, record.getAttempts() + 1);
+            }
+            inFlight.add(runId);
+            executor.execute(() -> execute(record, claim.get()));
+        }
+    }
+
+    private void execute(RunRecord record, RunStore.Claim claim) {
+        String runId = record.getRunId();
+        StoreRunListener listener = new StoreRunListener(record, claim);
+        Thread heartbeat = Thread.ofVirtual().name("run-lease-" + runId).start(() -> renewLease(listener));
+        try {
+            if (record.isCancelRequested()) {
+                listener.finish(RunRecord.Status.CANCELLED, null, null);
+                return;
+            }
+            if (record.getAttempts() >= Math.max(1, runs.getMaxAttempts())) {
+                listener.finish(RunRecord.Status.FAILED, null, "Nombre maximal de tentatives atteint");
+                return;
+            }
+            ChatRequest request = record.getRequest();
+            RunAdmissionController.Ticket ticket = admission.enqueue(record.getCallerId(),
+                    chatService.isGuidedMode(request)
+                            ? RunAdmissionController.Priority.INTERACTIVE
+                            : RunAdmissionController.Priority.BATCH);
+            try {
+                listener.awaitAdmission();
+                admission.await(ticket);
+                listener.begin();
+                ChatRunResponse response = chatService.run(request, listener);
+                listener.finish(listener.cancelled() ? RunRecord.Status.CANCELLED : RunRecord.Status.SUCCEEDED,
+                        response, null);
+            } finally {
+                admission.release(ticket);
+            }
+        } catch (RunRejectedException ex) {
+            listener.defer(ex.getMessage(), Duration.ofSeconds(Math.max(1, ex.getRetryAfterSeconds())));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            LOGGER.info("Run {} interrompu, il sera repris par une autre instance", runId);
+        } catch (Exception ex) {
+            if (listener.cancelled()) {
+                // the service aborts a cancelled run by throwing, which must not count as a failure
+                LOGGER.info("Run {} annulé en cours d'exécution", runId);
+                listener.finish(RunRecord.Status.CANCELLED, null, null);
+                return;
+            }
+            LOGGER.warn("Run {} en échec", runId, ex);
+            listener.finish(RunRecord.Status.FAILED, null,
+                    ex.getMessage() == null ? ex.getClass().getSimpleName() : ex.getMessage());
+        } finally {
+            heartbeat.interrupt();
+            if (!listener.leaseLost) {
+                store.release(claim);
+            }
+            inFlight.remove(runId);
+            slots.release();
+            wake();
+        }
+    }
+
+    private void renewLease(StoreRunListener listener) {
+        long intervalMs = Math.max(1000, store.lease().toMillis() / 3);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                Thread.sleep(intervalMs);
+            } catch (InterruptedException ex) {
+                return;
+            }
+            if (!store.renew(listener.claim)) {
+                listener.loseLease();
+                return;
+            }
+        }
+    }
+
+    private void purgeExpired() {
+        Instant limit = Instant.now().minus(Duration.ofHours(Math.max(1, runs.getRetentionHours())));
+        for (RunRecord record : store.list()) {
+            if (record.isTerminal() && record.getFinishedAt() != null && record.getFinishedAt().isBefore(limit)) {
+                store.delete(record.getRunId());
+            }
+        }
+    }
+
+    private final class StoreRunListener implements ChatRunListener {
+
+        private final RunRecord record;
+        private final RunStore.Claim claim;
+        private final StringBuilder partialOutput = new StringBuilder();
+        private final Map<String, StringBuilder> scopedOutput = new LinkedHashMap<>();
+        private long lastFlush;
+        private long lastCancelCheck;
+        private volatile boolean cancelled;
+        private volatile boolean leaseLost;
+
+        private StoreRunListener(RunRecord record, RunStore.Claim claim) {
+            this.record = record;
+            this.claim = claim;
+            this.cancelled = record.isCancelRequested();
+        }
+
+        @Override
+        public boolean streaming() {
+            return true;
+        }
+
+        @Override
+        public boolean cancelled() {
+            long now = System.currentTimeMillis();
+            if (!cancelled && now - lastCancelCheck >= CANCEL_CHECK_MS) {
+                lastCancelCheck = now;
+                cancelled = store.cancelRequested(record.getRunId());
+            }
+            return cancelled || leaseLost;
+        }
+
+        @Override
+        public void onProgress(String stage, Map<String, Object> details) {
+            synchronized (record) {
+                record.setStage(stage);
+                persist();
+            }
+        }
+
+        @Override
+        public void onToken(String token) {
+            synchronized (record) {
+                partialOutput.append(token);
+                if (System.currentTimeMillis() - lastFlush >= PARTIAL_OUTPUT_FLUSH_MS) {
+                    record.setPartialOutput(partialOutput.toString());
+                    persist();
+                }
+            }
+        }
+
+        @Override
+        public void onToken(Map<String, Object> scope, String token) {
+            synchronized (record) {
+                scopedOutput.computeIfAbsent(scopeLabel(scope), label -> new StringBuilder()).append(token);
+                if (System.currentTimeMillis() - lastFlush >= PARTIAL_OUTPUT_FLUSH_MS) {
+                    record.setPartialOutput(renderScopedOutput());
+                    persist();
+                }
+            }
+        }
+
+        @Override
+        public void onRetry(Map<String, Object> scope, int attempt, String reason) {
+            synchronized (record) {
+                scopedOutput.remove(scopeLabel(scope));
+                record.setPartialOutput(scopedOutput.isEmpty() ? null : renderScopedOutput());
+                record.setStage("generation.retry");
+                persist();
+            }
+        }
+
+        @Override
+        public void onToolCall(ToolCallTrace trace) {
+            synchronized (record) {
+                record.getToolCalls().add(trace);
+                persist();
+            }
+        }
+
+        @Override
+        public void onRetry(int attempt, String reason) {
+            synchronized (record) {
+                partialOutput.setLength(0);
+                record.setPartialOutput(null);
+                record.setStage("generation.retry");
+                persist();
+            }
+        }
+
+        private String scopeLabel(Map<String, Object> scope) {
+            StringBuilder label = new StringBuilder();
+            scope.forEach((key, value) -> label.append(label.isEmpty() ? "" : ", ").append(key).append('=')
+                    .append(value));
+            return label.toString();
+        }
+
+        private String renderScopedOutput() {
+            StringBuilder rendered = new StringBuilder();
+            scopedOutput.forEach((label, output) -> rendered.append("[").append(label).append("]\n")
+                    .append(output).append("\n\n"));
+            return rendered.toString();
+        }
+
+        private void awaitAdmission() {
+            synchronized (record) {
+                record.setStatus(RunRecord.Status.QUEUED);
+                record.setOwner(instanceId);
+                record.setStage("run.admission");
+                persist();
+            }
+        }
+
+        private void begin() {
+            synchronized (record) {
+                record.setStatus(RunRecord.Status.RUNNING);
+                record.setAttempts(record.getAttempts() + 1);
+                record.setStartedAt(Instant.now());
+                record.setStage("run.started");
+                record.setToolCalls(null);
+                record.setPartialOutput(null);
+                record.setError(null);
+                partialOutput.setLength(0);
+                scopedOutput.clear();
+                persist();
+            }
+        }
+
+        private void defer(String reason, Duration backoff) {
+            synchronized (record) {
+                if (record.getStatus() == RunRecord.Status.RUNNING) {
+                    record.setAttempts(Math.max(0, record.getAttempts() - 1));
+                }
+                record.setStatus(RunRecord.Status.QUEUED);
+                record.setStage("run.deferred");
+                record.setError(reason);
+                if (persist()) {
+                    store.defer(record.getRunId(), record.getSubmittedAt(), Instant.now().plus(backoff));
+                }
+            }
+        }
+
+        private void finish(RunRecord.Status status, ChatRunResponse response, String error) {
+            synchronized (record) {
+                record.setStatus(status);
+                record.setResult(response);
+                record.setError(error);
+                record.setPartialOutput(null);
+                record.setFinishedAt(Instant.now());
+                record.setStage(status == RunRecord.Status.SUCCEEDED ? "run.completed" : "run." + status.name()
+                        .toLowerCase(Locale.ROOT));
+                if (persist()) {
+                    store.deactivate(record.getRunId());
+                }
+            }
+        }
+
+        private void loseLease() {
+            if (!leaseLost) {
+                leaseLost = true;
+                LOGGER.warn("Bail du run {} repris par une autre instance, exécution locale abandonnée",
+                        record.getRunId());
+            }
+        }
+
+        /**
+         * Writes the record only while this worker still holds the lease; a run taken over by another instance is
+         * never overwritten with this copy.
+         */
+        private boolean persist() {
+            if (leaseLost) {
+                return false;
+            }
+            record.setCancelRequested(record.isCancelRequested() || store.cancelRequested(record.getRunId()));
+            lastFlush = System.currentTimeMillis();
+            if (!store.saveIfHeld(claim, record)) {
+                loseLease();
+                return false;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.llmhost.service;
+
+/**
+ * Time budget shared by the tool calls of one AUTO run: each call gets the tool timeout, capped by the run deadline.
+ */
+record ToolBudget(long startedAtMs, long toolTimeoutMs, long runDeadlineMs) {
+
+    long deadlineMs() {
+        long toolDeadline = toolTimeoutMs > 0 ? System.currentTimeMillis() + toolTimeoutMs : 0L;
+        if (runDeadlineMs <= 0) {
+            return toolDeadline;
+        }
+        return toolDeadline <= 0 ? runDeadlineMs : Math.min(toolDeadline, runDeadlineMs);
+    }
+}
@@ -1,31 +1,46 @@
 package com.example.llmhost.service;
 
-import java.time.Duration;
-import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 import com.example.llmhost.api.ChatRequest;
 import com.example.llmhost.api.ChatRunResponse;
 import com.example.llmhost.api.GatingStats;
+import com.example.llmhost.api.ModelCallTrace;
+import com.example.llmhost.api.TargetReport;
 import com.example.llmhost.api.ToolCallTrace;
 import com.example.llmhost.config.AppProperties;
+import com.example.llmhost.config.AppProperties.GuidedProperties;
+import com.example.llmhost.config.AppProperties.ModelTier;
 import com.example.llmhost.config.AppProperties.ToolingProperties;
 import com.example.llmhost.config.SystemPromptProvider;
 import com.example.llmhost.model.UpgradeReport;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.chat.client.advisor.SimpleLoggerAdvisor;
 import org.springframework.ai.chat.client.advisor.api.CallAdvisor;
-import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.chat.prompt.ChatOptions;
 import org.springframework.ai.tool.ToolCallback;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
@@ -35,6 +50,8 @@ public class ToolCallingChatService {
     private static final Logger LOGGER = LoggerFactory.getLogger(ToolCallingChatService.class);
     private static final Pattern UPGRADE_PATTERN = Pattern.compile("\\bupgrade\\b", Pattern.CASE_INSENSITIVE);
     private static final Pattern TOOL_CALL_PATTERN = Pattern.compile("tool[_\\s-]?call", Pattern.CASE_INSENSITIVE);
+    private static final String REPAIR_METRIC = "llmhost.report.repair";
+    private static final String GENERATION_METRIC = "llmhost.report.generation";
     private static final String REPAIR_SYSTEM_PROMPT = "Tu es un réparateur JSON. Retourne uniquement un JSON valide "
             + "conforme au contrat UpgradeReport. Aucun texte hors JSON.";
 
@@ -49,10 +66,23 @@ public class ToolCallingChatService {
     private final UpgradeReportEvidenceGate evidenceGate;
     private final UpgradeReportSanitizer reportSanitizer;
     private final EvidenceEnricher evidenceEnricher;
+    private final UpgradeReportRepairer reportRepairer;
+    private final MeterRegistry meterRegistry;
+    private final UpgradeReportSchema reportSchema;
+    private final CompactReportCodec compactCodec;
+    private final PartialReportMerger partialReportMerger;
+    private final ExecutorService chatRunExecutor;
+    private final ToolResultCache toolResultCache;
+    private final ModelTierRouter modelTierRouter;
+    private final PromptMetricsAdvisor promptMetricsAdvisor;
 
     public ToolCallingChatService(ChatClient chatClient, SystemPromptProvider systemPromptProvider, AppProperties properties,
             List<ToolCallback> functionCallbacks, RagMultiPassUpgradeContext upgradeContextService,
-            ObjectMapper objectMapper, MethodologyClient methodologyClient, EvidenceEnricher evidenceEnricher) {
+            ObjectMapper objectMapper, MethodologyClient methodologyClient, EvidenceEnricher evidenceEnricher,
+            UpgradeReportRepairer reportRepairer, MeterRegistry meterRegistry, UpgradeReportSchema reportSchema,
+            CompactReportCodec compactCodec, @Qualifier("chatRunExecutor") ExecutorService chatRunExecutor,
+            ToolResultCache toolResultCache, ModelTierRouter modelTierRouter,
+            PromptMetricsAdvisor promptMetricsAdvisor) {
         this.chatClient = chatClient;
         this.systemPromptProvider = systemPromptProvider;
         this.properties = properties;
@@ -64,42 +94,103 @@ public class ToolCallingChatService {
         this.evidenceGate = new UpgradeReportEvidenceGate();
         this.reportSanitizer = new UpgradeReportSanitizer();
         this.evidenceEnricher = evidenceEnricher;
+        this.reportRepairer = reportRepairer;
+        this.meterRegistry = meterRegistry;
+        this.reportSchema = reportSchema;
+        this.compactCodec = compactCodec;
+        this.partialReportMerger = new PartialReportMerger();
+        this.chatRunExecutor = chatRunExecutor;
+        this.toolResultCache = toolResultCache;
+        this.modelTierRouter = modelTierRouter;
+        this.promptMetricsAdvisor = promptMetricsAdvisor;
     }
 
     public ChatRunResponse run(ChatRequest request) {
+        return run(request, ChatRunListener.NOOP);
+    }
+
+    public void validate(ChatRequest request) {
         validatePrompt(request);
-        List<ToolCallTrace> traces = new ArrayList<>();
+        if (isGuidedMode(request)) {
+            requireGuidedFields(request);
+        }
+    }
+
+    public ChatRunResponse run(ChatRequest request, ChatRunListener runListener) {
+        validatePrompt(request);
+        int runTimeoutSeconds = properties.getTooling().getRunTimeoutSeconds();
+        try (RunDeadline.Scope ignored = RunDeadline.open(runTimeoutSeconds > 0
+                ? System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(runTimeoutSeconds)
+                : 0L)) {
+            return runWithinDeadline(request, runListener);
+        }
+    }
+
+    private ChatRunResponse runWithinDeadline(ChatRequest request, ChatRunListener runListener) {
+        List<ModelCallTrace> modelCalls = Collections.synchronizedList(new ArrayList<>());
+        ChatRunListener listener = new ModelCallCollector(runListener, modelCalls);
+        List<ToolCallTrace> traces = Collections.synchronizedList(new ArrayList<>());
         boolean guidedMode = isGuidedMode(request);
         List<ToolCallback> callbacks = guidedMode
                 ? Collections.emptyList()
-                : shouldUseTools(request) ? wrapCallbacks(traces) : Collections.emptyList();
+                : shouldUseTools(request) ? wrapCallbacks(traces, listener) : Collections.emptyList();
+        listener.onProgress("run.started", Map.of("mode", guidedMode ? "GUIDED" : "AUTO"));
 
         GuidedUpgradeResult guidedResult = null;
         String content;
         if (guidedMode) {
-            guidedResult = runGuidedUpgrade(request);
+            List<String> targets = targetVersions(request);
+            if (targets.size() > 1) {
+                return runMultiTarget(request, targets, listener, modelCalls, traces);
+            }
+            guidedResult = runGuidedUpgrade(targets.isEmpty() ? request : forTarget(request, targets.get(0)),
+                    listener);
             content = guidedResult.content();
         } else {
             LOGGER.debug("AUTO mode: toolCallbacksEnabled={} provider={}", callbacks.size(),
                     properties.getAi().getProvider());
-            content = chatClient.prompt()
-                    .system(systemPromptProvider.buildSystemPrompt())
-                    .user(request.prompt())
-                    .advisors(loggingAdvisor)
-                    .toolCallbacks(callbacks)
-                    .call()
-                    .content();
+            listener.onProgress("generation.started", Map.of("toolCallbacks", callbacks.size()));
+            ChatOptions options = modelTierRouter.options(ModelTier.CHAT);
+            content = generate(() -> {
+                ChatClient.ChatClientRequestSpec spec = chatClient.prompt()
+                        .system(systemPromptProvider.buildSystemPrompt())
+                        .user(request.prompt())
+                        .advisors(loggingAdvisor, promptMetricsAdvisor)
+                        .toolCallbacks(callbacks);
+                return options == null ? spec : spec.options(options);
+            }, listener, null, ModelTier.CHAT);
             if (shouldUseTools(request) && traces.isEmpty() && content != null
                     && TOOL_CALL_PATTERN.matcher(content).find()) {
                 LOGGER.warn("AUTO mode: tool calls detected in response but no tool callbacks executed. provider={}",
                         properties.getAi().getProvider());
             }
         }
-        ValidationResult validation = validateAndRepairReport(content);
+        listener.onProgress("generation.completed", Map.of("chars", content == null ? 0 : content.length(),
+                "toolCalls", traces.size()));
+        FinishedReport finished = finishReport(content, guidedResult, guidedMode, listener);
+
+        boolean toolsUsed = !guidedMode && shouldUseTools(request);
+        List<ToolCallTrace> orderedTraces;
+        synchronized (traces) {
+            orderedTraces = traces.stream().sorted(Comparator.comparingInt(ToolCallTrace::sequence)).toList();
+        }
+        List<ModelCallTrace> orderedModelCalls;
+        synchronized (modelCalls) {
+            orderedModelCalls = List.copyOf(modelCalls);
+        }
+        return new ChatRunResponse(finished.output(), finished.json(), orderedTraces, toolsUsed, finished.gating(),
+                orderedModelCalls, List.of());
+    }
+
+    private FinishedReport finishReport(String content, GuidedUpgradeResult guidedResult, boolean guidedMode,
+            ChatRunListener listener) {
+        boolean llmRepairAllowed = guidedResult == null || guidedResult.llmRepairAllowed();
+        ValidationResult validation = validateAndRepairReport(content, listener, llmRepairAllowed);
         UpgradeReport report = validation.report();
         String json = validation.json();
         String output = validation.content();
         GatingStats gating = null;
+        listener.onProgress("report.validated", Map.of("valid", report != null));
         if (report != null) {
             report = reportSanitizer.sanitize(report);
         }
@@ -111,6 +202,10 @@ public class ToolCallingChatService {
             int sourceCount = guidedResult == null ? 0 : guidedResult.context().hits().size();
             gating = evidenceGate.applyWithReport(report, sourceCount).stats();
         }
+        if (gating != null) {
+            listener.onProgress("report.gated", Map.of("impacts", gating.totalImpactsAfter() == null ? 0 : gating.totalImpactsAfter(),
+                    "removedImpacts", gating.removedImpacts()));
+        }
         if (guidedMode && report != null && guidedResult != null) {
             report = evidenceEnricher.enrich(report, guidedResult.context());
         }
@@ -128,10 +223,9 @@ public class ToolCallingChatService {
                 json = formatted.get();
                 output = json;
             }
+            listener.onProgress("report.formatted", Map.of("methodology", formatted.isPresent()));
         }
-
-        boolean toolsUsed = !guidedMode && shouldUseTools(request);
-        return new ChatRunResponse(output, json, traces, toolsUsed, gating);
+        return new FinishedReport(output, json, gating, report != null);
     }
 
     private boolean shouldUseTools(ChatRequest request) {
@@ -145,7 +239,7 @@ public class ToolCallingChatService {
         }
     }
 
-    private boolean isGuidedMode(ChatRequest request) {
+    public boolean isGuidedMode(ChatRequest request) {
         if (request.mode() == ChatRequest.Mode.GUIDED) {
             return true;
         }
@@ -155,25 +249,215 @@ public class ToolCallingChatService {
         return request.prompt() != null && UPGRADE_PATTERN.matcher(request.prompt()).find();
     }
 
-    private GuidedUpgradeResult runGuidedUpgrade(ChatRequest request) {
+    private GuidedUpgradeResult runGuidedUpgrade(ChatRequest request, ChatRunListener listener) {
         requireGuidedFields(request);
-        UpgradeContext context = upgradeContextService.retrieve(
-                request.fromVersion(),
-                request.toVersion(),
-                request.workspaceId(),
-                request.repoUrl(),
-                request.moduleFocus()
-        );
-        String systemPrompt = systemPromptProvider.buildGuidedUpgradePrompt();
-        String userPrompt = buildGuidedUserPrompt(request, context);
-        String content = chatClient.prompt()
-                .system(systemPrompt)
-                .user(userPrompt)
-                .advisors(loggingAdvisor)
-                .toolCallbacks(Collections.emptyList())
-                .call()
-                .content();
-        return new GuidedUpgradeResult(content, context);
+        ProjectFactSnapshot snapshot = upgradeContextService.snapshotProjectFacts(request.workspaceId(),
+                request.moduleFocus(), listener);
+        return generateGuidedUpgrade(request, retrieveGuidedContext(request, snapshot, listener), listener);
+    }
+
+    private UpgradeContext retrieveGuidedContext(ChatRequest request, ProjectFactSnapshot snapshot,
+            ChatRunListener listener) {
+        GuidedProperties guided = properties.getGuided();
+        if (guided.isPartitioned()) {
+            return upgradeContextService.retrieve(request.fromVersion(), request.toVersion(), request.moduleFocus(),
+                    snapshot, listener, Math.max(1, guided.getPartitionMaxHits()));
+        }
+        return upgradeContextService.retrieve(request.fromVersion(), request.toVersion(), request.moduleFocus(),
+                snapshot, listener);
+    }
+
+    private GuidedUpgradeResult generateGuidedUpgrade(ChatRequest request, UpgradeContext context,
+            ChatRunListener listener) {
+        GuidedProperties guided = properties.getGuided();
+        if (guided.isPartitioned()) {
+            return runPartitionedGuidedUpgrade(request, context, listener);
+        }
+        String content = generateGuidedReport(request, context, listener);
+        return new GuidedUpgradeResult(content, context, !guided.isStructuredOutput());
+    }
+
+    private ChatRunResponse runMultiTarget(ChatRequest request, List<String> targets, ChatRunListener listener,
+            List<ModelCallTrace> modelCalls, List<ToolCallTrace> traces) {
+        requireGuidedFields(request);
+        ProjectFactSnapshot snapshot = upgradeContextService.snapshotProjectFacts(request.workspaceId(),
+                request.moduleFocus(), listener);
+        MultiTargetRunner runner = new MultiTargetRunner(chatRunExecutor, objectMapper,
+                properties.getGuided().getTargetParallelism());
+        List<TargetReport> reports = runner.run(targets.stream().map(target -> forTarget(request, target)).toList(),
+                listener, new MultiTargetRunner.TargetGenerator() {
+                    @Override
+                    public UpgradeContext retrieve(ChatRequest target, ChatRunListener targetListener) {
+                        return retrieveGuidedContext(target, snapshot, targetListener);
+                    }
+
+                    @Override
+                    public TargetReport generate(ChatRequest target, UpgradeContext context,
+                            ChatRunListener targetListener) {
+                        GuidedUpgradeResult result = generateGuidedUpgrade(target, context, targetListener);
+                        FinishedReport finished = finishReport(result.content(), result, true, targetListener);
+                        return new TargetReport(target.toVersion(), finished.json(), finished.gating(),
+                                finished.valid() ? null : "rapport invalide");
+                    }
+                });
+        String combined = runner.toJson(request, reports);
+        List<ToolCallTrace> orderedTraces;
+        synchronized (traces) {
+            orderedTraces = traces.stream().sorted(Comparator.comparingInt(ToolCallTrace::sequence)).toList();
+        }
+        List<ModelCallTrace> orderedModelCalls;
+        synchronized (modelCalls) {
+            orderedModelCalls = List.copyOf(modelCalls);
+        }
+        return new ChatRunResponse(combined, combined, orderedTraces, false, null, orderedModelCalls,
+                List.copyOf(reports));
+    }
+
+    private List<String> targetVersions(ChatRequest request) {
+        LinkedHashSet<String> targets = new LinkedHashSet<>();
+        if (StringUtils.hasText(request.toVersion())) {
+            targets.add(request.toVersion().trim());
+        }
+        if (request.targetVersions() != null) {
+            request.targetVersions().stream()
+                    .filter(StringUtils::hasText)
+                    .map(String::trim)
+                    .forEach(targets::add);
+        }
+        return List.copyOf(targets);
+    }
+
+    private ChatRequest forTarget(ChatRequest request, String toVersion) {
+        return new ChatRequest(request.prompt(), request.dryRun(), request.mode(), request.workspaceId(),
+                request.repoUrl(), request.fromVersion(), toVersion, request.moduleFocus(), List.of());
+    }
+
+    private GuidedUpgradeResult runPartitionedGuidedUpgrade(ChatRequest request, UpgradeContext context,
+            ChatRunListener listener) {
+        PartitionedReportRunner runner = new PartitionedReportRunner(chatRunExecutor, partialReportMerger,
+                properties.getGuided().getPartitionParallelism());
+        UpgradeReport merged = runner.run(upgradeContextService.partition(context, request.moduleFocus()),
+                buildProject(request), listener, (partitionContext, partitionListener) -> {
+                    String content = generateGuidedReport(request, partitionContext, partitionListener);
+                    return validateAndRepairReport(content, partitionListener,
+                            !properties.getGuided().isStructuredOutput()).report();
+                });
+        return new GuidedUpgradeResult(writeReportJson(merged, null), context, false);
+    }
+
+    private String generateGuidedReport(ChatRequest request, UpgradeContext context, ChatRunListener listener) {
+        boolean structuredOutput = properties.getGuided().isStructuredOutput();
+        boolean compactOutput = properties.getGuided().isCompactOutput();
+        String encoding = compactOutput ? "compact" : "full";
+        String layout = properties.getGuided().isStablePromptPrefix() ? "stable" : "legacy";
+        String systemPrompt = guidedSystemPrompt(structuredOutput, compactOutput);
+        String userPrompt = buildGuidedUserPrompt(request, context, structuredOutput, compactOutput);
+        ChatOptions options = modelTierRouter.options(ModelTier.REPORT,
+                structuredOutput ? reportSchema.chatOptions(context.hits().size(), compactOutput) : null);
+        Map<String, JsonToken> reportContract = compactOutput
+                ? compactCodec.validatorContract()
+                : IncrementalReportValidator.UPGRADE_REPORT_CONTRACT;
+        listener.onProgress("generation.started", Map.of("sources", context.hits().size(),
+                "structuredOutput", structuredOutput, "encoding", encoding));
+        long start = System.nanoTime();
+        String content = generate(() -> {
+            ChatClient.ChatClientRequestSpec spec = chatClient.prompt()
+                    .system(systemPrompt)
+                    .user(userPrompt)
+                    .advisors(loggingAdvisor, promptMetricsAdvisor)
+                    .advisors(advisor -> advisor.param(PromptMetricsAdvisor.LAYOUT, layout))
+                    .toolCallbacks(Collections.emptyList());
+            return options == null ? spec : spec.options(options);
+        }, listener, reportContract, ModelTier.REPORT);
+        meterRegistry.timer(GENERATION_METRIC + ".duration", "encoding", encoding)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        meterRegistry.summary(GENERATION_METRIC + ".output.chars", "encoding", encoding)
+                .record(content == null ? 0 : content.length());
+        return compactOutput ? expandCompactReport(content, request) : content;
+    }
+
+    private String expandCompactReport(String content, ChatRequest request) {
+        Optional<ObjectNode> compact = reportRepairer.repairSyntax(content, new LinkedHashSet<>());
+        if (compact.isEmpty() || !compactCodec.isCompact(compact.get())) {
+            LOGGER.debug("Compact report expected but not detected, keeping raw content");
+            return content;
+        }
+        try {
+            return objectMapper.writeValueAsString(compactCodec.expand(compact.get(), buildProject(request)));
+        } catch (Exception ex) {
+            LOGGER.warn("Failed to expand compact report: {}", ex.getMessage());
+            return content;
+        }
+    }
+
+    private UpgradeReport.Project buildProject(ChatRequest request) {
+        UpgradeReport.Project project = new UpgradeReport.Project();
+        project.setRepoUrl(request.repoUrl());
+        project.setWorkspaceId(request.workspaceId());
+        project.setFrom(request.fromVersion());
+        project.setTo(request.toVersion());
+        return project;
+    }
+
+    private String generate(Supplier<ChatClient.ChatClientRequestSpec> request, ChatRunListener listener,
+            Map<String, JsonToken> reportContract, ModelTier tier) {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            String content = generate(request, listener, reportContract);
+            success = true;
+            return content;
+        } finally {
+            recordModelCall(listener, tier, start, success);
+        }
+    }
+
+    private String generate(Supplier<ChatClient.ChatClientRequestSpec> request, ChatRunListener listener,
+            Map<String, JsonToken> reportContract) {
+        if (!listener.streaming()) {
+            return request.get().call().content();
+        }
+        int maxRetries = reportContract != null ? Math.max(0, properties.getStreaming().getMaxRetries()) : 0;
+        for (int attempt = 0; ; attempt++) {
+            StreamedGeneration generation = streamGeneration(request.get(), listener, reportContract,
+                    attempt >= maxRetries);
+            if (!generation.aborted()) {
+                return generation.content();
+            }
+            LOGGER.warn("Streaming generation aborted (attempt {}): {}", attempt + 1, generation.violation());
+            listener.onRetry(attempt + 1, generation.violation());
+        }
+    }
+
+    private StreamedGeneration streamGeneration(ChatClient.ChatClientRequestSpec request, ChatRunListener listener,
+            Map<String, JsonToken> reportContract, boolean lastAttempt) {
+        IncrementalReportValidator validator = reportContract != null
+                ? new IncrementalReportValidator(objectMapper.getFactory(), reportContract,
+                        properties.getStreaming().getMaxPreambleChars())
+                : null;
+        StringBuilder content = new StringBuilder();
+        try (Stream<String> tokens = request.stream().content().toStream()) {
+            Iterator<String> iterator = tokens.iterator();
+            while (iterator.hasNext()) {
+                if (listener.cancelled()) {
+                    throw new IllegalStateException("Run annulé par le client");
+                }
+                String token = iterator.next();
+                content.append(token);
+                listener.onToken(token);
+                if (validator == null) {
+                    continue;
+                }
+                IncrementalReportValidator.State state = validator.accept(token);
+                if (state == IncrementalReportValidator.State.COMPLETE) {
+                    break;
+                }
+                if (state == IncrementalReportValidator.State.OFF_CONTRACT && !lastAttempt) {
+                    return new StreamedGeneration(content.toString(), true, validator.violation());
+                }
+            }
+        }
+        return new StreamedGeneration(content.toString(), false, null);
     }
 
     private void requireGuidedFields(ChatRequest request) {
@@ -183,19 +467,60 @@ public class ToolCallingChatService {
         if (!StringUtils.hasText(request.fromVersion())) {
             throw new IllegalArgumentException("fromVersion est requis pour le mode GUIDED");
         }
-        if (!StringUtils.hasText(request.toVersion())) {
-            throw new IllegalArgumentException("toVersion est requis pour le mode GUIDED");
+        List<String> targets = targetVersions(request);
+        if (targets.isEmpty()) {
+            throw new IllegalArgumentException("toVersion ou targetVersions est requis pour le mode GUIDED");
+        }
+        int maxTargets = Math.max(1, properties.getGuided().getMaxTargets());
+        if (targets.size() > maxTargets) {
+            throw new IllegalArgumentException("targetVersions est limité à " + maxTargets + " versions");
+        }
+    }
+
+    public String guidedSystemPrompt() {
+        return guidedSystemPrompt(properties.getGuided().isStructuredOutput(), properties.getGuided().isCompactOutput());
+    }
+
+    private String guidedSystemPrompt(boolean structuredOutput, boolean compactOutput) {
+        if (!properties.getGuided().isStablePromptPrefix()) {
+            return systemPromptProvider.buildGuidedUpgradePrompt(structuredOutput || compactOutput);
+        }
+        return systemPromptProvider.stablePrompt("guided-report:" + structuredOutput + ":" + compactOutput,
+                () -> systemPromptProvider.buildGuidedUpgradePrompt(true) + "\n"
+                        + buildGuidedInstructions(structuredOutput, compactOutput));
+    }
+
+    private String buildGuidedUserPrompt(ChatRequest request, UpgradeContext context, boolean structuredOutput,
+            boolean compactOutput) {
+        if (properties.getGuided().isStablePromptPrefix()) {
+            return buildGuidedRunData(request, context);
+        }
+        return buildGuidedInstructions(structuredOutput, compactOutput) + buildGuidedRunData(request, context);
+    }
+
+    private String buildGuidedInstructions(boolean structuredOutput, boolean compactOutput) {
+        StringBuilder builder = new StringBuilder();
+        if (!structuredOutput) {
+            builder.append("Réponds uniquement avec un JSON valide conforme au contrat ")
+                    .append(compactOutput ? "compact" : "UpgradeReport").append(".\n");
+            builder.append("N'utilise jamais ```json``` ni markdown, retourne uniquement un objet JSON.\n");
+        }
+        if (compactOutput) {
+            builder.append("Chaque impact doit citer dans e les numéros de sources présents dans SOURCES.\n");
+            builder.append(compactCodec.contract()).append("\n");
+        } else {
+            builder.append("Chaque impact doit inclure evidence=[S#] présents dans SOURCES.\n");
+            builder.append("Inclure l'URL dans recommendation quand disponible (metadata.url).\n");
+            if (!structuredOutput) {
+                builder.append("Ne pas utiliser de markdown.\n");
+                builder.append(systemPromptProvider.upgradeReportContract()).append("\n");
+            }
         }
+        return builder.toString();
     }
 
-    private String buildGuidedUserPrompt(ChatRequest request, UpgradeContext context) {
+    private String buildGuidedRunData(ChatRequest request, UpgradeContext context) {
         StringBuilder builder = new StringBuilder();
-        builder.append("Réponds uniquement avec un JSON valide conforme au contrat UpgradeReport.\n");
-        builder.append("N'utilise jamais ```json``` ni markdown, retourne uniquement un objet JSON.\n");
-        builder.append("Chaque impact doit inclure evidence=[S#] présents dans SOURCES.\n");
-        builder.append("Inclure l'URL dans recommendation quand disponible (metadata.url).\n");
-        builder.append("Ne pas utiliser de markdown.\n");
-        builder.append(systemPromptProvider.upgradeReportContract()).append("\n");
         builder.append("SOURCES AUTORISÉES: ").append(buildAllowedSources(context.hits().size())).append("\n");
         builder.append("Project attendu: repoUrl=").append(request.repoUrl())
                 .append(", workspaceId=").append(request.workspaceId())
@@ -234,11 +559,15 @@ public class ToolCallingChatService {
         }
     }
 
-    private List<ToolCallback> wrapCallbacks(List<ToolCallTrace> traces) {
+    private List<ToolCallback> wrapCallbacks(List<ToolCallTrace> traces, ChatRunListener listener) {
         ToolingProperties tooling = properties.getTooling();
         AtomicInteger counter = new AtomicInteger();
+        long now = System.currentTimeMillis();
+        ToolBudget budget = new ToolBudget(now, TimeUnit.SECONDS.toMillis(tooling.getToolTimeoutSeconds()),
+                RunDeadline.current());
         return functionCallbacks.stream()
-                .map(delegate -> (ToolCallback) new LoggingToolCallback(delegate, counter, tooling.getMaxToolCalls(), traces))
+                .map(delegate -> (ToolCallback) new LoggingToolCallback(delegate, counter, tooling.getMaxToolCalls(),
+                        traces, listener, budget, chatRunExecutor, toolResultCache))
                 .toList();
     }
 
@@ -329,27 +658,59 @@ public class ToolCallingChatService {
         return null;
     }
 
-    private ValidationResult validateAndRepairReport(String content) {
+    private ValidationResult validateAndRepairReport(String content, ChatRunListener listener,
+            boolean llmRepairAllowed) {
+        long start = System.nanoTime();
         String json = extractJsonPayload(content);
         UpgradeReport report = parseReport(json);
         if (report != null) {
+            recordRepairPath("direct", start);
             return new ValidationResult(content, json, report);
         }
         if (StringUtils.hasText(json)) {
             LOGGER.debug("Failed to parse UpgradeReport from extracted JSON (length={})", json.length());
         }
-        String repairedContent = requestJsonRepair(content);
+        Optional<UpgradeReportRepairer.RepairResult> localRepair = reportRepairer.repair(content);
+        if (localRepair.isPresent()) {
+            UpgradeReportRepairer.RepairResult repaired = localRepair.get();
+            LOGGER.info("UpgradeReport repaired in-process fixes={}", repaired.fixes());
+            repaired.fixes().forEach(fix -> meterRegistry.counter(REPAIR_METRIC + ".fixes", "fix", fix).increment());
+            listener.onProgress("repair.local", Map.of("fixes", repaired.fixes()));
+            recordRepairPath("local", start);
+            return new ValidationResult(content, repaired.json(), repaired.report());
+        }
+        if (!llmRepairAllowed || !properties.getRepair().isLlmFallbackEnabled()) {
+            recordRepairPath("failed", start);
+            return new ValidationResult(content, json, null);
+        }
+        listener.onProgress("repair.started", Map.of("chars", content == null ? 0 : content.length()));
+        String repairedContent = requestJsonRepair(content, listener);
         String repairedJson = extractJsonPayload(repairedContent);
         UpgradeReport repairedReport = parseReport(repairedJson);
+        if (repairedReport == null) {
+            Optional<UpgradeReportRepairer.RepairResult> repairedLocally = reportRepairer.repair(repairedContent);
+            if (repairedLocally.isPresent()) {
+                repairedJson = repairedLocally.get().json();
+                repairedReport = repairedLocally.get().report();
+            }
+        }
         if (repairedReport != null) {
+            recordRepairPath("llm", start);
             return new ValidationResult(repairedContent, repairedJson, repairedReport);
         }
         if (StringUtils.hasText(repairedJson)) {
             LOGGER.debug("Failed to parse UpgradeReport from repaired JSON (length={})", repairedJson.length());
         }
+        recordRepairPath("failed", start);
         return new ValidationResult(content, json, null);
     }
 
+    private void recordRepairPath(String path, long startNanos) {
+        meterRegistry.counter(REPAIR_METRIC, "path", path).increment();
+        meterRegistry.timer(REPAIR_METRIC + ".duration", "path", path)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
     private UpgradeReport parseReport(String json) {
         if (!StringUtils.hasText(json)) {
             return null;
@@ -361,76 +722,57 @@ public class ToolCallingChatService {
         }
     }
 
-    private String requestJsonRepair(String content) {
-        String prompt = "Répare ce JSON afin qu'il soit valide et conforme au contrat UpgradeReport. "
-                + "Retourne uniquement l'objet JSON corrigé, sans wrapper tableau ni champ \"text\". "
-                + "N'utilise jamais ```json``` ni markdown. "
-                + "Si l'entrée est un tableau [{\"text\":\"{...}\"}], extrais le JSON interne et retourne uniquement l'objet JSON.\n"
-                + systemPromptProvider.upgradeReportContract()
-                + "\nJSON/texte:\n" + content;
-        return chatClient.prompt()
+    private String requestJsonRepair(String content, ChatRunListener listener) {
+        String prompt = repairPromptPrefix() + content;
+        ChatClient.ChatClientRequestSpec spec = chatClient.prompt()
                 .system(REPAIR_SYSTEM_PROMPT)
                 .user(prompt)
-                .advisors(loggingAdvisor)
-                .toolCallbacks(Collections.emptyList())
-                .call()
-                .content();
+                .advisors(loggingAdvisor, promptMetricsAdvisor)
+                .toolCallbacks(Collections.emptyList());
+        ChatOptions options = modelTierRouter.options(ModelTier.REPAIR);
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            String repaired = (options == null ? spec : spec.options(options)).call().content();
+            success = true;
+            return repaired;
+        } finally {
+            recordModelCall(listener, ModelTier.REPAIR, start, success);
+        }
     }
 
-    private record ValidationResult(String content, String json, UpgradeReport report) {
+    public String repairSystemPrompt() {
+        return REPAIR_SYSTEM_PROMPT;
     }
 
-    private record GuidedUpgradeResult(String content, UpgradeContext context) {
+    /**
+     * Fixed start of every repair request; only the JSON to repair follows it.
+     */
+    public String repairPromptPrefix() {
+        return systemPromptProvider.stablePrompt("repair",
+                () -> "Répare ce JSON afin qu'il soit valide et conforme au contrat UpgradeReport. "
+                        + "Retourne uniquement l'objet JSON corrigé, sans wrapper tableau ni champ \"text\". "
+                        + "N'utilise jamais ```json``` ni markdown. "
+                        + "Si l'entrée est un tableau [{\"text\":\"{...}\"}], extrais le JSON interne et retourne uniquement l'objet JSON.\n"
+                        + systemPromptProvider.upgradeReportContract()
+                        + "\nJSON/texte:\n");
     }
 
-    private static class LoggingToolCallback implements ToolCallback {
-        private final ToolCallback delegate;
-        private final AtomicInteger counter;
-        private final int maxCalls;
-        private final List<ToolCallTrace> traces;
-        private final String toolName;
+    private void recordModelCall(ChatRunListener listener, ModelTier tier, long startNanos, boolean success) {
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        listener.onModelCall(new ModelCallTrace(tier.name().toLowerCase(Locale.ROOT), modelTierRouter.model(tier),
+                durationMs, success));
+    }
 
-        private LoggingToolCallback(ToolCallback delegate, AtomicInteger counter, int maxCalls,
-                List<ToolCallTrace> traces) {
-            this.delegate = delegate;
-            this.counter = counter;
-            this.maxCalls = maxCalls;
-            this.traces = traces;
-            this.toolName = resolveToolName();
-        }
+    private record ValidationResult(String content, String json, UpgradeReport report) {
+    }
 
-        @Override
-        public ToolDefinition getToolDefinition() {
-            return delegate.getToolDefinition();
-        }
+    private record FinishedReport(String output, String json, GatingStats gating, boolean valid) {
+    }
 
-        @Override
-        public String call(String toolInput) {
-            int current = counter.incrementAndGet();
-            if (current > maxCalls) {
-                throw new IllegalStateException("Maximum tool calls exceeded (" + maxCalls + ")");
-            }
-            Instant start = Instant.now();
-            try {
-                LOGGER.info("Tool call #{} - {}", current, toolName);
-                String response = delegate.call(toolInput);
-                traces.add(new ToolCallTrace(toolName, toolInput == null ? "" : toolInput,
-                        Duration.between(start, Instant.now()).toMillis(), true, null));
-                return response;
-            }
-            catch (Exception ex) {
-                traces.add(new ToolCallTrace(toolName, toolInput == null ? "" : toolInput,
-                        Duration.between(start, Instant.now()).toMillis(), false, ex.getMessage()));
-                throw ex;
-            }
-        }
+    private record GuidedUpgradeResult(String content, UpgradeContext context, boolean llmRepairAllowed) {
+    }
 
-        private String resolveToolName() {
-            ToolDefinition definition = delegate.getToolDefinition();
-            if (definition != null && StringUtils.hasText(definition.name())) {
-                return definition.name();
-            }
-            return delegate.getClass().getSimpleName();
-        }
+    private record StreamedGeneration(String content, boolean aborted, String violation) {
     }
 }
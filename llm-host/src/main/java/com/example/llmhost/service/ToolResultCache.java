@@ -0,0 +1,136 @@
+package com.example.llmhost.service;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import com.example.llmhost.config.AppProperties;
+import com.example.llmhost.config.AppProperties.ToolCacheProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+@Component
+public class ToolResultCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ToolResultCache.class);
+    private static final String METRIC = "llmhost.tool.cache";
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final Map<String, Long> ttlMs;
+    private final ObjectMapper canonicalMapper;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+
+    public ToolResultCache(AppProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        ToolCacheProperties cache = properties.getTooling().getCache();
+        this.enabled = cache.isEnabled();
+        this.maxEntries = Math.max(1, cache.getMaxEntries());
+        this.ttlMs = new ConcurrentHashMap<>();
+        cache.getTtlSeconds().forEach((tool, seconds) -> {
+            if (seconds != null && seconds > 0) {
+                ttlMs.put(tool, TimeUnit.SECONDS.toMillis(seconds));
+            }
+        });
+        this.canonicalMapper = objectMapper.copy().configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+        this.meterRegistry = meterRegistry;
+    }
+
+    public boolean cacheable(String toolName) {
+        return enabled && ttlMs.containsKey(toolName);
+    }
+
+    Lookup lookup(String toolName, String toolInput) {
+        if (!cacheable(toolName)) {
+            return null;
+        }
+        Key key = new Key(toolName, canonicalize(toolInput));
+        long now = System.currentTimeMillis();
+        Entry fresh = new Entry(new CompletableFuture<>());
+        Entry entry = entries.compute(key, (ignored, existing) ->
+                existing == null || existing.expired(now) ? fresh : existing);
+        boolean owner = entry == fresh;
+        meterRegistry.counter(METRIC, "tool", toolName, "result", owner ? "miss" : "hit").increment();
+        if (owner && entries.size() > maxEntries) {
+            evict(now);
+        }
+        return new Lookup(key, entry, owner);
+    }
+
+    void complete(Lookup lookup, String result) {
+        lookup.entry().expiresAtMs = System.currentTimeMillis() + ttlMs.getOrDefault(lookup.key().toolName(), 0L);
+        lookup.entry().result().complete(result);
+    }
+
+    void fail(Lookup lookup, Throwable error) {
+        entries.remove(lookup.key(), lookup.entry());
+        lookup.entry().result().completeExceptionally(error);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    private void evict(long now) {
+        entries.entrySet().removeIf(item -> item.getValue().expired(now));
+        int excess = entries.size() - maxEntries;
+        if (excess <= 0) {
+            return;
+        }
+        entries.entrySet().stream()
+                .filter(item -> item.getValue().result().isDone())
+                .sorted(Comparator.comparingLong(item -> item.getValue().expiresAtMs))
+                .limit(excess)
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(entries::remove);
+    }
+
+    private String canonicalize(String toolInput) {
+        if (!StringUtils.hasText(toolInput)) {
+            return "{}";
+        }
+        try {
+            Object value = canonicalMapper.readValue(toolInput, Object.class);
+            return canonicalMapper.writeValueAsString(value);
+        } catch (Exception ex) {
+            LOGGER.debug("Entrée d'outil non JSON, clé de cache brute utilisée");
+            return toolInput.trim();
+        }
+    }
+
+    record Lookup(Key key, Entry entry, boolean owner) {
+
+        public CompletableFuture<String> result() {
+            return entry.result();
+        }
+    }
+
+    record Key(String toolName, String canonicalInput) {
+    }
+
+    static final class Entry {
+
+        private final CompletableFuture<String> result;
+        private volatile long expiresAtMs = Long.MAX_VALUE;
+
+        private Entry(CompletableFuture<String> result) {
+            this.result = result;
+        }
+
+        CompletableFuture<String> result() {
+            return result;
+        }
+
+        boolean expired(long now) {
+            return result.isDone() && now >= expiresAtMs;
+        }
+    }
+}
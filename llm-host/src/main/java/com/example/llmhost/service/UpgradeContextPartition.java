@@ -0,0 +1,6 @@
+package com.example.llmhost.service;
+
+import java.util.List;
+
+public record UpgradeContextPartition(String area, UpgradeContext context, List<Integer> sourceNumbers) {
+}
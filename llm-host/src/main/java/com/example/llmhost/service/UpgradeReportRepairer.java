@@ -0,0 +1,463 @@
+package com.example.llmhost.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.example.llmhost.model.UpgradeReport;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+@Component
+public class UpgradeReportRepairer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UpgradeReportRepairer.class);
+    private static final Pattern FENCE_PATTERN = Pattern.compile("```[a-zA-Z]*");
+    private static final Pattern SOURCE_PATTERN = Pattern.compile("(?i)S\\s*(\\d+)");
+    private static final Pattern INTEGER_PATTERN = Pattern.compile("-?\\d+");
+    private static final Set<String> REPORT_FIELDS = Set.of("project", "springUsageSummary", "impacts", "workpoints",
+            "unknowns");
+    private static final List<String> WRAPPER_FIELDS = List.of("UpgradeReport", "upgradeReport", "report", "result");
+    private static final int MAX_TRUNCATION_ATTEMPTS = 8;
+
+    private final ObjectMapper objectMapper;
+    private final ObjectReader reportReader;
+
+    public UpgradeReportRepairer(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.reportReader = objectMapper.readerFor(UpgradeReport.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    public Optional<RepairResult> repair(String content) {
+        Set<String> fixes = new LinkedHashSet<>();
+        Optional<ObjectNode> node = repairSyntax(content, fixes);
+        if (node.isEmpty()) {
+            return Optional.empty();
+        }
+        ObjectNode normalized = normalizeReport(node.get(), fixes);
+        if (normalized == null) {
+            LOGGER.debug("Local JSON repair: object has none of the report fields (fields={})", fieldNames(node.get()));
+            return Optional.empty();
+        }
+        try {
+            UpgradeReport report = reportReader.readValue(normalized);
+            String json = objectMapper.writeValueAsString(normalized);
+            LOGGER.debug("Local JSON repair succeeded (length={}, fixes={})", content.length(), fixes);
+            return Optional.of(new RepairResult(json, report, List.copyOf(fixes)));
+        } catch (Exception ex) {
+            LOGGER.debug("Local JSON repair produced an object not mappable to UpgradeReport: {}", ex.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public Optional<ObjectNode> repairSyntax(String content, Set<String> fixes) {
+        if (!StringUtils.hasText(content)) {
+            return Optional.empty();
+        }
+        String text = stripFences(content, fixes);
+        text = unwrapTextArray(text, fixes);
+        int start = text.indexOf('{');
+        if (start < 0) {
+            LOGGER.debug("Local JSON repair: no object found (length={})", content.length());
+            return Optional.empty();
+        }
+        if (StringUtils.hasText(text.substring(0, start))) {
+            fixes.add("preamble");
+        }
+        JsonNode node = parseLenient(text.substring(start), fixes);
+        if (node == null || !node.isObject()) {
+            LOGGER.debug("Local JSON repair failed (length={}, fixes={})", content.length(), fixes);
+            return Optional.empty();
+        }
+        return Optional.of((ObjectNode) node);
+    }
+
+    private String stripFences(String content, Set<String> fixes) {
+        Matcher matcher = FENCE_PATTERN.matcher(content);
+        if (!matcher.find()) {
+            return content.trim();
+        }
+        fixes.add("markdownFence");
+        return matcher.replaceAll("").trim();
+    }
+
+    private String unwrapTextArray(String text, Set<String> fixes) {
+        if (!text.startsWith("[")) {
+            return text;
+        }
+        try {
+            JsonNode root = objectMapper.readTree(text);
+            if (root.isArray() && root.size() > 0) {
+                JsonNode textNode = root.get(0).get("text");
+                if (textNode != null && textNode.isTextual()) {
+                    fixes.add("textArrayWrapper");
+                    return stripFences(textNode.asText(), fixes);
+                }
+                if (root.get(0).isObject()) {
+                    fixes.add("arrayWrapper");
+                    return objectMapper.writeValueAsString(root.get(0));
+                }
+            }
+        } catch (Exception ex) {
+            LOGGER.debug("Local JSON repair: array wrapper is not valid JSON, scanning raw content");
+        }
+        return text;
+    }
+
+    private JsonNode parseLenient(String text, Set<String> fixes) {
+        ScanResult scan = scan(text, fixes);
+        JsonNode node = tryParse(scan.closed());
+        if (node != null) {
+            return node;
+        }
+        List<SafePoint> safePoints = scan.safePoints();
+        int attempts = 0;
+        for (int i = safePoints.size() - 1; i >= 0 && attempts < MAX_TRUNCATION_ATTEMPTS; i--, attempts++) {
+            SafePoint point = safePoints.get(i);
+            String candidate = scan.output().substring(0, point.length()) + closers(point.stack());
+            node = tryParse(candidate);
+            if (node != null) {
+                fixes.add("truncatedValue");
+                return node;
+            }
+        }
+        return null;
+    }
+
+    private JsonNode tryParse(String candidate) {
+        try {
+            return objectMapper.readTree(candidate);
+        } catch (Exception ex) {
+            return null;
+        }
+    }
+
+    private ScanResult scan(String text, Set<String> fixes) {
+        StringBuilder out = new StringBuilder(text.length() + 16);
+        Deque<Character> stack = new ArrayDeque<>();
+        List<SafePoint> safePoints = new ArrayList<>();
+        boolean inString = false;
+        boolean escape = false;
+        int i = 0;
+        for (; i < text.length(); i++) {
+            char current = text.charAt(i);
+            if (inString) {
+                if (escape) {
+                    escape = false;
+                    out.append(current);
+                } else if (current == '\\') {
+                    escape = true;
+                    out.append(current);
+                } else if (current == '"') {
+                    if (isClosingQuote(text, i + 1)) {
+                        inString = false;
+                        out.append(current);
+                    } else {
+                        fixes.add("unescapedQuote");
+                        out.append("\\\"");
+                    }
+                } else if (current == '\n') {
+                    fixes.add("rawNewline");
+                    out.append("\\n");
+                } else if (current == '\r' || current == '\t') {
+                    out.append(current == '\r' ? "\\r" : "\\t");
+                } else {
+                    out.append(current);
+                }
+                continue;
+            }
+            switch (current) {
+                case '"' -> {
+                    inString = true;
+                    out.append(current);
+                }
+                case '{', '[' -> {
+                    stack.push(current);
+                    out.append(current);
+                    safePoints.add(new SafePoint(out.length(), List.copyOf(stack)));
+                }
+                case '}', ']' -> {
+                    if (stack.isEmpty()) {
+                        i = text.length();
+                        continue;
+                    }
+                    char expectedOpen = current == '}' ? '{' : '[';
+                    while (!stack.isEmpty() && stack.peek() != expectedOpen) {
+                        fixes.add("mismatchedBracket");
+                        trimTrailingComma(out, fixes);
+                        out.append(closerFor(stack.pop()));
+                    }
+                    if (stack.isEmpty()) {
+                        i = text.length();
+                        continue;
+                    }
+                    trimTrailingComma(out, fixes);
+                    stack.pop();
+                    out.append(current);
+                    if (stack.isEmpty()) {
+                        if (StringUtils.hasText(text.substring(i + 1))) {
+                            fixes.add("trailingText");
+                        }
+                        i = text.length();
+                        continue;
+                    }
+                    safePoints.add(new SafePoint(out.length(), List.copyOf(stack)));
+                }
+                case ',' -> {
+                    safePoints.add(new SafePoint(out.length(), List.copyOf(stack)));
+                    out.append(current);
+                }
+                default -> out.append(current);
+            }
+        }
+        boolean truncated = inString || !stack.isEmpty();
+        if (inString) {
+            if (escape) {
+                out.setLength(out.length() - 1);
+            }
+            out.append('"');
+        }
+        if (truncated) {
+            fixes.add("truncated");
+            trimTrailingComma(out, fixes);
+            String trimmed = out.toString().stripTrailing();
+            if (trimmed.endsWith(":")) {
+                out.setLength(trimmed.length());
+                out.append("null");
+            }
+        }
+        String closed = out + closers(List.copyOf(stack));
+        return new ScanResult(out.toString(), closed, safePoints);
+    }
+
+    private boolean isClosingQuote(String text, int from) {
+        for (int j = from; j < text.length(); j++) {
+            char next = text.charAt(j);
+            if (Character.isWhitespace(next)) {
+                continue;
+            }
+            return next == ',' || next == '}' || next == ']' || next == ':';
+        }
+        return true;
+    }
+
+    private void trimTrailingComma(StringBuilder out, Set<String> fixes) {
+        int end = out.length();
+        while (end > 0 && Character.isWhitespace(out.charAt(end - 1))) {
+            end--;
+        }
+        if (end > 0 && out.charAt(end - 1) == ',') {
+            fixes.add("trailingComma");
+            out.setLength(end - 1);
+        }
+    }
+
+    private String closers(List<Character> stack) {
+        StringBuilder builder = new StringBuilder(stack.size());
+        for (Character open : stack) {
+            builder.append(closerFor(open));
+        }
+        return builder.toString();
+    }
+
+    private char closerFor(char open) {
+        return open == '{' ? '}' : ']';
+    }
+
+    /**
+     * Returns null when the object carries none of the report fields (an error payload, a tool result echoed back):
+     * normalizing it would only produce an empty report that passes validation.
+     */
+    private ObjectNode normalizeReport(ObjectNode root, Set<String> fixes) {
+        ObjectNode report = unwrapReport(root, fixes);
+        if (REPORT_FIELDS.stream().noneMatch(report::has)) {
+            return null;
+        }
+        JsonNode project = report.get("project");
+        if (project != null && !project.isObject()) {
+            fixes.add("schema.project");
+            report.remove("project");
+        }
+        JsonNode summary = report.get("springUsageSummary");
+        if (summary != null && !summary.isObject() && !summary.isNull()) {
+            fixes.add("schema.springUsageSummary");
+            ObjectNode wrapped = report.objectNode();
+            wrapped.set("summary", summary);
+            report.set("springUsageSummary", wrapped);
+        }
+        ArrayNode impacts = toArray(report, "impacts", fixes);
+        for (JsonNode impact : impacts) {
+            if (impact instanceof ObjectNode impactNode) {
+                normalizeStringList(impactNode, "affectedAreas", false, fixes);
+                normalizeStringList(impactNode, "evidence", true, fixes);
+                impactNode.remove("evidenceDetails");
+            }
+        }
+        ArrayNode workpoints = toArray(report, "workpoints", fixes);
+        for (JsonNode workpoint : workpoints) {
+            if (workpoint instanceof ObjectNode workpointNode) {
+                normalizePoints(workpointNode, fixes);
+                normalizeStringList(workpointNode, "evidence", true, fixes);
+                workpointNode.remove("evidenceDetails");
+            }
+        }
+        ArrayNode unknowns = toArray(report, "unknowns", fixes);
+        for (JsonNode unknown : unknowns) {
+            if (unknown instanceof ObjectNode unknownNode) {
+                normalizeStringList(unknownNode, "evidence", true, fixes);
+            }
+        }
+        impacts.removeIf(node -> !node.isObject());
+        workpoints.removeIf(node -> !node.isObject());
+        unknowns.removeIf(node -> !node.isObject());
+        int size = report.size();
+        report.retain(REPORT_FIELDS);
+        if (report.size() < size) {
+            fixes.add("schema.unknownField");
+        }
+        return report;
+    }
+
+    private List<String> fieldNames(ObjectNode node) {
+        return node.properties().stream().map(Map.Entry::getKey).toList();
+    }
+
+    private ObjectNode unwrapReport(ObjectNode root, Set<String> fixes) {
+        if (root.has("impacts") || root.has("workpoints") || root.has("unknowns")) {
+            return root;
+        }
+        for (String wrapper : WRAPPER_FIELDS) {
+            JsonNode candidate = root.get(wrapper);
+            if (candidate != null && candidate.isObject()) {
+                fixes.add("schema.wrapper");
+                return (ObjectNode) candidate;
+            }
+        }
+        return root;
+    }
+
+    private ArrayNode toArray(ObjectNode parent, String field, Set<String> fixes) {
+        JsonNode value = parent.get(field);
+        if (value != null && value.isArray()) {
+            return (ArrayNode) value;
+        }
+        ArrayNode array = parent.arrayNode();
+        if (value != null && value.isObject()) {
+            fixes.add("schema." + field);
+            array.add(value);
+        } else if (value != null && !value.isNull()) {
+            fixes.add("schema." + field);
+        }
+        parent.set(field, array);
+        return array;
+    }
+
+    private void normalizeStringList(ObjectNode parent, String field, boolean sources, Set<String> fixes) {
+        JsonNode value = parent.get(field);
+        if (value == null || value.isNull() || !sources && isTextList(value)) {
+            return;
+        }
+        List<String> items = new ArrayList<>();
+        if (value.isArray()) {
+            value.forEach(item -> collectItems(item, sources, items));
+        } else {
+            collectItems(value, sources, items);
+        }
+        ArrayNode normalized = JsonNodeFactory.instance.arrayNode();
+        items.forEach(normalized::add);
+        if (!normalized.equals(value)) {
+            fixes.add("schema." + field);
+            parent.set(field, normalized);
+        }
+    }
+
+    /**
+     * A list of single trimmed labels is already well-formed; only other shapes are split and lowercased.
+     */
+    private boolean isTextList(JsonNode value) {
+        if (!value.isArray()) {
+            return false;
+        }
+        for (JsonNode item : value) {
+            String text = item.asText();
+            if (!item.isTextual() || text.isBlank() || !text.equals(text.trim()) || text.contains(",")
+                    || text.contains(";")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void collectItems(JsonNode item, boolean sources, List<String> items) {
+        if (item == null || item.isNull() || item.isContainerNode()) {
+            return;
+        }
+        if (sources && item.isNumber()) {
+            items.add("S" + item.asInt());
+            return;
+        }
+        String text = item.asText();
+        if (sources) {
+            Matcher matcher = SOURCE_PATTERN.matcher(text);
+            while (matcher.find()) {
+                items.add("S" + matcher.group(1));
+            }
+            return;
+        }
+        for (String part : text.split("[,;]")) {
+            String trimmed = part.trim().toLowerCase(Locale.ROOT);
+            if (!trimmed.isEmpty()) {
+                items.add(trimmed);
+            }
+        }
+    }
+
+    private void normalizePoints(ObjectNode workpoint, Set<String> fixes) {
+        JsonNode points = workpoint.get("points");
+        if (points == null || points.isInt()) {
+            return;
+        }
+        fixes.add("schema.points");
+        if (points.isNumber()) {
+            workpoint.put("points", (int) Math.round(points.asDouble()));
+            return;
+        }
+        Matcher matcher = INTEGER_PATTERN.matcher(points.asText(""));
+        if (matcher.find()) {
+            try {
+                workpoint.put("points", Integer.parseInt(matcher.group()));
+                return;
+            } catch (NumberFormatException ex) {
+                // out of int range: dropped like any other unreadable value
+            }
+        }
+        workpoint.remove("points");
+    }
+
+    public record RepairResult(String json, UpgradeReport report, List<String> fixes) {
+    }
+
+    private record SafePoint(int length, List<Character> stack) {
+    }
+
+    private record ScanResult(String output, String closed, List<SafePoint> safePoints) {
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.llmhost.service;
+
+import java.util.List;
+import java.util.Map;
+
+import com.example.llmhost.config.AppProperties;
+import com.example.llmhost.model.UpgradeReport;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.ollama.api.OllamaChatOptions;
+import org.springframework.ai.openai.OpenAiChatOptions;
+import org.springframework.ai.openai.api.ResponseFormat;
+import org.springframework.ai.util.json.schema.JsonSchemaGenerator;
+import org.springframework.stereotype.Component;
+
+@Component
+public class UpgradeReportSchema {
+
+    static final List<String> IMPACT_TYPES = List.of("BREAKING_CHANGE", "DEPRECATION", "BEHAVIOR_CHANGE",
+            "DEPENDENCY_UPGRADE");
+    private static final String SCHEMA_NAME = "UpgradeReport";
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper;
+    private final AppProperties properties;
+    private final ObjectNode baseSchema;
+    private final ObjectNode compactSchema;
+
+    public UpgradeReportSchema(ObjectMapper objectMapper, AppProperties properties) {
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.baseSchema = buildBaseSchema();
+        this.compactSchema = buildCompactSchema();
+    }
+
+    public ObjectNode schema(int sourceCount) {
+        ObjectNode schema = baseSchema.deepCopy();
+        if (sourceCount > 0) {
+            ArrayNode allowedSources = objectMapper.createArrayNode();
+            for (int i = 1; i <= sourceCount; i++) {
+                allowedSources.add("S" + i);
+            }
+            JsonNode properties = schema.path("properties");
+            for (String section : List.of("impacts", "workpoints", "unknowns")) {
+                JsonNode evidenceItems = properties.path(section).path("items").path("properties").path("evidence")
+                        .path("items");
+                if (evidenceItems instanceof ObjectNode items) {
+                    items.set("enum", allowedSources.deepCopy());
+                }
+            }
+        }
+        return schema;
+    }
+
+    public ObjectNode compactSchema(int sourceCount) {
+        ObjectNode schema = compactSchema.deepCopy();
+        if (sourceCount > 0) {
+            ArrayNode allowedSources = objectMapper.createArrayNode();
+            for (int i = 1; i <= sourceCount; i++) {
+                allowedSources.add(i);
+            }
+            for (String section : List.of("i", "u")) {
+                JsonNode sourceItems = schema.path("properties").path(section).path("items").path("properties")
+                        .path("e").path("items");
+                if (sourceItems instanceof ObjectNode items) {
+                    items.set("enum", allowedSources.deepCopy());
+                }
+            }
+        }
+        return schema;
+    }
+
+    public ChatOptions chatOptions(int sourceCount) {
+        return chatOptions(sourceCount, false);
+    }
+
+    public ChatOptions chatOptions(int sourceCount, boolean compact) {
+        ObjectNode jsonSchema = compact ? compactSchema(sourceCount) : schema(sourceCount);
+        Map<String, Object> schema = objectMapper.convertValue(jsonSchema, MAP_TYPE);
+        if (properties.getAi().getProvider() == AppProperties.Provider.OPENAI) {
+            ResponseFormat responseFormat = ResponseFormat.builder()
+                    .type(ResponseFormat.Type.JSON_SCHEMA)
+                    .jsonSchema(ResponseFormat.JsonSchema.builder()
+                            .name(SCHEMA_NAME)
+                            .schema(schema)
+                            .strict(true)
+                            .build())
+                    .build();
+            return OpenAiChatOptions.builder().responseFormat(responseFormat).build();
+        }
+        return OllamaChatOptions.builder().format(schema).build();
+    }
+
+    private ObjectNode buildBaseSchema() {
+        ObjectNode schema;
+        try {
+            schema = (ObjectNode) objectMapper.readTree(JsonSchemaGenerator.generateForType(UpgradeReport.class));
+        } catch (Exception ex) {
+            throw new IllegalStateException("Impossible de générer le schéma JSON UpgradeReport", ex);
+        }
+        schema.remove("$schema");
+        schema.remove("$defs");
+        ObjectNode properties = (ObjectNode) schema.get("properties");
+        removeProperty(properties.path("impacts").path("items"), "evidenceDetails");
+        removeProperty(properties.path("workpoints").path("items"), "evidenceDetails");
+        JsonNode impactType = properties.path("impacts").path("items").path("properties").path("type");
+        if (impactType instanceof ObjectNode typeNode) {
+            ArrayNode values = typeNode.putArray("enum");
+            IMPACT_TYPES.forEach(values::add);
+        }
+        ObjectNode summary = objectMapper.createObjectNode();
+        summary.put("type", "object");
+        summary.putObject("properties").putObject("summary").put("type", "string");
+        summary.putArray("required").add("summary");
+        properties.set("springUsageSummary", summary);
+        closeObjects(schema);
+        return schema;
+    }
+
+    private ObjectNode buildCompactSchema() {
+        ObjectNode schema = objectMapper.createObjectNode();
+        schema.put("type", "object");
+        ObjectNode properties = schema.putObject("properties");
+        properties.putObject("s").put("type", "string");
+
+        ObjectNode impact = arrayOfObjects(properties.putObject("i"));
+        ObjectNode impactProperties = impact.putObject("properties");
+        enumProperty(impactProperties, "t", CompactReportCodec.TYPE_CODES.keySet());
+        impactProperties.putObject("n").put("type", "string");
+        ObjectNode areas = impactProperties.putObject("a");
+        areas.put("type", "array");
+        enumProperty(areas, "items", CompactReportCodec.AREA_CODES.keySet());
+        sourceArray(impactProperties);
+        impactProperties.putObject("r").put("type", "string");
+        impactProperties.putObject("p").put("type", "integer");
+        impactProperties.putObject("j").put("type", "string");
+        required(impact, "t", "n", "a", "e", "r", "p", "j");
+
+        ObjectNode unknown = arrayOfObjects(properties.putObject("u"));
+        ObjectNode unknownProperties = unknown.putObject("properties");
+        unknownProperties.putObject("q").put("type", "string");
+        unknownProperties.putObject("y").put("type", "string");
+        unknownProperties.putObject("x").put("type", "string");
+        sourceArray(unknownProperties);
+        required(unknown, "q", "y", "x", "e");
+
+        required(schema, "s", "i", "u");
+        closeObjects(schema);
+        return schema;
+    }
+
+    private ObjectNode arrayOfObjects(ObjectNode array) {
+        array.put("type", "array");
+        ObjectNode items = array.putObject("items");
+        items.put("type", "object");
+        return items;
+    }
+
+    private void enumProperty(ObjectNode parent, String name, Iterable<String> values) {
+        ObjectNode property = parent.putObject(name);
+        property.put("type", "string");
+        ArrayNode allowed = property.putArray("enum");
+        values.forEach(allowed::add);
+    }
+
+    private void sourceArray(ObjectNode properties) {
+        ObjectNode sources = properties.putObject("e");
+        sources.put("type", "array");
+        sources.putObject("items").put("type", "integer");
+    }
+
+    private void required(ObjectNode schema, String... fields) {
+        ArrayNode required = schema.putArray("required");
+        for (String field : fields) {
+            required.add(field);
+        }
+    }
+
+    private void removeProperty(JsonNode objectSchema, String name) {
+        if (!(objectSchema instanceof ObjectNode node)) {
+            return;
+        }
+        if (node.get("properties") instanceof ObjectNode propertiesNode) {
+            propertiesNode.remove(name);
+        }
+        if (node.get("required") instanceof ArrayNode required) {
+            for (int i = required.size() - 1; i >= 0; i--) {
+                if (name.equals(required.get(i).asText())) {
+                    required.remove(i);
+                }
+            }
+        }
+    }
+
+    private void closeObjects(JsonNode node) {
+        if (node instanceof ObjectNode objectNode) {
+            objectNode.remove("format");
+            if ("object".equals(objectNode.path("type").asText())) {
+                objectNode.put("additionalProperties", false);
+            }
+            objectNode.forEach(this::closeObjects);
+        } else if (node instanceof ArrayNode arrayNode) {
+            arrayNode.forEach(this::closeObjects);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.llmhost.rag;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import com.example.llmhost.config.AppProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClient;
+
+class RagDirectClientTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final RagDirectClient client = new RagDirectClient(RestClient.builder(), objectMapper, new AppProperties());
+
+    @AfterEach
+    void close() {
+        client.close();
+    }
+
+    @Test
+    void hitsMatchingTheToolContractAreMapped() throws Exception {
+        List<RagHit> hits = client.toHits(objectMapper.readTree(
+                "[{\"text\":\"a\",\"score\":0.8,\"metadata\":{\"library\":\"spring\"}},{\"text\":\"b\",\"score\":1,\"metadata\":null}]"),
+                "rag.search");
+
+        assertThat(hits).extracting(RagHit::text).containsExactly("a", "b");
+        assertThat(hits.get(0).metadata()).containsEntry("library", "spring");
+        assertThat(client.toHits(null, "rag.search")).isEmpty();
+    }
+
+    @Test
+    void hitsBreakingTheToolContractAreRejected() throws Exception {
+        assertThatThrownBy(() -> client.toHits(objectMapper.readTree("[{\"text\":\"a\",\"score\":\"high\",\"metadata\":{}}]"),
+                "rag.lookup"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Invalid rag.lookup contract");
+        assertThatThrownBy(() -> client.toHits(objectMapper.readTree("[{\"text\":\"a\",\"score\":0.5}]"), "rag.search"))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> client.toHits(objectMapper.readTree("{\"hits\":[]}"), "rag.search"))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> client.toHits(null, "rag.lookup"))
+                .hasMessage("rag.lookup response must be JSON array");
+    }
+}
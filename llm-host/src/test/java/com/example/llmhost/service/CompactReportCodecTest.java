@@ -0,0 +1,59 @@
+package com.example.llmhost.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.InputStream;
+import java.util.List;
+
+import com.example.llmhost.model.UpgradeReport;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.tokenizer.JTokkitTokenCountEstimator;
+import org.springframework.core.io.ClassPathResource;
+
+class CompactReportCodecTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final CompactReportCodec codec = new CompactReportCodec(objectMapper);
+
+    @Test
+    void sampleCorpusSurvivesTheRoundTripFieldByFieldWithFewerTokens() throws Exception {
+        List<UpgradeReport> corpus = sampleCorpus();
+        JTokkitTokenCountEstimator estimator = new JTokkitTokenCountEstimator();
+
+        assertThat(corpus).hasSize(3);
+        for (UpgradeReport report : corpus) {
+            JsonNode compact = codec.encode(report);
+            JsonNode expanded = codec.expand(compact, report.getProject());
+
+            assertThat(codec.roundTripMismatches(report, expanded)).isEmpty();
+            assertThat(estimator.estimate(compact.toString()))
+                    .isLessThan(estimator.estimate(objectMapper.writeValueAsString(report)));
+        }
+    }
+
+    @Test
+    void fieldsLostByTheCompactFormatAreReported() throws Exception {
+        UpgradeReport report = sampleCorpus().get(0);
+        report.getSpringUsageSummary().put("modules", List.of("web"));
+        report.getWorkpoints().get(0).setEvidence(List.of("S9"));
+        UpgradeReport.Workpoint orphan = new UpgradeReport.Workpoint();
+        orphan.setImpactId("IMP-404");
+        orphan.setPoints(1);
+        report.getWorkpoints().add(orphan);
+
+        JsonNode expanded = codec.expand(codec.encode(report), report.getProject());
+
+        assertThat(codec.roundTripMismatches(report, expanded))
+                .containsExactly("springUsageSummary", "workpoints[0].evidence", "workpoints[3]");
+    }
+
+    private List<UpgradeReport> sampleCorpus() throws Exception {
+        try (InputStream input = new ClassPathResource("debug/report-encoding-corpus.json").getInputStream()) {
+            return objectMapper.readValue(input, new TypeReference<>() {
+            });
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.llmhost.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.example.llmhost.config.AppProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.MessageType;
+import org.springframework.ai.chat.metadata.ChatResponseMetadata;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+
+class ModelWarmupTest {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<String> calls = new CopyOnWriteArrayList<>();
+    private RoutingChatModel pool;
+
+    @AfterEach
+    void close() {
+        pool.close();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void warmUpSendsEveryStablePrefixToEveryBackend() {
+        ModelWarmup warmup = warmup();
+
+        assertThat(warmup.warmUp()).isTrue();
+
+        assertThat(calls).containsExactly("a|REPAIR-SYSTEM", "a|GUIDED-SYSTEM", "b|REPAIR-SYSTEM", "b|GUIDED-SYSTEM");
+    }
+
+    @Test
+    void prefillIsMeasuredWithoutAndWithTheCachedPrefix() {
+        ModelWarmup warmup = warmup();
+
+        List<ModelWarmup.PrefillMeasurement> measurements = warmup.measurePrefill();
+
+        assertThat(measurements).extracting(ModelWarmup.PrefillMeasurement::backend, ModelWarmup.PrefillMeasurement::tier)
+                .containsExactly(tuple("a", "REPAIR"),
+                        tuple("a", "REPORT"),
+                        tuple("b", "REPAIR"),
+                        tuple("b", "REPORT"));
+        assertThat(measurements).allSatisfy(measurement -> {
+            assertThat(measurement.coldPrefillMs()).isEqualTo(900L);
+            assertThat(measurement.cachedPrefillMs()).isEqualTo(40L);
+        });
+        // the cold request breaks the prefix, then the exact prefix is loaded and hit once
+        assertThat(calls.subList(0, 3)).satisfiesExactly(
+                call -> assertThat(call).startsWith("a|").endsWith("\nREPAIR-SYSTEM"),
+                call -> assertThat(call).isEqualTo("a|REPAIR-SYSTEM"),
+                call -> assertThat(call).isEqualTo("a|REPAIR-SYSTEM"));
+        assertThat(meterRegistry.find("llmhost.llm.warmup.prefill").tags("prefix", "cached", "backend", "b").timer())
+                .isNotNull();
+    }
+
+    private ModelWarmup warmup() {
+        AppProperties properties = new AppProperties();
+        pool = new RoutingChatModel(List.of(
+                new RoutingChatModel.BackendSpec("a", backend("a"), () -> {
+                }),
+                new RoutingChatModel.BackendSpec("b", backend("b"), () -> {
+                })), properties.getAi().getPool(), executor, meterRegistry);
+        ToolCallingChatService chatService = mock(ToolCallingChatService.class);
+        when(chatService.guidedSystemPrompt()).thenReturn("GUIDED-SYSTEM");
+        when(chatService.repairSystemPrompt()).thenReturn("REPAIR-SYSTEM");
+        when(chatService.repairPromptPrefix()).thenReturn("Répare ce JSON:\n");
+        return new ModelWarmup(pool, chatService, new ModelTierRouter(properties, pool),
+                new PromptMetricsAdvisor(meterRegistry), properties, meterRegistry);
+    }
+
+    private ChatModel backend(String name) {
+        return prompt -> respond(name, prompt);
+    }
+
+    private ChatResponse respond(String name, Prompt prompt) {
+        String system = prompt.getInstructions().stream()
+                .filter(message -> message.getMessageType() == MessageType.SYSTEM)
+                .findFirst()
+                .orElseThrow()
+                .getText();
+        boolean cached = calls.contains(name + "|" + system);
+        calls.add(name + "|" + system);
+        return new ChatResponse(List.of(new Generation(new AssistantMessage("OK"))), ChatResponseMetadata.builder()
+                .metadata(Map.of("prompt-eval-duration", Duration.ofMillis(cached ? 40 : 900)))
+                .build());
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.llmhost.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.example.llmhost.api.ChatRequest;
+import com.example.llmhost.api.TargetReport;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class MultiTargetRunnerTest {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @AfterEach
+    void close() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void failedTargetsAreReportedAlongsideTheOthers() throws Exception {
+        MultiTargetRunner runner = new MultiTargetRunner(executor, objectMapper, 1);
+        ChatRequest request = request("3.3.5");
+
+        List<TargetReport> reports = runner.run(List.of(request("3.3.5"), request("3.4.0")), ChatRunListener.NOOP,
+                new MultiTargetRunner.TargetGenerator() {
+                    @Override
+                    public UpgradeContext retrieve(ChatRequest target, ChatRunListener listener) {
+                        if (target.toVersion().equals("3.4.0")) {
+                            throw new IllegalStateException("RAG indisponible");
+                        }
+                        return new UpgradeContext(List.of(), "");
+                    }
+
+                    @Override
+                    public TargetReport generate(ChatRequest target, UpgradeContext context,
+                            ChatRunListener listener) {
+                        return new TargetReport(target.toVersion(), "{\"impacts\":[]}", null, null);
+                    }
+                });
+
+        assertThat(reports).extracting(TargetReport::toVersion, TargetReport::error)
+                .containsExactly(tuple("3.3.5", null),
+                        tuple("3.4.0", "RAG indisponible"));
+        JsonNode combined = objectMapper.readTree(runner.toJson(request, reports));
+        assertThat(combined.path("targets").get(0).path("report").path("impacts").isArray()).isTrue();
+        assertThat(combined.path("targets").get(1).path("report").isNull()).isTrue();
+        assertThat(combined.path("targets").get(1).path("error").asText()).isEqualTo("RAG indisponible");
+    }
+
+    private ChatRequest request(String toVersion) {
+        return new ChatRequest("Analyse l'upgrade", false, ChatRequest.Mode.GUIDED, "orders",
+                "https://git.example.com/orders.git", "2.7.18", toVersion, List.of(), List.of());
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.llmhost.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import com.example.llmhost.model.UpgradeReport;
+import org.junit.jupiter.api.Test;
+
+class PartialReportMergerTest {
+
+    private final PartialReportMerger merger = new PartialReportMerger();
+
+    @Test
+    void impactsWithoutIdKeepDistinctIdsAndUnlinkedWorkpointsAreDropped() {
+        UpgradeReport web = report(
+                List.of(impact(null, "Jakarta servlet namespace", "S1"), impact(null, "Trailing slash matching", "S2"),
+                        impact("I1", "Security filter chain", "S2")),
+                List.of(workpoint(null, 3), workpoint("I1", 5)));
+        UpgradeReport data = report(List.of(impact(null, "Hibernate 6 id generators", "S1")),
+                List.of(workpoint(null, 8)));
+
+        UpgradeReport merged = merger.merge(List.of(
+                new PartialReportMerger.PartialReport("web", web, List.of(4, 7)),
+                new PartialReportMerger.PartialReport("data", data, List.of(9))), new UpgradeReport.Project());
+
+        assertThat(merged.getImpacts()).extracting(UpgradeReport.Impact::getId)
+                .containsExactly("IMP-WEB-1", "IMP-WEB-2", "IMP-WEB-3", "IMP-DATA-1");
+        assertThat(merged.getImpacts()).extracting(UpgradeReport.Impact::getEvidence)
+                .containsExactly(List.of("S4"), List.of("S7"), List.of("S7"), List.of("S9"));
+        assertThat(merged.getWorkpoints()).singleElement().satisfies(workpoint -> {
+            assertThat(workpoint.getImpactId()).isEqualTo("IMP-WEB-3");
+            assertThat(workpoint.getPoints()).isEqualTo(5);
+        });
+    }
+
+    @Test
+    void sameTitleAcrossPartitionsIsMergedOnce() {
+        UpgradeReport web = report(List.of(impact("I1", "Spring Boot 3 baseline", "S1")), List.of(workpoint("I1", 2)));
+        UpgradeReport data = report(List.of(impact("I1", "spring boot 3  baseline", "S1")), List.of(workpoint("I1", 4)));
+
+        UpgradeReport merged = merger.merge(List.of(
+                new PartialReportMerger.PartialReport("web", web, List.of(1)),
+                new PartialReportMerger.PartialReport("data", data, List.of(2))), new UpgradeReport.Project());
+
+        assertThat(merged.getImpacts()).singleElement().satisfies(impact -> {
+            assertThat(impact.getId()).isEqualTo("IMP-WEB-1");
+            assertThat(impact.getEvidence()).containsExactly("S1", "S2");
+        });
+        assertThat(merged.getWorkpoints()).singleElement()
+                .satisfies(workpoint -> assertThat(workpoint.getPoints()).isEqualTo(4));
+    }
+
+    private static UpgradeReport report(List<UpgradeReport.Impact> impacts, List<UpgradeReport.Workpoint> workpoints) {
+        UpgradeReport report = new UpgradeReport();
+        report.setImpacts(impacts);
+        report.setWorkpoints(workpoints);
+        return report;
+    }
+
+    private static UpgradeReport.Impact impact(String id, String title, String source) {
+        UpgradeReport.Impact impact = new UpgradeReport.Impact();
+        impact.setId(id);
+        impact.setTitle(title);
+        impact.setEvidence(List.of(source));
+        return impact;
+    }
+
+    private static UpgradeReport.Workpoint workpoint(String impactId, int points) {
+        UpgradeReport.Workpoint workpoint = new UpgradeReport.Workpoint();
+        workpoint.setImpactId(impactId);
+        workpoint.setPoints(points);
+        return workpoint;
+    }
+}
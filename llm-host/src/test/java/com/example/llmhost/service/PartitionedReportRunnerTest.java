@@ -0,0 +1,87 @@
+package com.example.llmhost.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.example.llmhost.model.UpgradeReport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class PartitionedReportRunnerTest {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final List<String> stages = new CopyOnWriteArrayList<>();
+    private final ChatRunListener listener = new ChatRunListener() {
+        @Override
+        public void onProgress(String stage, Map<String, Object> details) {
+            stages.add(stage + details.getOrDefault("area", ""));
+        }
+    };
+
+    @AfterEach
+    void close() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void failedOrInvalidPartitionsBecomeUnknownsAndTheRestIsMerged() {
+        PartitionedReportRunner runner = new PartitionedReportRunner(executor, new PartialReportMerger(), 2);
+        UpgradeContext web = new UpgradeContext(List.of(), "web");
+        UpgradeContext data = new UpgradeContext(List.of(), "data");
+        UpgradeContext security = new UpgradeContext(List.of(), "security");
+
+        UpgradeReport merged = runner.run(List.of(
+                new UpgradeContextPartition("web", web, List.of(1)),
+                new UpgradeContextPartition("data", data, List.of(2)),
+                new UpgradeContextPartition("security", security, List.of(3))),
+                new UpgradeReport.Project(), listener, (context, partitionListener) -> switch (context.contextText()) {
+                    case "web" -> report("Jakarta servlet namespace");
+                    case "data" -> null;
+                    default -> throw new IllegalStateException("modèle indisponible");
+                });
+
+        assertThat(merged.getImpacts()).extracting(UpgradeReport.Impact::getId).containsExactly("IMP-WEB-1");
+        assertThat(merged.getUnknowns()).extracting(UpgradeReport.Unknown::getWhy)
+                .containsExactly("rapport partiel invalide", "modèle indisponible");
+        assertThat(stages).contains("partition.planned", "partition.completedweb", "partition.completeddata",
+                "partition.merged");
+    }
+
+    @Test
+    void generationsNeverExceedTheParallelism() {
+        PartitionedReportRunner runner = new PartitionedReportRunner(executor, new PartialReportMerger(), 2);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        List<UpgradeContextPartition> partitions = List.of("web", "data", "security", "config", "other").stream()
+                .map(area -> new UpgradeContextPartition(area, new UpgradeContext(List.of(), area), List.of()))
+                .toList();
+
+        runner.run(partitions, new UpgradeReport.Project(), listener, (context, partitionListener) -> {
+            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            running.decrementAndGet();
+            return report(context.contextText());
+        });
+
+        assertThat(peak.get()).isBetween(1, 2);
+    }
+
+    private UpgradeReport report(String title) {
+        UpgradeReport.Impact impact = new UpgradeReport.Impact();
+        impact.setId("I1");
+        impact.setTitle(title);
+        UpgradeReport report = new UpgradeReport();
+        report.setImpacts(List.of(impact));
+        return report;
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.llmhost.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.example.llmhost.config.AppProperties;
+import com.example.llmhost.model.RunRecord;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class RunStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private RunStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = newStore();
+    }
+
+    @Test
+    void onlyOneInstanceTakesOverAnExpiredLease() throws Exception {
+        RunRecord record = queued("run-1");
+        RunStore.Claim first = store.claim("run-1", "a").orElseThrow();
+        expire(first);
+
+        int contenders = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(contenders);
+        try {
+            List<Future<Optional<RunStore.Claim>>> attempts = new ArrayList<>();
+            for (int i = 0; i < contenders; i++) {
+                RunStore instance = newStore();
+                String owner = "instance-" + i;
+                attempts.add(pool.submit(() -> {
+                    start.await();
+                    return instance.claim(record.getRunId(), owner);
+                }));
+            }
+            start.countDown();
+            List<RunStore.Claim> winners = new ArrayList<>();
+            for (Future<Optional<RunStore.Claim>> attempt : attempts) {
+                attempt.get().ifPresent(winners::add);
+            }
+            assertThat(winners).hasSize(1);
+            assertThat(winners.get(0).epoch()).isEqualTo(2);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void previousOwnerCannotWriteAfterTakeover() throws Exception {
+        RunRecord record = queued("run-2");
+        RunStore.Claim stale = store.claim("run-2", "a").orElseThrow();
+        expire(stale);
+        RunStore.Claim current = store.claim("run-2", "b").orElseThrow();
+
+        record.setStatus(RunRecord.Status.SUCCEEDED);
+        assertThat(store.saveIfHeld(stale, record)).isFalse();
+        assertThat(store.renew(stale)).isFalse();
+        assertThat(store.find("run-2").orElseThrow().getStatus()).isEqualTo(RunRecord.Status.QUEUED);
+        try (var files = Files.list(directory)) {
+            assertThat(files.map(path -> path.getFileName().toString())).noneMatch(name -> name.endsWith(".tmp"));
+        }
+
+        assertThat(store.saveIfHeld(current, record)).isTrue();
+        assertThat(store.find("run-2").orElseThrow().getStatus()).isEqualTo(RunRecord.Status.SUCCEEDED);
+    }
+
+    @Test
+    void liveLeaseIsNotClaimedTwiceAndReleaseFreesIt() {
+        queued("run-3");
+        RunStore.Claim claim = store.claim("run-3", "a").orElseThrow();
+        assertThat(store.claim("run-3", "b")).isEmpty();
+
+        store.release(claim);
+        assertThat(store.claim("run-3", "b")).hasValueSatisfying(next -> assertThat(next.epoch()).isEqualTo(2));
+        assertThat(store.holds(claim)).isFalse();
+    }
+
+    @Test
+    void cancellationIsAMarkerThatLeavesTheRecordUntouched() {
+        queued("run-4");
+        store.requestCancel("run-4");
+        store.requestCancel("run-4");
+
+        assertThat(store.cancelRequested("run-4")).isTrue();
+        assertThat(store.find("run-4").orElseThrow().isCancelRequested()).isTrue();
+        assertThat(store.find("run-4").orElseThrow().getStatus()).isEqualTo(RunRecord.Status.QUEUED);
+    }
+
+    @Test
+    void activeIndexHoldsDeferredRunsUntilDeactivated() {
+        RunRecord record = queued("run-5");
+        Instant notBefore = Instant.now().plusSeconds(30);
+        store.defer("run-5", record.getSubmittedAt(), notBefore);
+
+        assertThat(store.listActive()).singleElement().satisfies(active -> {
+            assertThat(active.runId()).isEqualTo("run-5");
+            assertThat(active.notBefore().toEpochMilli()).isEqualTo(notBefore.toEpochMilli());
+        });
+
+        store.deactivate("run-5");
+        assertThat(store.listActive()).isEmpty();
+        assertThat(store.list()).hasSize(1);
+    }
+
+    @Test
+    void existingPendingRunsAreIndexedOnFirstStart() throws Exception {
+        Path legacy = Files.createDirectories(directory.resolve("legacy"));
+        RunStore first = newStore(legacy);
+        RunRecord pending = record("run-6", RunRecord.Status.RUNNING);
+        RunRecord done = record("run-7", RunRecord.Status.SUCCEEDED);
+        first.save(pending);
+        first.save(done);
+        Files.delete(legacy.resolve("active"));
+
+        assertThat(newStore(legacy).listActive()).extracting(RunStore.ActiveRun::runId).containsExactly("run-6");
+    }
+
+    private RunRecord queued(String runId) {
+        RunRecord record = record(runId, RunRecord.Status.QUEUED);
+        store.save(record);
+        store.activate(record);
+        return record;
+    }
+
+    private static RunRecord record(String runId, RunRecord.Status status) {
+        RunRecord record = new RunRecord();
+        record.setRunId(runId);
+        record.setStatus(status);
+        record.setSubmittedAt(Instant.now());
+        return record;
+    }
+
+    private void expire(RunStore.Claim claim) {
+        try {
+            Files.setLastModifiedTime(directory.resolve("claims").resolve(claim.runId())
+                    .resolve(String.valueOf(claim.epoch())), FileTime.fromMillis(0));
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private RunStore newStore() {
+        return newStore(directory);
+    }
+
+    static RunStore newStore(Path directory) {
+        AppProperties properties = new AppProperties();
+        properties.getRuns().setStoreDir(directory.toString());
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        return new RunStore(properties, objectMapper);
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.llmhost.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import com.example.llmhost.api.ChatRequest;
+import com.example.llmhost.config.AppProperties;
+import com.example.llmhost.model.RunRecord;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class RunWorkerTest {
+
+    @TempDir
+    Path directory;
+
+    private final ToolCallingChatService chatService = mock(ToolCallingChatService.class);
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private AppProperties properties;
+    private RunStore store;
+    private RunWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AppProperties();
+        properties.getRuns().setStoreDir(directory.toString());
+        properties.getRuns().setPollIntervalMs(100);
+        store = RunStoreTest.newStore(directory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (worker != null) {
+            worker.stop();
+        }
+        executor.shutdownNow();
+    }
+
+    @Test
+    void cancellingAQueuedRunFinishesItAndRemovesItFromTheIndex() {
+        worker = newWorker(new RunAdmissionController(properties, new SimpleMeterRegistry()));
+        RunRecord record = worker.submit(request(), "caller");
+
+        RunRecord cancelled = worker.cancel(record.getRunId()).orElseThrow();
+
+        assertThat(cancelled.getStatus()).isEqualTo(RunRecord.Status.CANCELLED);
+        assertThat(store.listActive()).isEmpty();
+    }
+
+    @Test
+    void cancellingARunOwnedByAnotherInstanceOnlyLeavesTheMarker() {
+        worker = newWorker(new RunAdmissionController(properties, new SimpleMeterRegistry()));
+        RunRecord record = worker.submit(request(), "caller");
+        RunStore.Claim owner = store.claim(record.getRunId(), "other-instance").orElseThrow();
+        record.setStatus(RunRecord.Status.RUNNING);
+        record.setStage("generation.tokens");
+        assertThat(store.saveIfHeld(owner, record)).isTrue();
+
+        RunRecord seen = worker.cancel(record.getRunId()).orElseThrow();
+
+        assertThat(seen.getStatus()).isEqualTo(RunRecord.Status.RUNNING);
+        assertThat(seen.getStage()).isEqualTo("generation.tokens");
+        assertThat(seen.isCancelRequested()).isTrue();
+        assertThat(store.holds(owner)).isTrue();
+        assertThat(store.listActive()).extracting(RunStore.ActiveRun::runId).containsExactly(record.getRunId());
+    }
+
+    @Test
+    void runningRunStopsOnCancelMarkerAndBecomesRunningOnlyOnceAdmitted() {
+        List<RunRecord.Status> statusesSeenByModel = new CopyOnWriteArrayList<>();
+        when(chatService.run(any(), any())).thenAnswer(invocation -> {
+            ChatRunListener listener = invocation.getArgument(1);
+            statusesSeenByModel.add(store.list().get(0).getStatus());
+            while (!listener.cancelled()) {
+                Thread.sleep(50);
+            }
+            throw new IllegalStateException("Run annulé par le client");
+        });
+        worker = newWorker(new RunAdmissionController(properties, new SimpleMeterRegistry()));
+        worker.start();
+        RunRecord record = worker.submit(request(), "caller");
+        await(() -> !statusesSeenByModel.isEmpty());
+
+        worker.cancel(record.getRunId());
+
+        await(() -> store.find(record.getRunId()).orElseThrow().isTerminal());
+        RunRecord finished = store.find(record.getRunId()).orElseThrow();
+        assertThat(statusesSeenByModel).containsExactly(RunRecord.Status.RUNNING);
+        assertThat(finished.getStatus()).isEqualTo(RunRecord.Status.CANCELLED);
+        assertThat(finished.getAttempts()).isEqualTo(1);
+        assertThat(store.listActive()).isEmpty();
+    }
+
+    @Test
+    void rejectedRunStaysQueuedAndIsHiddenUntilItsBackoffExpires() {
+        RunAdmissionController admission = mock(RunAdmissionController.class);
+        when(admission.enqueue(any(), any())).thenThrow(new RunRejectedException("File d'attente pleine", 30));
+        worker = newWorker(admission);
+        worker.start();
+        RunRecord record = worker.submit(request(), "caller");
+
+        await(() -> "run.deferred".equals(store.find(record.getRunId()).orElseThrow().getStage()));
+
+        RunRecord deferred = store.find(record.getRunId()).orElseThrow();
+        assertThat(deferred.getStatus()).isEqualTo(RunRecord.Status.QUEUED);
+        assertThat(deferred.getAttempts()).isZero();
+        assertThat(store.listActive()).singleElement().satisfies(active ->
+                assertThat(active.notBefore()).isAfter(Instant.now().plusSeconds(20)));
+    }
+
+    private static ChatRequest request() {
+        return new ChatRequest("Quels modules migrer ?", false, null, null, null, null, null, List.of(), List.of());
+    }
+
+    private RunWorker newWorker(RunAdmissionController admission) {
+        return new RunWorker(store, chatService, admission, executor, properties);
+    }
+
+    private static void await(Supplier<Boolean> condition) {
+        Instant deadline = Instant.now().plus(Duration.ofSeconds(10));
+        while (!condition.get()) {
+            if (Instant.now().isAfter(deadline)) {
+                throw new AssertionError("Condition non atteinte dans le délai");
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.llmhost.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+class UpgradeReportRepairerTest {
+
+    private final UpgradeReportRepairer repairer = new UpgradeReportRepairer(new ObjectMapper());
+
+    @Test
+    void objectWithoutReportFieldsIsRejected() {
+        assertThat(repairer.repair("{\"error\": \"rag.search timed out\", \"retryable\": true}")).isEmpty();
+        assertThat(repairer.repair("```json\n{\"result\": {\"status\": \"ok\"}}\n```")).isEmpty();
+    }
+
+    @Test
+    void truncatedFencedReportIsRepairedAndUnknownFieldsDropped() {
+        String content = """
+                Voici le rapport :
+                ```json
+                {"impacts": [{"id": "I1", "title": "javax -> jakarta", "evidence": "S2"}],
+                 "confidence": "high",
+                 "workpoints": [{"impactId": "I1", "points": "5", "evidence": ["S2"]}
+                """;
+
+        UpgradeReportRepairer.RepairResult result = repairer.repair(content).orElseThrow();
+
+        assertThat(result.report().getImpacts()).singleElement()
+                .satisfies(impact -> assertThat(impact.getEvidence()).containsExactly("S2"));
+        assertThat(result.report().getWorkpoints()).singleElement()
+                .satisfies(workpoint -> assertThat(workpoint.getPoints()).isEqualTo(5));
+        assertThat(result.json()).doesNotContain("confidence");
+        assertThat(result.fixes()).contains("markdownFence", "preamble", "schema.unknownField");
+    }
+
+    @Test
+    void outOfRangePointsAreDroppedAndWellFormedAreasKept() {
+        String content = """
+                {"impacts": [{"id": "I1", "title": "Security DSL", "affectedAreas": ["Security", "Web MVC"]},
+                             {"id": "I2", "title": "Actuator", "affectedAreas": "Ops; Web"}],
+                 "workpoints": [{"impactId": "I1", "points": "99999999999"}]}
+                """;
+
+        UpgradeReportRepairer.RepairResult result = repairer.repair(content).orElseThrow();
+
+        assertThat(result.report().getImpacts()).extracting(impact -> impact.getAffectedAreas())
+                .containsExactly(List.of("Security", "Web MVC"), List.of("ops", "web"));
+        assertThat(result.json()).doesNotContain("\"points\"");
+        assertThat(result.fixes()).contains("schema.points", "schema.affectedAreas");
+    }
+}
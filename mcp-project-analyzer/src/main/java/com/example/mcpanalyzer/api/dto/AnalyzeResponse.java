@@ -7,6 +7,7 @@ public class AnalyzeResponse {
     private String springVersionCurrent;
     private List<DependencyDto> dependencies = new ArrayList<>();
     private List<String> modules = new ArrayList<>();
+    private String commitSha;
 
     public AnalyzeResponse() {
     }
@@ -40,4 +41,12 @@ public class AnalyzeResponse {
     public void setModules(List<String> modules) {
         this.modules = modules;
     }
+
+    public String getCommitSha() {
+        return commitSha;
+    }
+
+    public void setCommitSha(String commitSha) {
+        this.commitSha = commitSha;
+    }
 }
@@ -10,6 +10,8 @@ import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
 import org.eclipse.jgit.api.CheckoutCommand;
 import org.eclipse.jgit.api.CloneCommand;
 import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
 import org.eclipse.jgit.transport.UsernamePasswordCredentialsProvider;
 import org.springframework.stereotype.Service;
 import org.springframework.util.FileSystemUtils;
@@ -37,13 +39,16 @@ public class ProjectAnalyzerService {
             workingDirectory = Files.createTempDirectory("mcp-analyzer-");
             Path repoDir = cloneRepository(request, workingDirectory);
             switchBranchIfNeeded(request, repoDir);
+            String commitSha = resolveCheckedOutCommit(repoDir);
 
             List<String> modules = detectModules(repoDir);
             String springBootVersion = detectSpringBootVersion(repoDir);
             Path dotFile = runDependencyTree(repoDir);
             List<DependencyDto> dependencies = extractDependencies(dotFile);
 
-            return new AnalyzeResponse(springBootVersion, dependencies, modules);
+            AnalyzeResponse response = new AnalyzeResponse(springBootVersion, dependencies, modules);
+            response.setCommitSha(commitSha);
+            return response;
         } catch (IOException | InterruptedException | XmlPullParserException e) {
             throw new IllegalStateException("Failed to analyze repository", e);
         } finally {
@@ -87,6 +92,13 @@ public class ProjectAnalyzerService {
         }
     }
 
+    private String resolveCheckedOutCommit(Path repoDir) throws IOException {
+        try (Git git = Git.open(repoDir.toFile())) {
+            ObjectId head = git.getRepository().resolve(Constants.HEAD);
+            return head != null ? head.getName() : null;
+        }
+    }
+
     private Path runDependencyTree(Path repoDir) throws IOException, InterruptedException {
         Path dotFile = repoDir.resolve("dependency-tree.dot");
         List<String> command = buildMavenCommand(repoDir, dotFile);
@@ -1,11 +1,16 @@
 package com.example.mcpserver.config;
 
+import java.util.List;
+
+import io.modelcontextprotocol.server.McpServerFeatures.SyncToolSpecification;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.ai.tool.method.MethodToolCallbackProvider;
+import org.springframework.ai.mcp.McpToolUtils;
+import org.springframework.ai.support.ToolCallbacks;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import com.example.mcpserver.service.ToolDeadline;
 import com.example.mcpserver.tools.DiagnosticTools;
 import com.example.mcpserver.tools.MethodologyTools;
 import com.example.mcpserver.tools.ProjectTools;
@@ -16,12 +21,29 @@ public class McpToolConfig {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(McpToolConfig.class);
 
+    /**
+     * Tools are registered as MCP specifications rather than through a ToolCallbackProvider: Spring AI drops the
+     * request {@code _meta} before calling the tool, so the handler opens the caller's deadline scope itself.
+     */
     @Bean
-    public MethodToolCallbackProvider toolCallbackProvider(RagTools ragTools, ProjectTools projectTools,
+    public List<SyncToolSpecification> toolSpecifications(RagTools ragTools, ProjectTools projectTools,
             MethodologyTools methodologyTools, DiagnosticTools diagnosticTools) {
         LOGGER.info("Registering MCP tools: rag, project, methodology, diagnostic");
-        return MethodToolCallbackProvider.builder()
-                .toolObjects(ragTools, projectTools, methodologyTools, diagnosticTools)
+        return McpToolUtils.toSyncToolSpecification(List.of(ToolCallbacks.from(ragTools, projectTools,
+                        methodologyTools, diagnosticTools)))
+                .stream()
+                .map(McpToolConfig::withDeadline)
+                .toList();
+    }
+
+    private static SyncToolSpecification withDeadline(SyncToolSpecification specification) {
+        return SyncToolSpecification.builder()
+                .tool(specification.tool())
+                .callHandler((exchange, request) -> {
+                    try (ToolDeadline.Scope ignored = ToolDeadline.open(ToolDeadline.fromMeta(request.meta()))) {
+                        return specification.callHandler().apply(exchange, request);
+                    }
+                })
                 .build();
     }
 }
@@ -12,6 +12,8 @@ import org.slf4j.LoggerFactory;
 import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.stereotype.Component;
 
+import com.example.mcpserver.service.ToolDeadline;
+
 @Aspect
 @Component
 public class ToolLoggingAspect {
@@ -23,6 +25,7 @@ public class ToolLoggingAspect {
         Instant start = Instant.now();
         String runId = UUID.randomUUID().toString();
         try {
+            ToolDeadline.checkpoint("le démarrage de " + mcpTool.name());
             Object result = pjp.proceed();
             Duration duration = Duration.between(start, Instant.now());
             logger.info("mcp-tool completed",
@@ -6,11 +6,14 @@ import java.util.Map;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 
+import com.example.mcpserver.dto.ApiChangeBatchRequest;
+import com.example.mcpserver.dto.ApiChangeBatchResponse;
 import com.example.mcpserver.dto.ApiChangeResponse;
 import com.example.mcpserver.dto.ProjectSourceIngestionRequest;
 import com.example.mcpserver.dto.ProjectSourceIngestionResponse;
@@ -24,6 +27,7 @@ import com.example.mcpserver.service.RagService;
 import com.example.mcpserver.service.SpringApiChangeService;
 import com.example.mcpserver.service.SpringBootSourceIngestionService;
 import com.example.mcpserver.service.SpringSourceIngestionService;
+import com.example.mcpserver.service.ToolDeadline;
 
 @RestController
 @RequestMapping("/api/rag")
@@ -70,16 +74,20 @@ public class RagController {
 
     @PostMapping("/ingest/spring-source")
     public Mono<ResponseEntity<SpringSourceIngestionResponse>> ingestSpringSource(
-            @RequestBody SpringSourceIngestionRequest request) {
-        return Mono.fromCallable(() -> springSourceIngestionService.ingestSpringSource(request))
+            @RequestBody SpringSourceIngestionRequest request,
+            @RequestHeader(value = ToolDeadline.HEADER, required = false) Long deadlineMs) {
+        return Mono.fromCallable(() -> ToolDeadline.call(deadlineMs,
+                () -> springSourceIngestionService.ingestSpringSource(request)))
                 .subscribeOn(Schedulers.boundedElastic())
                 .map(ResponseEntity::ok);
     }
 
     @PostMapping("/ingest/spring-boot-source")
     public Mono<ResponseEntity<SpringSourceIngestionResponse>> ingestSpringBootSource(
-            @RequestBody SpringSourceIngestionRequest request) {
-        return Mono.fromCallable(() -> springBootSourceIngestionService.ingestSpringBootSource(request))
+            @RequestBody SpringSourceIngestionRequest request,
+            @RequestHeader(value = ToolDeadline.HEADER, required = false) Long deadlineMs) {
+        return Mono.fromCallable(() -> ToolDeadline.call(deadlineMs,
+                () -> springBootSourceIngestionService.ingestSpringBootSource(request)))
                 .subscribeOn(Schedulers.boundedElastic())
                 .map(ResponseEntity::ok);
     }
@@ -93,24 +101,39 @@ public class RagController {
     }
 
     @PostMapping("/search")
-    public Mono<ResponseEntity<List<RagSearchResult>>> search(@RequestBody Map<String, Object> payload) {
-        return Mono.fromCallable(() -> {
+    public Mono<ResponseEntity<List<RagSearchResult>>> search(@RequestBody Map<String, Object> payload,
+            @RequestHeader(value = ToolDeadline.HEADER, required = false) Long deadlineMs) {
+        return Mono.fromCallable(() -> ToolDeadline.call(deadlineMs, () -> {
                     String query = (String) payload.getOrDefault("query", "");
                     int topK = ((Number) payload.getOrDefault("topK", 5)).intValue();
                     Map<String, Object> filters = (Map<String, Object>) payload.getOrDefault("filters", Map.of());
                     return ragService.search(query, filters, topK);
-                })
+                }))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(ResponseEntity::ok);
+    }
+
+    @PostMapping("/search/normalized")
+    public Mono<ResponseEntity<List<RagSearchResult>>> searchNormalized(@RequestBody Map<String, Object> payload,
+            @RequestHeader(value = ToolDeadline.HEADER, required = false) Long deadlineMs) {
+        return Mono.fromCallable(() -> ToolDeadline.call(deadlineMs, () -> {
+                    String query = (String) payload.getOrDefault("query", "");
+                    int topK = ((Number) payload.getOrDefault("topK", 5)).intValue();
+                    Map<String, Object> filters = (Map<String, Object>) payload.getOrDefault("filters", Map.of());
+                    return ragService.searchNormalized(query, filters, topK);
+                }))
                 .subscribeOn(Schedulers.boundedElastic())
                 .map(ResponseEntity::ok);
     }
 
     @PostMapping("/lookup")
-    public Mono<ResponseEntity<List<RagSearchResult>>> lookup(@RequestBody Map<String, Object> payload) {
-        return Mono.fromCallable(() -> {
+    public Mono<ResponseEntity<List<RagSearchResult>>> lookup(@RequestBody Map<String, Object> payload,
+            @RequestHeader(value = ToolDeadline.HEADER, required = false) Long deadlineMs) {
+        return Mono.fromCallable(() -> ToolDeadline.call(deadlineMs, () -> {
                     int limit = ((Number) payload.getOrDefault("limit", 20)).intValue();
                     Map<String, Object> filters = (Map<String, Object>) payload.getOrDefault("filters", Map.of());
                     return ragLookupService.lookup(filters, limit);
-                })
+                }))
                 .subscribeOn(Schedulers.boundedElastic())
                 .map(ResponseEntity::ok);
     }
@@ -127,4 +150,14 @@ public class RagController {
                 .subscribeOn(Schedulers.boundedElastic())
                 .map(ResponseEntity::ok);
     }
+
+    @PostMapping("/api-changes/batch")
+    public Mono<ResponseEntity<ApiChangeBatchResponse>> findApiChangesBatch(
+            @RequestBody ApiChangeBatchRequest request,
+            @RequestHeader(value = ToolDeadline.HEADER, required = false) Long deadlineMs) {
+        return Mono.fromCallable(() -> ToolDeadline.call(deadlineMs,
+                () -> springApiChangeService.findApiChangesBatch(request)))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(ResponseEntity::ok);
+    }
 }
@@ -51,6 +51,7 @@ public class CodeIndexer {
         int chunksSkipped = 0;
 
         for (Path file : files) {
+            ToolDeadline.checkpoint("l'indexation de " + workspace.relativize(file));
             String content = Files.readString(file, StandardCharsets.UTF_8);
             if (options.normalizeWhitespace()) {
                 content = content.replaceAll("\\s+", " ").trim();
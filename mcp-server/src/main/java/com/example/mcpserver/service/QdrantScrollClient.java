@@ -1,5 +1,6 @@
 package com.example.mcpserver.service;
 
+import java.time.Duration;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -9,6 +10,8 @@ import org.springframework.web.reactive.function.client.WebClient;
 
 import com.fasterxml.jackson.databind.JsonNode;
 
+import reactor.core.publisher.Mono;
+
 @Service
 public class QdrantScrollClient {
 
@@ -37,11 +40,13 @@ public class QdrantScrollClient {
         if (filter != null && !filter.isEmpty()) {
             body.put("filter", filter);
         }
-        return webClient.post()
+        ToolDeadline.checkpoint("le scroll Qdrant");
+        Mono<JsonNode> response = webClient.post()
                 .uri("/collections/{collection}/points/scroll", collection)
                 .bodyValue(body)
                 .retrieve()
-                .bodyToMono(JsonNode.class)
-                .block();
+                .bodyToMono(JsonNode.class);
+        Duration remaining = ToolDeadline.remaining();
+        return remaining == null ? response.block() : response.block(remaining.plusMillis(1));
     }
 }
@@ -6,6 +6,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -148,6 +149,41 @@ public class RagService {
                 .collect(Collectors.toList());
     }
 
+    public List<RagSearchResult> searchNormalized(String query, Map<String, Object> filters, int topK) {
+        return search(query, filters, topK).stream()
+                .map(this::normalizeHit)
+                .toList();
+    }
+
+    private RagSearchResult normalizeHit(RagSearchResult hit) {
+        Map<String, Object> metadata = new LinkedHashMap<>();
+        if (hit.metadata() != null) {
+            metadata.putAll(hit.metadata());
+        }
+        ensureMetadataKey(metadata, "sourceType");
+        ensureMetadataKey(metadata, "library");
+        ensureMetadataKey(metadata, "version");
+        ensureMetadataKey(metadata, "documentKey");
+        ensureMetadataKey(metadata, "chunkIndex");
+        metadata.putIfAbsent("url", null);
+        metadata.putIfAbsent("filePath", null);
+
+        double score = normalizeScore(hit.score(), metadata);
+        return new RagSearchResult(hit.text(), score, metadata);
+    }
+
+    private void ensureMetadataKey(Map<String, Object> metadata, String key) {
+        metadata.putIfAbsent(key, null);
+    }
+
+    private double normalizeScore(double rawScore, Map<String, Object> metadata) {
+        if (rawScore > 1.0) {
+            metadata.putIfAbsent("distance", rawScore);
+            return Math.max(0.0, 1.0 - rawScore);
+        }
+        return rawScore;
+    }
+
     public BaselineProposal ensureBaselineIngested(String targetSpringVersion, List<String> libs) {
         List<String> missing = new ArrayList<>();
         for (String lib : libs) {
@@ -118,6 +118,7 @@ public class RepoSourceIngestionService {
         String commit;
         try (Git git = Git.open(repoPath.toFile())) {
             fetch(git);
+            ToolDeadline.checkpoint("le fetch Git");
             checkoutRef(git, ref);
             commit = git.getRepository().resolve("HEAD").name();
         }
@@ -147,6 +148,7 @@ public class RepoSourceIngestionService {
         try (Stream<Path> stream = Files.walk(repoPath)) {
             var iterator = stream.filter(Files::isRegularFile).iterator();
             while (iterator.hasNext()) {
+                ToolDeadline.checkpoint("le parcours des sources");
                 if (filesIngested >= maxFiles) {
                     logger.info("Source ingestion stopped at maxFiles={}", maxFiles);
                     increment(skipReasons, "MAX_FILES");
@@ -371,7 +373,8 @@ public class RepoSourceIngestionService {
             return repoPath;
         }
         logger.info("Cloning repository {} into {}", repoUrl, repoPath);
-        Git.cloneRepository().setURI(repoUrl).setDirectory(repoPath.toFile()).call().close();
+        Git.cloneRepository().setURI(repoUrl).setDirectory(repoPath.toFile())
+                .setProgressMonitor(ToolDeadline.gitMonitor()).call().close();
         return repoPath;
     }
 
@@ -405,7 +408,7 @@ public class RepoSourceIngestionService {
 
     private void fetch(Git git) {
         try {
-            git.fetch().setRemote("origin").call();
+            git.fetch().setRemote("origin").setProgressMonitor(ToolDeadline.gitMonitor()).call();
         }
         catch (GitAPIException e) {
             logger.warn("Unable to fetch latest refs", e);
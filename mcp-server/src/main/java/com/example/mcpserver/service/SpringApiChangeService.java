@@ -1,21 +1,28 @@
 package com.example.mcpserver.service;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.ai.document.Document;
 import org.springframework.ai.vectorstore.SearchRequest;
 import org.springframework.ai.vectorstore.VectorStore;
 import org.springframework.stereotype.Service;
 
+import com.example.mcpserver.dto.ApiChangeBatchRequest;
+import com.example.mcpserver.dto.ApiChangeBatchResponse;
 import com.example.mcpserver.dto.ApiChangeResponse;
 import com.example.mcpserver.dto.RagSearchResult;
+import com.example.mcpserver.dto.SymbolChanges;
 
 @Service
 public class SpringApiChangeService {
 
+    private static final Logger logger = LoggerFactory.getLogger(SpringApiChangeService.class);
     private static final String SOURCE_TYPE = "SPRING_SOURCE";
     private static final String LIBRARY = "spring-framework";
 
@@ -32,6 +39,71 @@ public class SpringApiChangeService {
         return new ApiChangeResponse(symbol, fromVersion, toVersion, summary, fromMatches, toMatches);
     }
 
+    public ApiChangeBatchResponse findApiChangesBatch(ApiChangeBatchRequest request) {
+        long startTime = System.nanoTime();
+        int requestedSymbols = 0;
+        int uniqueSymbols = 0;
+        int processedSymbols = 0;
+        boolean truncated = false;
+        try {
+            if (request.symbols() == null || request.symbols().isEmpty()) {
+                throw new IllegalArgumentException("symbols must not be empty");
+            }
+            if (request.fromVersion() == null || request.fromVersion().isBlank()) {
+                throw new IllegalArgumentException("fromVersion must not be empty");
+            }
+            if (request.toVersion() == null || request.toVersion().isBlank()) {
+                throw new IllegalArgumentException("toVersion must not be empty");
+            }
+            requestedSymbols = request.symbols().size();
+
+            int resolvedTopKPerSymbol = request.topKPerSymbol() == null ? 3 : request.topKPerSymbol();
+            int resolvedMaxSymbols = request.maxSymbols() == null ? 500 : request.maxSymbols();
+            boolean resolvedDedupe = request.dedupe() == null || request.dedupe();
+
+            List<String> normalizedSymbols = new ArrayList<>(request.symbols());
+            if (normalizedSymbols.contains(null)) {
+                throw new IllegalArgumentException("symbols must not contain null values");
+            }
+
+            List<String> finalSymbols = resolvedDedupe
+                    ? new ArrayList<>(new LinkedHashSet<>(normalizedSymbols))
+                    : normalizedSymbols;
+            uniqueSymbols = finalSymbols.size();
+
+            if (finalSymbols.size() > resolvedMaxSymbols) {
+                finalSymbols = finalSymbols.subList(0, resolvedMaxSymbols);
+                truncated = true;
+            }
+            processedSymbols = finalSymbols.size();
+
+            List<SymbolChanges> results = new ArrayList<>(finalSymbols.size());
+            for (String symbol : finalSymbols) {
+                ToolDeadline.checkpoint("l'analyse du symbole " + symbol);
+                ApiChangeResponse response = findApiChanges(symbol, request.fromVersion(),
+                        request.toVersion(), resolvedTopKPerSymbol);
+                List<RagSearchResult> hits = new ArrayList<>();
+                if (response != null) {
+                    if (response.fromMatches() != null) {
+                        hits.addAll(response.fromMatches());
+                    }
+                    if (response.toMatches() != null) {
+                        hits.addAll(response.toMatches());
+                    }
+                }
+                results.add(new SymbolChanges(symbol, hits));
+            }
+
+            return new ApiChangeBatchResponse(request.fromVersion(), request.toVersion(), requestedSymbols,
+                    processedSymbols, truncated, resolvedMaxSymbols, results);
+        } finally {
+            long durationMs = (System.nanoTime() - startTime) / 1_000_000;
+            logger.debug(
+                    "rag.findApiChangesBatch requestedSymbols={}, uniqueSymbols={}, processedSymbols={}, truncated={}, durationMs={}",
+                    requestedSymbols, uniqueSymbols, processedSymbols, truncated, durationMs);
+        }
+    }
+
     private List<RagSearchResult> searchVersion(String symbol, String version, int topK) {
         if (symbol == null || symbol.isBlank() || version == null || version.isBlank()) {
             return List.of();
@@ -0,0 +1,105 @@
+package com.example.mcpserver.service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import org.eclipse.jgit.lib.EmptyProgressMonitor;
+import org.eclipse.jgit.lib.ProgressMonitor;
+
+public final class ToolDeadline {
+
+    public static final String HEADER = "X-Deadline-Ms";
+    public static final String META_KEY = "deadlineMs";
+
+    private static final ThreadLocal<Long> DEADLINE = new ThreadLocal<>();
+
+    private ToolDeadline() {
+    }
+
+    public static Scope open(Long deadlineMs) {
+        Long previous = DEADLINE.get();
+        if (deadlineMs != null && deadlineMs > 0) {
+            DEADLINE.set(deadlineMs);
+        }
+        return new Scope(previous);
+    }
+
+    /**
+     * Reads the absolute deadline (epoch ms) sent by the host in the MCP request {@code _meta}.
+     */
+    public static Long fromMeta(Map<String, Object> meta) {
+        Object value = meta == null ? null : meta.get(META_KEY);
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        if (value instanceof String text) {
+            try {
+                return Long.parseLong(text.trim());
+            } catch (NumberFormatException ex) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    public static <T> T call(Long deadlineMs, Callable<T> callable) throws Exception {
+        try (Scope ignored = open(deadlineMs)) {
+            checkpoint("démarrage");
+            return callable.call();
+        }
+    }
+
+    public static Duration remaining() {
+        Long deadline = DEADLINE.get();
+        if (deadline == null) {
+            return null;
+        }
+        return Duration.ofMillis(Math.max(0, deadline - System.currentTimeMillis()));
+    }
+
+    public static boolean expired() {
+        Long deadline = DEADLINE.get();
+        return Thread.currentThread().isInterrupted()
+                || (deadline != null && System.currentTimeMillis() >= deadline);
+    }
+
+    public static void checkpoint(String phase) {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new IllegalStateException("Outil interrompu pendant " + phase);
+        }
+        Long deadline = DEADLINE.get();
+        if (deadline != null && System.currentTimeMillis() >= deadline) {
+            throw new IllegalStateException("Échéance de l'outil dépassée pendant " + phase);
+        }
+    }
+
+    public static ProgressMonitor gitMonitor() {
+        Long deadline = DEADLINE.get();
+        Thread owner = Thread.currentThread();
+        return new EmptyProgressMonitor() {
+            @Override
+            public boolean isCancelled() {
+                return owner.isInterrupted() || (deadline != null && System.currentTimeMillis() >= deadline);
+            }
+        };
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final Long previous;
+
+        private Scope(Long previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (previous == null) {
+                DEADLINE.remove();
+            } else {
+                DEADLINE.set(previous);
+            }
+        }
+    }
+}
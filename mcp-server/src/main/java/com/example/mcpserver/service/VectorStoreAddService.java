@@ -1,5 +1,6 @@
 package com.example.mcpserver.service;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
@@ -48,6 +49,7 @@ public class VectorStoreAddService {
     }
 
     private void addBatchWithRetry(List<Document> batch, int retriesLeft) {
+        ToolDeadline.checkpoint("l'ajout d'embeddings");
         try {
             addWithTimeout(batch);
         } catch (RuntimeException ex) {
@@ -70,13 +72,14 @@ public class VectorStoreAddService {
     }
 
     private void addWithTimeout(List<Document> batch) {
-        if (addTimeoutMs <= 0) {
+        long timeoutMs = effectiveTimeoutMs();
+        if (timeoutMs <= 0) {
             vectorStore.add(batch);
             return;
         }
         try {
             CompletableFuture.runAsync(() -> vectorStore.add(batch))
-                    .get(addTimeoutMs, TimeUnit.MILLISECONDS);
+                    .get(timeoutMs, TimeUnit.MILLISECONDS);
         } catch (TimeoutException ex) {
             throw new RuntimeException(ReadTimeoutException.INSTANCE);
         } catch (InterruptedException ex) {
@@ -91,6 +94,15 @@ public class VectorStoreAddService {
         }
     }
 
+    private long effectiveTimeoutMs() {
+        Duration remaining = ToolDeadline.remaining();
+        if (remaining == null) {
+            return addTimeoutMs;
+        }
+        long remainingMs = Math.max(1, remaining.toMillis());
+        return addTimeoutMs <= 0 ? remainingMs : Math.min(addTimeoutMs, remainingMs);
+    }
+
     private void waitBeforeRetry(int attempt) {
         if (backoffMs <= 0) {
             return;
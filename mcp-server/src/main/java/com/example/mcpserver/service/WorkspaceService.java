@@ -65,7 +65,7 @@ public class WorkspaceService {
             logger.info("Workspace {} already exists at {}", resolvedWorkspaceId, target);
             try (Git git = Git.open(target.toFile())) {
                 if (branch != null && !branch.isBlank()) {
-                    var fetch = git.fetch().setRemote("origin");
+                    var fetch = git.fetch().setRemote("origin").setProgressMonitor(ToolDeadline.gitMonitor());
                     if (authRef != null && !authRef.isBlank()) {
                         fetch.setCredentialsProvider(new UsernamePasswordCredentialsProvider(authRef, ""));
                     }
@@ -79,7 +79,8 @@ public class WorkspaceService {
             }
         }
 
-        CloneCommand clone = Git.cloneRepository().setURI(repoUrl).setDirectory(target.toFile());
+        CloneCommand clone = Git.cloneRepository().setURI(repoUrl).setDirectory(target.toFile())
+                .setProgressMonitor(ToolDeadline.gitMonitor());
         if (branch != null && !branch.isBlank()) {
             clone.setBranch(branch);
         }
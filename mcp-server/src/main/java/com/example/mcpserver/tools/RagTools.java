@@ -1,15 +1,10 @@
 package com.example.mcpserver.tools;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.LinkedHashMap;
-import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 
 import org.eclipse.jgit.api.errors.GitAPIException;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.stereotype.Component;
 
@@ -19,7 +14,6 @@ import com.example.mcpserver.dto.BaselineProposal;
 import com.example.mcpserver.dto.ApiChangeResponse;
 import com.example.mcpserver.dto.RagIngestionResponse;
 import com.example.mcpserver.dto.RagSearchResult;
-import com.example.mcpserver.dto.SymbolChanges;
 import com.example.mcpserver.dto.SpringSourceIngestionRequest;
 import com.example.mcpserver.dto.SpringSourceIngestionResponse;
 import com.example.mcpserver.service.RagLookupService;
@@ -33,7 +27,6 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 @Component
 public class RagTools {
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(RagTools.class);
     private final RagService ragService;
     private final RagLookupService ragLookupService;
     private final SpringSourceIngestionService springSourceIngestionService;
@@ -66,10 +59,7 @@ public class RagTools {
 
     @Tool(name = "rag.search", description = "Recherche des chunks dans Qdrant")
     public String search(String query, Map<String, Object> filters, int topK) {
-        List<RagSearchResult> results = ragService.search(query, filters, topK);
-        List<RagSearchResult> normalized = results.stream()
-                .map(this::normalizeHit)
-                .toList();
+        List<RagSearchResult> normalized = ragService.searchNormalized(query, filters, topK);
         try {
             return objectMapper.writeValueAsString(normalized);
         } catch (JsonProcessingException ex) {
@@ -112,97 +102,7 @@ public class RagTools {
     @Tool(name = "rag.findApiChangesBatch", description = "Compare des changements API via RAG entre deux versions pour une liste de symboles")
     public ApiChangeBatchResponse findApiChangesBatch(List<String> symbols, String fromVersion, String toVersion,
             Integer topKPerSymbol, Integer maxSymbols, Boolean dedupe) {
-        long startTime = System.nanoTime();
-        int requestedSymbols = 0;
-        int uniqueSymbols = 0;
-        int processedSymbols = 0;
-        boolean truncated = false;
-        try {
-            ApiChangeBatchRequest request = new ApiChangeBatchRequest(symbols, fromVersion, toVersion, topKPerSymbol,
-                    maxSymbols, dedupe);
-            if (request.symbols() == null || request.symbols().isEmpty()) {
-                throw new IllegalArgumentException("symbols must not be empty");
-            }
-            if (request.fromVersion() == null || request.fromVersion().isBlank()) {
-                throw new IllegalArgumentException("fromVersion must not be empty");
-            }
-            if (request.toVersion() == null || request.toVersion().isBlank()) {
-                throw new IllegalArgumentException("toVersion must not be empty");
-            }
-            requestedSymbols = request.symbols().size();
-
-            int resolvedTopKPerSymbol = request.topKPerSymbol() == null ? 3 : request.topKPerSymbol();
-            int resolvedMaxSymbols = request.maxSymbols() == null ? 500 : request.maxSymbols();
-            boolean resolvedDedupe = request.dedupe() == null || request.dedupe();
-
-            List<String> normalizedSymbols = new ArrayList<>(request.symbols());
-            if (normalizedSymbols.contains(null)) {
-                throw new IllegalArgumentException("symbols must not contain null values");
-            }
-
-            List<String> finalSymbols = resolvedDedupe
-                    ? new ArrayList<>(new LinkedHashSet<>(normalizedSymbols))
-                    : normalizedSymbols;
-            uniqueSymbols = finalSymbols.size();
-
-            if (finalSymbols.size() > resolvedMaxSymbols) {
-                finalSymbols = finalSymbols.subList(0, resolvedMaxSymbols);
-                truncated = true;
-            }
-            processedSymbols = finalSymbols.size();
-
-            List<SymbolChanges> results = new ArrayList<>(finalSymbols.size());
-            for (String symbol : finalSymbols) {
-                ApiChangeResponse response = springApiChangeService.findApiChanges(symbol, request.fromVersion(),
-                        request.toVersion(), resolvedTopKPerSymbol);
-                List<RagSearchResult> hits = new ArrayList<>();
-                if (response != null) {
-                    if (response.fromMatches() != null) {
-                        hits.addAll(response.fromMatches());
-                    }
-                    if (response.toMatches() != null) {
-                        hits.addAll(response.toMatches());
-                    }
-                }
-                results.add(new SymbolChanges(symbol, hits));
-            }
-
-            return new ApiChangeBatchResponse(request.fromVersion(), request.toVersion(), requestedSymbols,
-                    processedSymbols, truncated, resolvedMaxSymbols, results);
-        } finally {
-            long durationMs = (System.nanoTime() - startTime) / 1_000_000;
-            LOGGER.debug(
-                    "rag.findApiChangesBatch requestedSymbols={}, uniqueSymbols={}, processedSymbols={}, truncated={}, durationMs={}",
-                    requestedSymbols, uniqueSymbols, processedSymbols, truncated, durationMs);
-        }
-    }
-
-    private RagSearchResult normalizeHit(RagSearchResult hit) {
-        Map<String, Object> metadata = new LinkedHashMap<>();
-        if (hit.metadata() != null) {
-            metadata.putAll(hit.metadata());
-        }
-        ensureMetadataKey(metadata, "sourceType");
-        ensureMetadataKey(metadata, "library");
-        ensureMetadataKey(metadata, "version");
-        ensureMetadataKey(metadata, "documentKey");
-        ensureMetadataKey(metadata, "chunkIndex");
-        metadata.putIfAbsent("url", null);
-        metadata.putIfAbsent("filePath", null);
-
-        double score = normalizeScore(hit.score(), metadata);
-        return new RagSearchResult(hit.text(), score, metadata);
-    }
-
-    private void ensureMetadataKey(Map<String, Object> metadata, String key) {
-        metadata.putIfAbsent(key, null);
-    }
-
-    private double normalizeScore(double rawScore, Map<String, Object> metadata) {
-        if (rawScore > 1.0) {
-            metadata.putIfAbsent("distance", rawScore);
-            return Math.max(0.0, 1.0 - rawScore);
-        }
-        return rawScore;
+        return springApiChangeService.findApiChangesBatch(new ApiChangeBatchRequest(symbols, fromVersion, toVersion,
+                topKPerSymbol, maxSymbols, dedupe));
     }
 }